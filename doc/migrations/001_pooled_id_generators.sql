@@ -0,0 +1,31 @@
+-- Switches the entity ids from AUTO_INCREMENT to pooled table generators so that
+-- Hibernate can batch inserts (hibernate.jdbc.batch_size).
+-- Each *_seq table holds the next free id; Hibernate reserves 50 ids per round trip
+-- (allocationSize = 50, pooled-lo optimizer).
+USE `poseiden`;
+
+ALTER TABLE `bidlist` MODIFY `id` int NOT NULL;
+ALTER TABLE `curvepoint` MODIFY `id` int NOT NULL;
+ALTER TABLE `rating` MODIFY `id` int NOT NULL;
+ALTER TABLE `rulename` MODIFY `id` int NOT NULL;
+ALTER TABLE `trade` MODIFY `id` int NOT NULL;
+
+CREATE TABLE IF NOT EXISTS `bidlist_seq` (`next_val` bigint DEFAULT NULL) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+CREATE TABLE IF NOT EXISTS `curvepoint_seq` (`next_val` bigint DEFAULT NULL) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+CREATE TABLE IF NOT EXISTS `rating_seq` (`next_val` bigint DEFAULT NULL) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+CREATE TABLE IF NOT EXISTS `rulename_seq` (`next_val` bigint DEFAULT NULL) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+CREATE TABLE IF NOT EXISTS `trade_seq` (`next_val` bigint DEFAULT NULL) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+DELETE FROM `bidlist_seq`;
+INSERT INTO `bidlist_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `bidlist`;
+DELETE FROM `curvepoint_seq`;
+INSERT INTO `curvepoint_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `curvepoint`;
+DELETE FROM `rating_seq`;
+INSERT INTO `rating_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `rating`;
+DELETE FROM `rulename_seq`;
+INSERT INTO `rulename_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `rulename`;
+DELETE FROM `trade_seq`;
+INSERT INTO `trade_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `trade`;
+
+-- users_seq already exists; align it with the pooled-lo semantics (next free id).
+UPDATE `users_seq` SET `next_val` = (SELECT COALESCE(MAX(`id`), 0) + 1 FROM `users`);
@@ -0,0 +1,8 @@
+-- Adds a unique index on users.username.
+-- Username checks become an index lookup and concurrent registrations of the same
+-- username are refused by the database (translated to "This username is already used").
+-- The ALTER fails if duplicates already exist; list them first with:
+--   SELECT `username`, COUNT(*) FROM `users` GROUP BY `username` HAVING COUNT(*) > 1;
+USE `poseiden`;
+
+ALTER TABLE `users` ADD CONSTRAINT `uk_users_username` UNIQUE (`username`);
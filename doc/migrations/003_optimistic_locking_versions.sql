@@ -0,0 +1,9 @@
+-- Adds the version columns used for optimistic locking on bid lists, trades and curve points.
+-- Each update checks the version read by the edit form and increments it, so concurrent edits
+-- no longer overwrite each other: the second one gets a 409 conflict page instead.
+-- Existing rows start at version 0.
+USE `poseiden`;
+
+ALTER TABLE `bidlist` ADD COLUMN `version` int NOT NULL DEFAULT 0;
+ALTER TABLE `trade` ADD COLUMN `version` int NOT NULL DEFAULT 0;
+ALTER TABLE `curvepoint` ADD COLUMN `version` int NOT NULL DEFAULT 0;
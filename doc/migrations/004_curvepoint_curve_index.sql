@@ -0,0 +1,6 @@
+-- Adds an index on curvepoint (curve_id, as_of_date, term).
+-- Loading a curve, its as-of dates or the points of one as-of date, and filtering the curve point
+-- list by curve become index range scans instead of full table scans.
+USE `poseiden`;
+
+CREATE INDEX `idx_curvepoint_curve_date_term` ON `curvepoint` (`curve_id`, `as_of_date`, `term`);
@@ -0,0 +1,7 @@
+-- Adds an index on trade (account, book) and on bidlist (account, book).
+-- Rules run over these tables are executed as a single query selecting the matching ids: conditions on the
+-- account, or on the account and the book, become index range scans covering the id instead of full scans.
+USE `poseiden`;
+
+CREATE INDEX `idx_trade_account_book` ON `trade` (`account`, `book`);
+CREATE INDEX `idx_bidlist_account_book` ON `bidlist` (`account`, `book`);
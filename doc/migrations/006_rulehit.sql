@@ -0,0 +1,18 @@
+-- Creates the rulehit table, holding the records matched by each rule name.
+-- A hit is unique per rule, table and record. Hits are replaced per rule by the batch job and per record
+-- when a trade or bid list changes, hence the second index.
+USE `poseiden`;
+
+CREATE TABLE IF NOT EXISTS `rulehit` (
+  `id` int NOT NULL,
+  `matched_at` datetime(6) DEFAULT NULL,
+  `record_id` int NOT NULL,
+  `rule_id` int NOT NULL,
+  `target` varchar(16) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_rulehit_rule_target_record` (`rule_id`,`target`,`record_id`),
+  KEY `idx_rulehit_target_record` (`target`,`record_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS `rulehit_seq` (`next_val` bigint DEFAULT NULL) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+INSERT INTO `rulehit_seq` SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM `rulehit_seq`);
@@ -25,7 +25,7 @@ DROP TABLE IF EXISTS `bidlist`;
 /*!40101 SET @saved_cs_client     = @@character_set_client */;
 /*!50503 SET character_set_client = utf8mb4 */;
 CREATE TABLE `bidlist` (
-  `id` int NOT NULL AUTO_INCREMENT,
+  `id` int NOT NULL,
   `account` varchar(255) DEFAULT NULL,
   `ask` double DEFAULT NULL,
   `ask_quantity` double DEFAULT NULL,
@@ -47,7 +47,9 @@ CREATE TABLE `bidlist` (
   `status` varchar(255) DEFAULT NULL,
   `trader` varchar(255) DEFAULT NULL,
   `type` varchar(255) DEFAULT NULL,
-  PRIMARY KEY (`id`)
+  `version` int NOT NULL DEFAULT 0,
+  PRIMARY KEY (`id`),
+  KEY `idx_bidlist_account_book` (`account`,`book`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
@@ -60,6 +62,28 @@ LOCK TABLES `bidlist` WRITE;
 /*!40000 ALTER TABLE `bidlist` ENABLE KEYS */;
 UNLOCK TABLES;
 
+--
+-- Table structure for table `bidlist_seq`
+--
+
+DROP TABLE IF EXISTS `bidlist_seq`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `bidlist_seq` (
+  `next_val` bigint DEFAULT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `bidlist_seq`
+--
+
+LOCK TABLES `bidlist_seq` WRITE;
+/*!40000 ALTER TABLE `bidlist_seq` DISABLE KEYS */;
+INSERT INTO `bidlist_seq` VALUES (1);
+/*!40000 ALTER TABLE `bidlist_seq` ENABLE KEYS */;
+UNLOCK TABLES;
+
 --
 -- Table structure for table `curvepoint`
 --
@@ -68,13 +92,15 @@ DROP TABLE IF EXISTS `curvepoint`;
 /*!40101 SET @saved_cs_client     = @@character_set_client */;
 /*!50503 SET character_set_client = utf8mb4 */;
 CREATE TABLE `curvepoint` (
-  `id` int NOT NULL AUTO_INCREMENT,
+  `id` int NOT NULL,
   `as_of_date` datetime(6) DEFAULT NULL,
   `creation_date` datetime(6) DEFAULT NULL,
   `curve_id` int DEFAULT NULL,
   `term` double DEFAULT NULL,
   `value` double DEFAULT NULL,
-  PRIMARY KEY (`id`)
+  `version` int NOT NULL DEFAULT 0,
+  PRIMARY KEY (`id`),
+  KEY `idx_curvepoint_curve_date_term` (`curve_id`,`as_of_date`,`term`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
@@ -87,6 +113,28 @@ LOCK TABLES `curvepoint` WRITE;
 /*!40000 ALTER TABLE `curvepoint` ENABLE KEYS */;
 UNLOCK TABLES;
 
+--
+-- Table structure for table `curvepoint_seq`
+--
+
+DROP TABLE IF EXISTS `curvepoint_seq`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `curvepoint_seq` (
+  `next_val` bigint DEFAULT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `curvepoint_seq`
+--
+
+LOCK TABLES `curvepoint_seq` WRITE;
+/*!40000 ALTER TABLE `curvepoint_seq` DISABLE KEYS */;
+INSERT INTO `curvepoint_seq` VALUES (1);
+/*!40000 ALTER TABLE `curvepoint_seq` ENABLE KEYS */;
+UNLOCK TABLES;
+
 --
 -- Table structure for table `rating`
 --
@@ -95,7 +143,7 @@ DROP TABLE IF EXISTS `rating`;
 /*!40101 SET @saved_cs_client     = @@character_set_client */;
 /*!50503 SET character_set_client = utf8mb4 */;
 CREATE TABLE `rating` (
-  `id` int NOT NULL AUTO_INCREMENT,
+  `id` int NOT NULL,
   `fitch_rating` varchar(255) DEFAULT NULL,
   `moodys_rating` varchar(255) DEFAULT NULL,
   `order_number` int DEFAULT NULL,
@@ -113,6 +161,78 @@ LOCK TABLES `rating` WRITE;
 /*!40000 ALTER TABLE `rating` ENABLE KEYS */;
 UNLOCK TABLES;
 
+--
+-- Table structure for table `rating_seq`
+--
+
+DROP TABLE IF EXISTS `rating_seq`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `rating_seq` (
+  `next_val` bigint DEFAULT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `rating_seq`
+--
+
+LOCK TABLES `rating_seq` WRITE;
+/*!40000 ALTER TABLE `rating_seq` DISABLE KEYS */;
+INSERT INTO `rating_seq` VALUES (1);
+/*!40000 ALTER TABLE `rating_seq` ENABLE KEYS */;
+UNLOCK TABLES;
+
+--
+-- Table structure for table `rulehit`
+--
+
+DROP TABLE IF EXISTS `rulehit`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `rulehit` (
+  `id` int NOT NULL,
+  `matched_at` datetime(6) DEFAULT NULL,
+  `record_id` int NOT NULL,
+  `rule_id` int NOT NULL,
+  `target` varchar(16) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_rulehit_rule_target_record` (`rule_id`,`target`,`record_id`),
+  KEY `idx_rulehit_target_record` (`target`,`record_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `rulehit`
+--
+
+LOCK TABLES `rulehit` WRITE;
+/*!40000 ALTER TABLE `rulehit` DISABLE KEYS */;
+/*!40000 ALTER TABLE `rulehit` ENABLE KEYS */;
+UNLOCK TABLES;
+
+--
+-- Table structure for table `rulehit_seq`
+--
+
+DROP TABLE IF EXISTS `rulehit_seq`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `rulehit_seq` (
+  `next_val` bigint DEFAULT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `rulehit_seq`
+--
+
+LOCK TABLES `rulehit_seq` WRITE;
+/*!40000 ALTER TABLE `rulehit_seq` DISABLE KEYS */;
+INSERT INTO `rulehit_seq` VALUES (1);
+/*!40000 ALTER TABLE `rulehit_seq` ENABLE KEYS */;
+UNLOCK TABLES;
+
 --
 -- Table structure for table `rulename`
 --
@@ -121,7 +241,7 @@ DROP TABLE IF EXISTS `rulename`;
 /*!40101 SET @saved_cs_client     = @@character_set_client */;
 /*!50503 SET character_set_client = utf8mb4 */;
 CREATE TABLE `rulename` (
-  `id` int NOT NULL AUTO_INCREMENT,
+  `id` int NOT NULL,
   `description` varchar(255) DEFAULT NULL,
   `json` varchar(255) DEFAULT NULL,
   `name` varchar(255) DEFAULT NULL,
@@ -141,6 +261,28 @@ LOCK TABLES `rulename` WRITE;
 /*!40000 ALTER TABLE `rulename` ENABLE KEYS */;
 UNLOCK TABLES;
 
+--
+-- Table structure for table `rulename_seq`
+--
+
+DROP TABLE IF EXISTS `rulename_seq`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `rulename_seq` (
+  `next_val` bigint DEFAULT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `rulename_seq`
+--
+
+LOCK TABLES `rulename_seq` WRITE;
+/*!40000 ALTER TABLE `rulename_seq` DISABLE KEYS */;
+INSERT INTO `rulename_seq` VALUES (1);
+/*!40000 ALTER TABLE `rulename_seq` ENABLE KEYS */;
+UNLOCK TABLES;
+
 --
 -- Table structure for table `trade`
 --
@@ -149,7 +291,7 @@ DROP TABLE IF EXISTS `trade`;
 /*!40101 SET @saved_cs_client     = @@character_set_client */;
 /*!50503 SET character_set_client = utf8mb4 */;
 CREATE TABLE `trade` (
-  `id` int NOT NULL AUTO_INCREMENT,
+  `id` int NOT NULL,
   `account` varchar(255) DEFAULT NULL,
   `benchmark` varchar(255) DEFAULT NULL,
   `book` varchar(255) DEFAULT NULL,
@@ -170,7 +312,9 @@ CREATE TABLE `trade` (
   `trade_date` datetime(6) DEFAULT NULL,
   `trader` varchar(255) DEFAULT NULL,
   `type` varchar(255) DEFAULT NULL,
-  PRIMARY KEY (`id`)
+  `version` int NOT NULL DEFAULT 0,
+  PRIMARY KEY (`id`),
+  KEY `idx_trade_account_book` (`account`,`book`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
@@ -183,6 +327,28 @@ LOCK TABLES `trade` WRITE;
 /*!40000 ALTER TABLE `trade` ENABLE KEYS */;
 UNLOCK TABLES;
 
+--
+-- Table structure for table `trade_seq`
+--
+
+DROP TABLE IF EXISTS `trade_seq`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `trade_seq` (
+  `next_val` bigint DEFAULT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `trade_seq`
+--
+
+LOCK TABLES `trade_seq` WRITE;
+/*!40000 ALTER TABLE `trade_seq` DISABLE KEYS */;
+INSERT INTO `trade_seq` VALUES (1);
+/*!40000 ALTER TABLE `trade_seq` ENABLE KEYS */;
+UNLOCK TABLES;
+
 --
 -- Table structure for table `users`
 --
@@ -196,7 +362,8 @@ CREATE TABLE `users` (
   `password` varchar(255) DEFAULT NULL,
   `role` varchar(255) DEFAULT NULL,
   `username` varchar(255) DEFAULT NULL,
-  PRIMARY KEY (`id`)
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_users_username` (`username`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
@@ -0,0 +1,22 @@
+package com.nnk.springboot.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache configuration class for the application.
+ *
+ * <p>
+ * Enables Spring's annotation-driven caching. The caches are backed by Caffeine and configured through the
+ * {@code spring.cache.*} properties, which bound their size and time to live and record the hit/miss
+ * statistics published on the {@code /actuator/metrics} endpoint.
+ * </p>
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    /**
+     * Name of the cache holding users by username for the authentication and validation paths.
+     */
+    public static final String USERS_CACHE = "users";
+}
@@ -0,0 +1,17 @@
+package com.nnk.springboot.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling configuration class for the application.
+ *
+ * <p>
+ * Enables Spring's annotation-driven scheduling, used by the rule batch job. Its cron expression is set by
+ * {@code app.rules.schedule}, and {@code -} disables it.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,5 +1,6 @@
 package com.nnk.springboot.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -25,7 +26,7 @@ public class SecurityConfig {
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http.authorizeHttpRequests(auth -> auth.requestMatchers("/register", "/css/**")
                                                       .permitAll()
-                                                      .requestMatchers("/admin/**")
+                                                      .requestMatchers("/admin/**", "/actuator/**")
                                                       .hasRole("ADMIN")
                                                       .anyRequest()
                                                       .authenticated())
@@ -44,11 +45,12 @@ public class SecurityConfig {
     /**
      * Provides a {@link PasswordEncoder} bean that uses BCrypt hashing algorithm.
      *
+     * @param strength the BCrypt cost factor, each increment doubles the hashing time
      * @return a {@link BCryptPasswordEncoder} instance
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
 
@@ -0,0 +1,52 @@
+package com.nnk.springboot.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs Tomcat requests on virtual threads when {@code app.threads.virtual=true}.
+ *
+ * <p>
+ * Virtual threads need a Java 21 runtime. The project still compiles for Java 17, so the executor is looked up
+ * by reflection and the application refuses to start if the mode is enabled on an older runtime.
+ * </p>
+ *
+ * <p>
+ * The MySQL driver 8.0 synchronizes on the connection for every statement, which pins the carrier thread during
+ * JDBC calls. Pinned threads are bounded by the Hikari pool size, since only threads holding a connection run JDBC.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    /**
+     * Replaces the Tomcat platform thread pool with one virtual thread per request.
+     *
+     * @return a {@link TomcatProtocolHandlerCustomizer} setting a virtual thread executor
+     * @throws IllegalStateException if the runtime does not support virtual threads
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadExecutorCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        logger.info("Tomcat requests run on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("app.threads.virtual requires Java 21 or later, current runtime is Java "
+                                                    + Runtime.version().feature(), e);
+        }
+    }
+}
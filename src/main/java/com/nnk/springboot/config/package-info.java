@@ -1,5 +1,5 @@
 /**
  * This package contains configuration classes for the application.
- * It includes security configurations and settings.
+ * It includes security, cache, scheduling and threading configurations and settings.
  */
 package com.nnk.springboot.config;
\ No newline at end of file
@@ -1,15 +1,34 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.dto.BidListDTO;
+import com.nnk.springboot.dto.ImportReportDTO;
+import com.nnk.springboot.dto.KeysetPageDTO;
+import com.nnk.springboot.dto.TopOfBookDTO;
 import com.nnk.springboot.services.BidListService;
+import com.nnk.springboot.services.ExportFormat;
+import com.nnk.springboot.services.ExportService;
+import com.nnk.springboot.services.ImportService;
+import com.nnk.springboot.services.OrderBookService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 /**
  * Controller for managing bid list operations.
@@ -17,20 +36,34 @@ import org.springframework.web.servlet.ModelAndView;
 @Controller
 public class BidListController {
     private static final Logger logger = LoggerFactory.getLogger(BidListController.class);
+    private static final int MAX_BOOK_DEPTH = 100;
     @Autowired
     private BidListService bidListService;
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private ImportService importService;
+    @Autowired
+    private OrderBookService orderBookService;
 
     /**
-     * Displays the list of bid entries.
+     * Displays one page of bid entries.
      *
-     * @return a {@link ModelAndView} containing the bid list view and bid list data
+     * @param after  the ID after which the page starts, if navigating forward
+     * @param before the ID before which the page ends, if navigating backward
+     * @return a {@link ModelAndView} containing the bid list view, the page entries and its cursors
      */
     @RequestMapping("/bidList/list")
-    public ModelAndView home() {
-        logger.info("Accessing bid list page");
+    public ModelAndView home(@RequestParam(value = "after", required = false) Integer after,
+                             @RequestParam(value = "before", required = false) Integer before) {
+        logger.info("Accessing bid list page after {} before {}", after, before);
+
+        KeysetPageDTO<BidListDTO> page = bidListService.getBidLists(after, before);
 
         ModelAndView mav = new ModelAndView("bidList/list");
-        mav.addObject("bidLists", bidListService.getBidLists());
+        mav.addObject("bidLists", page.getContent());
+        mav.addObject("nextCursor", page.getNextCursor());
+        mav.addObject("prevCursor", page.getPrevCursor());
         return mav;
     }
 
@@ -123,4 +156,117 @@ public class BidListController {
         logger.info("redirecting to bid list");
         return "redirect:/bidList/list";
     }
+
+    /**
+     * Deletes the bids selected on the list page.
+     *
+     * @param ids the IDs of the bids to delete, none if nothing was selected
+     * @return a redirect string to {@code /bidList/list}.
+     */
+    @PostMapping("/bidList/delete")
+    public String deleteBidLists(@RequestParam(name = "ids", required = false) List<Integer> ids) {
+        logger.info("Deleting bids with IDs: {}", ids);
+
+        bidListService.deleteBidLists(ids == null ? List.of() : ids);
+
+        logger.info("redirecting to bid list");
+        return "redirect:/bidList/list";
+    }
+
+    /**
+     * Streams every bid list as a downloadable file.
+     *
+     * @param format the export format, {@code csv} or {@code ndjson}
+     * @param gzip   whether to gzip compress the file
+     * @return a {@link ResponseEntity} whose body writes the rows straight to the response
+     */
+    @GetMapping("/bidList/export")
+    public ResponseEntity<StreamingResponseBody> exportBidLists(@RequestParam(value = "format", defaultValue = "csv") String format,
+                                                                @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+        logger.info("Exporting bid lists as {} (gzip: {})", format, gzip);
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> exportService.exportBidLists(exportFormat, gzip, out);
+
+        return ResponseEntity.ok()
+                             .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                                                                        .filename(exportFormat.fileName("bidlists", gzip))
+                                                                                        .build()
+                                                                                        .toString())
+                             .contentType(exportFormat.mediaType(gzip))
+                             .body(body);
+    }
+
+    /**
+     * Displays the form to bulk import bid lists from a CSV file.
+     *
+     * @return a {@link ModelAndView} containing the import form view
+     */
+    @GetMapping("/bidList/import")
+    public ModelAndView importBidListsForm() {
+        logger.info("Accessing bid list import form");
+
+        ModelAndView mav = new ModelAndView("import/import");
+        mav.addObject("title", "Import Bid Lists");
+        mav.addObject("action", "/bidList/import");
+        mav.addObject("listUrl", "/bidList/list");
+        return mav;
+    }
+
+    /**
+     * Bulk imports bid lists from an uploaded CSV file and displays the import report.
+     *
+     * @param file the uploaded CSV file
+     * @return a {@link ModelAndView} containing the import view and the {@link ImportReportDTO}
+     * @throws IOException if the uploaded file cannot be opened
+     */
+    @PostMapping("/bidList/import")
+    public ModelAndView importBidLists(@RequestParam("file") MultipartFile file) throws IOException {
+        logger.info("Importing bid lists from file {}", file.getOriginalFilename());
+
+        ModelAndView mav = importBidListsForm();
+        try (InputStream in = file.getInputStream()) {
+            mav.addObject("report", importService.importBidLists(in));
+        }
+        return mav;
+    }
+
+    /**
+     * Displays the order book built from the bids and asks of the bid lists.
+     *
+     * @param security the security whose book to display, or null to only list the securities
+     * @param depth    the number of price levels to display per side
+     * @return a {@link ModelAndView} containing the order book view
+     * @throws ResponseStatusException if the depth is not between 1 and {@value #MAX_BOOK_DEPTH}
+     */
+    @GetMapping("/bidList/book")
+    public ModelAndView orderBook(@RequestParam(value = "security", required = false) String security,
+                                  @RequestParam(value = "depth", defaultValue = "10") int depth) {
+        logger.info("Displaying order book of security {} with depth {}", security, depth);
+
+        if (depth < 1 || depth > MAX_BOOK_DEPTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, String.format(
+                    "La profondeur doit être comprise entre 1 et %d", MAX_BOOK_DEPTH));
+        }
+
+        ModelAndView mav = new ModelAndView("bidList/book");
+        mav.addObject("securities", orderBookService.getSecurities());
+        mav.addObject("depth", depth);
+        if (security != null) {
+            mav.addObject("book", orderBookService.getOrderBook(security, depth));
+        }
+        return mav;
+    }
+
+    /**
+     * Returns the best bid and ask of a security.
+     *
+     * @param security the security
+     * @return the {@link TopOfBookDTO} as JSON
+     */
+    @GetMapping(value = "/bidList/book/top", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public TopOfBookDTO topOfBook(@RequestParam("security") String security) {
+        return orderBookService.getTopOfBook(security);
+    }
 }
@@ -1,16 +1,24 @@
 package com.nnk.springboot.controllers;
 
+import com.nnk.springboot.dto.CurveDTO;
 import com.nnk.springboot.dto.CurvePointDTO;
+import com.nnk.springboot.dto.InterpolationDTO;
 import com.nnk.springboot.services.CurvePointService;
+import com.nnk.springboot.services.CurveService;
+import com.nnk.springboot.services.InterpolationMethod;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.ModelAndView;
 
+import java.time.LocalDate;
+
 /**
  * Controller for managing curve point operations.
  */
@@ -19,18 +27,29 @@ public class CurvePointController {
     private static final Logger logger = LoggerFactory.getLogger(CurvePointController.class);
     @Autowired
     private CurvePointService curvePointService;
+    @Autowired
+    private CurveService curveService;
 
     /**
-     * Displays the list of curve points.
+     * Displays the list of curve points, optionally filtered by curve and range of terms.
      *
+     * @param curveId the ID of the curve to filter on, if any
+     * @param minTerm the lowest term to display, if any
+     * @param maxTerm the highest term to display, if any
      * @return a {@link ModelAndView} containing the curve point list view and data
      */
     @RequestMapping("/curvePoint/list")
-    public ModelAndView home() {
-        logger.info("Accessing curve point list page");
+    public ModelAndView home(@RequestParam(value = "curveId", required = false) Integer curveId,
+                             @RequestParam(value = "minTerm", required = false) Double minTerm,
+                             @RequestParam(value = "maxTerm", required = false) Double maxTerm) {
+        logger.info("Accessing curve point list page of curve {}", curveId);
 
         ModelAndView mav = new ModelAndView("curvePoint/list");
-        mav.addObject("curvePoints", curvePointService.getCurvePoints());
+        mav.addObject("curveIds", curvePointService.getCurveIds());
+        mav.addObject("curveId", curveId);
+        mav.addObject("minTerm", minTerm);
+        mav.addObject("maxTerm", maxTerm);
+        mav.addObject("curvePoints", curvePointService.getCurvePoints(curveId, minTerm, maxTerm));
         return mav;
     }
 
@@ -123,4 +142,41 @@ public class CurvePointController {
         logger.info("redirecting to curve point list");
         return "redirect:/curvePoint/list";
     }
+
+    /**
+     * Returns the points of a curve as of a day.
+     *
+     * @param curveId the ID of the curve
+     * @param asOf    the day to read the curve as of, in ISO format
+     * @return the {@link CurveDTO} of the latest as-of date up to that day, as JSON
+     */
+    @GetMapping(value = "/curvePoint/curve/{curveId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public CurveDTO curveAsOf(@PathVariable("curveId") Integer curveId,
+                              @RequestParam("asOf") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        logger.info("Fetching curve {} as of {}", curveId, asOf);
+
+        return curveService.getCurveAsOf(curveId, asOf);
+    }
+
+    /**
+     * Returns the values of a curve at several terms.
+     *
+     * @param curveId the ID of the curve
+     * @param asOf    the day to read the curve as of, in ISO format, or null for the current curve
+     * @param terms   the terms, ideally ascending
+     * @param method  the interpolation method
+     * @return the {@link InterpolationDTO} as JSON
+     */
+    @GetMapping(value = "/curvePoint/curve/{curveId}/interpolate", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public InterpolationDTO interpolate(@PathVariable("curveId") Integer curveId,
+                                        @RequestParam(value = "asOf", required = false)
+                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+                                        @RequestParam("term") double[] terms,
+                                        @RequestParam(value = "method", defaultValue = "LINEAR") InterpolationMethod method) {
+        logger.info("Interpolating curve {} as of {} at {} terms with method {}", curveId, asOf, terms.length, method);
+
+        return curveService.interpolate(curveId, asOf, terms, method);
+    }
 }
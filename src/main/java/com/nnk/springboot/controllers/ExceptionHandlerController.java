@@ -1,7 +1,10 @@
 package com.nnk.springboot.controllers;
 
+import jakarta.persistence.OptimisticLockException;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -11,7 +14,7 @@ import org.springframework.web.servlet.ModelAndView;
 
 /**
  * ExceptionHandlerController provides a centralized mechanism for handling
- * {@link ResponseStatusException} exceptions thrown within the application.
+ * {@link ResponseStatusException} and optimistic locking exceptions thrown within the application.
  */
 @ControllerAdvice
 public class ExceptionHandlerController {
@@ -37,4 +40,26 @@ public class ExceptionHandlerController {
         logger.error("Handling ResponseStatusException: {} - {}", status, ex.getReason());
         return mav;
     }
+
+    /**
+     * Handles optimistic locking failures, raised when an entity was modified by another user
+     * between the display of its update form and the submission of that form.
+     *
+     * @param ex      the exception that was thrown
+     * @param request the request that submitted the stale form
+     * @return a {@link ModelAndView} of the conflict page, with a link to reload the form
+     */
+    @ExceptionHandler({OptimisticLockingFailureException.class, OptimisticLockException.class})
+    public ModelAndView handleOptimisticLockException(Exception ex, HttpServletRequest request) {
+        ModelAndView mav = new ModelAndView("access/conflict");
+        mav.setStatus(HttpStatus.CONFLICT);
+
+        mav.addObject("title", HttpStatus.CONFLICT.value() + " " + HttpStatus.CONFLICT.getReasonPhrase());
+        mav.addObject("message", "Cet enregistrement a été modifié par un autre utilisateur entre-temps, "
+                + "vos modifications n'ont pas été enregistrées");
+        mav.addObject("reloadUrl", request.getRequestURI());
+
+        logger.warn("Handling optimistic locking conflict on {}: {}", request.getRequestURI(), ex.getMessage());
+        return mav;
+    }
 }
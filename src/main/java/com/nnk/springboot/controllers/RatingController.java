@@ -21,16 +21,18 @@ public class RatingController {
     private RatingService ratingService;
 
     /**
-     * Displays the list of all ratings.
+     * Displays the list of the ratings, optionally only those at least as good as a notation.
      *
+     * @param atLeast the notation of any agency to filter on, such as {@code BBB-}, if any.
      * @return a {@link ModelAndView} object containing the view name "rating/list" and the list of ratings.
      */
     @RequestMapping("/rating/list")
-    public ModelAndView home() {
-        logger.info("Displaying the list of ratings");
+    public ModelAndView home(@RequestParam(value = "atLeast", required = false) String atLeast) {
+        logger.info("Displaying the list of ratings at least {}", atLeast);
 
         ModelAndView mav = new ModelAndView("rating/list");
-        mav.addObject("ratings", ratingService.getRatings());
+        mav.addObject("atLeast", atLeast);
+        mav.addObject("ratings", ratingService.getRatings(atLeast));
         return mav;
     }
 
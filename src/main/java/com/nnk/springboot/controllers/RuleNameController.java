@@ -1,11 +1,14 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.dto.RuleNameDTO;
+import com.nnk.springboot.dto.RuleRunDTO;
 import com.nnk.springboot.services.RuleNameService;
+import com.nnk.springboot.services.RuleTarget;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
@@ -124,4 +127,34 @@ public class RuleNameController {
         logger.info("redirecting to rule name list");
         return "redirect:/ruleName/list";
     }
+
+    /**
+     * Runs the condition of a rule name over every trade or bid list.
+     *
+     * @param id     the ID of the rule name to run
+     * @param target the table to run it over, {@code TRADE} or {@code BID_LIST}
+     * @return the {@link RuleRunDTO} as JSON
+     */
+    @GetMapping(value = "/ruleName/run/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public RuleRunDTO runRuleName(@PathVariable("id") Integer id, @RequestParam("target") RuleTarget<?> target) {
+        logger.info("Running rule name ID {} over {}", id, target);
+
+        return ruleNameService.runRuleName(id, target);
+    }
+
+    /**
+     * Returns the trades or bid lists matched by a rule name when the rules were last evaluated.
+     *
+     * @param id     the ID of the rule name
+     * @param target the table of the records, {@code TRADE} or {@code BID_LIST}
+     * @return the {@link RuleRunDTO} as JSON
+     */
+    @GetMapping(value = "/ruleName/hits/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public RuleRunDTO getRuleHits(@PathVariable("id") Integer id, @RequestParam("target") RuleTarget<?> target) {
+        logger.info("Retrieving the hits of rule name ID {} on {}", id, target);
+
+        return ruleNameService.getRuleHits(id, target);
+    }
 }
@@ -1,15 +1,34 @@
 package com.nnk.springboot.controllers;
 
+import com.nnk.springboot.dto.ImportReportDTO;
+import com.nnk.springboot.dto.PnlDTO;
+import com.nnk.springboot.dto.PositionDTO;
 import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.services.ExportFormat;
+import com.nnk.springboot.services.ExportService;
+import com.nnk.springboot.services.ImportService;
+import com.nnk.springboot.services.PnlService;
+import com.nnk.springboot.services.PositionService;
 import com.nnk.springboot.services.TradeService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 /**
  * Controller for managing trade operations.
@@ -19,6 +38,14 @@ public class TradeController {
     private static final Logger logger = LoggerFactory.getLogger(TradeController.class);
     @Autowired
     private TradeService tradeService;
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private ImportService importService;
+    @Autowired
+    private PositionService positionService;
+    @Autowired
+    private PnlService pnlService;
 
     /**
      * Displays a list of all trades.
@@ -123,4 +150,161 @@ public class TradeController {
         logger.info("redirecting to trade list");
         return "redirect:/trade/list";
     }
+
+    /**
+     * Deletes the trades selected on the list page.
+     *
+     * @param ids the IDs of the trades to delete, none if nothing was selected
+     * @return a redirect string to {@code /trade/list}.
+     */
+    @PostMapping("/trade/delete")
+    public String deleteTrades(@RequestParam(name = "ids", required = false) List<Integer> ids) {
+        logger.info("Deleting trades with IDs: {}", ids);
+
+        tradeService.deleteTrades(ids == null ? List.of() : ids);
+
+        logger.info("redirecting to trade list");
+        return "redirect:/trade/list";
+    }
+
+    /**
+     * Streams every trade as a downloadable file.
+     *
+     * @param format the export format, {@code csv} or {@code ndjson}
+     * @param gzip   whether to gzip compress the file
+     * @return a {@link ResponseEntity} whose body writes the rows straight to the response
+     */
+    @GetMapping("/trade/export")
+    public ResponseEntity<StreamingResponseBody> exportTrades(@RequestParam(value = "format", defaultValue = "csv") String format,
+                                                              @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+        logger.info("Exporting trades as {} (gzip: {})", format, gzip);
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> exportService.exportTrades(exportFormat, gzip, out);
+
+        return ResponseEntity.ok()
+                             .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                                                                        .filename(exportFormat.fileName("trades", gzip))
+                                                                                        .build()
+                                                                                        .toString())
+                             .contentType(exportFormat.mediaType(gzip))
+                             .body(body);
+    }
+
+    /**
+     * Displays the form to bulk import trades from a CSV file.
+     *
+     * @return a {@link ModelAndView} containing the import form view
+     */
+    @GetMapping("/trade/import")
+    public ModelAndView importTradesForm() {
+        logger.info("Accessing trade import form");
+
+        ModelAndView mav = new ModelAndView("import/import");
+        mav.addObject("title", "Import Trades");
+        mav.addObject("action", "/trade/import");
+        mav.addObject("listUrl", "/trade/list");
+        return mav;
+    }
+
+    /**
+     * Bulk imports trades from an uploaded CSV file and displays the import report.
+     *
+     * @param file the uploaded CSV file
+     * @return a {@link ModelAndView} containing the import view and the {@link ImportReportDTO}
+     * @throws IOException if the uploaded file cannot be opened
+     */
+    @PostMapping("/trade/import")
+    public ModelAndView importTrades(@RequestParam("file") MultipartFile file) throws IOException {
+        logger.info("Importing trades from file {}", file.getOriginalFilename());
+
+        ModelAndView mav = importTradesForm();
+        try (InputStream in = file.getInputStream()) {
+            mav.addObject("report", importService.importTrades(in));
+        }
+        return mav;
+    }
+
+    /**
+     * Displays the positions per account, book and security.
+     *
+     * @param account the account to filter on, if any
+     * @return a {@link ModelAndView} containing the positions view and the positions
+     */
+    @GetMapping("/trade/positions")
+    public ModelAndView positions(@RequestParam(value = "account", required = false) String account) {
+        logger.info("Displaying positions of account {}", account);
+
+        ModelAndView mav = new ModelAndView("trade/positions");
+        mav.addObject("account", account);
+        mav.addObject("positions", positionService.getPositions(account));
+        return mav;
+    }
+
+    /**
+     * Returns the positions per account, book and security.
+     *
+     * @param account the account to filter on, if any
+     * @return the list of {@link PositionDTO} as JSON
+     */
+    @GetMapping(value = "/trade/positions", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public List<PositionDTO> positionsAsJson(@RequestParam(value = "account", required = false) String account) {
+        return positionService.getPositions(account);
+    }
+
+    /**
+     * Rebuilds the positions from the trades in the database.
+     *
+     * @param redirectAttributes the attributes passed to the positions page
+     * @return a redirect to {@code /trade/positions}
+     */
+    @PostMapping("/admin/trade/positions/rebuild")
+    public String rebuildPositions(RedirectAttributes redirectAttributes) {
+        logger.info("Rebuilding positions");
+
+        redirectAttributes.addFlashAttribute("drifted", positionService.rebuild());
+        return "redirect:/trade/positions";
+    }
+
+    /**
+     * Displays the P&L per trader and book.
+     *
+     * @param trader the trader to filter on, if any
+     * @return a {@link ModelAndView} containing the P&L view and the P&L
+     */
+    @GetMapping("/trade/pnl")
+    public ModelAndView pnl(@RequestParam(value = "trader", required = false) String trader) {
+        logger.info("Displaying P&L of trader {}", trader);
+
+        ModelAndView mav = new ModelAndView("trade/pnl");
+        mav.addObject("trader", trader);
+        mav.addObject("pnl", pnlService.getPnl(trader));
+        return mav;
+    }
+
+    /**
+     * Returns the P&L per trader and book.
+     *
+     * @param trader the trader to filter on, if any
+     * @return the list of {@link PnlDTO} as JSON
+     */
+    @GetMapping(value = "/trade/pnl", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public List<PnlDTO> pnlAsJson(@RequestParam(value = "trader", required = false) String trader) {
+        return pnlService.getPnl(trader);
+    }
+
+    /**
+     * Recomputes the P&L from the trades in the database.
+     *
+     * @return a redirect to {@code /trade/pnl}
+     */
+    @PostMapping("/admin/trade/pnl/recompute")
+    public String recomputePnl() {
+        logger.info("Recomputing P&L");
+
+        pnlService.recompute();
+        return "redirect:/trade/pnl";
+    }
 }
@@ -9,15 +9,24 @@ import java.sql.Timestamp;
 
 /**
  * Represents a bid list entry in the application.
+ * Bid lists are indexed by account and book, the columns rules run over them usually filter on.
  */
 @Entity
-@Table(name = "bidlist")
+@Table(name = "bidlist", indexes = @Index(name = BidList.ACCOUNT_INDEX, columnList = "account, book"))
 @Getter
 @Setter
 public class BidList {
+    public static final String ACCOUNT_INDEX = "idx_bidlist_account_book";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bidlist_seq")
+    @SequenceGenerator(name = "bidlist_seq", sequenceName = "bidlist_seq", allocationSize = 50)
     private Integer id;
+
+    @Version
+    @Column(nullable = false)
+    private Integer version;
+
     private String account;
     private String type;
     private Double bidQuantity;
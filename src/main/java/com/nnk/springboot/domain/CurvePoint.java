@@ -9,15 +9,24 @@ import java.sql.Timestamp;
 
 /**
  * Represents a curve point entry in the application.
+ * The points of a curve are indexed by curve, as-of date and term, the order curves are read in.
  */
 @Entity
-@Table(name = "curvepoint")
+@Table(name = "curvepoint", indexes = @Index(name = CurvePoint.CURVE_INDEX, columnList = "curveId, asOfDate, term"))
 @Getter
 @Setter
 public class CurvePoint {
+    public static final String CURVE_INDEX = "idx_curvepoint_curve_date_term";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "curvepoint_seq")
+    @SequenceGenerator(name = "curvepoint_seq", sequenceName = "curvepoint_seq", allocationSize = 50)
     private Integer id;
+
+    @Version
+    @Column(nullable = false)
+    private Integer version;
+
     private Integer curveId;
     private Timestamp asOfDate;
     private Double term;
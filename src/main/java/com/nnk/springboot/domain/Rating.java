@@ -14,7 +14,8 @@ import lombok.Setter;
 @Setter
 public class Rating {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rating_seq")
+    @SequenceGenerator(name = "rating_seq", sequenceName = "rating_seq", allocationSize = 50)
     private Integer id;
     private String moodysRating;
     private String sandPRating;
@@ -0,0 +1,55 @@
+package com.nnk.springboot.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.sql.Timestamp;
+
+/**
+ * Represents a record matched by a rule, materialized by the rule scheduler.
+ * A record matched by a rule has a single hit, and the hits of a rule are read in record order.
+ */
+@Entity
+@Table(name = "rulehit", uniqueConstraints = @UniqueConstraint(name = RuleHit.RULE_RECORD_CONSTRAINT,
+        columnNames = {"ruleId", "target", "recordId"}),
+        indexes = @Index(name = RuleHit.RECORD_INDEX, columnList = "target, recordId"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class RuleHit {
+    public static final String RULE_RECORD_CONSTRAINT = "uk_rulehit_rule_target_record";
+    public static final String RECORD_INDEX = "idx_rulehit_target_record";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rulehit_seq")
+    @SequenceGenerator(name = "rulehit_seq", sequenceName = "rulehit_seq", allocationSize = 50)
+    private Integer id;
+
+    @Column(nullable = false)
+    private Integer ruleId;
+
+    @Column(nullable = false, length = 16)
+    private String target;
+
+    @Column(nullable = false)
+    private Integer recordId;
+
+    private Timestamp matchedAt;
+
+    /**
+     * Creates the hit of a record.
+     *
+     * @param ruleId    the ID of the rule name.
+     * @param target    the name of the table of the record, {@code TRADE} or {@code BID_LIST}.
+     * @param recordId  the ID of the record.
+     * @param matchedAt when the record was evaluated.
+     */
+    public RuleHit(Integer ruleId, String target, Integer recordId, Timestamp matchedAt) {
+        this.ruleId = ruleId;
+        this.target = target;
+        this.recordId = recordId;
+        this.matchedAt = matchedAt;
+    }
+}
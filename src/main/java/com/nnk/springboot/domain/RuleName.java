@@ -16,7 +16,8 @@ import java.sql.Timestamp;
 @Setter
 public class RuleName {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rulename_seq")
+    @SequenceGenerator(name = "rulename_seq", sequenceName = "rulename_seq", allocationSize = 50)
     private Integer id;
     private String name;
     private String description;
@@ -11,15 +11,24 @@ import java.sql.Timestamp;
 
 /**
  * Represents a trade entry in the application.
+ * Trades are indexed by account and book, the columns rules run over them usually filter on.
  */
 @Entity
-@Table(name = "trade")
+@Table(name = "trade", indexes = @Index(name = Trade.ACCOUNT_INDEX, columnList = "account, book"))
 @Getter
 @Setter
 public class Trade {
+    public static final String ACCOUNT_INDEX = "idx_trade_account_book";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trade_seq")
+    @SequenceGenerator(name = "trade_seq", sequenceName = "trade_seq", allocationSize = 50)
     private Integer id;
+
+    @Version
+    @Column(nullable = false)
+    private Integer version;
+
     private String account;
     private String type;
     private Double buyQuantity;
@@ -22,12 +22,18 @@ import java.util.Collections;
  * </p>
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"))
 @Getter
 @Setter
 public class User implements UserDetails {
+    /**
+     * Name of the unique constraint on {@code username}, used to recognise duplicate username errors.
+     */
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Integer id;
 
     private String username;
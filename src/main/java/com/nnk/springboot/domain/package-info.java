@@ -6,6 +6,7 @@
  *   <li>{@link com.nnk.springboot.domain.BidList} - Represents a bid entry in the bid list.</li>
  *   <li>{@link com.nnk.springboot.domain.CurvePoint} - Represents a curve point used in financial calculations.</li>
  *   <li>{@link com.nnk.springboot.domain.Rating} - Represents a credit rating for financial instruments.</li>
+ *   <li>{@link com.nnk.springboot.domain.RuleHit} - Represents a record matched by a rule name.</li>
  *   <li>{@link com.nnk.springboot.domain.RuleName} - Represents a rule name used in risk management.</li>
  *   <li>{@link com.nnk.springboot.domain.Trade} - Represents a trade entry in the trading system.</li>
  *   <li>{@link com.nnk.springboot.domain.User} - Represents a user in the application, implementing Spring Security's UserDetails.</li>
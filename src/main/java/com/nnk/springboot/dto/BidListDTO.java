@@ -0,0 +1,60 @@
+package com.nnk.springboot.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object for bid list entries.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class BidListDTO {
+    private Integer id;
+
+    private Integer version;
+
+    @NotEmpty(message = "Account is mandatory")
+    private String account;
+
+    @NotEmpty(message = "Type is mandatory")
+    private String type;
+
+    @NotNull(message = "Quantity is mandatory")
+    @Min(value = 1, message = "Quantity must not be null")
+    private Double bidQuantity;
+
+    private String security;
+
+    @Positive(message = "Bid must be positive")
+    private Double bid;
+
+    @Positive(message = "Ask must be positive")
+    private Double ask;
+
+    @Positive(message = "Ask quantity must be positive")
+    private Double askQuantity;
+
+    private String side;
+
+    /**
+     * Creates a DTO from the columns displayed on the bid list page.
+     * Used by the repository constructor expression queries.
+     *
+     * @param id          the ID of the bid list.
+     * @param account     the account of the bid list.
+     * @param type        the type of the bid list.
+     * @param bidQuantity the bid quantity.
+     */
+    public BidListDTO(Integer id, String account, String type, Double bidQuantity) {
+        this.id = id;
+        this.account = account;
+        this.type = type;
+        this.bidQuantity = bidQuantity;
+    }
+}
@@ -0,0 +1,38 @@
+package com.nnk.springboot.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for the points of a curve at an as-of date.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class CurveDTO {
+    private Integer curveId;
+    private LocalDateTime asOfDate;
+    private long version;
+    private double[] terms;
+    private double[] values;
+
+    /**
+     * Creates a curve snapshot.
+     *
+     * @param curveId  the ID of the curve.
+     * @param asOfDate the as-of date of the points.
+     * @param version  the version of the snapshot, changing whenever the curve is reloaded.
+     * @param terms    the terms of the points, ascending.
+     * @param values   the value of each point.
+     */
+    public CurveDTO(Integer curveId, LocalDateTime asOfDate, long version, double[] terms, double[] values) {
+        this.curveId = curveId;
+        this.asOfDate = asOfDate;
+        this.version = version;
+        this.terms = terms;
+        this.values = values;
+    }
+}
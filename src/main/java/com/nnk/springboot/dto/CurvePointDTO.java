@@ -2,20 +2,29 @@ package com.nnk.springboot.dto;
 
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
-import lombok.Data;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
 
 /**
  * Data Transfer Object for curve point entries.
  */
 @Getter
 @Setter
+@NoArgsConstructor
 public class CurvePointDTO {
     private Integer id;
 
+    private Integer version;
+
     private Integer curveId;
 
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate asOfDate;
+
     @NotNull(message = "Term is mandatory")
     @Min(value = 1, message = "Term must not be null")
     private Double term;
@@ -23,4 +32,20 @@ public class CurvePointDTO {
     @NotNull(message = "Value is mandatory")
     @Min(value = 1, message = "Value must not be null")
     private Double value;
+
+    /**
+     * Creates a DTO from the columns displayed on the curve point list page.
+     * Used by the repository constructor expression queries.
+     *
+     * @param id      the ID of the curve point.
+     * @param curveId the ID of the curve.
+     * @param term    the term of the curve point.
+     * @param value   the value of the curve point.
+     */
+    public CurvePointDTO(Integer id, Integer curveId, Double term, Double value) {
+        this.id = id;
+        this.curveId = curveId;
+        this.term = term;
+        this.value = value;
+    }
 }
@@ -0,0 +1,64 @@
+package com.nnk.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of a bulk CSV import.
+ *
+ * <p>
+ * Only the first {@link #MAX_REPORTED_ERRORS} rejected rows are detailed, the total count is always kept.
+ * </p>
+ */
+@Getter
+@Setter
+public class ImportReportDTO {
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private long rowsRead;
+
+    private long rowsImported;
+
+    private long rowsRejected;
+
+    private long elapsedMillis;
+
+    private final List<RowError> errors = new ArrayList<>();
+
+    /**
+     * Records a rejected row.
+     *
+     * @param line    the line of the row in the file.
+     * @param message the reason of the rejection.
+     */
+    public void reject(int line, String message) {
+        rowsRejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    /**
+     * Returns the import throughput.
+     *
+     * @return the number of rows read per second.
+     */
+    public long getRowsPerSecond() {
+        return elapsedMillis == 0 ? rowsRead : rowsRead * 1000 / elapsedMillis;
+    }
+
+    /**
+     * A row of the file that could not be imported.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        private final int line;
+
+        private final String message;
+    }
+}
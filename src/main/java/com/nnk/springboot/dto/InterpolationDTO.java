@@ -0,0 +1,40 @@
+package com.nnk.springboot.dto;
+
+import com.nnk.springboot.services.InterpolationMethod;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for the values of a curve interpolated at several terms.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class InterpolationDTO {
+    private Integer curveId;
+    private LocalDateTime asOfDate;
+    private InterpolationMethod method;
+    private double[] terms;
+    private double[] values;
+
+    /**
+     * Creates the result of an interpolation.
+     *
+     * @param curveId  the ID of the curve.
+     * @param asOfDate the as-of date of the snapshot, or null for the current curve.
+     * @param method   the interpolation method.
+     * @param terms    the requested terms.
+     * @param values   the value of the curve at each term.
+     */
+    public InterpolationDTO(Integer curveId, LocalDateTime asOfDate, InterpolationMethod method, double[] terms,
+                            double[] values) {
+        this.curveId = curveId;
+        this.asOfDate = asOfDate;
+        this.method = method;
+        this.terms = terms;
+        this.values = values;
+    }
+}
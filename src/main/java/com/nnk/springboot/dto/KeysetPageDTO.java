@@ -0,0 +1,26 @@
+package com.nnk.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of a keyset (seek) paginated listing.
+ *
+ * <p>
+ * The cursors are the IDs to pass back as {@code after} or {@code before} to fetch the
+ * following or preceding page. A {@code null} cursor means there is no page in that direction.
+ * </p>
+ *
+ * @param <T> the type of the entries of the page.
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetPageDTO<T> {
+    private final List<T> content;
+
+    private final Integer nextCursor;
+
+    private final Integer prevCursor;
+}
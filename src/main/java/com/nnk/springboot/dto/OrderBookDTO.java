@@ -0,0 +1,40 @@
+package com.nnk.springboot.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the best price levels of the order book of a security.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderBookDTO {
+    private String security;
+
+    /**
+     * Bid levels, best (highest) price first.
+     */
+    private List<PriceLevelDTO> bids;
+
+    /**
+     * Ask levels, best (lowest) price first.
+     */
+    private List<PriceLevelDTO> asks;
+
+    /**
+     * Creates an order book snapshot.
+     *
+     * @param security the security of the order book.
+     * @param bids     the bid levels, best price first.
+     * @param asks     the ask levels, best price first.
+     */
+    public OrderBookDTO(String security, List<PriceLevelDTO> bids, List<PriceLevelDTO> asks) {
+        this.security = security;
+        this.bids = bids;
+        this.asks = asks;
+    }
+}
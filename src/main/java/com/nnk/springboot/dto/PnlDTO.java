@@ -0,0 +1,39 @@
+package com.nnk.springboot.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object for the P&L of a trader in a book.
+ * Open quantities on securities without a mark price are left out of the unrealized P&L and counted instead.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class PnlDTO {
+    private String trader;
+    private String book;
+    private double realized;
+    private double unrealized;
+    private double total;
+    private int unmarkedSecurities;
+
+    /**
+     * Creates a P&L.
+     *
+     * @param trader             the trader, or null.
+     * @param book               the book, or null.
+     * @param realized           the P&L of the closed quantities.
+     * @param unrealized         the P&L of the open quantities against their mark price.
+     * @param unmarkedSecurities the number of securities with an open quantity but no mark price.
+     */
+    public PnlDTO(String trader, String book, double realized, double unrealized, int unmarkedSecurities) {
+        this.trader = trader;
+        this.book = book;
+        this.realized = realized;
+        this.unrealized = unrealized;
+        this.total = realized + unrealized;
+        this.unmarkedSecurities = unmarkedSecurities;
+    }
+}
@@ -0,0 +1,49 @@
+package com.nnk.springboot.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object for the position of an account on a security in a book.
+ * The amounts only include the trades with a price.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class PositionDTO {
+    private String account;
+    private String book;
+    private String security;
+    private double boughtQuantity;
+    private double soldQuantity;
+    private double netQuantity;
+    private double buyAmount;
+    private double sellAmount;
+    private int tradeCount;
+
+    /**
+     * Creates a position.
+     *
+     * @param account        the account.
+     * @param book           the book, or null.
+     * @param security       the security, or null.
+     * @param boughtQuantity the total bought quantity.
+     * @param soldQuantity   the total sold quantity.
+     * @param buyAmount      the total of the bought quantities times their price.
+     * @param sellAmount     the total of the sold quantities times their price.
+     * @param tradeCount     the number of trades of the position.
+     */
+    public PositionDTO(String account, String book, String security, double boughtQuantity, double soldQuantity,
+                       double buyAmount, double sellAmount, int tradeCount) {
+        this.account = account;
+        this.book = book;
+        this.security = security;
+        this.boughtQuantity = boughtQuantity;
+        this.soldQuantity = soldQuantity;
+        this.netQuantity = boughtQuantity - soldQuantity;
+        this.buyAmount = buyAmount;
+        this.sellAmount = sellAmount;
+        this.tradeCount = tradeCount;
+    }
+}
@@ -0,0 +1,27 @@
+package com.nnk.springboot.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object for one price level of an order book.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class PriceLevelDTO {
+    private double price;
+    private double quantity;
+
+    /**
+     * Creates a price level.
+     *
+     * @param price    the price of the level.
+     * @param quantity the total quantity available at this price.
+     */
+    public PriceLevelDTO(double price, double quantity) {
+        this.price = price;
+        this.quantity = quantity;
+    }
+}
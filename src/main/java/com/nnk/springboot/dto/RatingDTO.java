@@ -1,10 +1,12 @@
 package com.nnk.springboot.dto;
 
+import com.nnk.springboot.services.RatingNotation;
+import com.nnk.springboot.services.RatingScale.Agency;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
-import lombok.Data;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 /**
@@ -12,19 +14,41 @@ import lombok.Setter;
  */
 @Getter
 @Setter
+@NoArgsConstructor
 public class RatingDTO {
     private Integer id;
 
     @NotEmpty(message = "Moodys rating is mandatory")
+    @RatingNotation(value = Agency.MOODYS, message = "Moodys rating must be a Moodys notation, such as Baa2")
     private String moodysRating;
 
     @NotEmpty(message = "SandP rating is mandatory")
+    @RatingNotation(value = Agency.SANDP, message = "SandP rating must be a SandP notation, such as BBB")
     private String sandPRating;
 
     @NotEmpty(message = "Fitch rating is mandatory")
+    @RatingNotation(value = Agency.FITCH, message = "Fitch rating must be a Fitch notation, such as BBB")
     private String fitchRating;
 
     @NotNull(message = "Order is mandatory")
     @Min(value = 1, message = "Order must not be null")
     private Integer order;
+
+    /**
+     * Creates a DTO from the columns displayed on the rating list page.
+     * Used by the repository constructor expression queries.
+     *
+     * @param id           the ID of the rating.
+     * @param moodysRating the Moody's rating.
+     * @param sandPRating  the S&amp;P rating.
+     * @param fitchRating  the Fitch rating.
+     * @param order        the order number of the rating.
+     */
+    public RatingDTO(Integer id, String moodysRating, String sandPRating, String fitchRating, Integer order) {
+        this.id = id;
+        this.moodysRating = moodysRating;
+        this.sandPRating = sandPRating;
+        this.fitchRating = fitchRating;
+        this.order = order;
+    }
 }
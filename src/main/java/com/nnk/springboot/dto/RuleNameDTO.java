@@ -1,8 +1,9 @@
 package com.nnk.springboot.dto;
 
+import com.nnk.springboot.services.RuleCondition;
 import jakarta.validation.constraints.NotEmpty;
-import lombok.Data;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 /**
@@ -10,6 +11,7 @@ import lombok.Setter;
  */
 @Getter
 @Setter
+@NoArgsConstructor
 public class RuleNameDTO {
     private Integer id;
 
@@ -29,5 +31,28 @@ public class RuleNameDTO {
     private String sql;
 
     @NotEmpty(message = "SQLPart is mandatory")
+    @RuleCondition
     private String sqlPart;
+
+    /**
+     * Creates a DTO from the columns displayed on the rule name list page.
+     * Used by the repository constructor expression queries.
+     *
+     * @param id          the ID of the rule name.
+     * @param name        the name of the rule.
+     * @param description the description of the rule.
+     * @param json        the JSON of the rule.
+     * @param template    the template of the rule.
+     * @param sql         the SQL of the rule.
+     * @param sqlPart     the SQL part of the rule.
+     */
+    public RuleNameDTO(Integer id, String name, String description, String json, String template, String sql, String sqlPart) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.json = json;
+        this.template = template;
+        this.sql = sql;
+        this.sqlPart = sqlPart;
+    }
 }
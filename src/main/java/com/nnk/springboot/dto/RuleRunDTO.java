@@ -0,0 +1,30 @@
+package com.nnk.springboot.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object for the records matched by a rule run over a table.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class RuleRunDTO {
+    private Integer ruleId;
+    private String target;
+    private int[] matchedIds;
+
+    /**
+     * Creates the result of a rule run.
+     *
+     * @param ruleId     the ID of the rule.
+     * @param target     the name of the table the rule was run over.
+     * @param matchedIds the IDs of the matching records, ascending.
+     */
+    public RuleRunDTO(Integer ruleId, String target, int[] matchedIds) {
+        this.ruleId = ruleId;
+        this.target = target;
+        this.matchedIds = matchedIds;
+    }
+}
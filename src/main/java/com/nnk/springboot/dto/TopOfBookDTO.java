@@ -0,0 +1,37 @@
+package com.nnk.springboot.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object for the best bid and best ask of a security.
+ * The prices and quantities of an empty side are null.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class TopOfBookDTO {
+    private String security;
+    private Double bidPrice;
+    private Double bidQuantity;
+    private Double askPrice;
+    private Double askQuantity;
+
+    /**
+     * Creates a top of book snapshot.
+     *
+     * @param security    the security.
+     * @param bidPrice    the best bid price, or null.
+     * @param bidQuantity the quantity at the best bid, or null.
+     * @param askPrice    the best ask price, or null.
+     * @param askQuantity the quantity at the best ask, or null.
+     */
+    public TopOfBookDTO(String security, Double bidPrice, Double bidQuantity, Double askPrice, Double askQuantity) {
+        this.security = security;
+        this.bidPrice = bidPrice;
+        this.bidQuantity = bidQuantity;
+        this.askPrice = askPrice;
+        this.askQuantity = askQuantity;
+    }
+}
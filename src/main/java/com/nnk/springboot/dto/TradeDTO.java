@@ -3,8 +3,8 @@ package com.nnk.springboot.dto;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
-import lombok.Data;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 /**
@@ -12,9 +12,12 @@ import lombok.Setter;
  */
 @Getter
 @Setter
+@NoArgsConstructor
 public class TradeDTO {
     private Integer id;
 
+    private Integer version;
+
     @NotEmpty(message = "Account is mandatory")
     private String account;
 
@@ -24,4 +27,20 @@ public class TradeDTO {
     @NotNull(message = "Quantity is mandatory")
     @Min(value = 1, message = "Quantity must not be null")
     private Double buyQuantity;
+
+    /**
+     * Creates a DTO from the columns displayed on the trade list page.
+     * Used by the repository constructor expression queries.
+     *
+     * @param id          the ID of the trade.
+     * @param account     the account of the trade.
+     * @param type        the type of the trade.
+     * @param buyQuantity the buy quantity.
+     */
+    public TradeDTO(Integer id, String account, String type, Double buyQuantity) {
+        this.id = id;
+        this.account = account;
+        this.type = type;
+        this.buyQuantity = buyQuantity;
+    }
 }
@@ -1,8 +1,8 @@
 package com.nnk.springboot.dto;
 
 import jakarta.validation.constraints.NotBlank;
-import lombok.Data;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 /**
@@ -10,6 +10,7 @@ import lombok.Setter;
  */
 @Getter
 @Setter
+@NoArgsConstructor
 public class UserDTO {
     private Integer id;
 
@@ -23,4 +24,20 @@ public class UserDTO {
 
     @NotBlank(message = "Role is mandatory")
     private String role;
+
+    /**
+     * Creates a DTO from the columns displayed on the user list page, without the password.
+     * Used by the repository constructor expression queries.
+     *
+     * @param id       the ID of the user.
+     * @param fullname the full name of the user.
+     * @param username the username of the user.
+     * @param role     the role of the user.
+     */
+    public UserDTO(Integer id, String fullname, String username, String role) {
+        this.id = id;
+        this.fullname = fullname;
+        this.username = username;
+        this.role = role;
+    }
 }
@@ -3,11 +3,21 @@
  *
  * <ul>
  *   <li>{@link com.nnk.springboot.dto.BidListDTO} - Represents a data transfer object for bid list entries.</li>
+ *   <li>{@link com.nnk.springboot.dto.CurveDTO} - Represents the points of a curve at an as-of date.</li>
  *   <li>{@link com.nnk.springboot.dto.CurvePointDTO} - Represents a data transfer object for curve point entries.</li>
+ *   <li>{@link com.nnk.springboot.dto.ImportReportDTO} - Represents the outcome of a bulk CSV import.</li>
+ *   <li>{@link com.nnk.springboot.dto.InterpolationDTO} - Represents the values of a curve interpolated at several terms.</li>
+ *   <li>{@link com.nnk.springboot.dto.KeysetPageDTO} - Represents one page of a keyset paginated listing with its cursors.</li>
  *   <li>{@link com.nnk.springboot.dto.LoginDTO} - Represents a data transfer object for user login credentials.</li>
+ *   <li>{@link com.nnk.springboot.dto.OrderBookDTO} - Represents the best price levels of the order book of a security.</li>
+ *   <li>{@link com.nnk.springboot.dto.PnlDTO} - Represents the P&L of a trader in a book.</li>
+ *   <li>{@link com.nnk.springboot.dto.PositionDTO} - Represents the position of an account on a security in a book.</li>
+ *   <li>{@link com.nnk.springboot.dto.PriceLevelDTO} - Represents one price level of an order book.</li>
  *   <li>{@link com.nnk.springboot.dto.RatingDTO} - Represents a data transfer object for ratings.</li>
  *   <li>{@link com.nnk.springboot.dto.RegisterDTO} - Represents a data transfer object for user registration.</li>
  *   <li>{@link com.nnk.springboot.dto.RuleNameDTO} - Represents a data transfer object for rule names.</li>
+ *   <li>{@link com.nnk.springboot.dto.RuleRunDTO} - Represents the records matched by a rule run over a table.</li>
+ *   <li>{@link com.nnk.springboot.dto.TopOfBookDTO} - Represents the best bid and ask of a security.</li>
  *   <li>{@link com.nnk.springboot.dto.TradeDTO} - Represents a data transfer object for trades.</li>
  *   <li>{@link com.nnk.springboot.dto.UserDTO} - Represents a data transfer object for user entries.</li>
  * </ul>
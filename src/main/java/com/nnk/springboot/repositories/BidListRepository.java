@@ -1,11 +1,142 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.BidListDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing {@link BidList} entities.
  */
 public interface BidListRepository extends JpaRepository<BidList, Integer> {
+    /**
+     * Finds the bid lists whose ID is greater than the given cursor, in ascending ID order.
+     * Only the columns displayed on the list page are fetched.
+     *
+     * @param afterId  the ID after which to start reading
+     * @param pageable the page holding the maximum number of rows to return
+     * @return the list of {@link BidListDTO} following the cursor
+     */
+    @Query("select new com.nnk.springboot.dto.BidListDTO(b.id, b.account, b.type, b.bidQuantity) "
+            + "from BidList b where b.id > :afterId order by b.id asc")
+    List<BidListDTO> findPageAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    /**
+     * Finds the bid lists whose ID is lower than the given cursor, in descending ID order.
+     * Only the columns displayed on the list page are fetched.
+     *
+     * @param beforeId the ID before which to start reading
+     * @param pageable the page holding the maximum number of rows to return
+     * @return the list of {@link BidListDTO} preceding the cursor, closest first
+     */
+    @Query("select new com.nnk.springboot.dto.BidListDTO(b.id, b.account, b.type, b.bidQuantity) "
+            + "from BidList b where b.id < :beforeId order by b.id desc")
+    List<BidListDTO> findPageBefore(@Param("beforeId") Integer beforeId, Pageable pageable);
+
+    /**
+     * Checks whether a bid list has an ID lower than the given one.
+     *
+     * @param id the ID to compare with
+     * @return true if a bid list precedes this ID, false otherwise
+     */
+    boolean existsByIdLessThan(Integer id);
+
+    /**
+     * Streams every bid list in ID order, for exports.
+     *
+     * <p>
+     * Rows are fetched from the database in chunks of the hinted fetch size and loaded read-only.
+     * The stream must be consumed and closed inside a transaction.
+     * </p>
+     *
+     * @return a {@link Stream} of all {@link BidList} entities
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select b from BidList b order by b.id")
+    Stream<BidList> streamAll();
+
+    /**
+     * Updates the editable fields of a bid list in a single statement, without loading it first.
+     * The row is only updated if its version still matches, and its version is then incremented.
+     * The revision date is set here since {@code @PreUpdate} callbacks do not run for bulk updates.
+     *
+     * @param id the ID of the bid list to update
+     * @param version the version the bid list was read with
+     * @param account the new account
+     * @param type the new type
+     * @param bidQuantity the new bid quantity
+     * @return the number of updated rows, 0 if no bid list has this ID and version
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update BidList b set b.account = :account, b.type = :type, b.bidQuantity = :bidQuantity, "
+            + "b.revisionDate = current_timestamp, b.version = b.version + 1 "
+            + "where b.id = :id and b.version = :version")
+    int updateFields(@Param("id") Integer id,
+                     @Param("version") Integer version,
+                     @Param("account") String account,
+                     @Param("type") String type,
+                     @Param("bidQuantity") Double bidQuantity);
+
+    /**
+     * Decreases the bid quantity of a bid list by a filled quantity, down to zero, and increments its version.
+     *
+     * @param id       the ID of the bid list
+     * @param quantity the filled quantity
+     * @return the number of updated rows, 0 if the bid list was deleted
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update BidList b set b.bidQuantity = case when b.bidQuantity > :quantity "
+            + "then b.bidQuantity - :quantity else 0 end, "
+            + "b.revisionDate = current_timestamp, b.version = b.version + 1 where b.id = :id")
+    int reduceBidQuantity(@Param("id") Integer id, @Param("quantity") Double quantity);
+
+    /**
+     * Decreases the ask quantity of a bid list by a filled quantity, down to zero, and increments its version.
+     *
+     * @param id       the ID of the bid list
+     * @param quantity the filled quantity
+     * @return the number of updated rows, 0 if the bid list was deleted
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update BidList b set b.askQuantity = case when b.askQuantity > :quantity "
+            + "then b.askQuantity - :quantity else 0 end, "
+            + "b.revisionDate = current_timestamp, b.version = b.version + 1 where b.id = :id")
+    int reduceAskQuantity(@Param("id") Integer id, @Param("quantity") Double quantity);
+
+    /**
+     * Deletes a bid list in a single statement, without loading it first.
+     *
+     * @param id the ID of the bid list to delete
+     * @return the number of deleted rows, 0 if no bid list has this ID
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from BidList b where b.id = :id")
+    int deleteOneById(@Param("id") Integer id);
 
+    /**
+     * Deletes the bid lists with the given IDs in a single statement.
+     *
+     * @param ids the IDs of the bid lists to delete
+     * @return the number of deleted rows
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from BidList b where b.id in :ids")
+    int deleteAllByIds(@Param("ids") Collection<Integer> ids);
 }
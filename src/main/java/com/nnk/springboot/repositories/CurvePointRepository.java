@@ -1,11 +1,132 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.dto.CurvePointDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing {@link CurvePoint} entities.
  */
 public interface CurvePointRepository extends JpaRepository<CurvePoint, Integer> {
+    /**
+     * Finds all curve points as {@link CurvePointDTO}, reading only the columns displayed on the list page.
+     *
+     * @return the list of {@link CurvePointDTO} ordered by ID
+     */
+    @Query("select new com.nnk.springboot.dto.CurvePointDTO(c.id, c.curveId, c.term, c.value) "
+            + "from CurvePoint c order by c.id")
+    List<CurvePointDTO> findAllAsDTO();
+
+    /**
+     * Finds the points of one curve as {@link CurvePointDTO}, reading only the columns displayed on the list page.
+     *
+     * @param curveId the ID of the curve
+     * @return the list of {@link CurvePointDTO} ordered by as-of date, term and ID
+     */
+    @Query("select new com.nnk.springboot.dto.CurvePointDTO(c.id, c.curveId, c.term, c.value) "
+            + "from CurvePoint c where c.curveId = :curveId order by c.asOfDate, c.term, c.id")
+    List<CurvePointDTO> findAllByCurveIdAsDTO(@Param("curveId") Integer curveId);
+
+    /**
+     * Finds the points of one curve whose term is within a range as {@link CurvePointDTO}.
+     *
+     * @param curveId the ID of the curve
+     * @param minTerm the lowest term, inclusive
+     * @param maxTerm the highest term, inclusive
+     * @return the list of {@link CurvePointDTO} ordered by term, then by ID
+     */
+    @Query("select new com.nnk.springboot.dto.CurvePointDTO(c.id, c.curveId, c.term, c.value) "
+            + "from CurvePoint c where c.curveId = :curveId and c.term between :minTerm and :maxTerm "
+            + "order by c.term, c.id")
+    List<CurvePointDTO> findByCurveIdAndTermBetweenAsDTO(@Param("curveId") Integer curveId,
+                                                         @Param("minTerm") Double minTerm,
+                                                         @Param("maxTerm") Double maxTerm);
+
+    /**
+     * Finds the distinct IDs of the curves, read from the curve index alone.
+     *
+     * @return the list of curve IDs, ascending
+     */
+    @Query("select distinct c.curveId from CurvePoint c where c.curveId is not null order by c.curveId")
+    List<Integer> findCurveIds();
+
+    /**
+     * Finds the points of one curve without an as-of date as {@link CurvePointDTO}, with a term and a value.
+     *
+     * @param curveId the ID of the curve
+     * @return the list of {@link CurvePointDTO} ordered by term, then by ID
+     */
+    @Query("select new com.nnk.springboot.dto.CurvePointDTO(c.id, c.curveId, c.term, c.value) "
+            + "from CurvePoint c where c.curveId = :curveId and c.asOfDate is null "
+            + "and c.term is not null and c.value is not null order by c.term, c.id")
+    List<CurvePointDTO> findUndatedByCurveIdAsDTO(@Param("curveId") Integer curveId);
+
+    /**
+     * Finds the distinct as-of dates of the points of one curve.
+     *
+     * @param curveId the ID of the curve
+     * @return the list of as-of dates, in no particular order
+     */
+    @Query("select distinct c.asOfDate from CurvePoint c where c.curveId = :curveId and c.asOfDate is not null")
+    List<Timestamp> findAsOfDates(@Param("curveId") Integer curveId);
+
+    /**
+     * Finds the points of one curve at one as-of date as {@link CurvePointDTO}, with a term and a value.
+     *
+     * @param curveId the ID of the curve
+     * @param asOfDate the as-of date of the points
+     * @return the list of {@link CurvePointDTO} ordered by term, then by ID
+     */
+    @Query("select new com.nnk.springboot.dto.CurvePointDTO(c.id, c.curveId, c.term, c.value) "
+            + "from CurvePoint c where c.curveId = :curveId and c.asOfDate = :asOfDate "
+            + "and c.term is not null and c.value is not null order by c.term, c.id")
+    List<CurvePointDTO> findByCurveIdAndAsOfDateAsDTO(@Param("curveId") Integer curveId,
+                                                      @Param("asOfDate") Timestamp asOfDate);
+
+    /**
+     * Finds the ID of the curve of a curve point, without loading it.
+     *
+     * @param id the ID of the curve point
+     * @return the ID of its curve, empty if no curve point has this ID or it has no curve
+     */
+    @Query("select c.curveId from CurvePoint c where c.id = :id")
+    Optional<Integer> findCurveIdById(@Param("id") Integer id);
+
+    /**
+     * Updates the editable fields of a curve point in a single statement, without loading it first.
+     * The row is only updated if its version still matches, and its version is then incremented.
+     *
+     * @param id the ID of the curve point to update
+     * @param version the version the curve point was read with
+     * @param term the new term
+     * @param value the new value
+     * @return the number of updated rows, 0 if no curve point has this ID and version
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CurvePoint c set c.term = :term, c.value = :value, c.version = c.version + 1 "
+            + "where c.id = :id and c.version = :version")
+    int updateFields(@Param("id") Integer id,
+                     @Param("version") Integer version,
+                     @Param("term") Double term,
+                     @Param("value") Double value);
 
+    /**
+     * Deletes a curve point in a single statement, without loading it first.
+     *
+     * @param id the ID of the curve point to delete
+     * @return the number of deleted rows, 0 if no curve point has this ID
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from CurvePoint c where c.id = :id")
+    int deleteOneById(@Param("id") Integer id);
 }
@@ -2,10 +2,43 @@ package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.Rating;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository interface for managing {@link Rating} entities.
  */
 public interface RatingRepository extends JpaRepository<Rating, Integer> {
+    /**
+     * Updates the editable fields of a rating in a single statement, without loading it first.
+     *
+     * @param id the ID of the rating to update
+     * @param moodysRating the new Moody's rating
+     * @param sandPRating the new S&amp;P rating
+     * @param fitchRating the new Fitch rating
+     * @param orderNumber the new order number
+     * @return the number of updated rows, 0 if no rating has this ID
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Rating r set r.moodysRating = :moodysRating, r.sandPRating = :sandPRating, "
+            + "r.fitchRating = :fitchRating, r.orderNumber = :orderNumber where r.id = :id")
+    int updateFields(@Param("id") Integer id,
+                     @Param("moodysRating") String moodysRating,
+                     @Param("sandPRating") String sandPRating,
+                     @Param("fitchRating") String fitchRating,
+                     @Param("orderNumber") Integer orderNumber);
 
+    /**
+     * Deletes a rating in a single statement, without loading it first.
+     *
+     * @param id the ID of the rating to delete
+     * @return the number of deleted rows, 0 if no rating has this ID
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Rating r where r.id = :id")
+    int deleteOneById(@Param("id") Integer id);
 }
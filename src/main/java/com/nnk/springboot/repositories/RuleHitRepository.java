@@ -0,0 +1,61 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.RuleHit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link RuleHit} entities.
+ * Hits are inserted in batches by the rule scheduler and deleted with single statements, never loaded.
+ */
+public interface RuleHitRepository extends JpaRepository<RuleHit, Integer> {
+    /**
+     * Finds the IDs of the records matched by a rule.
+     *
+     * @param ruleId the ID of the rule name
+     * @param target the name of the table of the records
+     * @return the IDs of the records, ascending
+     */
+    @Query("select h.recordId from RuleHit h where h.ruleId = :ruleId and h.target = :target order by h.recordId")
+    List<Integer> findRecordIds(@Param("ruleId") Integer ruleId, @Param("target") String target);
+
+    /**
+     * Deletes the hits of a rule on one table, before it is run over the table again.
+     *
+     * @param ruleId the ID of the rule name
+     * @param target the name of the table
+     * @return the number of deleted hits
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from RuleHit h where h.ruleId = :ruleId and h.target = :target")
+    int deleteByRuleAndTarget(@Param("ruleId") Integer ruleId, @Param("target") String target);
+
+    /**
+     * Deletes every hit of some records, when they are deleted.
+     *
+     * @param target    the name of the table of the records
+     * @param recordIds the IDs of the records
+     * @return the number of deleted hits
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from RuleHit h where h.target = :target and h.recordId in :recordIds")
+    int deleteByRecords(@Param("target") String target, @Param("recordIds") Collection<Integer> recordIds);
+
+    /**
+     * Deletes the hits of a record by some rules, before they are evaluated against it again.
+     *
+     * @param target   the name of the table of the record
+     * @param recordId the ID of the record
+     * @param ruleIds  the IDs of the rule names
+     * @return the number of deleted hits
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from RuleHit h where h.target = :target and h.recordId = :recordId and h.ruleId in :ruleIds")
+    int deleteByRecordAndRules(@Param("target") String target, @Param("recordId") Integer recordId,
+                               @Param("ruleIds") Collection<Integer> ruleIds);
+}
@@ -1,10 +1,60 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.dto.RuleNameDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 /**
  * Repository interface for managing {@link RuleName} entities.
  */
 public interface RuleNameRepository extends JpaRepository<RuleName, Integer> {
+    /**
+     * Finds all rule names as {@link RuleNameDTO}, reading only the columns displayed on the list page.
+     *
+     * @return the list of {@link RuleNameDTO} ordered by ID
+     */
+    @Query("select new com.nnk.springboot.dto.RuleNameDTO(r.id, r.name, r.description, r.json, r.template, r.sqlStr, r.sqlPart) "
+            + "from RuleName r order by r.id")
+    List<RuleNameDTO> findAllAsDTO();
+
+    /**
+     * Updates the editable fields of a rule name in a single statement, without loading it first.
+     *
+     * @param id the ID of the rule name to update
+     * @param name the new name
+     * @param description the new description
+     * @param json the new JSON
+     * @param template the new template
+     * @param sqlStr the new SQL
+     * @param sqlPart the new SQL part
+     * @return the number of updated rows, 0 if no rule name has this ID
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update RuleName r set r.name = :name, r.description = :description, r.json = :json, "
+            + "r.template = :template, r.sqlStr = :sqlStr, r.sqlPart = :sqlPart where r.id = :id")
+    int updateFields(@Param("id") Integer id,
+                     @Param("name") String name,
+                     @Param("description") String description,
+                     @Param("json") String json,
+                     @Param("template") String template,
+                     @Param("sqlStr") String sqlStr,
+                     @Param("sqlPart") String sqlPart);
+
+    /**
+     * Deletes a rule name in a single statement, without loading it first.
+     *
+     * @param id the ID of the rule name to delete
+     * @return the number of deleted rows, 0 if no rule name has this ID
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from RuleName r where r.id = :id")
+    int deleteOneById(@Param("id") Integer id);
 }
@@ -1,10 +1,90 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.TradeDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing {@link Trade} entities.
  */
 public interface TradeRepository extends JpaRepository<Trade, Integer> {
+    /**
+     * Finds all trades as {@link TradeDTO}, reading only the columns displayed on the list page.
+     *
+     * @return the list of {@link TradeDTO} ordered by ID
+     */
+    @Query("select new com.nnk.springboot.dto.TradeDTO(t.id, t.account, t.type, t.buyQuantity) "
+            + "from Trade t order by t.id")
+    List<TradeDTO> findAllAsDTO();
+
+    /**
+     * Streams every trade in ID order, for exports.
+     *
+     * <p>
+     * Rows are fetched from the database in chunks of the hinted fetch size and loaded read-only.
+     * The stream must be consumed and closed inside a transaction.
+     * </p>
+     *
+     * @return a {@link Stream} of all {@link Trade} entities
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select t from Trade t order by t.id")
+    Stream<Trade> streamAll();
+
+    /**
+     * Updates the editable fields of a trade in a single statement, without loading it first.
+     * The row is only updated if its version still matches, and its version is then incremented.
+     * The revision date is set here since {@code @PreUpdate} callbacks do not run for bulk updates.
+     *
+     * @param id the ID of the trade to update
+     * @param version the version the trade was read with
+     * @param account the new account
+     * @param type the new type
+     * @param buyQuantity the new buy quantity
+     * @return the number of updated rows, 0 if no trade has this ID and version
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Trade t set t.account = :account, t.type = :type, t.buyQuantity = :buyQuantity, "
+            + "t.revisionDate = current_timestamp, t.version = t.version + 1 "
+            + "where t.id = :id and t.version = :version")
+    int updateFields(@Param("id") Integer id,
+                     @Param("version") Integer version,
+                     @Param("account") String account,
+                     @Param("type") String type,
+                     @Param("buyQuantity") Double buyQuantity);
+
+    /**
+     * Deletes a trade in a single statement, without loading it first.
+     *
+     * @param id the ID of the trade to delete
+     * @return the number of deleted rows, 0 if no trade has this ID
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Trade t where t.id = :id")
+    int deleteOneById(@Param("id") Integer id);
+
+    /**
+     * Deletes the trades with the given IDs in a single statement.
+     *
+     * @param ids the IDs of the trades to delete
+     * @return the number of deleted rows
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Trade t where t.id in :ids")
+    int deleteAllByIds(@Param("ids") Collection<Integer> ids);
 }
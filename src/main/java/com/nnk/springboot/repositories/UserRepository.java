@@ -1,11 +1,17 @@
 package com.nnk.springboot.repositories;
 
+import com.nnk.springboot.config.CacheConfig;
 import com.nnk.springboot.domain.User;
+import com.nnk.springboot.dto.UserDTO;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -14,9 +20,39 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecificationExecutor<User> {
     /**
      * Finds a user by their username.
+     * Found users are cached in the {@link CacheConfig#USERS_CACHE} cache, unknown usernames are not.
      *
      * @param username the username of the user to find
      * @return an {@link Optional} containing the found user or empty if no user was found
      */
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, unless = "#result == null")
     Optional<User> findByUsername(String username);
+
+    /**
+     * Checks whether a user with the given username exists, without loading it.
+     *
+     * @param username the username to look for
+     * @return true if a user has this username, false otherwise
+     */
+    boolean existsByUsername(String username);
+
+    /**
+     * Finds all users as {@link UserDTO}, reading only the columns displayed on the list page.
+     *
+     * @return the list of {@link UserDTO} ordered by ID
+     */
+    @Query("select new com.nnk.springboot.dto.UserDTO(u.id, u.fullname, u.username, u.role) "
+            + "from User u order by u.id")
+    List<UserDTO> findAllAsDTO();
+
+    /**
+     * Deletes a user in a single statement, without loading it first.
+     *
+     * @param id the ID of the user to delete
+     * @return the number of deleted rows, 0 if no user has this ID
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from User u where u.id = :id")
+    int deleteOneById(@Param("id") Integer id);
 }
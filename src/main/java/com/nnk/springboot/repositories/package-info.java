@@ -5,6 +5,7 @@
  *   <li>{@link com.nnk.springboot.repositories.BidListRepository} - Repository for managing {@link com.nnk.springboot.domain.BidList} entities.</li>
  *   <li>{@link com.nnk.springboot.repositories.CurvePointRepository} - Repository for managing {@link com.nnk.springboot.domain.CurvePoint} entities.</li>
  *   <li>{@link com.nnk.springboot.repositories.RatingRepository} - Repository for managing {@link com.nnk.springboot.domain.Rating} entities.</li>
+ *   <li>{@link com.nnk.springboot.repositories.RuleHitRepository} - Repository for managing {@link com.nnk.springboot.domain.RuleHit} entities.</li>
  *   <li>{@link com.nnk.springboot.repositories.RuleNameRepository} - Repository for managing {@link com.nnk.springboot.domain.RuleName} entities.</li>
  *   <li>{@link com.nnk.springboot.repositories.TradeRepository} - Repository for managing {@link com.nnk.springboot.domain.Trade} entities.</li>
  *   <li>{@link com.nnk.springboot.repositories.UserRepository} - Repository for managing {@link com.nnk.springboot.domain.User} entities.</li>
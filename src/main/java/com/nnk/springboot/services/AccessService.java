@@ -1,13 +1,15 @@
 package com.nnk.springboot.services;
 
+import com.nnk.springboot.config.CacheConfig;
 import com.nnk.springboot.domain.User;
 import com.nnk.springboot.dto.RegisterDTO;
 import com.nnk.springboot.repositories.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.server.ResponseStatusException;
@@ -22,6 +24,8 @@ public class AccessService {
     private Validators validators;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private PasswordHasher passwordHasher;
 
     /**
      * Registers a new user with the given registration details.
@@ -29,16 +33,17 @@ public class AccessService {
      * @param registerDTO The data transfer object containing user registration details.
      * @param result The binding result for capturing validation errors.
      */
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#registerDTO.username")
     public void register(RegisterDTO registerDTO, BindingResult result) {
         if (validators.usernameExists(registerDTO.getUsername())) {
             logger.warn("Registration attempt failed: Username '{}' already exists.", registerDTO.getUsername());
             result.rejectValue("username", "error.username", "This username is already used");
         }
 
-        if (validators.isPasswordInvalid(registerDTO.getPassword())) {
+        int passwordFailures = validators.checkPassword(registerDTO.getPassword());
+        if (passwordFailures != 0) {
             logger.warn("Registration attempt failed: Password does not meet criteria for username '{}'.", registerDTO.getUsername());
-            result.rejectValue("password", "error.password",
-                               "MDP : 8 char minimum : 1 MAJ, 1 min, 1 chiffre, 1 symbole");
+            result.rejectValue("password", "error.password", validators.passwordErrorMessage(passwordFailures));
         }
 
         if (!validators.passwordMatches(registerDTO.getPassword(), registerDTO.getConfirmPassword())) {
@@ -51,16 +56,23 @@ public class AccessService {
             return;
         }
 
-        BCryptPasswordEncoder bCryptEncoder = new BCryptPasswordEncoder();
         User newUser = new User();
         newUser.setFullname(registerDTO.getFullname());
         newUser.setUsername(registerDTO.getUsername());
-        newUser.setPassword(bCryptEncoder.encode(registerDTO.getPassword()));
+        newUser.setPassword(passwordHasher.encode(registerDTO.getPassword()));
         newUser.setRole("ROLE_USER");
 
         try {
-            userRepository.save(newUser);
+            userRepository.saveAndFlush(newUser);
             logger.info("User '{}' registered successfully.", registerDTO.getUsername());
+        } catch (DataIntegrityViolationException e) {
+            if (!validators.isDuplicateUsername(e)) {
+                logger.error("An error occurred while creating user '{}': {}", registerDTO.getUsername(), e.getMessage());
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                                                  "Une erreur est survenue lors de la création de l'utilisateur");
+            }
+            logger.warn("Registration attempt failed: Username '{}' was taken concurrently.", registerDTO.getUsername());
+            result.rejectValue("username", "error.username", "This username is already used");
         } catch (Exception e) {
             logger.error("An error occurred while creating user '{}': {}", registerDTO.getUsername(), e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
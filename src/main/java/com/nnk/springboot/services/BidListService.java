@@ -2,14 +2,20 @@ package com.nnk.springboot.services;
 
 import com.nnk.springboot.domain.BidList;
 import com.nnk.springboot.dto.BidListDTO;
+import com.nnk.springboot.dto.KeysetPageDTO;
 import com.nnk.springboot.repositories.BidListRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -18,28 +24,64 @@ import java.util.List;
 @Service
 public class BidListService {
     private static final Logger logger = LoggerFactory.getLogger(BidListService.class);
+    /**
+     * Fields changed by {@link #updateBidList(Integer, BidListDTO)}, whose rules are evaluated again.
+     */
+    private static final List<String> UPDATED_FIELDS = List.of("account", "type", "bidQuantity");
     @Autowired
     private BidListRepository bidListRepository;
+    @Autowired
+    private OrderBookService orderBookService;
+    @Autowired
+    private RuleScheduler ruleScheduler;
+    @Autowired
+    private MatchingEngine matchingEngine;
+    @Value("${app.bidlist.page-size:50}")
+    private int pageSize;
 
     /**
-     * Retrieves all bid lists.
+     * Retrieves one page of bid lists using keyset pagination on the ID.
+     *
+     * <p>
+     * When {@code before} is given, the page preceding that ID is returned, otherwise the page
+     * following {@code after} (or the first page when both are null). One extra row is read to
+     * know whether another page exists in the reading direction, and a page following {@code after}
+     * only has a previous cursor if a row precedes its first one.
+     * </p>
      *
-     * @return a list of {@link BidListDTO} containing bid list entries.
+     * @param after  the ID after which the page starts, or null.
+     * @param before the ID before which the page ends, or null.
+     * @return a {@link KeysetPageDTO} of {@link BidListDTO} with the next and previous cursors.
      */
-    public List<BidListDTO> getBidLists() {
-        logger.info("Fetching all bid lists.");
-
-        return bidListRepository.findAll()
-                                .stream()
-                                .map(bidList -> {
-                                    BidListDTO bidListDTO = new BidListDTO();
-                                    bidListDTO.setId(bidList.getId());
-                                    bidListDTO.setAccount(bidList.getAccount());
-                                    bidListDTO.setType(bidList.getType());
-                                    bidListDTO.setBidQuantity(bidList.getBidQuantity());
-                                    return bidListDTO;
-                                })
-                                .toList();
+    public KeysetPageDTO<BidListDTO> getBidLists(Integer after, Integer before) {
+        logger.info("Fetching bid lists page after {} before {} (size {}).", after, before, pageSize);
+
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        if (before != null) {
+            List<BidListDTO> rows = new ArrayList<>(bidListRepository.findPageBefore(before, limit));
+            boolean hasPrev = rows.size() > pageSize;
+            if (hasPrev) {
+                rows.remove(pageSize);
+            }
+            Collections.reverse(rows);
+
+            Integer nextCursor = rows.isEmpty() ? null : rows.get(rows.size() - 1).getId();
+            Integer prevCursor = hasPrev ? rows.get(0).getId() : null;
+            return new KeysetPageDTO<>(rows, nextCursor, prevCursor);
+        }
+
+        List<BidListDTO> rows = new ArrayList<>(bidListRepository.findPageAfter(after == null ? 0 : after, limit));
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows.remove(pageSize);
+        }
+
+        Integer nextCursor = hasNext ? rows.get(rows.size() - 1).getId() : null;
+        boolean hasPrev = after != null && !rows.isEmpty()
+                && bidListRepository.existsByIdLessThan(rows.get(0).getId());
+        Integer prevCursor = hasPrev ? rows.get(0).getId() : null;
+        return new KeysetPageDTO<>(rows, nextCursor, prevCursor);
     }
 
     /**
@@ -53,11 +95,7 @@ public class BidListService {
         logger.info("Fetching bid list with ID: {}", id);
 
         return bidListRepository.findById(id)
-                                .orElseThrow(() -> {
-                                    logger.warn("BidList with ID {} not found.", id);
-                                    return new ResponseStatusException(HttpStatus.NOT_FOUND, String.format(
-                                            "La bidList avec l'id %d n'existe pas", id));
-                                });
+                                .orElseThrow(() -> notFound(id));
     }
 
     /**
@@ -73,6 +111,7 @@ public class BidListService {
         BidList bidList = getBidList(id);
         BidListDTO bidListDTO = new BidListDTO();
         bidListDTO.setId(bidList.getId());
+        bidListDTO.setVersion(bidList.getVersion());
         bidListDTO.setAccount(bidList.getAccount());
         bidListDTO.setType(bidList.getType());
         bidListDTO.setBidQuantity(bidList.getBidQuantity());
@@ -80,7 +119,7 @@ public class BidListService {
     }
 
     /**
-     * Adds a new bid list entry.
+     * Adds a new bid list entry, then adds it to the order book and submits it to the matching engine.
      *
      * @param bidListAddDTO the {@link BidListDTO} containing details of the bid list to add.
      * @throws ResponseStatusException if an error occurs during the creation of the bid list.
@@ -92,6 +131,11 @@ public class BidListService {
         bidList.setAccount(bidListAddDTO.getAccount());
         bidList.setType(bidListAddDTO.getType());
         bidList.setBidQuantity(bidListAddDTO.getBidQuantity());
+        bidList.setSecurity(bidListAddDTO.getSecurity());
+        bidList.setBid(bidListAddDTO.getBid());
+        bidList.setAsk(bidListAddDTO.getAsk());
+        bidList.setAskQuantity(bidListAddDTO.getAskQuantity());
+        bidList.setSide(bidListAddDTO.getSide());
 
         try {
             bidListRepository.save(bidList);
@@ -101,51 +145,140 @@ public class BidListService {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                                               "Une erreur est survenue lors de la création de la bidList");
         }
+
+        orderBookService.add(bidList);
+        ruleScheduler.recordChanged(RuleTarget.BID_LIST, bidList.getId(), null);
+        matchingEngine.submit(bidList);
+    }
+
+    /**
+     * Saves several bid lists in a single transaction, with batched inserts, then adds them to the order book and
+     * submits them to the matching engine.
+     *
+     * @param bidLists the bid lists to save.
+     */
+    public void addBidLists(List<BidList> bidLists) {
+        logger.info("Adding {} bid lists.", bidLists.size());
+
+        bidListRepository.saveAll(bidLists);
+        bidLists.forEach(orderBookService::add);
+        ruleScheduler.recordsAdded(RuleTarget.BID_LIST, bidLists.stream().map(BidList::getId).toList());
+        bidLists.forEach(matchingEngine::submit);
     }
 
     /**
-     * Updates an existing bid list entry.
+     * Updates an existing bid list entry, then its quote in the order book and its order in the matching engine.
      *
      * @param id the ID of the bid list to update.
      * @param bidListDTO the {@link BidListDTO} containing updated details of the bid list.
-     * @throws ResponseStatusException if an error occurs during the update of the bid list.
+     * @throws ResponseStatusException if the version is missing, or the bid list is not found or cannot be
+     *                                 updated.
+     * @throws ObjectOptimisticLockingFailureException if the bid list was modified since it was read.
      */
     public void updateBidList(Integer id, BidListDTO bidListDTO) {
         logger.info("Updating bid list with ID: {}", id);
 
-        BidList bidList = getBidList(id);
-        bidList.setAccount(bidListDTO.getAccount());
-        bidList.setType(bidListDTO.getType());
-        bidList.setBidQuantity(bidListDTO.getBidQuantity());
+        if (bidListDTO.getVersion() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                              "La version de la bidList à modifier est obligatoire");
+        }
 
+        int updated;
         try {
-            bidListRepository.save(bidList);
-            logger.info("Bid list updated successfully with ID: {}", id);
+            updated = bidListRepository.updateFields(id, bidListDTO.getVersion(), bidListDTO.getAccount(),
+                                                     bidListDTO.getType(), bidListDTO.getBidQuantity());
         } catch (Exception e) {
             logger.error("An error occurred while updating the bid list with ID {}: {}", id, e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                                               "Une erreur est survenue lors de la modification de la bidList");
         }
+
+        if (updated == 0) {
+            if (!bidListRepository.existsById(id)) {
+                throw notFound(id);
+            }
+            logger.warn("Bid list with ID {} was modified since version {}.", id, bidListDTO.getVersion());
+            throw new ObjectOptimisticLockingFailureException(BidList.class, id);
+        }
+        logger.info("Bid list updated successfully with ID: {}", id);
+
+        Double previousBidQuantity = orderBookService.updateBidQuantity(id, bidListDTO.getBidQuantity(),
+                                                                        bidListDTO.getVersion() + 1);
+        if (previousBidQuantity != null) {
+            double bidQuantity = bidListDTO.getBidQuantity() == null ? 0 : bidListDTO.getBidQuantity();
+            matchingEngine.amend(id, bidListDTO.getAccount(), bidQuantity - previousBidQuantity);
+        }
+        ruleScheduler.recordChanged(RuleTarget.BID_LIST, id, UPDATED_FIELDS);
     }
 
     /**
-     * Deletes a bid list entry.
+     * Deletes a bid list entry, then removes it from the order book and cancels its order in the matching engine.
      *
      * @param id the ID of the bid list to delete.
-     * @throws ResponseStatusException if an error occurs during the deletion of the bid list.
+     * @throws ResponseStatusException if the bid list is not found or cannot be deleted.
      */
     public void deleteBidList(Integer id) {
         logger.info("Deleting bid list with ID: {}", id);
 
-        BidList bidList = getBidList(id);
-
+        int deleted;
         try {
-            bidListRepository.delete(bidList);
-            logger.info("Bid list deleted successfully with ID: {}", id);
+            deleted = bidListRepository.deleteOneById(id);
         } catch (Exception e) {
             logger.error("An error occurred while deleting the bid list with ID {}: {}", id, e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                                               "Une erreur est survenue lors de la suppression de la bidList");
         }
+
+        if (deleted == 0) {
+            throw notFound(id);
+        }
+        logger.info("Bid list deleted successfully with ID: {}", id);
+
+        orderBookService.remove(id);
+        matchingEngine.cancel(id);
+        ruleScheduler.recordsDeleted(RuleTarget.BID_LIST, List.of(id));
+    }
+
+    /**
+     * Deletes several bid list entries in a single statement, then removes them from the order book and cancels
+     * their orders in the matching engine.
+     * IDs that no longer exist are ignored.
+     *
+     * @param ids the IDs of the bid lists to delete.
+     * @return the number of deleted bid lists.
+     * @throws ResponseStatusException if an error occurs during the deletion of the bid lists.
+     */
+    public int deleteBidLists(List<Integer> ids) {
+        logger.info("Deleting bid lists with IDs: {}", ids);
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        int deleted;
+        try {
+            deleted = bidListRepository.deleteAllByIds(ids);
+            logger.info("{} bid lists deleted successfully.", deleted);
+        } catch (Exception e) {
+            logger.error("An error occurred while deleting bid lists with IDs {}: {}", ids, e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                                              "Une erreur est survenue lors de la suppression des bidLists");
+        }
+
+        orderBookService.removeAll(ids);
+        ids.forEach(matchingEngine::cancel);
+        ruleScheduler.recordsDeleted(RuleTarget.BID_LIST, ids);
+        return deleted;
+    }
+
+    /**
+     * Builds the exception returned when no bid list has the given ID.
+     *
+     * @param id the ID of the missing bid list.
+     * @return a {@link ResponseStatusException} with a 404 status.
+     */
+    private ResponseStatusException notFound(Integer id) {
+        logger.warn("BidList with ID {} not found.", id);
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, String.format("La bidList avec l'id %d n'existe pas", id));
     }
 }
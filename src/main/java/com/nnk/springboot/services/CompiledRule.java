@@ -0,0 +1,158 @@
+package com.nnk.springboot.services;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Condition of a rule parsed and compiled once for every {@link RuleTarget} it applies to.
+ *
+ * <p>
+ * A rule applies to a target when every field it refers to is whitelisted for that target, such as a
+ * condition on {@code buyQuantity} for trades only, or on {@code account} for both trades and bid lists.
+ * </p>
+ */
+public final class CompiledRule {
+    private final Integer id;
+    private final String source;
+    private final int sourceHash;
+    private final RuleExpression expression;
+    private final Set<String> fields = new HashSet<>();
+    private final Predicate<?>[] predicates;
+    private final String[] errors;
+
+    private CompiledRule(Integer id, String source, RuleExpression expression) {
+        this.id = id;
+        this.source = source;
+        this.sourceHash = source.hashCode();
+        this.expression = expression;
+        collectFields(expression);
+
+        RuleTarget<?>[] targets = {RuleTarget.TRADE, RuleTarget.BID_LIST};
+        this.predicates = new Predicate<?>[targets.length];
+        this.errors = new String[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            try {
+                predicates[i] = RuleCompiler.compile(expression, targets[i]);
+            } catch (RuleSyntaxException e) {
+                errors[i] = e.getMessage();
+            }
+        }
+        if (predicates[0] == null && predicates[1] == null) {
+            throw new RuleSyntaxException(errors[0]);
+        }
+    }
+
+    /**
+     * Parses and compiles a rule condition.
+     *
+     * @param id     the ID of the rule.
+     * @param source the condition.
+     * @return the {@link CompiledRule}.
+     * @throws RuleSyntaxException if the condition is not supported, or applies to no target.
+     */
+    public static CompiledRule compile(Integer id, String source) {
+        return new CompiledRule(id, source, RuleParser.parse(source));
+    }
+
+    /**
+     * Returns the ID of the rule.
+     *
+     * @return the rule ID.
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * Returns the expression tree of the condition.
+     *
+     * @return the {@link RuleExpression}.
+     */
+    public RuleExpression getExpression() {
+        return expression;
+    }
+
+    /**
+     * Checks whether this rule was compiled from a condition.
+     *
+     * @param source the condition.
+     * @return true if it is the one this rule was compiled from.
+     */
+    public boolean isCompiledFrom(String source) {
+        return source != null && source.hashCode() == sourceHash && source.equals(this.source);
+    }
+
+    /**
+     * Checks whether this rule applies to a target.
+     *
+     * @param target the target.
+     * @return true if every field of the condition is whitelisted for the target.
+     */
+    public boolean appliesTo(RuleTarget<?> target) {
+        return predicates[index(target)] != null;
+    }
+
+    /**
+     * Returns the predicate of this rule for a target.
+     *
+     * @param target the target.
+     * @param <T>    the type of the records.
+     * @return the {@link Predicate} true for the matching records.
+     * @throws RuleSyntaxException if the rule does not apply to the target.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Predicate<T> predicateFor(RuleTarget<T> target) {
+        int index = index(target);
+        if (predicates[index] == null) {
+            throw new RuleSyntaxException(errors[index]);
+        }
+        return (Predicate<T>) predicates[index];
+    }
+
+    /**
+     * Checks whether the condition of this rule refers to any of some fields, so that it must be evaluated again
+     * when they change.
+     *
+     * @param attributes the attribute or column names of the fields, case-insensitive.
+     * @return true if the condition refers to one of them.
+     */
+    public boolean refersToAny(Collection<String> attributes) {
+        for (String attribute : attributes) {
+            if (fields.contains(normalize(attribute))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void collectFields(RuleExpression expression) {
+        if (expression instanceof RuleExpression.And and) {
+            and.operands().forEach(this::collectFields);
+        } else if (expression instanceof RuleExpression.Or or) {
+            or.operands().forEach(this::collectFields);
+        } else if (expression instanceof RuleExpression.Not not) {
+            collectFields(not.operand());
+        } else if (expression instanceof RuleExpression.Comparison comparison) {
+            fields.add(normalize(comparison.field()));
+        } else if (expression instanceof RuleExpression.IsNull isNull) {
+            fields.add(normalize(isNull.field()));
+        } else if (expression instanceof RuleExpression.In in) {
+            fields.add(normalize(in.field()));
+        } else if (expression instanceof RuleExpression.Between between) {
+            fields.add(normalize(between.field()));
+        } else if (expression instanceof RuleExpression.Like like) {
+            fields.add(normalize(like.field()));
+        }
+    }
+
+    private static String normalize(String field) {
+        return field.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static int index(RuleTarget<?> target) {
+        return target == RuleTarget.TRADE ? 0 : 1;
+    }
+}
@@ -0,0 +1,97 @@
+package com.nnk.springboot.services;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming CSV reader following RFC 4180.
+ *
+ * <p>
+ * Records are read one at a time, so files of any size can be processed in constant memory.
+ * Fields may be enclosed in double quotes to hold commas, line breaks or escaped quotes ({@code ""}).
+ * </p>
+ */
+public class CsvReader implements Closeable {
+    private final BufferedReader reader;
+    private int line = 1;
+    private int recordLine;
+
+    /**
+     * Creates a CSV reader over the given character stream.
+     *
+     * @param reader the source of the CSV content.
+     */
+    public CsvReader(Reader reader) {
+        this.reader = (reader instanceof BufferedReader bufferedReader) ? bufferedReader : new BufferedReader(reader);
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the fields of the record, or null at the end of the input.
+     * @throws IOException if the input cannot be read or a quoted field is not terminated.
+     */
+    public List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field starting at line " + recordLine);
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == -1 || c == '\n') {
+                fields.add(field.toString());
+                line++;
+                return fields;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    /**
+     * Returns the line number on which the last record read starts.
+     *
+     * @return the 1-based line number.
+     */
+    public int getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
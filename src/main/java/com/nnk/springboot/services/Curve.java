@@ -0,0 +1,198 @@
+package com.nnk.springboot.services;
+
+import java.util.Arrays;
+
+/**
+ * Immutable curve of values by term, interpolated between its points and flat beyond its first and last terms.
+ *
+ * <p>
+ * The points are kept in sorted primitive arrays, with the logarithms of the values and the second derivatives
+ * of the natural cubic spline computed once at construction, so a lookup is a binary search plus a few
+ * multiplications. Batch lookups walk the curve with a cursor when the terms are ascending instead of searching
+ * again for every term.
+ * </p>
+ */
+public class Curve {
+    private final int curveId;
+    private final double[] terms;
+    private final double[] values;
+    private final double[] logValues;
+    private final double[] secondDerivatives;
+
+    /**
+     * Builds a curve from its points.
+     *
+     * @param curveId the ID of the curve.
+     * @param terms   the terms, strictly ascending.
+     * @param values  the value at each term.
+     * @throws IllegalArgumentException if the curve has no point, or its terms are not strictly ascending.
+     */
+    public Curve(int curveId, double[] terms, double[] values) {
+        if (terms.length == 0 || terms.length != values.length) {
+            throw new IllegalArgumentException("A curve needs as many values as terms, and at least one point");
+        }
+        for (int i = 1; i < terms.length; i++) {
+            if (!(terms[i] > terms[i - 1])) {
+                throw new IllegalArgumentException("The terms of a curve must be strictly ascending");
+            }
+        }
+        this.curveId = curveId;
+        this.terms = terms.clone();
+        this.values = values.clone();
+        this.logValues = logarithms(values);
+        this.secondDerivatives = naturalSpline(terms, values);
+    }
+
+    /**
+     * Returns the ID of this curve.
+     *
+     * @return the curve ID.
+     */
+    public int getCurveId() {
+        return curveId;
+    }
+
+    /**
+     * Returns the number of points of this curve.
+     *
+     * @return the number of points.
+     */
+    public int size() {
+        return terms.length;
+    }
+
+    /**
+     * Returns the terms of the points of this curve.
+     *
+     * @return a copy of the terms, ascending.
+     */
+    public double[] getTerms() {
+        return terms.clone();
+    }
+
+    /**
+     * Returns the values of the points of this curve.
+     *
+     * @return a copy of the values, in the order of the terms.
+     */
+    public double[] getValues() {
+        return values.clone();
+    }
+
+    /**
+     * Checks whether this curve can be interpolated with a method.
+     *
+     * @param method the interpolation method.
+     * @return false for {@link InterpolationMethod#LOG_LINEAR} on a curve with a value at or below 0.
+     */
+    public boolean supports(InterpolationMethod method) {
+        return method != InterpolationMethod.LOG_LINEAR || logValues != null;
+    }
+
+    /**
+     * Returns the value of the curve at a term.
+     *
+     * @param term   the term.
+     * @param method the interpolation method.
+     * @return the interpolated value.
+     * @throws IllegalArgumentException if the curve does not support the method.
+     */
+    public double interpolate(double term, InterpolationMethod method) {
+        checkSupported(method);
+        return valueAt(segment(term), term, method);
+    }
+
+    /**
+     * Returns the values of the curve at several terms.
+     *
+     * @param terms  the terms, ideally ascending.
+     * @param method the interpolation method.
+     * @param out    the array receiving the value of each term, at least as long as {@code terms}.
+     * @throws IllegalArgumentException if the curve does not support the method.
+     */
+    public void interpolate(double[] terms, InterpolationMethod method, double[] out) {
+        checkSupported(method);
+        int last = this.terms.length - 1;
+        int i = 0;
+        for (int k = 0; k < terms.length; k++) {
+            double term = terms[k];
+            if (term >= this.terms[i]) {
+                while (i < last && term >= this.terms[i + 1]) {
+                    i++;
+                }
+            } else {
+                i = segment(term);
+            }
+            out[k] = valueAt(i, term, method);
+        }
+    }
+
+    /**
+     * Returns the index of the last point at or before a term, or 0 before the first point.
+     */
+    private int segment(double term) {
+        int i = Arrays.binarySearch(terms, term);
+        return i >= 0 ? i : Math.max(0, -i - 2);
+    }
+
+    private double valueAt(int i, double term, InterpolationMethod method) {
+        if (term <= terms[0]) {
+            return values[0];
+        }
+        if (i >= terms.length - 1) {
+            return values[terms.length - 1];
+        }
+
+        double h = terms[i + 1] - terms[i];
+        double a = (terms[i + 1] - term) / h;
+        double b = 1 - a;
+        return switch (method) {
+            case LINEAR -> a * values[i] + b * values[i + 1];
+            case LOG_LINEAR -> Math.exp(a * logValues[i] + b * logValues[i + 1]);
+            case CUBIC_SPLINE -> a * values[i] + b * values[i + 1]
+                    + ((a * a * a - a) * secondDerivatives[i] + (b * b * b - b) * secondDerivatives[i + 1]) * h * h / 6;
+        };
+    }
+
+    private void checkSupported(InterpolationMethod method) {
+        if (!supports(method)) {
+            throw new IllegalArgumentException("Log-linear interpolation needs strictly positive values");
+        }
+    }
+
+    private static double[] logarithms(double[] values) {
+        double[] logs = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (!(values[i] > 0)) {
+                return null;
+            }
+            logs[i] = Math.log(values[i]);
+        }
+        return logs;
+    }
+
+    /**
+     * Solves the tridiagonal system of a natural cubic spline, whose second derivative is 0 at both ends.
+     */
+    private static double[] naturalSpline(double[] x, double[] y) {
+        int n = x.length;
+        double[] y2 = new double[n];
+        if (n < 3) {
+            return y2;
+        }
+
+        double[] u = new double[n];
+        for (int i = 1; i < n - 1; i++) {
+            double sig = (x[i] - x[i - 1]) / (x[i + 1] - x[i - 1]);
+            double p = sig * y2[i - 1] + 2;
+            y2[i] = (sig - 1) / p;
+            double slopes = (y[i + 1] - y[i]) / (x[i + 1] - x[i]) - (y[i] - y[i - 1]) / (x[i] - x[i - 1]);
+            u[i] = (6 * slopes / (x[i + 1] - x[i - 1]) - sig * u[i - 1]) / p;
+        }
+        y2[n - 1] = 0;
+        for (int i = n - 2; i >= 0; i--) {
+            y2[i] = y2[i] * y2[i + 1] + u[i];
+        }
+        return y2;
+    }
+}
@@ -7,19 +7,27 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 /**
  * Service class for managing curve point entries.
+ *
+ * <p>
+ * Every successful write invalidates the curve of the point in {@link CurveService}.
+ * </p>
  */
 @Service
 public class CurvePointService {
     private static final Logger logger = LoggerFactory.getLogger(CurvePointService.class);
     @Autowired
     private CurvePointRepository curvePointRepository;
+    @Autowired
+    private CurveService curveService;
 
     /**
      * Retrieves all curve points.
@@ -29,17 +37,43 @@ public class CurvePointService {
     public List<CurvePointDTO> getCurvePoints() {
         logger.info("Fetching all curve points.");
 
-        return curvePointRepository.findAll()
-                                   .stream()
-                                   .map(curvePoint -> {
-                                       CurvePointDTO curvePointDTO = new CurvePointDTO();
-                                       curvePointDTO.setId(curvePoint.getId());
-                                       curvePointDTO.setCurveId(curvePoint.getCurveId());
-                                       curvePointDTO.setTerm(curvePoint.getTerm());
-                                       curvePointDTO.setValue(curvePoint.getValue());
-                                       return curvePointDTO;
-                                   })
-                                   .toList();
+        return curvePointRepository.findAllAsDTO();
+    }
+
+    /**
+     * Retrieves the curve points of one curve, optionally within a range of terms.
+     *
+     * @param curveId the ID of the curve, or null for every curve point.
+     * @param minTerm the lowest term, inclusive, or null for no lower bound.
+     * @param maxTerm the highest term, inclusive, or null for no upper bound.
+     * @return a list of {@link CurvePointDTO} containing the matching curve point entries.
+     * @throws ResponseStatusException if a range of terms is given without a curve.
+     */
+    public List<CurvePointDTO> getCurvePoints(Integer curveId, Double minTerm, Double maxTerm) {
+        logger.info("Fetching curve points of curve {} with terms between {} and {}.", curveId, minTerm, maxTerm);
+
+        if (curveId == null) {
+            if (minTerm != null || maxTerm != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                                  "Une plage de termes nécessite une courbe");
+            }
+            return curvePointRepository.findAllAsDTO();
+        }
+        if (minTerm == null && maxTerm == null) {
+            return curvePointRepository.findAllByCurveIdAsDTO(curveId);
+        }
+        return curvePointRepository.findByCurveIdAndTermBetweenAsDTO(curveId,
+                                                                     minTerm != null ? minTerm : -Double.MAX_VALUE,
+                                                                     maxTerm != null ? maxTerm : Double.MAX_VALUE);
+    }
+
+    /**
+     * Retrieves the IDs of the curves having curve points.
+     *
+     * @return the list of curve IDs, ascending.
+     */
+    public List<Integer> getCurveIds() {
+        return curvePointRepository.findCurveIds();
     }
 
     /**
@@ -53,11 +87,7 @@ public class CurvePointService {
         logger.info("Fetching curve point with ID: {}", id);
 
         return curvePointRepository.findById(id)
-                                   .orElseThrow(() -> {
-                                       logger.warn("CurvePoint with ID {} not found.", id);
-                                       return new ResponseStatusException(HttpStatus.NOT_FOUND, String.format(
-                                               "Le curvePoint avec l'id %d n'existe pas", id));
-                                   });
+                                   .orElseThrow(() -> notFound(id));
     }
 
     /**
@@ -73,6 +103,7 @@ public class CurvePointService {
         CurvePoint curvePoint = getCurvePoint(id);
         CurvePointDTO curvePointDTO = new CurvePointDTO();
         curvePointDTO.setId(curvePoint.getId());
+        curvePointDTO.setVersion(curvePoint.getVersion());
         curvePointDTO.setTerm(curvePoint.getTerm());
         curvePointDTO.setValue(curvePoint.getValue());
         return curvePointDTO;
@@ -88,12 +119,17 @@ public class CurvePointService {
         logger.info("Adding new curve point: {}", curvePointDTO);
 
         CurvePoint curvePoint = new CurvePoint();
+        curvePoint.setCurveId(curvePointDTO.getCurveId());
+        if (curvePointDTO.getAsOfDate() != null) {
+            curvePoint.setAsOfDate(Timestamp.valueOf(curvePointDTO.getAsOfDate().atStartOfDay()));
+        }
         curvePoint.setTerm(curvePointDTO.getTerm());
         curvePoint.setValue(curvePointDTO.getValue());
 
         try {
             curvePointRepository.save(curvePoint);
             logger.info("Curve point added successfully with ID: {}", curvePoint.getId());
+            curveService.invalidate(curvePoint.getCurveId());
         } catch (Exception e) {
             logger.error("An error occurred while adding curve point: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
@@ -106,43 +142,76 @@ public class CurvePointService {
      *
      * @param id            the ID of the curve point to update.
      * @param curvePointDTO the {@link CurvePointDTO} containing updated details of the curve point.
-     * @throws ResponseStatusException if an error occurs during the update of the curve point.
+     * @throws ResponseStatusException if the version is missing, or the curve point is not found or cannot be
+     *                                 updated.
+     * @throws ObjectOptimisticLockingFailureException if the curve point was modified since it was read.
      */
     public void updateCurvePoint(Integer id, CurvePointDTO curvePointDTO) {
         logger.info("Updating curve point with ID: {}", id);
 
-        CurvePoint curvePoint = getCurvePoint(id);
-        curvePoint.setTerm(curvePointDTO.getTerm());
-        curvePoint.setValue(curvePointDTO.getValue());
+        if (curvePointDTO.getVersion() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                              "La version du curvePoint à modifier est obligatoire");
+        }
 
+        Integer curveId;
+        int updated;
         try {
-            curvePointRepository.save(curvePoint);
-            logger.info("Curve point updated successfully with ID: {}", id);
+            curveId = curvePointRepository.findCurveIdById(id).orElse(null);
+            updated = curvePointRepository.updateFields(id, curvePointDTO.getVersion(), curvePointDTO.getTerm(),
+                                                        curvePointDTO.getValue());
         } catch (Exception e) {
             logger.error("An error occurred while updating curve point with ID {}: {}", id, e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                                               "Une erreur est survenue lors de la modification du curvePoint");
         }
+
+        if (updated == 0) {
+            if (!curvePointRepository.existsById(id)) {
+                throw notFound(id);
+            }
+            logger.warn("Curve point with ID {} was modified since version {}.", id, curvePointDTO.getVersion());
+            throw new ObjectOptimisticLockingFailureException(CurvePoint.class, id);
+        }
+        curveService.invalidate(curveId);
+        logger.info("Curve point updated successfully with ID: {}", id);
     }
 
     /**
      * Deletes a curve point entry.
      *
      * @param id the ID of the curve point to delete.
-     * @throws ResponseStatusException if an error occurs during the deletion of the curve point.
+     * @throws ResponseStatusException if the curve point is not found or cannot be deleted.
      */
     public void deleteCurvePoint(Integer id) {
         logger.info("Deleting curve point with ID: {}", id);
 
-        CurvePoint curvePoint = getCurvePoint(id);
-
+        Integer curveId;
+        int deleted;
         try {
-            curvePointRepository.delete(curvePoint);
-            logger.info("Curve point deleted successfully with ID: {}", id);
+            curveId = curvePointRepository.findCurveIdById(id).orElse(null);
+            deleted = curvePointRepository.deleteOneById(id);
         } catch (Exception e) {
             logger.error("An error occurred while deleting curve point with ID {}: {}", id, e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                                               "Une erreur est survenue lors de la suppression du curvePoint");
         }
+
+        if (deleted == 0) {
+            throw notFound(id);
+        }
+        curveService.invalidate(curveId);
+        logger.info("Curve point deleted successfully with ID: {}", id);
+    }
+
+    /**
+     * Builds the exception returned when no curve point has the given ID.
+     *
+     * @param id the ID of the missing curve point.
+     * @return a {@link ResponseStatusException} with a 404 status.
+     */
+    private ResponseStatusException notFound(Integer id) {
+        logger.warn("CurvePoint with ID {} not found.", id);
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, String.format("Le curvePoint avec l'id %d n'existe pas", id));
     }
 }
@@ -0,0 +1,217 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.CurveDTO;
+import com.nnk.springboot.dto.CurvePointDTO;
+import com.nnk.springboot.dto.InterpolationDTO;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Service interpolating the curves built from the curve points.
+ *
+ * <p>
+ * The current curve is the snapshot of its latest as-of date up to today, or, for a curve without any, the curve
+ * of its points without an as-of date. It is loaded into a {@link Curve} on its first lookup of the day and kept
+ * in memory. {@link CurvePointService} invalidates a curve after every successful write to one of its points,
+ * so only the curves whose points changed are rebuilt, on their next lookup.
+ * </p>
+ *
+ * <p>
+ * The curve as of a date is built from the points of its latest as-of date up to that day, and kept in a
+ * {@link CurveSnapshotStore} bounded by the {@code app.curves.snapshots.*} properties.
+ * </p>
+ */
+@Service
+public class CurveService {
+    private static final Logger logger = LoggerFactory.getLogger(CurveService.class);
+    private final ConcurrentMap<Integer, Current> curves = new ConcurrentHashMap<>();
+    @Autowired
+    private CurvePointRepository curvePointRepository;
+    @Value("${app.curves.snapshots.max-per-curve:32}")
+    private int maxSnapshotsPerCurve;
+    @Value("${app.curves.snapshots.retention-days:365}")
+    private int retentionDays;
+    private CurveSnapshotStore snapshots;
+
+    /**
+     * Creates the store of the curve snapshots.
+     */
+    @PostConstruct
+    public void init() {
+        snapshots = new CurveSnapshotStore(maxSnapshotsPerCurve, retentionDays);
+    }
+
+    /**
+     * Returns the values of a curve at several terms.
+     *
+     * @param curveId the ID of the curve.
+     * @param asOf    the day to read the curve as of, or null for the current curve.
+     * @param terms   the terms.
+     * @param method  the interpolation method.
+     * @return the {@link InterpolationDTO} with the value of each term.
+     * @throws ResponseStatusException if the curve has no point, or does not support the method.
+     */
+    public InterpolationDTO interpolate(Integer curveId, LocalDate asOf, double[] terms, InterpolationMethod method) {
+        CurveSnapshotStore.Snapshot snapshot = asOf == null ? null : getSnapshot(curveId, asOf);
+        Curve curve = snapshot == null ? getCurve(curveId) : snapshot.curve();
+        if (!curve.supports(method)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, String.format(
+                    "La courbe %d ne peut pas être interpolée en %s", curveId, method));
+        }
+
+        double[] values = new double[terms.length];
+        curve.interpolate(terms, method, values);
+        return new InterpolationDTO(curveId, snapshot == null ? null : snapshot.asOfDate(), method, terms, values);
+    }
+
+    /**
+     * Returns the points of a curve as of a day.
+     *
+     * @param curveId the ID of the curve.
+     * @param asOf    the day to read the curve as of.
+     * @return the {@link CurveDTO} of the latest as-of date up to that day.
+     * @throws ResponseStatusException if the curve has no point up to that day.
+     */
+    public CurveDTO getCurveAsOf(Integer curveId, LocalDate asOf) {
+        CurveSnapshotStore.Snapshot snapshot = getSnapshot(curveId, asOf);
+        return new CurveDTO(curveId, snapshot.asOfDate(), snapshot.version(), snapshot.curve().getTerms(),
+                            snapshot.curve().getValues());
+    }
+
+    /**
+     * Returns the snapshot of a curve as of a day, loading it if it is not in memory.
+     *
+     * @param curveId the ID of the curve.
+     * @param asOf    the day to read the curve as of.
+     * @return the {@link CurveSnapshotStore.Snapshot} of the latest as-of date up to that day.
+     * @throws ResponseStatusException if the curve has no point up to that day.
+     */
+    public CurveSnapshotStore.Snapshot getSnapshot(Integer curveId, LocalDate asOf) {
+        CurveSnapshotStore.Snapshot snapshot = findSnapshot(curveId, asOf);
+        if (snapshot == null) {
+            logger.warn("Curve with ID {} has no point as of {}.", curveId, asOf);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, String.format(
+                    "La courbe avec l'id %d n'a aucun point au %s", curveId, asOf));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the current curve, loading it if it is not in memory or was loaded another day.
+     *
+     * @param curveId the ID of the curve.
+     * @return the {@link Curve}.
+     * @throws ResponseStatusException if the curve has no point up to today.
+     */
+    public Curve getCurve(Integer curveId) {
+        LocalDate today = LocalDate.now();
+        Current current = curves.get(curveId);
+        if (current == null || !current.day().equals(today)) {
+            current = curves.compute(curveId, (id, cached) ->
+                    cached != null && cached.day().equals(today) ? cached : load(id, today));
+        }
+        if (current == null) {
+            logger.warn("Curve with ID {} has no point.", curveId);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, String.format(
+                    "La courbe avec l'id %d n'a aucun point", curveId));
+        }
+        return current.curve();
+    }
+
+    /**
+     * Drops a curve and its snapshots from memory, so that they are rebuilt on their next lookup.
+     *
+     * @param curveId the ID of the curve, ignored if null.
+     */
+    public void invalidate(Integer curveId) {
+        if (curveId != null) {
+            curves.remove(curveId);
+            snapshots.invalidate(curveId);
+        }
+    }
+
+    private CurveSnapshotStore.Snapshot findSnapshot(Integer curveId, LocalDate asOf) {
+        return snapshots.get(curveId, asOf.plusDays(1).atStartOfDay(), this::loadAsOfDates, this::loadSnapshot);
+    }
+
+    /**
+     * Loads the current curve from the snapshot of the day, or from the points without an as-of date.
+     *
+     * @return the {@link Current} curve, or null if there is no point.
+     */
+    private Current load(Integer curveId, LocalDate today) {
+        CurveSnapshotStore.Snapshot snapshot = findSnapshot(curveId, today);
+        if (snapshot != null) {
+            return new Current(today, snapshot.curve());
+        }
+        Curve curve = toCurve(curveId, curvePointRepository.findUndatedByCurveIdAsDTO(curveId));
+        if (curve == null) {
+            return null;
+        }
+        logger.info("Curve {} loaded with {} points.", curveId, curve.size());
+        return new Current(today, curve);
+    }
+
+    private NavigableSet<LocalDateTime> loadAsOfDates(Integer curveId) {
+        NavigableSet<LocalDateTime> dates = new TreeSet<>();
+        curvePointRepository.findAsOfDates(curveId).forEach(date -> dates.add(date.toLocalDateTime()));
+        return dates;
+    }
+
+    private Curve loadSnapshot(Integer curveId, LocalDateTime asOfDate) {
+        Curve curve = toCurve(curveId, curvePointRepository.findByCurveIdAndAsOfDateAsDTO(
+                curveId, Timestamp.valueOf(asOfDate)));
+        if (curve != null) {
+            logger.info("Curve {} as of {} loaded with {} points.", curveId, asOfDate, curve.size());
+        }
+        return curve;
+    }
+
+    /**
+     * Builds a curve from its points ordered by term and ID, keeping the point with the highest ID when several
+     * share a term.
+     *
+     * @return the {@link Curve}, or null if there is no point.
+     */
+    private Curve toCurve(Integer curveId, List<CurvePointDTO> points) {
+        if (points.isEmpty()) {
+            return null;
+        }
+
+        double[] terms = new double[points.size()];
+        double[] values = new double[points.size()];
+        int size = 0;
+        for (CurvePointDTO point : points) {
+            if (size > 0 && terms[size - 1] == point.getTerm()) {
+                size--;
+            }
+            terms[size] = point.getTerm();
+            values[size] = point.getValue();
+            size++;
+        }
+        return new Curve(curveId, Arrays.copyOf(terms, size), Arrays.copyOf(values, size));
+    }
+
+    /**
+     * The current curve and the day it was loaded for.
+     */
+    private record Current(LocalDate day, Curve curve) {
+    }
+}
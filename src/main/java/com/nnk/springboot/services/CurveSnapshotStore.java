@@ -0,0 +1,137 @@
+package com.nnk.springboot.services;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Versioned snapshots of the curves by as-of date, published copy-on-write.
+ *
+ * <p>
+ * The history of a curve is an immutable value holding its as-of dates and the snapshots loaded so far.
+ * Readers only dereference the current history, so they never block. Loading a snapshot publishes a new
+ * history replacing the one it was read from, unless the curve was invalidated in between.
+ * </p>
+ *
+ * <p>
+ * At most {@code maxSnapshotsPerCurve} snapshots are kept per curve, the oldest dates being evicted first,
+ * and snapshots older than the retention are served without being kept.
+ * </p>
+ */
+public class CurveSnapshotStore {
+    private final ConcurrentMap<Integer, History> histories = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final int maxSnapshotsPerCurve;
+    private final int retentionDays;
+
+    /**
+     * Creates an empty store.
+     *
+     * @param maxSnapshotsPerCurve the number of snapshots kept per curve.
+     * @param retentionDays        the age in days beyond which snapshots are not kept, or 0 to keep every age.
+     */
+    public CurveSnapshotStore(int maxSnapshotsPerCurve, int retentionDays) {
+        this.maxSnapshotsPerCurve = maxSnapshotsPerCurve;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Returns the latest snapshot of a curve before a date, loading it if it is not in memory.
+     *
+     * @param curveId     the ID of the curve.
+     * @param before      the exclusive upper bound of the as-of date.
+     * @param datesLoader loads the as-of dates of a curve.
+     * @param curveLoader loads the curve of an as-of date, or returns null if it has no point.
+     * @return the {@link Snapshot}, or null if the curve has no snapshot before the date.
+     */
+    public Snapshot get(Integer curveId, LocalDateTime before,
+                        Function<Integer, NavigableSet<LocalDateTime>> datesLoader,
+                        BiFunction<Integer, LocalDateTime, Curve> curveLoader) {
+        History history = histories.computeIfAbsent(curveId, id -> new History(
+                Collections.unmodifiableNavigableSet(datesLoader.apply(id)), Collections.emptyNavigableMap()));
+
+        LocalDateTime asOfDate = history.dates().lower(before);
+        if (asOfDate == null) {
+            return null;
+        }
+        Snapshot snapshot = history.snapshots().get(asOfDate);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        Curve curve = curveLoader.apply(curveId, asOfDate);
+        if (curve == null) {
+            return null;
+        }
+        Snapshot loaded = new Snapshot(asOfDate, versions.incrementAndGet(), curve);
+        if (isRetained(asOfDate)) {
+            NavigableSet<LocalDateTime> generation = history.dates();
+            histories.computeIfPresent(curveId, (id, current) ->
+                    current.dates() == generation ? with(current, loaded) : current);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the history of a curve, so that its dates and snapshots are loaded again on its next lookup.
+     * The dates being loaded inside the map, an invalidation waits for a load in progress, then drops it.
+     *
+     * @param curveId the ID of the curve.
+     */
+    public void invalidate(Integer curveId) {
+        histories.remove(curveId);
+    }
+
+    /**
+     * Returns the number of snapshots in memory.
+     *
+     * @return the number of snapshots over every curve.
+     */
+    public int size() {
+        return histories.values()
+                        .stream()
+                        .mapToInt(history -> history.snapshots().size())
+                        .sum();
+    }
+
+    private boolean isRetained(LocalDateTime asOfDate) {
+        return retentionDays <= 0 || !asOfDate.isBefore(LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    /**
+     * Adds a snapshot to a history, then evicts the snapshots beyond the retention and the oldest ones
+     * beyond the maximum per curve.
+     */
+    private History with(History history, Snapshot snapshot) {
+        TreeMap<LocalDateTime, Snapshot> snapshots = new TreeMap<>(history.snapshots());
+        snapshots.put(snapshot.asOfDate(), snapshot);
+        snapshots.keySet().removeIf(asOfDate -> !isRetained(asOfDate));
+        while (snapshots.size() > maxSnapshotsPerCurve) {
+            snapshots.pollFirstEntry();
+        }
+        return new History(history.dates(), Collections.unmodifiableNavigableMap(snapshots));
+    }
+
+    /**
+     * One immutable version of a curve at an as-of date.
+     *
+     * @param asOfDate the as-of date of the points.
+     * @param version  the version of the snapshot, increasing with every load.
+     * @param curve    the curve built from the points.
+     */
+    public record Snapshot(LocalDateTime asOfDate, long version, Curve curve) {
+    }
+
+    /**
+     * The as-of dates of a curve and the snapshots loaded so far, replaced as a whole on every change.
+     */
+    private record History(NavigableSet<LocalDateTime> dates, NavigableMap<LocalDateTime, Snapshot> snapshots) {
+    }
+}
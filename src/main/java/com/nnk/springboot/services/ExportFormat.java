@@ -0,0 +1,78 @@
+package com.nnk.springboot.services;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+
+/**
+ * Supported formats for table exports.
+ */
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * Returns the MIME type of an uncompressed export.
+     *
+     * @return the content type.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Returns the file extension of an uncompressed export.
+     *
+     * @return the extension, without the leading dot.
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Returns the media type of an export, compressed or not.
+     *
+     * @param gzip whether the export is gzip compressed.
+     * @return the {@link MediaType} to send.
+     */
+    public MediaType mediaType(boolean gzip) {
+        return MediaType.parseMediaType(gzip ? "application/gzip" : contentType);
+    }
+
+    /**
+     * Builds the file name of an export, compressed or not.
+     *
+     * @param baseName the name of the exported table.
+     * @param gzip     whether the export is gzip compressed.
+     * @return the file name, e.g. {@code trades.csv.gz}.
+     */
+    public String fileName(String baseName, boolean gzip) {
+        return baseName + "." + extension + (gzip ? ".gz" : "");
+    }
+
+    /**
+     * Parses a format name, ignoring case.
+     *
+     * @param name the name of the format, e.g. {@code csv} or {@code ndjson}.
+     * @return the matching {@link ExportFormat}.
+     * @throws ResponseStatusException if the format is not supported.
+     */
+    public static ExportFormat from(String name) {
+        try {
+            return ExportFormat.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                              String.format("Le format d'export %s n'est pas supporté", name));
+        }
+    }
+}
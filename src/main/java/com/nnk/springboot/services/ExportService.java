@@ -0,0 +1,216 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service class for exporting whole tables as CSV or NDJSON.
+ *
+ * <p>
+ * Rows are read through a streaming query and written to the output one by one, then detached
+ * from the persistence context, so the memory used does not depend on the number of rows.
+ * </p>
+ */
+@Service
+public class ExportService {
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final Map<String, Function<Trade, Object>> TRADE_COLUMNS = new LinkedHashMap<>();
+    private static final Map<String, Function<BidList, Object>> BID_LIST_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        TRADE_COLUMNS.put("id", Trade::getId);
+        TRADE_COLUMNS.put("account", Trade::getAccount);
+        TRADE_COLUMNS.put("type", Trade::getType);
+        TRADE_COLUMNS.put("buyQuantity", Trade::getBuyQuantity);
+        TRADE_COLUMNS.put("sellQuantity", Trade::getSellQuantity);
+        TRADE_COLUMNS.put("buyPrice", Trade::getBuyPrice);
+        TRADE_COLUMNS.put("sellPrice", Trade::getSellPrice);
+        TRADE_COLUMNS.put("benchmark", Trade::getBenchmark);
+        TRADE_COLUMNS.put("tradeDate", Trade::getTradeDate);
+        TRADE_COLUMNS.put("security", Trade::getSecurity);
+        TRADE_COLUMNS.put("status", Trade::getStatus);
+        TRADE_COLUMNS.put("trader", Trade::getTrader);
+        TRADE_COLUMNS.put("book", Trade::getBook);
+        TRADE_COLUMNS.put("creationName", Trade::getCreationName);
+        TRADE_COLUMNS.put("creationDate", Trade::getCreationDate);
+        TRADE_COLUMNS.put("revisionName", Trade::getRevisionName);
+        TRADE_COLUMNS.put("revisionDate", Trade::getRevisionDate);
+        TRADE_COLUMNS.put("dealName", Trade::getDealName);
+        TRADE_COLUMNS.put("dealType", Trade::getDealType);
+        TRADE_COLUMNS.put("sourceListId", Trade::getSourceListId);
+        TRADE_COLUMNS.put("side", Trade::getSide);
+
+        BID_LIST_COLUMNS.put("id", BidList::getId);
+        BID_LIST_COLUMNS.put("account", BidList::getAccount);
+        BID_LIST_COLUMNS.put("type", BidList::getType);
+        BID_LIST_COLUMNS.put("bidQuantity", BidList::getBidQuantity);
+        BID_LIST_COLUMNS.put("askQuantity", BidList::getAskQuantity);
+        BID_LIST_COLUMNS.put("bid", BidList::getBid);
+        BID_LIST_COLUMNS.put("ask", BidList::getAsk);
+        BID_LIST_COLUMNS.put("benchmark", BidList::getBenchmark);
+        BID_LIST_COLUMNS.put("bidListDate", BidList::getBidListDate);
+        BID_LIST_COLUMNS.put("commentary", BidList::getCommentary);
+        BID_LIST_COLUMNS.put("security", BidList::getSecurity);
+        BID_LIST_COLUMNS.put("status", BidList::getStatus);
+        BID_LIST_COLUMNS.put("trader", BidList::getTrader);
+        BID_LIST_COLUMNS.put("book", BidList::getBook);
+        BID_LIST_COLUMNS.put("creationName", BidList::getCreationName);
+        BID_LIST_COLUMNS.put("creationDate", BidList::getCreationDate);
+        BID_LIST_COLUMNS.put("revisionName", BidList::getRevisionName);
+        BID_LIST_COLUMNS.put("revisionDate", BidList::getRevisionDate);
+        BID_LIST_COLUMNS.put("dealName", BidList::getDealName);
+        BID_LIST_COLUMNS.put("dealType", BidList::getDealType);
+        BID_LIST_COLUMNS.put("sourceListId", BidList::getSourceListId);
+        BID_LIST_COLUMNS.put("side", BidList::getSide);
+    }
+
+    @Autowired
+    private TradeRepository tradeRepository;
+    @Autowired
+    private BidListRepository bidListRepository;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Writes every trade to the given output stream.
+     *
+     * @param format the {@link ExportFormat} to write.
+     * @param gzip   whether to gzip compress the output.
+     * @param out    the output stream to write to. It is flushed but not closed.
+     * @throws IOException if writing to the output stream fails.
+     */
+    @Transactional(readOnly = true)
+    public void exportTrades(ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        logger.info("Exporting trades as {} (gzip: {}).", format, gzip);
+
+        try (Stream<Trade> trades = tradeRepository.streamAll()) {
+            long count = write(trades, TRADE_COLUMNS, format, gzip, out);
+            logger.info("Exported {} trades.", count);
+        }
+    }
+
+    /**
+     * Writes every bid list to the given output stream.
+     *
+     * @param format the {@link ExportFormat} to write.
+     * @param gzip   whether to gzip compress the output.
+     * @param out    the output stream to write to. It is flushed but not closed.
+     * @throws IOException if writing to the output stream fails.
+     */
+    @Transactional(readOnly = true)
+    public void exportBidLists(ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        logger.info("Exporting bid lists as {} (gzip: {}).", format, gzip);
+
+        try (Stream<BidList> bidLists = bidListRepository.streamAll()) {
+            long count = write(bidLists, BID_LIST_COLUMNS, format, gzip, out);
+            logger.info("Exported {} bid lists.", count);
+        }
+    }
+
+    private <T> long write(Stream<T> rows, Map<String, Function<T, Object>> columns, ExportFormat format,
+                           boolean gzip, OutputStream out) throws IOException {
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? gzipOut : out, StandardCharsets.UTF_8),
+                                           BUFFER_SIZE);
+        JsonGenerator json = null;
+
+        if (format == ExportFormat.CSV) {
+            writer.write(String.join(",", columns.keySet()));
+            writer.write('\n');
+        } else {
+            json = JSON_FACTORY.createGenerator(writer)
+                               .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            if (json == null) {
+                writeCsvRow(writer, row, columns);
+            } else {
+                writeJsonRow(json, row, columns);
+            }
+            entityManager.detach(row);
+            count++;
+        }
+
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+        if (gzipOut != null) {
+            gzipOut.finish();
+        }
+        out.flush();
+        return count;
+    }
+
+    private <T> void writeCsvRow(Writer writer, T row, Map<String, Function<T, Object>> columns) throws IOException {
+        boolean first = true;
+        for (Function<T, Object> column : columns.values()) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+
+            Object value = toExportValue(column.apply(row));
+            if (value != null) {
+                writer.write(escapeCsv(value.toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private <T> void writeJsonRow(JsonGenerator json, T row, Map<String, Function<T, Object>> columns)
+            throws IOException {
+        json.writeStartObject();
+        for (Map.Entry<String, Function<T, Object>> column : columns.entrySet()) {
+            json.writeObjectField(column.getKey(), toExportValue(column.getValue().apply(row)));
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static Object toExportValue(Object value) {
+        return (value instanceof Timestamp timestamp) ? timestamp.toInstant().toString() : value;
+    }
+
+    private static String escapeCsv(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,233 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.BidListDTO;
+import com.nnk.springboot.dto.ImportReportDTO;
+import com.nnk.springboot.dto.TradeDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for bulk importing trades and bid lists from CSV files.
+ *
+ * <p>
+ * The file is parsed one record at a time. Each row is validated against the same constraints as the
+ * add forms, valid rows are written in batches of {@code app.import.batch-size}, and invalid rows are
+ * reported without failing the rest of the file. Each batch is written through {@link TradeService} or
+ * {@link BidListService}, so that imported rows update the positions, the P&amp;L, the order book, the matching
+ * engine and the rule hits like rows added from the forms. When a batch is refused by the database, its rows are
+ * retried one by one so that only the faulty ones are rejected.
+ * </p>
+ */
+@Service
+public class ImportService {
+    private static final Logger logger = LoggerFactory.getLogger(ImportService.class);
+    @Autowired
+    private TradeService tradeService;
+    @Autowired
+    private BidListService bidListService;
+    @Autowired
+    private Validator validator;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Value("${app.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Imports trades from a CSV file with the header {@code account,type,buyQuantity}.
+     *
+     * @param in the CSV content.
+     * @return the {@link ImportReportDTO} of the import.
+     * @throws ResponseStatusException if the file cannot be read.
+     */
+    public ImportReportDTO importTrades(InputStream in) {
+        logger.info("Importing trades.");
+
+        return importRows(in, "trades", row -> {
+            TradeDTO tradeDTO = new TradeDTO();
+            tradeDTO.setAccount(row.get("account"));
+            tradeDTO.setType(row.get("type"));
+            tradeDTO.setBuyQuantity(parseDouble(row, "buyQuantity"));
+            return tradeDTO;
+        }, tradeDTO -> {
+            Trade trade = new Trade();
+            trade.setAccount(tradeDTO.getAccount());
+            trade.setType(tradeDTO.getType());
+            trade.setBuyQuantity(tradeDTO.getBuyQuantity());
+            return trade;
+        }, tradeService::addTrades);
+    }
+
+    /**
+     * Imports bid lists from a CSV file with the header {@code account,type,bidQuantity}.
+     *
+     * @param in the CSV content.
+     * @return the {@link ImportReportDTO} of the import.
+     * @throws ResponseStatusException if the file cannot be read.
+     */
+    public ImportReportDTO importBidLists(InputStream in) {
+        logger.info("Importing bid lists.");
+
+        return importRows(in, "bid lists", row -> {
+            BidListDTO bidListDTO = new BidListDTO();
+            bidListDTO.setAccount(row.get("account"));
+            bidListDTO.setType(row.get("type"));
+            bidListDTO.setBidQuantity(parseDouble(row, "bidQuantity"));
+            return bidListDTO;
+        }, bidListDTO -> {
+            BidList bidList = new BidList();
+            bidList.setAccount(bidListDTO.getAccount());
+            bidList.setType(bidListDTO.getType());
+            bidList.setBidQuantity(bidListDTO.getBidQuantity());
+            return bidList;
+        }, bidListService::addBidLists);
+    }
+
+    private <D, E> ImportReportDTO importRows(InputStream in, String label, Function<Map<String, String>, D> parser,
+                                              Function<D, E> mapper, Consumer<List<E>> writer) {
+        ImportReportDTO report = new ImportReportDTO();
+        long start = System.nanoTime();
+        List<D> batch = new ArrayList<>(batchSize);
+        List<Integer> batchLines = new ArrayList<>(batchSize);
+
+        try (CsvReader csv = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            List<String> header = csv.readRecord();
+            if (header == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Le fichier importé est vide");
+            }
+            header = header.stream().map(String::trim).toList();
+
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+
+                int line = csv.getRecordLine();
+                report.setRowsRead(report.getRowsRead() + 1);
+
+                if (record.size() != header.size()) {
+                    report.reject(line, String.format("Expected %d columns but found %d", header.size(), record.size()));
+                    continue;
+                }
+
+                Map<String, String> row = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    row.put(header.get(i), record.get(i).trim());
+                }
+
+                D dto;
+                try {
+                    dto = parser.apply(row);
+                } catch (IllegalArgumentException e) {
+                    report.reject(line, e.getMessage());
+                    continue;
+                }
+
+                Set<ConstraintViolation<D>> violations = validator.validate(dto);
+                if (!violations.isEmpty()) {
+                    report.reject(line, violations.stream()
+                                                  .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                                                  .sorted()
+                                                  .collect(Collectors.joining(", ")));
+                    continue;
+                }
+
+                batch.add(dto);
+                batchLines.add(line);
+                if (batch.size() >= batchSize) {
+                    writeBatch(batch, batchLines, mapper, writer, report);
+                }
+            }
+            writeBatch(batch, batchLines, mapper, writer, report);
+        } catch (IOException e) {
+            logger.error("An error occurred while reading the {} import file: {}", label, e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Le fichier importé n'a pas pu être lu");
+        }
+
+        report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        logger.info("Imported {} of {} {} in {} ms ({} rows/s), {} rejected.", report.getRowsImported(),
+                    report.getRowsRead(), label, report.getElapsedMillis(), report.getRowsPerSecond(),
+                    report.getRowsRejected());
+        return report;
+    }
+
+    private <D, E> void writeBatch(List<D> batch, List<Integer> batchLines, Function<D, E> mapper,
+                                   Consumer<List<E>> writer, ImportReportDTO report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            writer.accept(batch.stream().map(mapper).toList());
+            report.setRowsImported(report.getRowsImported() + batch.size());
+        } catch (RuntimeException e) {
+            logger.warn("Batch of {} rows refused, retrying row by row: {}", batch.size(), e.getMessage());
+
+            for (int i = 0; i < batch.size(); i++) {
+                D dto = batch.get(i);
+                try {
+                    writer.accept(List.of(mapper.apply(dto)));
+                    report.setRowsImported(report.getRowsImported() + 1);
+                } catch (RuntimeException rowException) {
+                    logger.warn("Row at line {} refused: {}", batchLines.get(i), rowException.getMessage());
+                    report.reject(batchLines.get(i), "Refused by the database");
+                } finally {
+                    clearPersistenceContext();
+                }
+            }
+        } finally {
+            clearPersistenceContext();
+        }
+
+        batch.clear();
+        batchLines.clear();
+    }
+
+    /**
+     * Detaches the written rows, since the persistence context may span the whole request. They are flushed first
+     * when an enclosing transaction is still open, as their own transaction then did not flush them.
+     */
+    private void clearPersistenceContext() {
+        if (entityManager.isJoinedToTransaction()) {
+            entityManager.flush();
+        }
+        entityManager.clear();
+    }
+
+    private static Double parseDouble(Map<String, String> row, String column) {
+        String value = row.get(column);
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("%s: '%s' is not a number", column, value));
+        }
+    }
+}
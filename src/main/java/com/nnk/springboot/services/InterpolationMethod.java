@@ -0,0 +1,20 @@
+package com.nnk.springboot.services;
+
+/**
+ * Methods a {@link Curve} can interpolate its values with.
+ */
+public enum InterpolationMethod {
+    /**
+     * Straight line between the two surrounding points.
+     */
+    LINEAR,
+    /**
+     * Straight line between the logarithms of the two surrounding values, for curves of positive values
+     * such as discount factors.
+     */
+    LOG_LINEAR,
+    /**
+     * Natural cubic spline through every point, with a continuous slope and curvature.
+     */
+    CUBIC_SPLINE
+}
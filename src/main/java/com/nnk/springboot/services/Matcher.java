@@ -0,0 +1,227 @@
+package com.nnk.springboot.services;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Price-time priority matching of the orders of one security.
+ *
+ * <p>
+ * An incoming order first crosses the best opposite levels while their price is acceptable, oldest order
+ * first within a level, at the price of the resting order. Whatever remains rests on its side of the book,
+ * where it can be cancelled or amended by ID. This class is not thread-safe: {@link MatchingEngine} only calls it from one thread at a time.
+ * </p>
+ */
+public class Matcher {
+    private final NavigableMap<Double, ArrayDeque<Resting>> bids = new TreeMap<>(Comparator.reverseOrder());
+    private final NavigableMap<Double, ArrayDeque<Resting>> asks = new TreeMap<>();
+    private final Map<Integer, Resting> resting = new HashMap<>();
+
+    /**
+     * Matches an order against the resting orders, then rests its remaining quantity.
+     *
+     * @param order  the incoming order.
+     * @param onFill called for every fill, in execution order.
+     */
+    public void match(Order order, Consumer<Fill> onFill) {
+        boolean buy = order.side() == Side.BUY;
+        NavigableMap<Double, ArrayDeque<Resting>> opposite = buy ? asks : bids;
+        double remaining = order.quantity();
+
+        while (remaining > OrderBook.EPSILON && !opposite.isEmpty()) {
+            Map.Entry<Double, ArrayDeque<Resting>> best = opposite.firstEntry();
+            double price = best.getKey();
+            if (buy ? price > order.price() : price < order.price()) {
+                break;
+            }
+
+            ArrayDeque<Resting> level = best.getValue();
+            while (remaining > OrderBook.EPSILON && !level.isEmpty()) {
+                Resting first = level.peekFirst();
+                double quantity = Math.min(remaining, first.remaining);
+                remaining -= quantity;
+                first.remaining -= quantity;
+                if (first.remaining <= OrderBook.EPSILON) {
+                    level.pollFirst();
+                    resting.remove(first.order.id());
+                }
+                onFill.accept(buy ? new Fill(order, first.order, price, quantity)
+                                  : new Fill(first.order, order, price, quantity));
+            }
+            if (level.isEmpty()) {
+                opposite.pollFirstEntry();
+            }
+        }
+
+        if (remaining > OrderBook.EPSILON) {
+            Resting rest = new Resting(order, remaining);
+            level(order).addLast(rest);
+            resting.put(order.id(), rest);
+        }
+    }
+
+    /**
+     * Removes a resting order from the book.
+     *
+     * @param id the ID of the order.
+     * @return true if the order was resting, false if it was already filled or cancelled.
+     */
+    public boolean cancel(Integer id) {
+        Resting rest = resting.remove(id);
+        if (rest == null) {
+            return false;
+        }
+        unlink(rest);
+        return true;
+    }
+
+    /**
+     * Changes the account and the remaining quantity of a resting order. A lower quantity keeps the priority of
+     * the order within its level, a higher one moves it behind the other orders of the level, and a quantity of
+     * zero cancels it.
+     *
+     * @param id       the ID of the order.
+     * @param account  the new account of the order.
+     * @param quantity the new remaining quantity of the order.
+     * @return true if the order was resting, false if it was already filled or cancelled.
+     */
+    public boolean amend(Integer id, String account, double quantity) {
+        Resting rest = resting.get(id);
+        if (rest == null) {
+            return false;
+        }
+        if (quantity <= OrderBook.EPSILON) {
+            return cancel(id);
+        }
+
+        Order order = rest.order;
+        rest.order = new Order(order.id(), account, order.trader(), order.book(), order.security(), order.side(),
+                               order.price(), order.quantity());
+        if (quantity > rest.remaining + OrderBook.EPSILON) {
+            unlink(rest);
+            level(order).addLast(rest);
+        }
+        rest.remaining = quantity;
+        return true;
+    }
+
+    /**
+     * Returns a resting order.
+     *
+     * @param id the ID of the order.
+     * @return the {@link Order}, or null if the order is not resting.
+     */
+    public Order getOrder(Integer id) {
+        Resting rest = resting.get(id);
+        return rest == null ? null : rest.order;
+    }
+
+    /**
+     * Returns the remaining quantity of a resting order.
+     *
+     * @param id the ID of the order.
+     * @return the remaining quantity, or 0 if the order is not resting.
+     */
+    public double getRemaining(Integer id) {
+        Resting rest = resting.get(id);
+        return rest == null ? 0 : rest.remaining;
+    }
+
+    private ArrayDeque<Resting> level(Order order) {
+        return (order.side() == Side.BUY ? bids : asks).computeIfAbsent(order.price(), price -> new ArrayDeque<>());
+    }
+
+    private void unlink(Resting rest) {
+        NavigableMap<Double, ArrayDeque<Resting>> side = rest.order.side() == Side.BUY ? bids : asks;
+        ArrayDeque<Resting> level = side.get(rest.order.price());
+        level.remove(rest);
+        if (level.isEmpty()) {
+            side.remove(rest.order.price());
+        }
+    }
+
+    /**
+     * Returns the best resting bid price.
+     *
+     * @return the best bid price, or null if no bid is resting.
+     */
+    public Double bestBid() {
+        return bids.isEmpty() ? null : bids.firstKey();
+    }
+
+    /**
+     * Returns the best resting ask price.
+     *
+     * @return the best ask price, or null if no ask is resting.
+     */
+    public Double bestAsk() {
+        return asks.isEmpty() ? null : asks.firstKey();
+    }
+
+    /**
+     * Side of an order.
+     */
+    public enum Side {
+        BUY, SELL;
+
+        /**
+         * Parses the side of a bid list, ignoring case.
+         *
+         * @param side the side of the bid list.
+         * @return the {@link Side}, or null if the value is not a known side.
+         */
+        public static Side of(String side) {
+            if (side == null) {
+                return null;
+            }
+            for (Side value : values()) {
+                if (value.name().equalsIgnoreCase(side.trim())) {
+                    return value;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Order submitted to the matcher.
+     *
+     * @param id       the ID of the bid list of the order.
+     * @param account  the account of the order.
+     * @param trader   the trader of the order.
+     * @param book     the book of the order.
+     * @param security the security of the order.
+     * @param side     the side of the order.
+     * @param price    the limit price of the order.
+     * @param quantity the quantity of the order.
+     */
+    public record Order(Integer id, String account, String trader, String book, String security, Side side,
+                        double price, double quantity) {
+    }
+
+    /**
+     * Execution of a quantity between a buy and a sell order.
+     *
+     * @param buy      the buy order.
+     * @param sell     the sell order.
+     * @param price    the execution price, which is the price of the resting order.
+     * @param quantity the executed quantity.
+     */
+    public record Fill(Order buy, Order sell, double price, double quantity) {
+    }
+
+    private static final class Resting {
+        private Order order;
+        private double remaining;
+
+        private Resting(Order order, double remaining) {
+            this.order = order;
+            this.remaining = remaining;
+        }
+    }
+}
@@ -0,0 +1,486 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.BidListRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Service matching the buy and sell bid lists of each security and recording the fills as trades.
+ *
+ * <p>
+ * Each security has its own {@link Matcher} and a lock-free inbox of commands: new orders, cancels and amends.
+ * The request thread only enqueues the command and, if the security is idle, schedules it on the matching pool.
+ * A security is therefore matched by one thread at a time, in arrival order, while different securities run in
+ * parallel. Fills are handed to a writer thread which saves them in batches through
+ * {@link TradeService#addTrades(List, Runnable)}, decreasing the remaining quantities of the filled bid lists in
+ * the same transaction and then in the {@link OrderBookService}, and evaluating the rules on these quantities
+ * again through the {@link RuleScheduler}.
+ * </p>
+ *
+ * <p>
+ * A batch the database refuses is retried with an exponential backoff, then kept in a dead-letter queue which is
+ * redelivered periodically; the fills given up on are counted by {@code matching.fills.failures}. Since the
+ * remaining quantities are saved with the fills, the resting orders are rebuilt from the bid lists once the
+ * application is ready.
+ * </p>
+ *
+ * <p>
+ * An order is forgotten only once it no longer rests in the book and its fills are saved, so that the bid list of
+ * an order filled but not saved yet cannot be submitted again. The orders forgotten while the resting orders are
+ * loaded are skipped by the load, which may read their bid lists as they were before.
+ * </p>
+ */
+@Service
+public class MatchingEngine {
+    private static final Logger logger = LoggerFactory.getLogger(MatchingEngine.class);
+    private static final List<String> BID_QUANTITY = List.of("bidQuantity");
+    private static final List<String> ASK_QUANTITY = List.of("askQuantity");
+    private final ConcurrentMap<String, Instrument> instruments = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Instrument> owners = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingFill> fills = new LinkedBlockingQueue<>();
+    private final Queue<List<PendingFill>> deadLetters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger deadLetterFills = new AtomicInteger();
+    private volatile Set<Integer> releasedWhileLoading;
+    @Autowired
+    private TradeService tradeService;
+    @Autowired
+    private OrderBookService orderBookService;
+    @Autowired
+    private BidListRepository bidListRepository;
+    @Autowired
+    private RuleScheduler ruleScheduler;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Value("${app.matching.pool-size:2}")
+    private int poolSize;
+    @Value("${app.matching.batch-size:500}")
+    private int batchSize;
+    @Value("${app.matching.retry.attempts:3}")
+    private int retryAttempts;
+    @Value("${app.matching.retry.backoff-ms:200}")
+    private long retryBackoff;
+    @Value("${app.matching.retry.dead-letter-interval-ms:30000}")
+    private long redeliveryInterval;
+    private ExecutorService executor;
+    private Thread writer;
+    private volatile boolean running;
+    private Counter failures;
+    private long nextRedelivery;
+
+    /**
+     * Starts the matching pool and the fill writer, and registers the metrics of the fills.
+     */
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "matching-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        failures = Counter.builder("matching.fills.failures")
+                          .description("Fills that could not be saved after every retry")
+                          .register(meterRegistry);
+        Gauge.builder("matching.fills.pending", fills, BlockingQueue::size)
+             .description("Fills waiting to be saved")
+             .register(meterRegistry);
+        Gauge.builder("matching.fills.dead-letters", deadLetterFills, AtomicInteger::get)
+             .description("Fills refused by the database, waiting to be redelivered")
+             .register(meterRegistry);
+        running = true;
+        writer = new Thread(this::writeFills, "matching-writer");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("Matching engine started with {} threads and batches of {} fills", poolSize, batchSize);
+    }
+
+    /**
+     * Stops the matching pool, then lets the writer save the pending fills.
+     *
+     * @throws InterruptedException if interrupted while waiting for the threads to finish.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Submits every bid list of the database that is an order, in ID order, to rebuild the resting orders.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        logger.info("Loading resting orders.");
+
+        Set<Integer> released = ConcurrentHashMap.newKeySet();
+        releasedWhileLoading = released;
+        int loaded = 0;
+        try (Stream<BidList> bidLists = bidListRepository.streamAll()) {
+            for (BidList bidList : (Iterable<BidList>) bidLists::iterator) {
+                if (!released.contains(bidList.getId()) && submit(bidList)) {
+                    loaded++;
+                }
+                entityManager.detach(bidList);
+            }
+        } finally {
+            releasedWhileLoading = null;
+        }
+
+        logger.info("Resting orders loaded: {} orders on {} securities.", loaded, instruments.size());
+    }
+
+    /**
+     * Submits a bid list to the book of its security. The bid list is an order only when it has a security,
+     * a side and a positive price and quantity on that side: the bid for a buy, the ask for a sell.
+     *
+     * @param bidList the saved bid list.
+     * @return true if the bid list was submitted as an order, false if it is not an order or was already submitted.
+     */
+    public boolean submit(BidList bidList) {
+        Matcher.Order order = toOrder(bidList);
+        if (order == null) {
+            return false;
+        }
+
+        Instrument instrument = instruments.computeIfAbsent(order.security(), security -> new Instrument());
+        if (owners.putIfAbsent(order.id(), instrument) != null) {
+            return false;
+        }
+        instrument.match(order);
+        return true;
+    }
+
+    /**
+     * Cancels the resting order of a deleted bid list, after the commands already submitted for its security.
+     *
+     * @param id the ID of the bid list.
+     * @return true if the cancel was submitted, false if the bid list has no order in the books.
+     */
+    public boolean cancel(Integer id) {
+        Instrument instrument = owners.get(id);
+        if (instrument == null) {
+            forget(id);
+            return false;
+        }
+        instrument.cancel(id);
+        return true;
+    }
+
+    /**
+     * Amends the resting order of an updated bid list, after the commands already submitted for its security.
+     * The change of bid quantity is added to the remaining quantity of a buy order, so that fills not saved yet
+     * are still deducted from it; a sell order only takes the new account.
+     *
+     * @param id                the ID of the bid list.
+     * @param account           the new account of the bid list.
+     * @param bidQuantityChange the new bid quantity minus the previous one.
+     * @return true if the amend was submitted, false if the bid list has no order in the books.
+     */
+    public boolean amend(Integer id, String account, double bidQuantityChange) {
+        Instrument instrument = owners.get(id);
+        if (instrument == null) {
+            return false;
+        }
+        instrument.amend(id, account, bidQuantityChange);
+        return true;
+    }
+
+    /**
+     * Returns the number of fills waiting to be saved.
+     *
+     * @return the number of pending fills.
+     */
+    public int getPendingFills() {
+        return fills.size();
+    }
+
+    /**
+     * Returns the number of fills refused by the database and waiting to be redelivered.
+     *
+     * @return the number of dead-lettered fills.
+     */
+    public int getDeadLetterFills() {
+        return deadLetterFills.get();
+    }
+
+    /**
+     * Keeps the loading of the resting orders from submitting an order that was just forgotten.
+     */
+    private void forget(Integer id) {
+        Set<Integer> released = releasedWhileLoading;
+        if (released != null) {
+            released.add(id);
+        }
+    }
+
+    private static Matcher.Order toOrder(BidList bidList) {
+        Matcher.Side side = Matcher.Side.of(bidList.getSide());
+        if (bidList.getId() == null || side == null || bidList.getSecurity() == null
+                || bidList.getSecurity().isBlank()) {
+            return null;
+        }
+
+        Double price = side == Matcher.Side.BUY ? bidList.getBid() : bidList.getAsk();
+        Double quantity = side == Matcher.Side.BUY ? bidList.getBidQuantity() : bidList.getAskQuantity();
+        if (price == null || price <= 0 || quantity == null || quantity <= 0) {
+            return null;
+        }
+        return new Matcher.Order(bidList.getId(), bidList.getAccount(), bidList.getTrader(), bidList.getBook(),
+                                 bidList.getSecurity(), side, price, quantity);
+    }
+
+    private static Trade toTrade(Matcher.Order order, Matcher.Fill fill, Timestamp tradeDate) {
+        Trade trade = new Trade();
+        trade.setAccount(order.account());
+        trade.setTrader(order.trader());
+        trade.setType("Match");
+        trade.setBook(order.book());
+        trade.setSecurity(order.security());
+        trade.setTradeDate(tradeDate);
+        trade.setSourceListId(String.valueOf(order.id()));
+        if (order.side() == Matcher.Side.BUY) {
+            trade.setSide("Buy");
+            trade.setBuyPrice(fill.price());
+            trade.setBuyQuantity(fill.quantity());
+        } else {
+            trade.setSide("Sell");
+            trade.setSellPrice(fill.price());
+            trade.setSellQuantity(fill.quantity());
+        }
+        return trade;
+    }
+
+    private void writeFills() {
+        while (running || !fills.isEmpty()) {
+            try {
+                PendingFill first = fills.poll(100, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    List<PendingFill> batch = new ArrayList<>(batchSize);
+                    batch.add(first);
+                    fills.drainTo(batch, batchSize - 1);
+                    write(batch);
+                } else if (!deadLetters.isEmpty() && System.currentTimeMillis() >= nextRedelivery) {
+                    redeliver();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (!deadLetters.isEmpty()) {
+            logger.error("Matching engine stopped with {} fills not saved: {}", deadLetterFills.get(),
+                         deadLetters.stream().flatMap(List::stream).map(PendingFill::fill).toList());
+        }
+    }
+
+    private void write(List<PendingFill> batch) throws InterruptedException {
+        long backoff = retryBackoff;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                save(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= retryAttempts) {
+                    deadLetter(batch, e);
+                    return;
+                }
+                logger.warn("Saving {} fills failed on attempt {} of {}, retrying in {} ms: {}", batch.size(),
+                            attempt, retryAttempts, backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    deadLetter(batch, e);
+                    throw interrupted;
+                }
+                backoff *= 2;
+            }
+        }
+    }
+
+    private void deadLetter(List<PendingFill> batch, RuntimeException e) {
+        deadLetters.add(batch);
+        deadLetterFills.addAndGet(batch.size());
+        failures.increment(batch.size());
+        nextRedelivery = System.currentTimeMillis() + redeliveryInterval;
+        logger.error("Saving {} fills failed after {} attempts, kept for redelivery: {}", batch.size(),
+                     retryAttempts, e.getMessage());
+    }
+
+    private void redeliver() {
+        List<PendingFill> batch;
+        while ((batch = deadLetters.peek()) != null) {
+            try {
+                save(batch);
+            } catch (RuntimeException e) {
+                logger.warn("Redelivering {} fills failed: {}", deadLetterFills.get(), e.getMessage());
+                nextRedelivery = System.currentTimeMillis() + redeliveryInterval;
+                return;
+            }
+            deadLetters.poll();
+            deadLetterFills.addAndGet(-batch.size());
+            logger.info("Redelivered {} fills.", batch.size());
+        }
+    }
+
+    /**
+     * Saves the trades of a batch of fills and decreases the remaining quantities of the filled bid lists, in the
+     * database within the same transaction, then in the order books at the versions they were saved with and in
+     * the rule hits, and finally lets the filled orders be forgotten.
+     */
+    private void save(List<PendingFill> batch) {
+        List<Trade> trades = new ArrayList<>(batch.size() * 2);
+        Map<Integer, Double> bought = new HashMap<>();
+        Map<Integer, Double> sold = new HashMap<>();
+        Map<Integer, Integer> fillCounts = new HashMap<>();
+        for (PendingFill pending : batch) {
+            Matcher.Fill fill = pending.fill();
+            trades.add(toTrade(fill.buy(), fill, pending.tradeDate()));
+            trades.add(toTrade(fill.sell(), fill, pending.tradeDate()));
+            bought.merge(fill.buy().id(), fill.quantity(), Double::sum);
+            sold.merge(fill.sell().id(), fill.quantity(), Double::sum);
+            fillCounts.merge(fill.buy().id(), 1, Integer::sum);
+            fillCounts.merge(fill.sell().id(), 1, Integer::sum);
+        }
+
+        Map<Integer, Integer> versions = new HashMap<>();
+        tradeService.addTrades(trades, () -> {
+            bought.forEach(bidListRepository::reduceBidQuantity);
+            sold.forEach(bidListRepository::reduceAskQuantity);
+            bidListRepository.findAllById(fillCounts.keySet())
+                             .forEach(bidList -> versions.put(bidList.getId(), bidList.getVersion()));
+        });
+        bought.forEach((id, quantity) -> orderBookService.reduceBidQuantity(id, quantity, versions.get(id)));
+        sold.forEach((id, quantity) -> orderBookService.reduceAskQuantity(id, quantity, versions.get(id)));
+        bought.keySet().forEach(id -> ruleScheduler.recordChanged(RuleTarget.BID_LIST, id, BID_QUANTITY));
+        sold.keySet().forEach(id -> ruleScheduler.recordChanged(RuleTarget.BID_LIST, id, ASK_QUANTITY));
+        fillCounts.forEach((id, count) -> {
+            Instrument instrument = owners.get(id);
+            if (instrument != null) {
+                instrument.saved(id, count);
+            }
+        });
+    }
+
+    /**
+     * Fill waiting to be saved, with the time it was matched.
+     */
+    private record PendingFill(Matcher.Fill fill, Timestamp tradeDate) {
+    }
+
+    /**
+     * Matcher of one security with its inbox. {@link #run()} is scheduled at most once at a time, which makes
+     * the matcher and the counts of unsaved fills single-threaded without any lock.
+     */
+    private final class Instrument implements Runnable {
+        private final Matcher matcher = new Matcher();
+        private final Map<Integer, Integer> unsavedFills = new HashMap<>();
+        private final Queue<Runnable> inbox = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private void match(Matcher.Order order) {
+            offer(() -> {
+                matcher.match(order, fill -> {
+                    fills.add(new PendingFill(fill, new Timestamp(System.currentTimeMillis())));
+                    unsavedFills.merge(fill.buy().id(), 1, Integer::sum);
+                    unsavedFills.merge(fill.sell().id(), 1, Integer::sum);
+                });
+                release(order.id());
+            });
+        }
+
+        private void cancel(Integer id) {
+            offer(() -> {
+                matcher.cancel(id);
+                release(id);
+            });
+        }
+
+        private void saved(Integer id, int count) {
+            try {
+                offer(() -> {
+                    unsavedFills.computeIfPresent(id, (key, unsaved) -> unsaved > count ? unsaved - count : null);
+                    release(id);
+                });
+            } catch (RejectedExecutionException e) {
+                logger.debug("Order {} is not released: the matching pool is stopped.", id);
+            }
+        }
+
+        private void amend(Integer id, String account, double bidQuantityChange) {
+            offer(() -> {
+                Matcher.Order order = matcher.getOrder(id);
+                if (order != null) {
+                    double remaining = matcher.getRemaining(id);
+                    matcher.amend(id, account, order.side() == Matcher.Side.BUY
+                                               ? remaining + bidQuantityChange : remaining);
+                }
+                release(id);
+            });
+        }
+
+        /**
+         * Forgets the security of an order once it no longer rests in the book and all its fills are saved.
+         */
+        private void release(Integer id) {
+            if (matcher.getOrder(id) == null && !unsavedFills.containsKey(id)) {
+                forget(id);
+                owners.remove(id, this);
+            }
+        }
+
+        private void offer(Runnable command) {
+            inbox.offer(command);
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            do {
+                Runnable command;
+                while ((command = inbox.poll()) != null) {
+                    try {
+                        command.run();
+                    } catch (RuntimeException e) {
+                        logger.error("An error occurred while matching: {}", e.getMessage(), e);
+                    }
+                }
+                scheduled.set(false);
+            } while (!inbox.isEmpty() && scheduled.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.OrderBookDTO;
+import com.nnk.springboot.dto.PriceLevelDTO;
+import com.nnk.springboot.dto.TopOfBookDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bid and ask price levels of one security.
+ *
+ * <p>
+ * Each side keeps its prices sorted in a primitive {@code double[]}, with the quantity of each level in a
+ * parallel array: an update is a binary search plus at most one array shift, and reading the best levels
+ * walks the arrays from the right end. Reads share a lock, updates take it exclusively.
+ * </p>
+ */
+public class OrderBook {
+    /**
+     * Quantities at or below this value are considered empty, to absorb floating point residues.
+     */
+    static final double EPSILON = 1e-9;
+
+    private final String security;
+    private final PriceLevels bids = new PriceLevels();
+    private final PriceLevels asks = new PriceLevels();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Creates an empty order book.
+     *
+     * @param security the security of the order book.
+     */
+    public OrderBook(String security) {
+        this.security = security;
+    }
+
+    /**
+     * Adds quantities to a bid and an ask level at once. A negative quantity removes quantity from the level,
+     * and a level is dropped when its quantity reaches zero. A side is left untouched when its quantity is 0.
+     *
+     * @param bidPrice    the bid price.
+     * @param bidQuantity the quantity to add at the bid price.
+     * @param askPrice    the ask price.
+     * @param askQuantity the quantity to add at the ask price.
+     */
+    public void apply(double bidPrice, double bidQuantity, double askPrice, double askQuantity) {
+        lock.writeLock().lock();
+        try {
+            if (bidQuantity != 0) {
+                bids.add(bidPrice, bidQuantity);
+            }
+            if (askQuantity != 0) {
+                asks.add(askPrice, askQuantity);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the best bid and the best ask.
+     *
+     * @return the {@link TopOfBookDTO} of this security.
+     */
+    public TopOfBookDTO topOfBook() {
+        lock.readLock().lock();
+        try {
+            TopOfBookDTO top = new TopOfBookDTO();
+            top.setSecurity(security);
+            if (bids.size > 0) {
+                top.setBidPrice(bids.prices[bids.size - 1]);
+                top.setBidQuantity(bids.quantities[bids.size - 1]);
+            }
+            if (asks.size > 0) {
+                top.setAskPrice(asks.prices[0]);
+                top.setAskQuantity(asks.quantities[0]);
+            }
+            return top;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the best price levels of each side.
+     *
+     * @param levels the maximum number of levels to return per side.
+     * @return the {@link OrderBookDTO} of this security, best prices first.
+     */
+    public OrderBookDTO depth(int levels) {
+        lock.readLock().lock();
+        try {
+            int bidLevels = Math.min(levels, bids.size);
+            List<PriceLevelDTO> bidDepth = new ArrayList<>(bidLevels);
+            for (int i = bids.size - 1; i >= bids.size - bidLevels; i--) {
+                bidDepth.add(new PriceLevelDTO(bids.prices[i], bids.quantities[i]));
+            }
+
+            int askLevels = Math.min(levels, asks.size);
+            List<PriceLevelDTO> askDepth = new ArrayList<>(askLevels);
+            for (int i = 0; i < askLevels; i++) {
+                askDepth.add(new PriceLevelDTO(asks.prices[i], asks.quantities[i]));
+            }
+            return new OrderBookDTO(security, bidDepth, askDepth);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Price levels of one side, sorted by ascending price.
+     */
+    private static final class PriceLevels {
+        private double[] prices = new double[16];
+        private double[] quantities = new double[16];
+        private int size;
+
+        private void add(double price, double quantity) {
+            int i = Arrays.binarySearch(prices, 0, size, price);
+            if (i >= 0) {
+                double remaining = quantities[i] + quantity;
+                if (remaining <= EPSILON) {
+                    remove(i);
+                } else {
+                    quantities[i] = remaining;
+                }
+            } else if (quantity > EPSILON) {
+                insert(-i - 1, price, quantity);
+            }
+        }
+
+        private void insert(int index, double price, double quantity) {
+            if (size == prices.length) {
+                prices = Arrays.copyOf(prices, size * 2);
+                quantities = Arrays.copyOf(quantities, size * 2);
+            }
+            System.arraycopy(prices, index, prices, index + 1, size - index);
+            System.arraycopy(quantities, index, quantities, index + 1, size - index);
+            prices[index] = price;
+            quantities[index] = quantity;
+            size++;
+        }
+
+        private void remove(int index) {
+            System.arraycopy(prices, index + 1, prices, index, size - index - 1);
+            System.arraycopy(quantities, index + 1, quantities, index, size - index - 1);
+            size--;
+        }
+    }
+}
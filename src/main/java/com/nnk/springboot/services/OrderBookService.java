@@ -0,0 +1,319 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.OrderBookDTO;
+import com.nnk.springboot.dto.TopOfBookDTO;
+import com.nnk.springboot.repositories.BidListRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Service maintaining an in-memory {@link OrderBook} per security from the bids and asks of the bid lists.
+ *
+ * <p>
+ * The books are loaded from the database once the application is ready, then kept up to date by
+ * {@link BidListService} after each successful write and by {@link MatchingEngine} after each saved fill. The
+ * contribution of every bid list is remembered by ID
+ * so that an update or a delete removes exactly what was added, without reading the row again.
+ * </p>
+ *
+ * <p>
+ * The changes applied while {@link #load()} reads the table are also journaled, then replayed on the loaded books
+ * before they replace the current ones, so that bid lists written during the load are not lost. Each change
+ * carries the version of the bid list it wrote, and is not replayed on a bid list the table already returned at
+ * that version or a later one: a fill decreases a quantity, and must not be deducted twice.
+ * </p>
+ */
+@Service
+public class OrderBookService {
+    private static final Logger logger = LoggerFactory.getLogger(OrderBookService.class);
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private final Lock loadLock = new ReentrantLock();
+    private volatile State state = new State();
+    private volatile Queue<Consumer<State>> journal;
+    @Autowired
+    private BidListRepository bidListRepository;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Builds the order books from every bid list in the database, then replaces the books in memory.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        logger.info("Loading order books.");
+
+        State loaded = new State();
+        loadLock.lock();
+        try {
+            Queue<Consumer<State>> deltas = new ConcurrentLinkedQueue<>();
+            journal = deltas;
+            try (Stream<BidList> bidLists = bidListRepository.streamAll()) {
+                bidLists.forEach(bidList -> {
+                    put(loaded, bidList.getId(), Quote.of(bidList));
+                    entityManager.detach(bidList);
+                });
+            }
+
+            stateLock.writeLock().lock();
+            try {
+                deltas.forEach(delta -> delta.accept(loaded));
+                state = loaded;
+            } finally {
+                stateLock.writeLock().unlock();
+            }
+        } finally {
+            journal = null;
+            loadLock.unlock();
+        }
+
+        logger.info("Order books loaded: {} quotes on {} securities.", loaded.quotes.size(), loaded.books.size());
+    }
+
+    /**
+     * Adds the bid and ask of a bid list to the book of its security.
+     * Bid lists without security, or without any priced side, are ignored.
+     *
+     * @param bidList the saved bid list.
+     */
+    public void add(BidList bidList) {
+        Quote quote = Quote.of(bidList);
+        if (quote == null) {
+            return;
+        }
+
+        Integer id = bidList.getId();
+        change(current -> put(current, id, quote), loaded -> {
+            if (isOlder(loaded, id, quote.version())) {
+                put(loaded, id, quote);
+            }
+        });
+    }
+
+    /**
+     * Replaces the bid quantity of a bid list in the book of its security.
+     *
+     * @param id          the ID of the updated bid list.
+     * @param bidQuantity the new bid quantity.
+     * @param version     the version of the bid list after the update, or null if unknown.
+     * @return the previous bid quantity, or null if the bid list is not in any book.
+     */
+    public Double updateBidQuantity(Integer id, Double bidQuantity, Integer version) {
+        UnaryOperator<Quote> update = quote -> quote.withBidQuantity(valueOf(bidQuantity, 0), version);
+        Quote[] previous = new Quote[1];
+        change(current -> previous[0] = replace(current, id, update), loaded -> {
+            if (isOlder(loaded, id, version)) {
+                replace(loaded, id, update);
+            }
+        });
+        return previous[0] == null ? null : previous[0].bidQuantity();
+    }
+
+    /**
+     * Decreases the bid quantity of a bid list by a filled quantity, down to zero.
+     *
+     * @param id       the ID of the filled bid list.
+     * @param quantity the filled quantity.
+     * @param version  the version of the bid list after the fill, or null if unknown.
+     */
+    public void reduceBidQuantity(Integer id, double quantity, Integer version) {
+        reduce(id, version, quote -> quote.withBidQuantity(Math.max(quote.bidQuantity() - quantity, 0), version));
+    }
+
+    /**
+     * Decreases the ask quantity of a bid list by a filled quantity, down to zero.
+     *
+     * @param id       the ID of the filled bid list.
+     * @param quantity the filled quantity.
+     * @param version  the version of the bid list after the fill, or null if unknown.
+     */
+    public void reduceAskQuantity(Integer id, double quantity, Integer version) {
+        reduce(id, version, quote -> quote.withAskQuantity(Math.max(quote.askQuantity() - quantity, 0), version));
+    }
+
+    /**
+     * Removes the bid and ask of a bid list from the book of its security.
+     *
+     * @param id the ID of the deleted bid list.
+     */
+    public void remove(Integer id) {
+        Consumer<State> delta = current -> remove(current, id);
+        change(delta, delta);
+    }
+
+    /**
+     * Removes the bids and asks of several bid lists.
+     *
+     * @param ids the IDs of the deleted bid lists.
+     */
+    public void removeAll(Collection<Integer> ids) {
+        ids.forEach(this::remove);
+    }
+
+    /**
+     * Returns the securities having an order book, in alphabetical order.
+     *
+     * @return the list of securities.
+     */
+    public List<String> getSecurities() {
+        return state.books.keySet().stream().sorted().toList();
+    }
+
+    /**
+     * Returns the best bid and ask of a security.
+     *
+     * @param security the security.
+     * @return the {@link TopOfBookDTO}, with empty sides if the security has no book.
+     */
+    public TopOfBookDTO getTopOfBook(String security) {
+        OrderBook book = state.books.get(security);
+        return book == null ? new OrderBook(security).topOfBook() : book.topOfBook();
+    }
+
+    /**
+     * Returns the best price levels of a security.
+     *
+     * @param security the security.
+     * @param levels   the maximum number of levels per side.
+     * @return the {@link OrderBookDTO}, with empty sides if the security has no book.
+     */
+    public OrderBookDTO getOrderBook(String security, int levels) {
+        OrderBook book = state.books.get(security);
+        return book == null ? new OrderBook(security).depth(levels) : book.depth(levels);
+    }
+
+    private void reduce(Integer id, Integer version, UnaryOperator<Quote> reduction) {
+        change(current -> replace(current, id, reduction), loaded -> {
+            if (isOlder(loaded, id, version)) {
+                replace(loaded, id, reduction);
+            }
+        });
+    }
+
+    /**
+     * Applies a change to the current books, and journals its replay while a load is running.
+     */
+    private void change(Consumer<State> delta, Consumer<State> replay) {
+        stateLock.readLock().lock();
+        try {
+            delta.accept(state);
+            Queue<Consumer<State>> deltas = journal;
+            if (deltas != null) {
+                deltas.add(replay);
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tells whether the loaded books hold a bid list at a version older than a change, or do not hold it.
+     */
+    private static boolean isOlder(State state, Integer id, Integer version) {
+        Quote quote = state.quotes.get(id);
+        return quote == null || version == null || quote.version() == null || quote.version() < version;
+    }
+
+    private static void put(State state, Integer id, Quote quote) {
+        if (quote == null) {
+            return;
+        }
+        Quote previous = state.quotes.put(id, quote);
+        if (previous != null) {
+            apply(state, previous, -1);
+        }
+        apply(state, quote, 1);
+    }
+
+    private static Quote replace(State state, Integer id, UnaryOperator<Quote> change) {
+        Quote[] previous = new Quote[1];
+        state.quotes.computeIfPresent(id, (key, quote) -> {
+            Quote changed = change.apply(quote);
+            apply(state, quote, -1);
+            apply(state, changed, 1);
+            previous[0] = quote;
+            return changed;
+        });
+        return previous[0];
+    }
+
+    private static void remove(State state, Integer id) {
+        Quote quote = state.quotes.remove(id);
+        if (quote != null) {
+            apply(state, quote, -1);
+        }
+    }
+
+    private static void apply(State state, Quote quote, int sign) {
+        state.books.computeIfAbsent(quote.security(), OrderBook::new)
+                   .apply(quote.bid(), sign * quote.bidSize(), quote.ask(), sign * quote.askSize());
+    }
+
+    /**
+     * Quotes by bid list ID and the books they sum up to, replaced as a whole by {@link #load()}.
+     */
+    private static final class State {
+        private final ConcurrentMap<String, OrderBook> books = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Integer, Quote> quotes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Contribution of one bid list to the book of its security, with the version of the bid list it was last
+     * changed to. Missing prices are NaN.
+     */
+    private record Quote(String security, double bid, double bidQuantity, double ask, double askQuantity,
+                         Integer version) {
+        private static Quote of(BidList bidList) {
+            if (bidList.getId() == null || bidList.getSecurity() == null || bidList.getSecurity().isBlank()) {
+                return null;
+            }
+            Quote quote = new Quote(bidList.getSecurity(), valueOf(bidList.getBid(), Double.NaN),
+                                    valueOf(bidList.getBidQuantity(), 0), valueOf(bidList.getAsk(), Double.NaN),
+                                    valueOf(bidList.getAskQuantity(), 0), bidList.getVersion());
+            return Double.isNaN(quote.bid) && Double.isNaN(quote.ask) ? null : quote;
+        }
+
+        private Quote withBidQuantity(double quantity, Integer version) {
+            return new Quote(security, bid, quantity, ask, askQuantity, version == null ? this.version : version);
+        }
+
+        private Quote withAskQuantity(double quantity, Integer version) {
+            return new Quote(security, bid, bidQuantity, ask, quantity, version == null ? this.version : version);
+        }
+
+        private double bidSize() {
+            return Double.isNaN(bid) || bidQuantity <= 0 ? 0 : bidQuantity;
+        }
+
+        private double askSize() {
+            return Double.isNaN(ask) || askQuantity <= 0 ? 0 : askQuantity;
+        }
+
+    }
+
+    private static double valueOf(Double value, double missing) {
+        return value == null ? missing : value;
+    }
+}
@@ -0,0 +1,89 @@
+package com.nnk.springboot.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service hashing passwords on a dedicated bounded pool.
+ *
+ * <p>
+ * BCrypt is deliberately slow: running it on a fixed number of threads keeps a burst of registrations from
+ * using every request thread, and a bounded queue rejects the overflow with a 503 instead of piling it up.
+ * </p>
+ */
+@Service
+public class PasswordHasher {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHasher.class);
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Value("${app.security.hashing.pool-size:4}")
+    private int poolSize;
+    @Value("${app.security.hashing.queue-capacity:100}")
+    private int queueCapacity;
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Starts the hashing pool.
+     */
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                                          new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.info("Password hashing pool started with {} threads and a queue of {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Stops the hashing pool.
+     */
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    /**
+     * Hashes a password with the shared {@link PasswordEncoder}, waiting for a hashing thread to be available.
+     *
+     * @param rawPassword the password to hash.
+     * @return the hashed password.
+     * @throws ResponseStatusException with 503 if the hashing queue is full, or 500 if the hashing failed.
+     */
+    public String encode(String rawPassword) {
+        Future<String> hash;
+        try {
+            hash = executor.submit(() -> passwordEncoder.encode(rawPassword));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Password hashing queue is full ({} pending)", executor.getQueue().size());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                                              "Le serveur est surchargé, veuillez réessayer plus tard");
+        }
+
+        try {
+            return hash.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            hash.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                                              "Le serveur est surchargé, veuillez réessayer plus tard");
+        } catch (ExecutionException e) {
+            logger.error("Error hashing password: {}", e.getCause().getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                                              "Une erreur est survenue lors du hachage du mot de passe");
+        }
+    }
+}
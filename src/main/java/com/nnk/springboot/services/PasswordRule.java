@@ -0,0 +1,50 @@
+package com.nnk.springboot.services;
+
+import lombok.Getter;
+
+/**
+ * Complexity rules a password must satisfy.
+ *
+ * <p>
+ * Each rule owns one bit so that {@link Validators#checkPassword(String)} can report every failed rule
+ * as a single {@code int} without allocating.
+ * </p>
+ */
+@Getter
+public enum PasswordRule {
+    MIN_LENGTH("8 char minimum"),
+    UPPERCASE("1 MAJ"),
+    LOWERCASE("1 min"),
+    DIGIT("1 chiffre"),
+    SPECIAL("1 symbole");
+
+    /**
+     * Mask with every rule failed.
+     */
+    public static final int ALL = (1 << values().length) - 1;
+
+    private final String message;
+
+    PasswordRule(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Returns the bit of this rule in a failure mask.
+     *
+     * @return the bit of this rule.
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Checks whether this rule is part of a failure mask.
+     *
+     * @param failures the failure mask returned by {@link Validators#checkPassword(String)}.
+     * @return true if this rule failed, false otherwise.
+     */
+    public boolean isIn(int failures) {
+        return (failures & bit()) != 0;
+    }
+}
@@ -0,0 +1,324 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.PnlDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Average cost P&L of trades, aggregated per trader, book and security.
+ *
+ * <p>
+ * A {@link Lot} only holds sums, so the trades can be added in any order and partial lots can be merged:
+ * {@link #aggregate(List)} splits the accounts over a {@link ForkJoinPool}, each task summing the trades of
+ * its accounts into its own map before the maps are merged. The realized P&L is the closed quantity times the
+ * difference between the average sell and buy prices, and the unrealized P&L marks the open quantity
+ * against a price given by the caller.
+ * </p>
+ */
+public class PnlCalculator {
+    private static final Comparator<String> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final ForkJoinPool pool;
+    private final int leafSize;
+
+    /**
+     * Creates a calculator.
+     *
+     * @param pool     the pool running the aggregation.
+     * @param leafSize the number of trades below which a task stops splitting its accounts. Tasks are also
+     *                 kept to about four per thread, since each one allocates its own map of lots.
+     */
+    public PnlCalculator(ForkJoinPool pool, int leafSize) {
+        this.pool = pool;
+        this.leafSize = leafSize;
+    }
+
+    /**
+     * Sums trades into lots, in parallel across accounts.
+     *
+     * @param executionsByAccount the priced trades, grouped by account.
+     * @return the lots by trader, book and security.
+     */
+    public Map<LotKey, Lot> aggregate(List<List<Execution>> executionsByAccount) {
+        long[] offsets = new long[executionsByAccount.size() + 1];
+        for (int i = 0; i < executionsByAccount.size(); i++) {
+            offsets[i + 1] = offsets[i] + executionsByAccount.get(i).size();
+        }
+
+        long threshold = Math.max(leafSize, offsets[offsets.length - 1] / (pool.getParallelism() * 4L));
+        Map<LotKey, Accumulator> accumulators = pool.invoke(
+                new AggregateTask(executionsByAccount, offsets, threshold, 0, executionsByAccount.size()));
+        Map<LotKey, Lot> lots = new HashMap<>(accumulators.size() * 2);
+        accumulators.forEach((key, accumulator) -> lots.put(key, accumulator.toLot()));
+        return lots;
+    }
+
+    /**
+     * Sums the P&L of lots per trader and book.
+     *
+     * @param lots  the lots by trader, book and security.
+     * @param marks the mark price of a security, or NaN if it has none.
+     * @return the list of {@link PnlDTO}, ordered by trader and book.
+     */
+    public static List<PnlDTO> summarize(Map<LotKey, Lot> lots, ToDoubleFunction<String> marks) {
+        Map<String, Double> markCache = new HashMap<>();
+        Map<List<String>, PnlDTO> pnl = new TreeMap<>(
+                Comparator.<List<String>, String>comparing(key -> key.get(0), NULLS_FIRST)
+                          .thenComparing(key -> key.get(1), NULLS_FIRST));
+
+        lots.forEach((key, lot) -> {
+            PnlDTO total = pnl.computeIfAbsent(Arrays.asList(key.trader(), key.book()),
+                                               k -> new PnlDTO(key.trader(), key.book(), 0, 0, 0));
+            total.setRealized(total.getRealized() + lot.realized());
+            if (Math.abs(lot.netQuantity()) <= OrderBook.EPSILON) {
+                return;
+            }
+            double mark = markCache.computeIfAbsent(key.security(), marks::applyAsDouble);
+            if (Double.isNaN(mark)) {
+                total.setUnmarkedSecurities(total.getUnmarkedSecurities() + 1);
+            } else {
+                total.setUnrealized(total.getUnrealized() + lot.unrealized(mark));
+            }
+        });
+
+        pnl.values().forEach(total -> total.setTotal(total.getRealized() + total.getUnrealized()));
+        return new ArrayList<>(pnl.values());
+    }
+
+    /**
+     * Trader, book and security of a lot.
+     *
+     * @param trader   the trader, or null.
+     * @param book     the book, or null.
+     * @param security the security, or null.
+     */
+    public record LotKey(String trader, String book, String security) {
+        /**
+         * Mixes the three hashes with an odd multiplier: the default record hash collides a lot on names that
+         * only differ by a numeric suffix, such as {@code Book1} and {@code Trader2}.
+         *
+         * @return the hash of this key.
+         */
+        @Override
+        public int hashCode() {
+            int hash = Objects.hashCode(trader);
+            hash = hash * 0x9E3779B1 + Objects.hashCode(book);
+            hash = hash * 0x9E3779B1 + Objects.hashCode(security);
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    /**
+     * Priced quantities of one trade. A side without price has a quantity of 0.
+     *
+     * @param key          the lot of the trade.
+     * @param buyQuantity  the bought quantity.
+     * @param buyPrice     the buy price, or NaN.
+     * @param sellQuantity the sold quantity.
+     * @param sellPrice    the sell price, or NaN.
+     */
+    public record Execution(LotKey key, double buyQuantity, double buyPrice, double sellQuantity, double sellPrice) {
+        /**
+         * Extracts the priced quantities of a trade.
+         *
+         * @param trade the trade.
+         * @return the {@link Execution}, or null if the trade has no priced quantity.
+         */
+        public static Execution of(Trade trade) {
+            Execution execution = new Execution(new LotKey(trade.getTrader(), trade.getBook(), trade.getSecurity()),
+                                                0, Double.NaN, 0, Double.NaN)
+                    .withBuy(trade.getBuyQuantity(), trade.getBuyPrice())
+                    .withSell(trade.getSellQuantity(), trade.getSellPrice());
+            return execution.buyQuantity == 0 && execution.sellQuantity == 0 ? null : execution;
+        }
+
+        /**
+         * Returns a copy of this execution with another buy quantity.
+         *
+         * @param quantity the new buy quantity, or null.
+         * @return the updated {@link Execution}.
+         */
+        public Execution withBuyQuantity(Double quantity) {
+            return withBuy(quantity, Double.isNaN(buyPrice) ? null : buyPrice);
+        }
+
+        private Execution withBuy(Double quantity, Double price) {
+            boolean priced = quantity != null && price != null;
+            return new Execution(key, priced ? quantity : 0, priced ? price : Double.NaN, sellQuantity, sellPrice);
+        }
+
+        private Execution withSell(Double quantity, Double price) {
+            boolean priced = quantity != null && price != null;
+            return new Execution(key, buyQuantity, buyPrice, priced ? quantity : 0, priced ? price : Double.NaN);
+        }
+
+        private double buyAmount() {
+            return buyQuantity == 0 ? 0 : buyQuantity * buyPrice;
+        }
+
+        private double sellAmount() {
+            return sellQuantity == 0 ? 0 : sellQuantity * sellPrice;
+        }
+    }
+
+    /**
+     * Sums of the priced trades of a lot.
+     *
+     * @param boughtQuantity the total bought quantity.
+     * @param buyAmount      the total of the bought quantities times their price.
+     * @param soldQuantity   the total sold quantity.
+     * @param sellAmount     the total of the sold quantities times their price.
+     * @param executions     the number of trades in the lot.
+     */
+    public record Lot(double boughtQuantity, double buyAmount, double soldQuantity, double sellAmount,
+                      int executions) {
+        /**
+         * Lot without any trade.
+         */
+        public static final Lot EMPTY = new Lot(0, 0, 0, 0, 0);
+
+        /**
+         * Adds or removes a trade.
+         *
+         * @param execution the trade.
+         * @param sign      1 to add the trade, -1 to remove it.
+         * @return the updated {@link Lot}.
+         */
+        public Lot plus(Execution execution, int sign) {
+            return new Lot(boughtQuantity + sign * execution.buyQuantity(),
+                           buyAmount + sign * execution.buyAmount(),
+                           soldQuantity + sign * execution.sellQuantity(),
+                           sellAmount + sign * execution.sellAmount(),
+                           executions + sign);
+        }
+
+        /**
+         * Returns the open quantity, positive when long.
+         *
+         * @return the net quantity.
+         */
+        public double netQuantity() {
+            return boughtQuantity - soldQuantity;
+        }
+
+        /**
+         * Returns the P&L of the closed quantity at the average prices.
+         *
+         * @return the realized P&L.
+         */
+        public double realized() {
+            double closed = Math.min(boughtQuantity, soldQuantity);
+            return closed <= OrderBook.EPSILON ? 0 : closed * (sellAmount / soldQuantity - buyAmount / boughtQuantity);
+        }
+
+        /**
+         * Returns the P&L of the open quantity against a mark price.
+         *
+         * @param mark the mark price.
+         * @return the unrealized P&L.
+         */
+        public double unrealized(double mark) {
+            double net = netQuantity();
+            if (net > OrderBook.EPSILON) {
+                return net * (mark - buyAmount / boughtQuantity);
+            }
+            if (net < -OrderBook.EPSILON) {
+                return -net * (sellAmount / soldQuantity - mark);
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Mutable sums used while aggregating, to avoid allocating a {@link Lot} per trade.
+     */
+    private static final class Accumulator {
+        private double boughtQuantity;
+        private double buyAmount;
+        private double soldQuantity;
+        private double sellAmount;
+        private int executions;
+
+        private void add(Execution execution) {
+            boughtQuantity += execution.buyQuantity();
+            buyAmount += execution.buyAmount();
+            soldQuantity += execution.sellQuantity();
+            sellAmount += execution.sellAmount();
+            executions++;
+        }
+
+        private void add(Accumulator other) {
+            boughtQuantity += other.boughtQuantity;
+            buyAmount += other.buyAmount;
+            soldQuantity += other.soldQuantity;
+            sellAmount += other.sellAmount;
+            executions += other.executions;
+        }
+
+        private Lot toLot() {
+            return new Lot(boughtQuantity, buyAmount, soldQuantity, sellAmount, executions);
+        }
+    }
+
+    /**
+     * Sums the trades of the accounts {@code [from, to)}, splitting the range in two while it holds more
+     * than {@code threshold} trades.
+     */
+    private final class AggregateTask extends RecursiveTask<Map<LotKey, Accumulator>> {
+        private final List<List<Execution>> executionsByAccount;
+        private final long[] offsets;
+        private final long threshold;
+        private final int from;
+        private final int to;
+
+        private AggregateTask(List<List<Execution>> executionsByAccount, long[] offsets, long threshold, int from,
+                              int to) {
+            this.executionsByAccount = executionsByAccount;
+            this.offsets = offsets;
+            this.threshold = threshold;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<LotKey, Accumulator> compute() {
+            if (to - from <= 1 || offsets[to] - offsets[from] <= threshold) {
+                Map<LotKey, Accumulator> accumulators = new HashMap<>();
+                for (int i = from; i < to; i++) {
+                    for (Execution execution : executionsByAccount.get(i)) {
+                        accumulators.computeIfAbsent(execution.key(), key -> new Accumulator()).add(execution);
+                    }
+                }
+                return accumulators;
+            }
+
+            int middle = (from + to) >>> 1;
+            AggregateTask right = new AggregateTask(executionsByAccount, offsets, threshold, middle, to);
+            right.fork();
+            Map<LotKey, Accumulator> left =
+                    new AggregateTask(executionsByAccount, offsets, threshold, from, middle).compute();
+            return merge(left, right.join());
+        }
+
+        private Map<LotKey, Accumulator> merge(Map<LotKey, Accumulator> left, Map<LotKey, Accumulator> right) {
+            Map<LotKey, Accumulator> into = left.size() >= right.size() ? left : right;
+            Map<LotKey, Accumulator> smaller = into == left ? right : left;
+            smaller.forEach((key, accumulator) -> into.merge(key, accumulator, (a, b) -> {
+                a.add(b);
+                return a;
+            }));
+            return into;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.PnlDTO;
+import com.nnk.springboot.dto.TopOfBookDTO;
+import com.nnk.springboot.repositories.TradeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Service maintaining the P&L per trader and book from the priced trades.
+ *
+ * <p>
+ * The lots of every trader, book and security are kept in memory. {@link TradeService} applies each trade
+ * as a delta after every successful write, and {@link #recompute()} rebuilds them from the table with a
+ * {@link PnlCalculator} on a dedicated fork-join pool, partitioned by account. The open quantities are
+ * marked at the middle of the best bid and ask of the {@link OrderBookService}, or at the only side present.
+ * </p>
+ *
+ * <p>
+ * As for the positions, the deltas applied during a recompute are journaled and replayed on the recomputed lots
+ * before they replace the current ones; each delta sets the execution of a trade by ID, so it can be replayed.
+ * </p>
+ */
+@Service
+public class PnlService {
+    private static final Logger logger = LoggerFactory.getLogger(PnlService.class);
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private final Lock recomputeLock = new ReentrantLock();
+    private volatile State state = new State();
+    private volatile Queue<Consumer<State>> journal;
+    @Autowired
+    private TradeRepository tradeRepository;
+    @Autowired
+    private OrderBookService orderBookService;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Value("${app.pnl.parallelism:0}")
+    private int parallelism;
+    @Value("${app.pnl.leaf-size:10000}")
+    private int leafSize;
+    private ForkJoinPool pool;
+    private PnlCalculator calculator;
+
+    /**
+     * Starts the fork-join pool of the full recompute.
+     */
+    @PostConstruct
+    public void start() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(threads);
+        calculator = new PnlCalculator(pool, leafSize);
+        logger.info("P&L pool started with {} threads", threads);
+    }
+
+    /**
+     * Stops the fork-join pool.
+     */
+    @PreDestroy
+    public void stop() {
+        pool.shutdown();
+    }
+
+    /**
+     * Recomputes every lot from the trades in the database, then replaces the lots in memory.
+     *
+     * @return the number of priced trades.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public int recompute() {
+        logger.info("Recomputing P&L.");
+        long start = System.nanoTime();
+
+        State rebuilt = new State();
+        Map<String, List<PnlCalculator.Execution>> executionsByAccount = new HashMap<>();
+        recomputeLock.lock();
+        try {
+            Queue<Consumer<State>> deltas = new ConcurrentLinkedQueue<>();
+            journal = deltas;
+            try (Stream<Trade> trades = tradeRepository.streamAll()) {
+                trades.forEach(trade -> {
+                    PnlCalculator.Execution execution = PnlCalculator.Execution.of(trade);
+                    if (trade.getId() != null && execution != null) {
+                        rebuilt.executions.put(trade.getId(), execution);
+                        executionsByAccount.computeIfAbsent(trade.getAccount(), account -> new ArrayList<>())
+                                           .add(execution);
+                    }
+                    entityManager.detach(trade);
+                });
+            }
+            rebuilt.lots.putAll(calculator.aggregate(new ArrayList<>(executionsByAccount.values())));
+
+            stateLock.writeLock().lock();
+            try {
+                deltas.forEach(delta -> delta.accept(rebuilt));
+                state = rebuilt;
+            } finally {
+                stateLock.writeLock().unlock();
+            }
+        } finally {
+            journal = null;
+            recomputeLock.unlock();
+        }
+        logger.info("P&L recomputed from {} trades of {} accounts in {} ms.", rebuilt.executions.size(),
+                    executionsByAccount.size(), (System.nanoTime() - start) / 1_000_000);
+        return rebuilt.executions.size();
+    }
+
+    /**
+     * Adds a saved trade to its lot.
+     *
+     * @param trade the saved trade.
+     */
+    public void add(Trade trade) {
+        PnlCalculator.Execution execution = PnlCalculator.Execution.of(trade);
+        if (trade.getId() != null && execution != null) {
+            Integer id = trade.getId();
+            change(current -> put(current, id, execution));
+        }
+    }
+
+    /**
+     * Adds several saved trades to their lots.
+     *
+     * @param trades the saved trades.
+     */
+    public void addAll(Collection<Trade> trades) {
+        Map<Integer, PnlCalculator.Execution> executions = new HashMap<>();
+        for (Trade trade : trades) {
+            PnlCalculator.Execution execution = PnlCalculator.Execution.of(trade);
+            if (trade.getId() != null && execution != null) {
+                executions.put(trade.getId(), execution);
+            }
+        }
+        change(current -> executions.forEach((id, execution) -> put(current, id, execution)));
+    }
+
+    /**
+     * Replaces the buy quantity of a trade in its lot.
+     *
+     * @param id          the ID of the updated trade.
+     * @param buyQuantity the new buy quantity.
+     */
+    public void updateBuyQuantity(Integer id, Double buyQuantity) {
+        change(current -> current.executions.computeIfPresent(id, (key, previous) -> {
+            PnlCalculator.Execution execution = previous.withBuyQuantity(buyQuantity);
+            apply(current, previous, -1);
+            apply(current, execution, 1);
+            return execution;
+        }));
+    }
+
+    /**
+     * Removes a trade from its lot.
+     *
+     * @param id the ID of the deleted trade.
+     */
+    public void remove(Integer id) {
+        change(current -> remove(current, id));
+    }
+
+    /**
+     * Removes several trades from their lots.
+     *
+     * @param ids the IDs of the deleted trades.
+     */
+    public void removeAll(Collection<Integer> ids) {
+        List<Integer> removed = List.copyOf(ids);
+        change(current -> removed.forEach(id -> remove(current, id)));
+    }
+
+    /**
+     * Returns the P&L per trader and book, ordered by trader and book.
+     *
+     * @param trader the trader to filter on, or null for every trader.
+     * @return the list of {@link PnlDTO}.
+     */
+    public List<PnlDTO> getPnl(String trader) {
+        Map<PnlCalculator.LotKey, PnlCalculator.Lot> lots = state.lots;
+        if (trader != null) {
+            Map<PnlCalculator.LotKey, PnlCalculator.Lot> filtered = new HashMap<>();
+            lots.forEach((key, lot) -> {
+                if (trader.equals(key.trader())) {
+                    filtered.put(key, lot);
+                }
+            });
+            lots = filtered;
+        }
+        return PnlCalculator.summarize(lots, this::markOf);
+    }
+
+    private double markOf(String security) {
+        if (security == null) {
+            return Double.NaN;
+        }
+        TopOfBookDTO top = orderBookService.getTopOfBook(security);
+        if (top.getBidPrice() != null && top.getAskPrice() != null) {
+            return (top.getBidPrice() + top.getAskPrice()) / 2;
+        }
+        if (top.getBidPrice() != null) {
+            return top.getBidPrice();
+        }
+        return top.getAskPrice() != null ? top.getAskPrice() : Double.NaN;
+    }
+
+    /**
+     * Applies a delta to the current lots, and journals it while a recompute is running.
+     */
+    private void change(Consumer<State> delta) {
+        stateLock.readLock().lock();
+        try {
+            delta.accept(state);
+            Queue<Consumer<State>> deltas = journal;
+            if (deltas != null) {
+                deltas.add(delta);
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    private static void put(State state, Integer id, PnlCalculator.Execution execution) {
+        PnlCalculator.Execution previous = state.executions.put(id, execution);
+        if (previous != null) {
+            apply(state, previous, -1);
+        }
+        apply(state, execution, 1);
+    }
+
+    private static void remove(State state, Integer id) {
+        PnlCalculator.Execution execution = state.executions.remove(id);
+        if (execution != null) {
+            apply(state, execution, -1);
+        }
+    }
+
+    private static void apply(State state, PnlCalculator.Execution execution, int sign) {
+        state.lots.compute(execution.key(), (key, current) -> {
+            PnlCalculator.Lot lot = (current == null ? PnlCalculator.Lot.EMPTY : current).plus(execution, sign);
+            return lot.executions() == 0 ? null : lot;
+        });
+    }
+
+    /**
+     * Executions by trade ID and the lots they sum up to, replaced as a whole by {@link #recompute()}.
+     */
+    private static final class State {
+        private final ConcurrentMap<Integer, PnlCalculator.Execution> executions = new ConcurrentHashMap<>();
+        private final ConcurrentMap<PnlCalculator.LotKey, PnlCalculator.Lot> lots = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,310 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.PositionDTO;
+import com.nnk.springboot.repositories.TradeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Service maintaining in memory the position of every (account, book, security) from the trades.
+ *
+ * <p>
+ * {@link TradeService} applies the contribution of each trade as a delta after every successful write, so
+ * reading the positions never touches the database. The contribution of every trade is remembered by ID so
+ * that an update or a delete removes exactly what was added, without reading the row again.
+ * {@link #rebuild()} recomputes everything from the table at startup and for reconciliation.
+ * </p>
+ *
+ * <p>
+ * The deltas applied while a rebuild reads the table are also journaled, then replayed on the rebuilt positions
+ * before they replace the current ones, so that trades written during the rebuild are not lost. Every delta sets
+ * the contribution of a trade by ID, which makes replaying a trade the table already returned harmless.
+ * </p>
+ */
+@Service
+public class PositionService {
+    private static final Logger logger = LoggerFactory.getLogger(PositionService.class);
+    private static final double TOLERANCE = 1e-6;
+    private static final Comparator<PositionKey> KEY_ORDER = Comparator
+            .comparing(PositionKey::account, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(PositionKey::book, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(PositionKey::security, Comparator.nullsFirst(Comparator.naturalOrder()));
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private final Lock rebuildLock = new ReentrantLock();
+    private volatile State state = new State();
+    private volatile Queue<Consumer<State>> journal;
+    @Autowired
+    private TradeRepository tradeRepository;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Recomputes every position from the trades in the database, then replaces the positions in memory.
+     *
+     * @return the number of positions that differed from the ones in memory.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public int rebuild() {
+        logger.info("Rebuilding positions.");
+
+        State rebuilt = new State();
+        State previous;
+        rebuildLock.lock();
+        try {
+            Queue<Consumer<State>> deltas = new ConcurrentLinkedQueue<>();
+            journal = deltas;
+            try (Stream<Trade> trades = tradeRepository.streamAll()) {
+                trades.forEach(trade -> {
+                    add(rebuilt, trade);
+                    entityManager.detach(trade);
+                });
+            }
+
+            stateLock.writeLock().lock();
+            try {
+                deltas.forEach(delta -> delta.accept(rebuilt));
+                previous = state;
+                state = rebuilt;
+            } finally {
+                stateLock.writeLock().unlock();
+            }
+        } finally {
+            journal = null;
+            rebuildLock.unlock();
+        }
+
+        int drifted = countDifferences(previous.totals, rebuilt.totals);
+        if (drifted > 0) {
+            logger.warn("{} positions differed from the trades and were corrected.", drifted);
+        }
+        logger.info("Positions rebuilt: {} positions from {} trades.", rebuilt.totals.size(),
+                    rebuilt.contributions.size());
+        return drifted;
+    }
+
+    /**
+     * Adds a saved trade to its position.
+     *
+     * @param trade the saved trade.
+     */
+    public void add(Trade trade) {
+        if (trade.getId() != null) {
+            Integer id = trade.getId();
+            Contribution contribution = Contribution.of(trade);
+            change(current -> put(current, id, contribution));
+        }
+    }
+
+    /**
+     * Adds several saved trades to their positions.
+     *
+     * @param trades the saved trades.
+     */
+    public void addAll(Collection<Trade> trades) {
+        Map<Integer, Contribution> contributions = new HashMap<>();
+        trades.stream()
+              .filter(trade -> trade.getId() != null)
+              .forEach(trade -> contributions.put(trade.getId(), Contribution.of(trade)));
+        change(current -> contributions.forEach((id, contribution) -> put(current, id, contribution)));
+    }
+
+    /**
+     * Replaces the account and the buy quantity of a trade in the positions.
+     *
+     * @param id          the ID of the updated trade.
+     * @param account     the new account.
+     * @param buyQuantity the new buy quantity.
+     */
+    public void update(Integer id, String account, Double buyQuantity) {
+        change(current -> current.contributions.computeIfPresent(id, (key, previous) -> {
+            Contribution contribution = previous.with(account, buyQuantity);
+            apply(current, previous, -1);
+            apply(current, contribution, 1);
+            return contribution;
+        }));
+    }
+
+    /**
+     * Removes a trade from its position.
+     *
+     * @param id the ID of the deleted trade.
+     */
+    public void remove(Integer id) {
+        change(current -> remove(current, id));
+    }
+
+    /**
+     * Removes several trades from their positions.
+     *
+     * @param ids the IDs of the deleted trades.
+     */
+    public void removeAll(Collection<Integer> ids) {
+        List<Integer> removed = List.copyOf(ids);
+        change(current -> removed.forEach(id -> remove(current, id)));
+    }
+
+    /**
+     * Returns the positions, ordered by account, book and security.
+     *
+     * @param account the account to filter on, or null for every account.
+     * @return the list of {@link PositionDTO}.
+     */
+    public List<PositionDTO> getPositions(String account) {
+        return state.totals.entrySet()
+                           .stream()
+                           .filter(entry -> account == null || account.equals(entry.getKey().account()))
+                           .sorted(Map.Entry.comparingByKey(KEY_ORDER))
+                           .map(entry -> entry.getValue().toDTO(entry.getKey()))
+                           .toList();
+    }
+
+    /**
+     * Applies a delta to the current positions, and journals it while a rebuild is running.
+     */
+    private void change(Consumer<State> delta) {
+        stateLock.readLock().lock();
+        try {
+            delta.accept(state);
+            Queue<Consumer<State>> deltas = journal;
+            if (deltas != null) {
+                deltas.add(delta);
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    private static void add(State state, Trade trade) {
+        if (trade.getId() != null) {
+            put(state, trade.getId(), Contribution.of(trade));
+        }
+    }
+
+    private static void put(State state, Integer id, Contribution contribution) {
+        Contribution previous = state.contributions.put(id, contribution);
+        if (previous != null) {
+            apply(state, previous, -1);
+        }
+        apply(state, contribution, 1);
+    }
+
+    private static void remove(State state, Integer id) {
+        Contribution contribution = state.contributions.remove(id);
+        if (contribution != null) {
+            apply(state, contribution, -1);
+        }
+    }
+
+    private static void apply(State state, Contribution contribution, int sign) {
+        state.totals.compute(contribution.key(), (key, current) -> {
+            Totals totals = (current == null ? Totals.EMPTY : current).plus(contribution, sign);
+            return totals.tradeCount() == 0 ? null : totals;
+        });
+    }
+
+    private static int countDifferences(Map<PositionKey, Totals> previous, Map<PositionKey, Totals> rebuilt) {
+        int differences = 0;
+        for (Map.Entry<PositionKey, Totals> entry : rebuilt.entrySet()) {
+            if (!entry.getValue().matches(previous.get(entry.getKey()))) {
+                differences++;
+            }
+        }
+        for (PositionKey key : previous.keySet()) {
+            if (!rebuilt.containsKey(key)) {
+                differences++;
+            }
+        }
+        return differences;
+    }
+
+    /**
+     * Contributions by trade ID and the positions they sum up to, replaced as a whole by {@link #rebuild()}.
+     */
+    private static final class State {
+        private final ConcurrentMap<Integer, Contribution> contributions = new ConcurrentHashMap<>();
+        private final ConcurrentMap<PositionKey, Totals> totals = new ConcurrentHashMap<>();
+    }
+
+    private record PositionKey(String account, String book, String security) {
+    }
+
+    /**
+     * Contribution of one trade to its position. Missing quantities are 0 and missing prices are NaN.
+     */
+    private record Contribution(PositionKey key, double buyQuantity, double buyPrice, double sellQuantity,
+                                double sellPrice) {
+        private static Contribution of(Trade trade) {
+            return new Contribution(new PositionKey(trade.getAccount(), trade.getBook(), trade.getSecurity()),
+                                    valueOf(trade.getBuyQuantity(), 0), valueOf(trade.getBuyPrice(), Double.NaN),
+                                    valueOf(trade.getSellQuantity(), 0), valueOf(trade.getSellPrice(), Double.NaN));
+        }
+
+        private Contribution with(String account, Double quantity) {
+            return new Contribution(new PositionKey(account, key.book(), key.security()), valueOf(quantity, 0),
+                                    buyPrice, sellQuantity, sellPrice);
+        }
+
+        private double buyAmount() {
+            return Double.isNaN(buyPrice) ? 0 : buyQuantity * buyPrice;
+        }
+
+        private double sellAmount() {
+            return Double.isNaN(sellPrice) ? 0 : sellQuantity * sellPrice;
+        }
+
+        private static double valueOf(Double value, double missing) {
+            return value == null ? missing : value;
+        }
+    }
+
+    private record Totals(double boughtQuantity, double soldQuantity, double buyAmount, double sellAmount,
+                          int tradeCount) {
+        private static final Totals EMPTY = new Totals(0, 0, 0, 0, 0);
+
+        private Totals plus(Contribution contribution, int sign) {
+            return new Totals(boughtQuantity + sign * contribution.buyQuantity(),
+                              soldQuantity + sign * contribution.sellQuantity(),
+                              buyAmount + sign * contribution.buyAmount(),
+                              sellAmount + sign * contribution.sellAmount(),
+                              tradeCount + sign);
+        }
+
+        private boolean matches(Totals other) {
+            return other != null && tradeCount == other.tradeCount
+                    && Math.abs(boughtQuantity - other.boughtQuantity) <= TOLERANCE
+                    && Math.abs(soldQuantity - other.soldQuantity) <= TOLERANCE
+                    && Math.abs(buyAmount - other.buyAmount) <= TOLERANCE
+                    && Math.abs(sellAmount - other.sellAmount) <= TOLERANCE;
+        }
+
+        private PositionDTO toDTO(PositionKey key) {
+            return new PositionDTO(key.account(), key.book(), key.security(), boughtQuantity, soldQuantity,
+                                   buyAmount, sellAmount, tradeCount);
+        }
+    }
+}
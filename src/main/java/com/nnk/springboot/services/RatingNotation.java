@@ -0,0 +1,28 @@
+package com.nnk.springboot.services;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Constrains a string to a notation on the {@link RatingScale} of an agency, such as {@code Baa2} for Moody's or
+ * {@code BBB} for S&amp;P and Fitch. Null and empty strings are left to {@code @NotEmpty}.
+ */
+@Documented
+@Constraint(validatedBy = RatingNotationValidator.class)
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RatingNotation {
+    RatingScale.Agency value();
+
+    String message() default "Rating is not on the scale of the agency";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
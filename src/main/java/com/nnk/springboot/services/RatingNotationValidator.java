@@ -0,0 +1,21 @@
+package com.nnk.springboot.services;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Validates a {@link RatingNotation} by looking it up on the {@link RatingScale} of its agency.
+ */
+public class RatingNotationValidator implements ConstraintValidator<RatingNotation, String> {
+    private RatingScale.Agency agency;
+
+    @Override
+    public void initialize(RatingNotation constraint) {
+        agency = constraint.value();
+    }
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || value.isEmpty() || RatingScale.ordinal(agency, value) != RatingScale.UNRATED;
+    }
+}
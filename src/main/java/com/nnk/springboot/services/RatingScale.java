@@ -0,0 +1,186 @@
+package com.nnk.springboot.services;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable lookup from the notation of each rating agency to a shared ordinal scale, from 1 for {@code Aaa} and
+ * {@code AAA} down to {@link #DEFAULT} for the ratings in default.
+ *
+ * <p>
+ * Every notation is interned once into a dense code, and the ordinal of a code for an agency is read from a
+ * primitive array indexed by the code, so that ratings are compared as integers instead of strings. A code can
+ * be resolved once with {@link #code(String)} and compared many times with {@link #ordinal(Agency, int)}.
+ * </p>
+ */
+public final class RatingScale {
+    /**
+     * Ordinal of the notations that are not on the scale of an agency, lower than every rating.
+     */
+    public static final int UNRATED = 0;
+    /**
+     * Ordinal of the lowest investment grade ratings, {@code Baa3} and {@code BBB-}.
+     */
+    public static final int INVESTMENT_GRADE = 10;
+    /**
+     * Ordinal of the ratings in default.
+     */
+    public static final int DEFAULT = 22;
+
+    /**
+     * Notations of Moody's, by ordinal from 1. Moody's has no default notation: {@code C} is its lowest.
+     */
+    private static final List<String> MOODYS = List.of(
+            "Aaa", "Aa1", "Aa2", "Aa3", "A1", "A2", "A3", "Baa1", "Baa2", "Baa3",
+            "Ba1", "Ba2", "Ba3", "B1", "B2", "B3", "Caa1", "Caa2", "Caa3", "Ca", "C");
+    /**
+     * Notations shared by S&amp;P and Fitch, by ordinal from 1.
+     */
+    private static final List<String> LETTERS = List.of(
+            "AAA", "AA+", "AA", "AA-", "A+", "A", "A-", "BBB+", "BBB", "BBB-",
+            "BB+", "BB", "BB-", "B+", "B", "B-", "CCC+", "CCC", "CCC-", "CC", "C", "D");
+
+    private static final Map<String, Integer> CODES = new HashMap<>();
+    private static final byte[][] ORDINALS;
+
+    static {
+        Map<String, Integer> sandP = scale(LETTERS);
+        sandP.put("SD", DEFAULT);
+        Map<String, Integer> fitch = scale(LETTERS);
+        fitch.put("RD", DEFAULT);
+        Map<Agency, Map<String, Integer>> scales = Map.of(Agency.MOODYS, scale(MOODYS),
+                                                          Agency.SANDP, sandP,
+                                                          Agency.FITCH, fitch);
+        for (Agency agency : Agency.values()) {
+            scales.get(agency).keySet().forEach(notation -> CODES.putIfAbsent(notation, CODES.size()));
+        }
+        ORDINALS = new byte[Agency.values().length][CODES.size()];
+        scales.forEach((agency, scale) -> scale.forEach(
+                (notation, ordinal) -> ORDINALS[agency.ordinal()][CODES.get(notation)] = ordinal.byteValue()));
+    }
+
+    /**
+     * Rating agencies, with the label of their notations in the messages.
+     */
+    public enum Agency {
+        MOODYS("Moodys"),
+        SANDP("SandP"),
+        FITCH("Fitch");
+
+        private final String label;
+
+        Agency(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Returns the label of the agency.
+         *
+         * @return the label, as in the rating fields.
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private RatingScale() {
+    }
+
+    private static Map<String, Integer> scale(List<String> notations) {
+        Map<String, Integer> scale = new HashMap<>();
+        for (int i = 0; i < notations.size(); i++) {
+            scale.put(notations.get(i), i + 1);
+        }
+        return scale;
+    }
+
+    /**
+     * Returns the interned code of a notation of any agency.
+     *
+     * @param notation the notation, case-sensitive.
+     * @return the code, or -1 if no agency uses this notation.
+     */
+    public static int code(String notation) {
+        Integer code = notation == null ? null : CODES.get(notation);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * Returns the ordinal of a notation code for an agency.
+     *
+     * @param agency the agency.
+     * @param code   the code returned by {@link #code(String)}.
+     * @return the ordinal, or {@link #UNRATED} if the agency does not use this notation.
+     */
+    public static int ordinal(Agency agency, int code) {
+        return code < 0 ? UNRATED : ORDINALS[agency.ordinal()][code];
+    }
+
+    /**
+     * Returns the ordinal of a notation for an agency.
+     *
+     * @param agency   the agency.
+     * @param notation the notation, case-sensitive.
+     * @return the ordinal, or {@link #UNRATED} if the agency does not use this notation.
+     */
+    public static int ordinal(Agency agency, String notation) {
+        return ordinal(agency, code(notation));
+    }
+
+    /**
+     * Returns the ordinal of a notation of any agency. No notation has different ordinals for two agencies.
+     *
+     * @param notation the notation, case-sensitive.
+     * @return the ordinal, or {@link #UNRATED} if no agency uses this notation.
+     */
+    public static int ordinal(String notation) {
+        int code = code(notation);
+        for (Agency agency : Agency.values()) {
+            int ordinal = ordinal(agency, code);
+            if (ordinal != UNRATED) {
+                return ordinal;
+            }
+        }
+        return UNRATED;
+    }
+
+    /**
+     * Returns the worst ordinal of the ratings of the three agencies, the ordinal the filters compare.
+     *
+     * @param moodysRating the Moody's rating.
+     * @param sandPRating  the S&amp;P rating.
+     * @param fitchRating  the Fitch rating.
+     * @return the highest of the ordinals, or {@link #UNRATED} if a rating is not on the scale of its agency.
+     */
+    public static int worstOrdinal(String moodysRating, String sandPRating, String fitchRating) {
+        int moodys = ordinal(Agency.MOODYS, moodysRating);
+        int sandP = ordinal(Agency.SANDP, sandPRating);
+        int fitch = ordinal(Agency.FITCH, fitchRating);
+        if (moodys == UNRATED || sandP == UNRATED || fitch == UNRATED) {
+            return UNRATED;
+        }
+        return Math.max(moodys, Math.max(sandP, fitch));
+    }
+
+    /**
+     * Checks that an ordinal is rated at least as well as a minimum.
+     *
+     * @param ordinal the ordinal.
+     * @param minimum the ordinal of the minimum rating.
+     * @return true if the ordinal is rated and not below the minimum.
+     */
+    public static boolean isAtLeast(int ordinal, int minimum) {
+        return ordinal != UNRATED && ordinal <= minimum;
+    }
+
+    /**
+     * Checks that an ordinal is investment grade, {@code Baa3} or {@code BBB-} and above.
+     *
+     * @param ordinal the ordinal.
+     * @return true if the ordinal is investment grade.
+     */
+    public static boolean isInvestmentGrade(int ordinal) {
+        return isAtLeast(ordinal, INVESTMENT_GRADE);
+    }
+}
@@ -3,62 +3,137 @@ package com.nnk.springboot.services;
 import com.nnk.springboot.domain.Rating;
 import com.nnk.springboot.dto.*;
 import com.nnk.springboot.repositories.RatingRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Service class for managing rating entries.
+ *
+ * <p>
+ * The ratings are read from a {@link RatingSnapshot} of the whole table, so that reads never query the database.
+ * Each write goes to the database first, then publishes a new snapshot in a single atomic swap. Writes hold a
+ * lock so that the snapshots are swapped in the order of the writes, while reads never block. The snapshot is
+ * also read again from the database on the {@code app.ratings.refresh} schedule, picking up the rows written
+ * without this service.
+ * </p>
+ *
+ * <p>
+ * The ratings are compared across agencies on the ordinal {@link RatingScale}: a rating is at least as good as a
+ * notation when the worst of its three agency ratings is.
+ * </p>
  */
 @Service
 public class RatingService {
     private static final Logger logger = LoggerFactory.getLogger(RatingService.class);
+    private final AtomicReference<RatingSnapshot> snapshot = new AtomicReference<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
     @Autowired
     private RatingRepository ratingRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Loads the snapshot of the ratings and registers its metrics.
+     */
+    @PostConstruct
+    public void start() {
+        reload();
+        Gauge.builder("ratings.snapshot.size", snapshot, current -> current.get().size())
+             .description("Ratings held in memory")
+             .register(meterRegistry);
+        Gauge.builder("ratings.snapshot.age", snapshot,
+                      current -> (System.currentTimeMillis() - current.get().getLoadedAt()) / 1000.0)
+             .description("Time since the ratings were last read from the database as a whole")
+             .baseUnit("seconds")
+             .register(meterRegistry);
+    }
+
+    /**
+     * Reads the snapshot of the ratings again from the database.
+     */
+    @Scheduled(cron = "${app.ratings.refresh:0 */5 * * * *}")
+    public void reload() {
+        writeLock.lock();
+        try {
+            long loadedAt = System.currentTimeMillis();
+            snapshot.set(RatingSnapshot.of(ratingRepository.findAll(), loadedAt));
+            logger.info("Loaded {} ratings in memory.", snapshot.get().size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
 
     /**
      * Retrieves all ratings.
      *
-     * @return a list of {@link RatingDTO} containing rating entries.
+     * @return a list of {@link RatingDTO} containing rating entries, ordered by ID.
      */
     public List<RatingDTO> getRatings() {
         logger.info("Fetching all ratings.");
 
-        return ratingRepository.findAll()
-                               .stream()
-                               .map(rating -> {
-                                   RatingDTO ratingDTO = new RatingDTO();
-                                   ratingDTO.setId(rating.getId());
-                                   ratingDTO.setMoodysRating(rating.getMoodysRating());
-                                   ratingDTO.setSandPRating(rating.getSandPRating());
-                                   ratingDTO.setFitchRating(rating.getFitchRating());
-                                   ratingDTO.setOrder(rating.getOrderNumber());
-                                   return ratingDTO;
-                               })
-                               .toList();
+        return toDTOs(snapshot.get().getAll());
+    }
+
+    /**
+     * Retrieves the ratings at least as good as a notation, such as {@code BBB-} for the investment grade ones.
+     *
+     * @param atLeast the notation of any agency, or null for every rating.
+     * @return a list of {@link RatingDTO} whose worst agency rating is not below the notation.
+     * @throws ResponseStatusException if the notation is not on the scale of any agency.
+     */
+    public List<RatingDTO> getRatings(String atLeast) {
+        if (atLeast == null || atLeast.isEmpty()) {
+            return getRatings();
+        }
+        logger.info("Fetching ratings at least {}.", atLeast);
+
+        int minimum = RatingScale.ordinal(atLeast);
+        if (minimum == RatingScale.UNRATED) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                              String.format("La note %s n'existe chez aucune agence", atLeast));
+        }
+        return toDTOs(snapshot.get().getAtLeast(minimum));
+    }
+
+    /**
+     * Retrieves the ratings of an order number.
+     *
+     * @param orderNumber the order number.
+     * @return a list of {@link RatingDTO} of this order number, ordered by ID.
+     */
+    public List<RatingDTO> getRatingsByOrderNumber(Integer orderNumber) {
+        logger.info("Fetching ratings with order number {}.", orderNumber);
+
+        return toDTOs(snapshot.get().getByOrderNumber(orderNumber));
     }
 
     /**
      * Retrieves a specific rating by its ID.
      *
      * @param id the ID of the rating to retrieve.
-     * @return the {@link Rating} corresponding to the given ID.
+     * @return a copy of the {@link Rating} corresponding to the given ID.
      * @throws ResponseStatusException if the rating is not found.
      */
     public Rating getRating(Integer id) {
         logger.info("Fetching rating with ID: {}", id);
 
-        return ratingRepository.findById(id)
-                               .orElseThrow(() -> {
-                                   logger.warn("Rating with ID {} not found.", id);
-                                   return new ResponseStatusException(HttpStatus.NOT_FOUND, String.format(
-                                           "Le rating avec l'id %d n'existe pas", id));
-                               });
+        Rating rating = snapshot.get().get(id);
+        if (rating == null) {
+            throw notFound(id);
+        }
+        return rating;
     }
 
     /**
@@ -96,13 +171,19 @@ public class RatingService {
         rating.setFitchRating(ratingDTO.getFitchRating());
         rating.setOrderNumber(ratingDTO.getOrder());
 
+        writeLock.lock();
         try {
-            ratingRepository.save(rating);
-            logger.info("Rating added successfully with ID: {}", rating.getId());
-        } catch (Exception e) {
-            logger.error("An error occurred while adding rating: {}", e.getMessage());
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
-                                              "Une erreur est survenue lors de la creation du rating");
+            try {
+                rating = ratingRepository.save(rating);
+                logger.info("Rating added successfully with ID: {}", rating.getId());
+            } catch (Exception e) {
+                logger.error("An error occurred while adding rating: {}", e.getMessage());
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                                                  "Une erreur est survenue lors de la creation du rating");
+            }
+            snapshot.set(snapshot.get().with(rating));
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -111,45 +192,85 @@ public class RatingService {
      *
      * @param id the ID of the rating to update.
      * @param ratingDTO the {@link RatingDTO} containing updated details of the rating.
-     * @throws ResponseStatusException if an error occurs during the update of the rating.
+     * @throws ResponseStatusException if the rating is not found or cannot be updated.
      */
     public void updateRating(Integer id, RatingDTO ratingDTO) {
         logger.info("Updating rating with ID: {}", id);
 
-        Rating rating = getRating(id);
-        rating.setMoodysRating(ratingDTO.getMoodysRating());
-        rating.setSandPRating(ratingDTO.getSandPRating());
-        rating.setFitchRating(ratingDTO.getFitchRating());
-        rating.setOrderNumber(ratingDTO.getOrder());
-
+        writeLock.lock();
         try {
-            ratingRepository.save(rating);
-            logger.info("Rating updated successfully with ID: {}", id);
-        } catch (Exception e) {
-            logger.error("An error occurred while updating rating with ID {}: {}", id, e.getMessage());
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
-                                              "Une erreur est survenue lors de la modification du rating");
+            int updated;
+            try {
+                updated = ratingRepository.updateFields(id, ratingDTO.getMoodysRating(), ratingDTO.getSandPRating(),
+                                                        ratingDTO.getFitchRating(), ratingDTO.getOrder());
+            } catch (Exception e) {
+                logger.error("An error occurred while updating rating with ID {}: {}", id, e.getMessage());
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                                                  "Une erreur est survenue lors de la modification du rating");
+            }
+
+            if (updated == 0) {
+                snapshot.set(snapshot.get().without(id));
+                throw notFound(id);
+            }
+            Rating rating = new Rating();
+            rating.setId(id);
+            rating.setMoodysRating(ratingDTO.getMoodysRating());
+            rating.setSandPRating(ratingDTO.getSandPRating());
+            rating.setFitchRating(ratingDTO.getFitchRating());
+            rating.setOrderNumber(ratingDTO.getOrder());
+            snapshot.set(snapshot.get().with(rating));
+        } finally {
+            writeLock.unlock();
         }
+        logger.info("Rating updated successfully with ID: {}", id);
     }
 
     /**
      * Deletes a rating entry.
      *
      * @param id the ID of the rating to delete.
-     * @throws ResponseStatusException if an error occurs during the deletion of the rating.
+     * @throws ResponseStatusException if the rating is not found or cannot be deleted.
      */
     public void deleteRating(Integer id) {
         logger.info("Deleting rating with ID: {}", id);
 
-        Rating rating = getRating(id);
-
+        writeLock.lock();
         try {
-            ratingRepository.delete(rating);
-            logger.info("Rating deleted successfully with ID: {}", id);
-        } catch (Exception e) {
-            logger.error("An error occurred while deleting rating with ID {}: {}", id, e.getMessage());
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
-                                              "Une erreur est survenue lors de la suppression du rating");
+            int deleted;
+            try {
+                deleted = ratingRepository.deleteOneById(id);
+            } catch (Exception e) {
+                logger.error("An error occurred while deleting rating with ID {}: {}", id, e.getMessage());
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                                                  "Une erreur est survenue lors de la suppression du rating");
+            }
+
+            snapshot.set(snapshot.get().without(id));
+            if (deleted == 0) {
+                throw notFound(id);
+            }
+        } finally {
+            writeLock.unlock();
         }
+        logger.info("Rating deleted successfully with ID: {}", id);
+    }
+
+    private static List<RatingDTO> toDTOs(List<Rating> ratings) {
+        return ratings.stream()
+                      .map(rating -> new RatingDTO(rating.getId(), rating.getMoodysRating(), rating.getSandPRating(),
+                                                   rating.getFitchRating(), rating.getOrderNumber()))
+                      .toList();
+    }
+
+    /**
+     * Builds the exception returned when no rating has the given ID.
+     *
+     * @param id the ID of the missing rating.
+     * @return a {@link ResponseStatusException} with a 404 status.
+     */
+    private ResponseStatusException notFound(Integer id) {
+        logger.warn("Rating with ID {} not found.", id);
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, String.format("Le rating avec l'id %d n'existe pas", id));
     }
 }
@@ -0,0 +1,181 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.Rating;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable copy of the whole {@code rating} table, replaced as a whole by {@link RatingService}.
+ *
+ * <p>
+ * The ratings are sorted by ID and looked up by binary search, indexed by order number, and the worst ordinal of
+ * each rating on the {@link RatingScale} is computed once, so that the filters compare integers only. The ratings
+ * held are never exposed: lookups return copies, and changes build a new snapshot.
+ * </p>
+ */
+public final class RatingSnapshot {
+    private static final Comparator<Rating> BY_ID = Comparator.comparing(Rating::getId);
+
+    private final Rating[] ratings;
+    private final int[] ids;
+    private final int[] worstOrdinals;
+    private final Map<Integer, int[]> indexesByOrderNumber;
+    private final long loadedAt;
+
+    private RatingSnapshot(Rating[] ratings, long loadedAt) {
+        Arrays.sort(ratings, BY_ID);
+        this.ratings = ratings;
+        this.loadedAt = loadedAt;
+        ids = new int[ratings.length];
+        worstOrdinals = new int[ratings.length];
+        Map<Integer, List<Integer>> indexes = new HashMap<>();
+        for (int i = 0; i < ratings.length; i++) {
+            Rating rating = ratings[i];
+            ids[i] = rating.getId();
+            worstOrdinals[i] = RatingScale.worstOrdinal(rating.getMoodysRating(), rating.getSandPRating(),
+                                                        rating.getFitchRating());
+            if (rating.getOrderNumber() != null) {
+                indexes.computeIfAbsent(rating.getOrderNumber(), orderNumber -> new ArrayList<>()).add(i);
+            }
+        }
+        indexesByOrderNumber = new HashMap<>(indexes.size() * 2);
+        indexes.forEach((orderNumber, list) -> indexesByOrderNumber.put(
+                orderNumber, list.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Creates a snapshot of ratings read from the database.
+     *
+     * @param ratings  the ratings, copied.
+     * @param loadedAt the time they were read, in milliseconds since the epoch.
+     * @return the {@link RatingSnapshot}.
+     */
+    public static RatingSnapshot of(Collection<Rating> ratings, long loadedAt) {
+        return new RatingSnapshot(ratings.stream().map(RatingSnapshot::copy).toArray(Rating[]::new), loadedAt);
+    }
+
+    /**
+     * Returns a snapshot with a rating added, or replacing the rating of the same ID.
+     *
+     * @param rating the rating, copied.
+     * @return the new {@link RatingSnapshot}, read from the database at the same time as this one.
+     */
+    public RatingSnapshot with(Rating rating) {
+        int index = Arrays.binarySearch(ids, rating.getId());
+        Rating[] changed;
+        if (index >= 0) {
+            changed = ratings.clone();
+            changed[index] = copy(rating);
+        } else {
+            changed = Arrays.copyOf(ratings, ratings.length + 1);
+            changed[ratings.length] = copy(rating);
+        }
+        return new RatingSnapshot(changed, loadedAt);
+    }
+
+    /**
+     * Returns a snapshot without a rating.
+     *
+     * @param id the ID of the rating.
+     * @return the new {@link RatingSnapshot}, or this one if it has no rating with this ID.
+     */
+    public RatingSnapshot without(Integer id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return this;
+        }
+        Rating[] changed = new Rating[ratings.length - 1];
+        System.arraycopy(ratings, 0, changed, 0, index);
+        System.arraycopy(ratings, index + 1, changed, index, changed.length - index);
+        return new RatingSnapshot(changed, loadedAt);
+    }
+
+    /**
+     * Returns a rating.
+     *
+     * @param id the ID of the rating.
+     * @return a copy of the {@link Rating}, or null if no rating has this ID.
+     */
+    public Rating get(Integer id) {
+        int index = Arrays.binarySearch(ids, id);
+        return index < 0 ? null : copy(ratings[index]);
+    }
+
+    /**
+     * Returns every rating.
+     *
+     * @return copies of the ratings, ordered by ID.
+     */
+    public List<Rating> getAll() {
+        List<Rating> all = new ArrayList<>(ratings.length);
+        for (Rating rating : ratings) {
+            all.add(copy(rating));
+        }
+        return all;
+    }
+
+    /**
+     * Returns the ratings of an order number.
+     *
+     * @param orderNumber the order number.
+     * @return copies of the ratings, ordered by ID.
+     */
+    public List<Rating> getByOrderNumber(Integer orderNumber) {
+        int[] indexes = indexesByOrderNumber.getOrDefault(orderNumber, new int[0]);
+        List<Rating> matching = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            matching.add(copy(ratings[index]));
+        }
+        return matching;
+    }
+
+    /**
+     * Returns the ratings whose worst agency rating is at least a minimum.
+     *
+     * @param minimum the ordinal of the minimum on the {@link RatingScale}.
+     * @return copies of the ratings, ordered by ID.
+     */
+    public List<Rating> getAtLeast(int minimum) {
+        List<Rating> matching = new ArrayList<>();
+        for (int i = 0; i < ratings.length; i++) {
+            if (RatingScale.isAtLeast(worstOrdinals[i], minimum)) {
+                matching.add(copy(ratings[i]));
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Returns the number of ratings.
+     *
+     * @return the number of ratings.
+     */
+    public int size() {
+        return ratings.length;
+    }
+
+    /**
+     * Returns the time the ratings were last read from the database as a whole.
+     *
+     * @return the time, in milliseconds since the epoch.
+     */
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    private static Rating copy(Rating rating) {
+        Rating copy = new Rating();
+        copy.setId(rating.getId());
+        copy.setMoodysRating(rating.getMoodysRating());
+        copy.setSandPRating(rating.getSandPRating());
+        copy.setFitchRating(rating.getFitchRating());
+        copy.setOrderNumber(rating.getOrderNumber());
+        return copy;
+    }
+}
@@ -0,0 +1,344 @@
+package com.nnk.springboot.services;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles a {@link RuleExpression} into a {@link Predicate} over the records of a {@link RuleTarget}.
+ *
+ * <p>
+ * Fields are resolved and literals converted once, at compile time, so evaluating a record only reads its
+ * fields and compares primitives. Negations are pushed down to the comparisons, which keeps the SQL meaning
+ * of the condition: a comparison with a null field is never true, whether it is negated or not.
+ * </p>
+ *
+ * <p>
+ * Text is compared case-insensitively, with {@code =}, {@code <>}, {@code <}, {@code >}, {@code IN},
+ * {@code BETWEEN} and {@code LIKE} alike, as the case-insensitive collation of the database does.
+ * </p>
+ */
+public final class RuleCompiler {
+    private static final Comparator<String> TEXT_ORDER = String.CASE_INSENSITIVE_ORDER;
+    private RuleCompiler() {
+    }
+
+    /**
+     * Compiles an expression for a target.
+     *
+     * @param expression the expression.
+     * @param target     the target whose records are evaluated.
+     * @param <T>        the type of the records.
+     * @return the {@link Predicate} true for the records matching the expression.
+     * @throws RuleSyntaxException if a field is not whitelisted for the target, or compared to a literal of
+     *                             another type.
+     */
+    public static <T> Predicate<T> compile(RuleExpression expression, RuleTarget<T> target) {
+        return compile(expression, target, false);
+    }
+
+    private static <T> Predicate<T> compile(RuleExpression expression, RuleTarget<T> target, boolean negated) {
+        if (expression instanceof RuleExpression.And and) {
+            return negated ? anyOf(compileAll(and.operands(), target, true))
+                           : allOf(compileAll(and.operands(), target, false));
+        }
+        if (expression instanceof RuleExpression.Or or) {
+            return negated ? allOf(compileAll(or.operands(), target, true))
+                           : anyOf(compileAll(or.operands(), target, false));
+        }
+        if (expression instanceof RuleExpression.Not not) {
+            return compile(not.operand(), target, !negated);
+        }
+        if (expression instanceof RuleExpression.IsNull isNull) {
+            Function<T, ?> getter = field(target, isNull.field()).getter();
+            return isNull.negated() != negated ? record -> getter.apply(record) != null
+                                               : record -> getter.apply(record) == null;
+        }
+        if (expression instanceof RuleExpression.Comparison comparison) {
+            RuleExpression.Operator operator = negated ? comparison.operator().negate() : comparison.operator();
+            return compare(field(target, comparison.field()), operator, comparison.value());
+        }
+        if (expression instanceof RuleExpression.In in) {
+            return in(field(target, in.field()), in.values(), in.negated() != negated);
+        }
+        if (expression instanceof RuleExpression.Between between) {
+            return between(field(target, between.field()), between.low(), between.high(),
+                           between.negated() != negated);
+        }
+        RuleExpression.Like like = (RuleExpression.Like) expression;
+        return like(field(target, like.field()), like.pattern(), like.negated() != negated);
+    }
+
+    private static <T> List<Predicate<T>> compileAll(List<RuleExpression> expressions, RuleTarget<T> target,
+                                                     boolean negated) {
+        List<Predicate<T>> predicates = new ArrayList<>(expressions.size());
+        for (RuleExpression expression : expressions) {
+            predicates.add(compile(expression, target, negated));
+        }
+        return predicates;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Predicate<T> allOf(List<Predicate<T>> predicates) {
+        if (predicates.size() == 2) {
+            Predicate<T> first = predicates.get(0);
+            Predicate<T> second = predicates.get(1);
+            return record -> first.test(record) && second.test(record);
+        }
+        Predicate<T>[] operands = predicates.toArray(new Predicate[0]);
+        return record -> {
+            for (Predicate<T> operand : operands) {
+                if (!operand.test(record)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Predicate<T> anyOf(List<Predicate<T>> predicates) {
+        if (predicates.size() == 2) {
+            Predicate<T> first = predicates.get(0);
+            Predicate<T> second = predicates.get(1);
+            return record -> first.test(record) || second.test(record);
+        }
+        Predicate<T>[] operands = predicates.toArray(new Predicate[0]);
+        return record -> {
+            for (Predicate<T> operand : operands) {
+                if (operand.test(record)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private static <T> Predicate<T> compare(RuleTarget.Field<T> field, RuleExpression.Operator operator,
+                                            Object value) {
+        if (field.kind() == RuleTarget.Kind.STRING) {
+            String literal = stringLiteral(field, value);
+            @SuppressWarnings("unchecked")
+            Function<T, String> getter = (Function<T, String>) field.getter();
+            return switch (operator) {
+                case EQ -> record -> literal.equalsIgnoreCase(getter.apply(record));
+                case NE -> record -> {
+                    String actual = getter.apply(record);
+                    return actual != null && !actual.equalsIgnoreCase(literal);
+                };
+                case LT -> record -> compareTo(getter.apply(record), literal) < 0;
+                case LE -> record -> compareTo(getter.apply(record), literal) <= 0;
+                case GT -> record -> {
+                    String actual = getter.apply(record);
+                    return actual != null && TEXT_ORDER.compare(actual, literal) > 0;
+                };
+                case GE -> record -> {
+                    String actual = getter.apply(record);
+                    return actual != null && TEXT_ORDER.compare(actual, literal) >= 0;
+                };
+            };
+        }
+
+        double literal = numericLiteral(field, value);
+        Function<T, ?> getter = field.getter();
+        ToNumber<T> number = field.kind() == RuleTarget.Kind.DATE ? dates(getter) : numbers(getter);
+        return switch (operator) {
+            case EQ -> record -> number.of(record) == literal;
+            case NE -> record -> {
+                double actual = number.of(record);
+                return !Double.isNaN(actual) && actual != literal;
+            };
+            case LT -> record -> number.of(record) < literal;
+            case LE -> record -> number.of(record) <= literal;
+            case GT -> record -> number.of(record) > literal;
+            case GE -> record -> number.of(record) >= literal;
+        };
+    }
+
+    private static <T> Predicate<T> in(RuleTarget.Field<T> field, List<Object> values, boolean negated) {
+        if (field.kind() == RuleTarget.Kind.STRING) {
+            Set<String> literals = new TreeSet<>(TEXT_ORDER);
+            values.forEach(value -> literals.add(stringLiteral(field, value)));
+            Function<T, ?> getter = field.getter();
+            return record -> {
+                Object actual = getter.apply(record);
+                return actual != null && literals.contains((String) actual) != negated;
+            };
+        }
+
+        double[] literals = new double[values.size()];
+        for (int i = 0; i < literals.length; i++) {
+            literals[i] = numericLiteral(field, values.get(i));
+        }
+        ToNumber<T> number = field.kind() == RuleTarget.Kind.DATE ? dates(field.getter()) : numbers(field.getter());
+        return record -> {
+            double actual = number.of(record);
+            if (Double.isNaN(actual)) {
+                return false;
+            }
+            for (double literal : literals) {
+                if (actual == literal) {
+                    return !negated;
+                }
+            }
+            return negated;
+        };
+    }
+
+    private static <T> Predicate<T> between(RuleTarget.Field<T> field, Object low, Object high, boolean negated) {
+        if (field.kind() == RuleTarget.Kind.STRING) {
+            String lowLiteral = stringLiteral(field, low);
+            String highLiteral = stringLiteral(field, high);
+            Function<T, ?> getter = field.getter();
+            return record -> {
+                String actual = (String) getter.apply(record);
+                return actual != null && (TEXT_ORDER.compare(actual, lowLiteral) >= 0
+                        && TEXT_ORDER.compare(actual, highLiteral) <= 0) != negated;
+            };
+        }
+
+        double lowLiteral = numericLiteral(field, low);
+        double highLiteral = numericLiteral(field, high);
+        ToNumber<T> number = field.kind() == RuleTarget.Kind.DATE ? dates(field.getter()) : numbers(field.getter());
+        return negated ? record -> {
+            double actual = number.of(record);
+            return actual < lowLiteral || actual > highLiteral;
+        } : record -> {
+            double actual = number.of(record);
+            return actual >= lowLiteral && actual <= highLiteral;
+        };
+    }
+
+    private static <T> Predicate<T> like(RuleTarget.Field<T> field, String pattern, boolean negated) {
+        if (field.kind() != RuleTarget.Kind.STRING) {
+            throw new RuleSyntaxException(String.format("LIKE needs a text field, not '%s'", field.attribute()));
+        }
+        Pattern regex = Pattern.compile(likeToRegex(pattern),
+                                        Pattern.DOTALL | Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        Function<T, ?> getter = field.getter();
+        return record -> {
+            Object actual = getter.apply(record);
+            return actual != null && regex.matcher((String) actual).matches() != negated;
+        };
+    }
+
+    /**
+     * Converts a SQL {@code LIKE} pattern into a regular expression, quoting everything but the wildcards.
+     */
+    static String likeToRegex(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : pattern.toCharArray()) {
+            if (c == '%' || c == '_') {
+                if (!literal.isEmpty()) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '%' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (!literal.isEmpty()) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return regex.toString();
+    }
+
+    /**
+     * Looks up a whitelisted field of a target.
+     *
+     * @throws RuleSyntaxException if rules may not refer to the field.
+     */
+    static <T> RuleTarget.Field<T> field(RuleTarget<T> target, String name) {
+        RuleTarget.Field<T> field = target.field(name);
+        if (field == null) {
+            throw new RuleSyntaxException(String.format("Unknown field '%s' for %s", name, target.name()));
+        }
+        return field;
+    }
+
+    /**
+     * Checks that the literal compared to a text field is a string.
+     *
+     * @throws RuleSyntaxException if the literal is a number.
+     */
+    static String stringLiteral(RuleTarget.Field<?> field, Object value) {
+        if (!(value instanceof String literal)) {
+            throw new RuleSyntaxException(String.format("Field '%s' must be compared to text", field.attribute()));
+        }
+        return literal;
+    }
+
+    /**
+     * Converts the literal compared to a number or date field, dates becoming epoch milliseconds.
+     *
+     * @throws RuleSyntaxException if the literal does not fit the field.
+     */
+    static double numericLiteral(RuleTarget.Field<?> field, Object value) {
+        if (field.kind() == RuleTarget.Kind.NUMBER) {
+            if (!(value instanceof Double literal)) {
+                throw new RuleSyntaxException(String.format("Field '%s' must be compared to a number",
+                                                            field.attribute()));
+            }
+            return literal;
+        }
+        return parseDate(field, value).getTime();
+    }
+
+    /**
+     * Parses a date literal, in {@code yyyy-MM-dd} or {@code yyyy-MM-dd HH:mm:ss} format.
+     *
+     * @param field the date field the literal is compared to.
+     * @param value the literal.
+     * @return the {@link Timestamp}.
+     * @throws RuleSyntaxException if the literal is not a date.
+     */
+    static Timestamp parseDate(RuleTarget.Field<?> field, Object value) {
+        if (value instanceof String literal) {
+            try {
+                return literal.length() == 10 ? Timestamp.valueOf(LocalDate.parse(literal).atStartOfDay())
+                                              : Timestamp.valueOf(literal);
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                // Reported below
+            }
+        }
+        throw new RuleSyntaxException(String.format("Field '%s' must be compared to a date like '2024-01-31'",
+                                                    field.attribute()));
+    }
+
+    private static int compareTo(String actual, String literal) {
+        return actual == null ? Integer.MAX_VALUE : TEXT_ORDER.compare(actual, literal);
+    }
+
+    private static <T> ToNumber<T> numbers(Function<T, ?> getter) {
+        return record -> {
+            Object value = getter.apply(record);
+            return value == null ? Double.NaN : ((Double) value).doubleValue();
+        };
+    }
+
+    private static <T> ToNumber<T> dates(Function<T, ?> getter) {
+        return record -> {
+            Object value = getter.apply(record);
+            return value == null ? Double.NaN : ((Date) value).getTime();
+        };
+    }
+
+    /**
+     * Reads a field as a double, NaN when it is null, so that every comparison with it is false.
+     */
+    @FunctionalInterface
+    private interface ToNumber<T> {
+        double of(T record);
+    }
+}
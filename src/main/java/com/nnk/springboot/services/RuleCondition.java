@@ -0,0 +1,26 @@
+package com.nnk.springboot.services;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Constrains a string to a rule condition the {@link RuleEngine} supports, applying to trades or bid lists.
+ * Null and empty strings are left to {@code @NotEmpty}.
+ */
+@Documented
+@Constraint(validatedBy = RuleConditionValidator.class)
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RuleCondition {
+    String message() default "SQLPart is not a supported condition";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
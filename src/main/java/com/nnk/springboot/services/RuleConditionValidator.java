@@ -0,0 +1,33 @@
+package com.nnk.springboot.services;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Validates a {@link RuleCondition} by compiling it, reporting the syntax error in the message.
+ */
+public class RuleConditionValidator implements ConstraintValidator<RuleCondition, String> {
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        if (value == null || value.isEmpty()) {
+            return true;
+        }
+        try {
+            CompiledRule.compile(null, value);
+            return true;
+        } catch (RuleSyntaxException e) {
+            context.disableDefaultConstraintViolation();
+            context.buildConstraintViolationWithTemplate(escape(context.getDefaultConstraintMessageTemplate()
+                                                                        + ": " + e.getMessage()))
+                   .addConstraintViolation();
+            return false;
+        }
+    }
+
+    /**
+     * Escapes the characters the message interpolation would interpret, since the error quotes the condition.
+     */
+    private static String escape(String message) {
+        return message.replaceAll("([\\\\{}$])", "\\\\$1");
+    }
+}
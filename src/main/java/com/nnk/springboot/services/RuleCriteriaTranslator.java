@@ -0,0 +1,133 @@
+package com.nnk.springboot.services;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Translates a {@link RuleExpression} into a JPA Criteria {@link Predicate} over the entity of a
+ * {@link RuleTarget}, so that a rule is evaluated by the database.
+ *
+ * <p>
+ * Only whitelisted fields are translated, and every literal is bound as a typed parameter: the text of a rule
+ * never reaches the SQL. The literals are checked exactly as {@link RuleCompiler} checks them, and SQL keeps
+ * the meaning of null fields by itself, so both evaluate a rule the same way, except that the database compares
+ * text with the collation of its columns, case-insensitive by default on MySQL.
+ * </p>
+ */
+public final class RuleCriteriaTranslator {
+    /**
+     * Escape character of the translated {@code LIKE} patterns, so that only {@code %} and {@code _} are
+     * wildcards, as in {@link RuleCompiler}.
+     */
+    private static final char LIKE_ESCAPE = '\\';
+
+    private RuleCriteriaTranslator() {
+    }
+
+    /**
+     * Translates an expression for a target.
+     *
+     * @param expression the expression.
+     * @param target     the target whose entity is queried.
+     * @param root       the root of the query, over the entity of the target.
+     * @param cb         the {@link CriteriaBuilder}.
+     * @param <T>        the type of the records.
+     * @return the {@link Predicate} true for the rows matching the expression.
+     * @throws RuleSyntaxException if a field is not whitelisted for the target, or compared to a literal of
+     *                             another type.
+     */
+    public static <T> Predicate toPredicate(RuleExpression expression, RuleTarget<T> target, Root<T> root,
+                                            CriteriaBuilder cb) {
+        if (expression instanceof RuleExpression.And and) {
+            return cb.and(toPredicates(and.operands(), target, root, cb));
+        }
+        if (expression instanceof RuleExpression.Or or) {
+            return cb.or(toPredicates(or.operands(), target, root, cb));
+        }
+        if (expression instanceof RuleExpression.Not not) {
+            return cb.not(toPredicate(not.operand(), target, root, cb));
+        }
+        if (expression instanceof RuleExpression.IsNull isNull) {
+            Path<Object> path = root.get(RuleCompiler.field(target, isNull.field()).attribute());
+            return isNull.negated() ? cb.isNotNull(path) : cb.isNull(path);
+        }
+        if (expression instanceof RuleExpression.Comparison comparison) {
+            return compare(RuleCompiler.field(target, comparison.field()), comparison.operator(), comparison.value(),
+                           root, cb);
+        }
+        if (expression instanceof RuleExpression.In in) {
+            RuleTarget.Field<T> field = RuleCompiler.field(target, in.field());
+            CriteriaBuilder.In<Object> predicate = cb.in(root.get(field.attribute()));
+            for (Object value : in.values()) {
+                Object literal = literal(field, value);
+                predicate.value(literal);
+            }
+            return in.negated() ? predicate.not() : predicate;
+        }
+        if (expression instanceof RuleExpression.Between between) {
+            Predicate predicate = between(RuleCompiler.field(target, between.field()), between.low(),
+                                          between.high(), root, cb);
+            return between.negated() ? predicate.not() : predicate;
+        }
+        RuleExpression.Like like = (RuleExpression.Like) expression;
+        RuleTarget.Field<T> field = RuleCompiler.field(target, like.field());
+        if (field.kind() != RuleTarget.Kind.STRING) {
+            throw new RuleSyntaxException(String.format("LIKE needs a text field, not '%s'", field.attribute()));
+        }
+        String pattern = like.pattern().replace("\\", "\\\\");
+        Expression<String> path = root.get(field.attribute());
+        return like.negated() ? cb.notLike(path, pattern, LIKE_ESCAPE) : cb.like(path, pattern, LIKE_ESCAPE);
+    }
+
+    private static <T> Predicate[] toPredicates(List<RuleExpression> expressions, RuleTarget<T> target,
+                                                Root<T> root, CriteriaBuilder cb) {
+        List<Predicate> predicates = new ArrayList<>(expressions.size());
+        for (RuleExpression expression : expressions) {
+            predicates.add(toPredicate(expression, target, root, cb));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    private static <T, Y extends Comparable<? super Y>> Predicate compare(RuleTarget.Field<T> field,
+                                                                          RuleExpression.Operator operator,
+                                                                          Object value, Root<T> root,
+                                                                          CriteriaBuilder cb) {
+        Expression<Y> path = root.get(field.attribute());
+        Y literal = literal(field, value);
+        return switch (operator) {
+            case EQ -> cb.equal(path, literal);
+            case NE -> cb.notEqual(path, literal);
+            case LT -> cb.lessThan(path, literal);
+            case LE -> cb.lessThanOrEqualTo(path, literal);
+            case GT -> cb.greaterThan(path, literal);
+            case GE -> cb.greaterThanOrEqualTo(path, literal);
+        };
+    }
+
+    private static <T, Y extends Comparable<? super Y>> Predicate between(RuleTarget.Field<T> field, Object low,
+                                                                          Object high, Root<T> root,
+                                                                          CriteriaBuilder cb) {
+        Expression<Y> path = root.get(field.attribute());
+        Y lowLiteral = literal(field, low);
+        Y highLiteral = literal(field, high);
+        return cb.between(path, lowLiteral, highLiteral);
+    }
+
+    /**
+     * Converts a literal to the Java type of the field it is compared to.
+     */
+    @SuppressWarnings("unchecked")
+    private static <Y extends Comparable<? super Y>> Y literal(RuleTarget.Field<?> field, Object value) {
+        return (Y) switch (field.kind()) {
+            case STRING -> RuleCompiler.stringLiteral(field, value);
+            case NUMBER -> (Double) RuleCompiler.numericLiteral(field, value);
+            case DATE -> RuleCompiler.parseDate(field, value);
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.dto.RuleRunDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Service evaluating the conditions of the rule names against trades and bid lists.
+ *
+ * <p>
+ * The {@code sqlPart} of each rule name is parsed and compiled once into a {@link CompiledRule}, cached by ID
+ * and reused as long as its text is unchanged. {@link RuleNameService} invalidates it when the rule name is
+ * updated or deleted. Running a rule over a whole table is pushed down to the database with
+ * {@link RuleCriteriaTranslator}, while {@link RuleScheduler} tests the compiled predicates against single
+ * records in memory.
+ * </p>
+ */
+@Service
+public class RuleEngine {
+    private static final Logger logger = LoggerFactory.getLogger(RuleEngine.class);
+    private final ConcurrentMap<Integer, CompiledRule> compiledRules = new ConcurrentHashMap<>();
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Value("${app.rules.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * Returns the compiled condition of a rule name, compiling it on its first use or after it changed.
+     *
+     * @param ruleName the rule name.
+     * @return the {@link CompiledRule}.
+     * @throws RuleSyntaxException if the {@code sqlPart} of the rule name is not supported.
+     */
+    public CompiledRule compile(RuleName ruleName) {
+        Integer id = ruleName.getId();
+        String source = ruleName.getSqlPart();
+        CompiledRule cached = id == null ? null : compiledRules.get(id);
+        if (cached != null && cached.isCompiledFrom(source)) {
+            return cached;
+        }
+
+        CompiledRule compiled = CompiledRule.compile(id, source);
+        if (id != null) {
+            compiledRules.put(id, compiled);
+            logger.debug("Rule {} compiled.", id);
+        }
+        return compiled;
+    }
+
+    /**
+     * Drops the compiled condition of a rule name.
+     *
+     * @param id the ID of the rule name.
+     */
+    public void invalidate(Integer id) {
+        compiledRules.remove(id);
+    }
+
+    /**
+     * Runs a rule over every record of a table, in the database.
+     *
+     * <p>
+     * The rule is translated into a Criteria predicate and executed as a single query selecting the IDs of the
+     * matching rows, streamed without loading the records.
+     * </p>
+     *
+     * @param ruleName the rule name.
+     * @param target   the table to run the rule over.
+     * @param <T>      the type of the records.
+     * @return the {@link RuleRunDTO} with the IDs of the matching records.
+     * @throws RuleSyntaxException if the rule is not supported or does not apply to the target.
+     */
+    @Transactional(readOnly = true)
+    public <T> RuleRunDTO run(RuleName ruleName, RuleTarget<T> target) {
+        CompiledRule rule = compile(ruleName);
+        rule.predicateFor(target);
+        long start = System.nanoTime();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Integer> query = cb.createQuery(Integer.class);
+        Root<T> root = query.from(target.type());
+        query.select(root.get("id"))
+             .where(RuleCriteriaTranslator.toPredicate(rule.getExpression(), target, root, cb))
+             .orderBy(cb.asc(root.get("id")));
+
+        int[] matchedIds;
+        try (Stream<Integer> ids = entityManager.createQuery(query)
+                                                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                                                .getResultStream()) {
+            matchedIds = ids.mapToInt(Integer::intValue).toArray();
+        }
+
+        logger.info("Rule {} matched {} {} records in {} ms.", rule.getId(), matchedIds.length, target,
+                    (System.nanoTime() - start) / 1_000_000);
+        return new RuleRunDTO(rule.getId(), target.name(), matchedIds);
+    }
+}
@@ -0,0 +1,112 @@
+package com.nnk.springboot.services;
+
+import java.util.List;
+
+/**
+ * Expression tree of the condition of a rule, as parsed by {@link RuleParser}.
+ *
+ * <p>
+ * Field names are kept as written in the rule. They are only resolved against the fields of a
+ * {@link RuleTarget} when the expression is compiled for it. Literals are either {@link Double} or
+ * {@link String}.
+ * </p>
+ */
+public sealed interface RuleExpression {
+
+    /**
+     * Comparison operators, with the operator of the opposite comparison.
+     */
+    enum Operator {
+        EQ, NE, LT, LE, GT, GE;
+
+        /**
+         * Returns the operator true exactly when this one is false, for non-null operands.
+         *
+         * @return the negated operator.
+         */
+        public Operator negate() {
+            return switch (this) {
+                case EQ -> NE;
+                case NE -> EQ;
+                case LT -> GE;
+                case LE -> GT;
+                case GT -> LE;
+                case GE -> LT;
+            };
+        }
+    }
+
+    /**
+     * True when every operand is true.
+     *
+     * @param operands the operands, at least two.
+     */
+    record And(List<RuleExpression> operands) implements RuleExpression {
+    }
+
+    /**
+     * True when any operand is true.
+     *
+     * @param operands the operands, at least two.
+     */
+    record Or(List<RuleExpression> operands) implements RuleExpression {
+    }
+
+    /**
+     * Negation of an expression.
+     *
+     * @param operand the negated expression.
+     */
+    record Not(RuleExpression operand) implements RuleExpression {
+    }
+
+    /**
+     * {@code field op value}, false when the field is null.
+     *
+     * @param field    the field name.
+     * @param operator the comparison operator.
+     * @param value    the literal compared to.
+     */
+    record Comparison(String field, Operator operator, Object value) implements RuleExpression {
+    }
+
+    /**
+     * {@code field IS [NOT] NULL}.
+     *
+     * @param field   the field name.
+     * @param negated true for {@code IS NOT NULL}.
+     */
+    record IsNull(String field, boolean negated) implements RuleExpression {
+    }
+
+    /**
+     * {@code field [NOT] IN (values)}, false when the field is null.
+     *
+     * @param field   the field name.
+     * @param values  the literals, at least one.
+     * @param negated true for {@code NOT IN}.
+     */
+    record In(String field, List<Object> values, boolean negated) implements RuleExpression {
+    }
+
+    /**
+     * {@code field [NOT] BETWEEN low AND high}, bounds included, false when the field is null.
+     *
+     * @param field   the field name.
+     * @param low     the lower bound.
+     * @param high    the upper bound.
+     * @param negated true for {@code NOT BETWEEN}.
+     */
+    record Between(String field, Object low, Object high, boolean negated) implements RuleExpression {
+    }
+
+    /**
+     * {@code field [NOT] LIKE pattern}, with {@code %} and {@code _} wildcards, false when the field is null.
+     *
+     * @param field   the field name.
+     * @param pattern the pattern.
+     * @param negated true for {@code NOT LIKE}.
+     */
+    record Like(String field, String pattern, boolean negated) implements RuleExpression {
+    }
+}
@@ -2,6 +2,7 @@ package com.nnk.springboot.services;
 
 import com.nnk.springboot.domain.RuleName;
 import com.nnk.springboot.dto.*;
+import com.nnk.springboot.repositories.RuleHitRepository;
 import com.nnk.springboot.repositories.RuleNameRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,12 +15,23 @@ import java.util.List;
 
 /**
  * Service class for managing rule name entries.
+ *
+ * <p>
+ * Updating or deleting a rule name invalidates its compiled condition in the {@link RuleEngine}, and has the
+ * {@link RuleScheduler} replace its hits.
+ * </p>
  */
 @Service
 public class RuleNameService {
     private static final Logger logger = LoggerFactory.getLogger(RuleNameService.class);
     @Autowired
     private RuleNameRepository ruleNameRepository;
+    @Autowired
+    private RuleEngine ruleEngine;
+    @Autowired
+    private RuleScheduler ruleScheduler;
+    @Autowired
+    private RuleHitRepository ruleHitRepository;
 
     /**
      * Retrieves all rule names.
@@ -29,20 +41,7 @@ public class RuleNameService {
     public List<RuleNameDTO> getRuleNames() {
         logger.info("Fetching all rule names.");
 
-        return ruleNameRepository.findAll()
-                                 .stream()
-                                 .map(ruleName -> {
-                                     RuleNameDTO ruleNameDTO = new RuleNameDTO();
-                                     ruleNameDTO.setId(ruleName.getId());
-                                     ruleNameDTO.setName(ruleName.getName());
-                                     ruleNameDTO.setDescription(ruleName.getDescription());
-                                     ruleNameDTO.setJson(ruleName.getJson());
-                                     ruleNameDTO.setTemplate(ruleName.getTemplate());
-                                     ruleNameDTO.setSql(ruleName.getSqlStr());
-                                     ruleNameDTO.setSqlPart(ruleName.getSqlPart());
-                                     return ruleNameDTO;
-                                 })
-                                 .toList();
+        return ruleNameRepository.findAllAsDTO();
     }
 
     /**
@@ -56,11 +55,7 @@ public class RuleNameService {
         logger.info("Fetching rule name with ID: {}", id);
 
         return ruleNameRepository.findById(id)
-                                 .orElseThrow(() -> {
-                                     logger.warn("Rule name with ID {} not found.", id);
-                                     return new ResponseStatusException(HttpStatus.NOT_FOUND, String.format(
-                                             "Le ruleName avec l'id %d n'existe pas", id));
-                                 });
+                                 .orElseThrow(() -> notFound(id));
     }
 
     /**
@@ -110,6 +105,7 @@ public class RuleNameService {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                                               "Une erreur est survenue lors de la creation de la ruleName");
         }
+        ruleScheduler.ruleChanged(ruleName.getId());
     }
 
     /**
@@ -117,47 +113,104 @@ public class RuleNameService {
      *
      * @param id the ID of the rule name to update.
      * @param ruleNameDTO the {@link RuleNameDTO} containing updated details of the rule name.
-     * @throws ResponseStatusException if an error occurs during the update of the rule name.
+     * @throws ResponseStatusException if the rule name is not found or cannot be updated.
      */
     public void updateRuleName(Integer id, RuleNameDTO ruleNameDTO) {
         logger.info("Updating rule name with ID: {}", id);
 
-        RuleName ruleName = getRuleName(id);
-        ruleName.setName(ruleNameDTO.getName());
-        ruleName.setDescription(ruleNameDTO.getDescription());
-        ruleName.setJson(ruleNameDTO.getJson());
-        ruleName.setTemplate(ruleNameDTO.getTemplate());
-        ruleName.setSqlStr(ruleNameDTO.getSql());
-        ruleName.setSqlPart(ruleNameDTO.getSqlPart());
-
+        int updated;
         try {
-            ruleNameRepository.save(ruleName);
-            logger.info("Rule name updated successfully with ID: {}", id);
+            updated = ruleNameRepository.updateFields(id, ruleNameDTO.getName(), ruleNameDTO.getDescription(),
+                                                      ruleNameDTO.getJson(), ruleNameDTO.getTemplate(),
+                                                      ruleNameDTO.getSql(), ruleNameDTO.getSqlPart());
         } catch (Exception e) {
             logger.error("An error occurred while updating rule name with ID {}: {}", id, e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                                               "Une erreur est survenue lors de la modification de la ruleName");
         }
+
+        if (updated == 0) {
+            throw notFound(id);
+        }
+        ruleEngine.invalidate(id);
+        ruleScheduler.ruleChanged(id);
+        logger.info("Rule name updated successfully with ID: {}", id);
     }
 
     /**
      * Deletes a rule name entry.
      *
      * @param id the ID of the rule name to delete.
-     * @throws ResponseStatusException if an error occurs during the deletion of the rule name.
+     * @throws ResponseStatusException if the rule name is not found or cannot be deleted.
      */
     public void deleteRuleName(Integer id) {
         logger.info("Deleting rule name with ID: {}", id);
 
-        RuleName ruleName = getRuleName(id);
-
+        int deleted;
         try {
-            ruleNameRepository.delete(ruleName);
-            logger.info("Rule name deleted successfully with ID: {}", id);
+            deleted = ruleNameRepository.deleteOneById(id);
         } catch (Exception e) {
             logger.error("An error occurred while deleting rule name with ID {}: {}", id, e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                                               "Une erreur est survenue lors de la suppression de la ruleName");
         }
+
+        if (deleted == 0) {
+            throw notFound(id);
+        }
+        ruleEngine.invalidate(id);
+        ruleScheduler.ruleDeleted(id);
+        logger.info("Rule name deleted successfully with ID: {}", id);
+    }
+
+    /**
+     * Runs the condition of a rule name over every record of a table.
+     *
+     * @param id     the ID of the rule name to run.
+     * @param target the table to run it over.
+     * @return the {@link RuleRunDTO} with the IDs of the matching records.
+     * @throws ResponseStatusException if the rule name is not found, or its condition is not supported.
+     */
+    public RuleRunDTO runRuleName(Integer id, RuleTarget<?> target) {
+        logger.info("Running rule name with ID {} over {}", id, target);
+
+        RuleName ruleName = getRuleName(id);
+        try {
+            return ruleEngine.run(ruleName, target);
+        } catch (RuleSyntaxException e) {
+            logger.warn("Rule name with ID {} cannot run over {}: {}", id, target, e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, String.format(
+                    "La ruleName avec l'id %d ne peut pas être évaluée : %s", id, e.getMessage()));
+        }
+    }
+
+    /**
+     * Returns the records matched by a rule name, as materialized by the {@link RuleScheduler}.
+     *
+     * @param id     the ID of the rule name.
+     * @param target the table of the records.
+     * @return the {@link RuleRunDTO} with the IDs of the matched records.
+     * @throws ResponseStatusException if the rule name is not found.
+     */
+    public RuleRunDTO getRuleHits(Integer id, RuleTarget<?> target) {
+        logger.info("Retrieving the hits of rule name with ID {} on {}", id, target);
+
+        getRuleName(id);
+        int[] recordIds = ruleHitRepository.findRecordIds(id, target.name())
+                                           .stream()
+                                           .mapToInt(Integer::intValue)
+                                           .toArray();
+        return new RuleRunDTO(id, target.name(), recordIds);
+    }
+
+    /**
+     * Builds the exception returned when no rule name has the given ID.
+     *
+     * @param id the ID of the missing rule name.
+     * @return a {@link ResponseStatusException} with a 404 status.
+     */
+    private ResponseStatusException notFound(Integer id) {
+        logger.warn("Rule name with ID {} not found.", id);
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, String.format("Le ruleName avec l'id %d n'existe pas", id));
     }
 }
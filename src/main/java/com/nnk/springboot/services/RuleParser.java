@@ -0,0 +1,296 @@
+package com.nnk.springboot.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parser of the SQL-like conditions of rules into a {@link RuleExpression}.
+ *
+ * <p>
+ * Only this subset of a SQL {@code WHERE} clause is accepted, anything else is rejected with a
+ * {@link RuleSyntaxException}:
+ * </p>
+ * <pre>
+ * expression := term (OR term)*
+ * term       := factor (AND factor)*
+ * factor     := NOT factor | '(' expression ')' | predicate
+ * predicate  := field ('=' | '&lt;&gt;' | '!=' | '&lt;' | '&lt;=' | '&gt;' | '&gt;=') literal
+ *             | field IS [NOT] NULL
+ *             | field [NOT] IN '(' literal (',' literal)* ')'
+ *             | field [NOT] BETWEEN literal AND literal
+ *             | field [NOT] LIKE string
+ * literal    := number | string
+ * </pre>
+ * <p>
+ * Keywords are case-insensitive and strings are single-quoted, with {@code ''} for a quote.
+ * </p>
+ */
+public final class RuleParser {
+    private static final int MAX_DEPTH = 32;
+
+    private final String source;
+    private final List<Token> tokens;
+    private int next;
+    private int depth;
+
+    private RuleParser(String source) {
+        this.source = source;
+        this.tokens = tokenize(source);
+    }
+
+    /**
+     * Parses the condition of a rule.
+     *
+     * @param source the condition.
+     * @return the {@link RuleExpression}.
+     * @throws RuleSyntaxException if the condition is empty or not supported.
+     */
+    public static RuleExpression parse(String source) {
+        if (source == null || source.isBlank()) {
+            throw new RuleSyntaxException("The condition is empty");
+        }
+        RuleParser parser = new RuleParser(source);
+        RuleExpression expression = parser.expression();
+        if (parser.peek().kind() != Kind.END) {
+            throw parser.unexpected();
+        }
+        return expression;
+    }
+
+    private RuleExpression expression() {
+        if (++depth > MAX_DEPTH) {
+            throw new RuleSyntaxException("The condition is nested too deeply");
+        }
+        List<RuleExpression> operands = new ArrayList<>();
+        operands.add(term());
+        while (acceptKeyword("OR")) {
+            operands.add(term());
+        }
+        depth--;
+        return operands.size() == 1 ? operands.get(0) : new RuleExpression.Or(List.copyOf(operands));
+    }
+
+    private RuleExpression term() {
+        List<RuleExpression> operands = new ArrayList<>();
+        operands.add(factor());
+        while (acceptKeyword("AND")) {
+            operands.add(factor());
+        }
+        return operands.size() == 1 ? operands.get(0) : new RuleExpression.And(List.copyOf(operands));
+    }
+
+    private RuleExpression factor() {
+        if (acceptKeyword("NOT")) {
+            if (++depth > MAX_DEPTH) {
+                throw new RuleSyntaxException("The condition is nested too deeply");
+            }
+            RuleExpression operand = factor();
+            depth--;
+            return new RuleExpression.Not(operand);
+        }
+        if (accept(Kind.SYMBOL, "(")) {
+            RuleExpression expression = expression();
+            expect(Kind.SYMBOL, ")");
+            return expression;
+        }
+        return predicate();
+    }
+
+    private RuleExpression predicate() {
+        Token field = peek();
+        if (field.kind() != Kind.IDENTIFIER || isKeyword(field.text())) {
+            throw unexpected();
+        }
+        next++;
+
+        if (acceptKeyword("IS")) {
+            boolean negated = acceptKeyword("NOT");
+            expectKeyword("NULL");
+            return new RuleExpression.IsNull(field.text(), negated);
+        }
+        boolean negated = acceptKeyword("NOT");
+        if (acceptKeyword("IN")) {
+            expect(Kind.SYMBOL, "(");
+            List<Object> values = new ArrayList<>();
+            do {
+                values.add(literal());
+            } while (accept(Kind.SYMBOL, ","));
+            expect(Kind.SYMBOL, ")");
+            return new RuleExpression.In(field.text(), List.copyOf(values), negated);
+        }
+        if (acceptKeyword("BETWEEN")) {
+            Object low = literal();
+            expectKeyword("AND");
+            return new RuleExpression.Between(field.text(), low, literal(), negated);
+        }
+        if (acceptKeyword("LIKE")) {
+            Token pattern = peek();
+            if (pattern.kind() != Kind.STRING) {
+                throw unexpected();
+            }
+            next++;
+            return new RuleExpression.Like(field.text(), pattern.text(), negated);
+        }
+        if (negated) {
+            throw unexpected();
+        }
+
+        Token operator = peek();
+        if (operator.kind() != Kind.OPERATOR) {
+            throw unexpected();
+        }
+        next++;
+        return new RuleExpression.Comparison(field.text(), operatorOf(operator.text()), literal());
+    }
+
+    private Object literal() {
+        Token token = peek();
+        if (token.kind() == Kind.STRING) {
+            next++;
+            return token.text();
+        }
+        if (token.kind() == Kind.NUMBER) {
+            next++;
+            return Double.valueOf(token.text());
+        }
+        throw unexpected();
+    }
+
+    private static RuleExpression.Operator operatorOf(String text) {
+        return switch (text) {
+            case "=" -> RuleExpression.Operator.EQ;
+            case "<>", "!=" -> RuleExpression.Operator.NE;
+            case "<" -> RuleExpression.Operator.LT;
+            case "<=" -> RuleExpression.Operator.LE;
+            case ">" -> RuleExpression.Operator.GT;
+            default -> RuleExpression.Operator.GE;
+        };
+    }
+
+    private Token peek() {
+        return tokens.get(next);
+    }
+
+    private boolean accept(Kind kind, String text) {
+        Token token = peek();
+        if (token.kind() == kind && token.text().equals(text)) {
+            next++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        Token token = peek();
+        if (token.kind() == Kind.IDENTIFIER && token.text().equalsIgnoreCase(keyword)) {
+            next++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(Kind kind, String text) {
+        if (!accept(kind, text)) {
+            throw unexpected();
+        }
+    }
+
+    private void expectKeyword(String keyword) {
+        if (!acceptKeyword(keyword)) {
+            throw unexpected();
+        }
+    }
+
+    private RuleSyntaxException unexpected() {
+        Token token = peek();
+        if (token.kind() == Kind.END) {
+            return new RuleSyntaxException("Unexpected end of condition");
+        }
+        return new RuleSyntaxException(String.format("Unexpected '%s' at position %d",
+                                                     source.substring(token.start(), token.end()),
+                                                     token.start() + 1));
+    }
+
+    private static boolean isKeyword(String text) {
+        return switch (text.toUpperCase(Locale.ROOT)) {
+            case "AND", "OR", "NOT", "IS", "NULL", "IN", "BETWEEN", "LIKE" -> true;
+            default -> false;
+        };
+    }
+
+    private static List<Token> tokenize(String source) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            int start = i;
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (Character.isLetter(c) || c == '_') {
+                while (i < source.length() && (Character.isLetterOrDigit(source.charAt(i)) || source.charAt(i) == '_')) {
+                    i++;
+                }
+                tokens.add(new Token(Kind.IDENTIFIER, source.substring(start, i), start, i));
+            } else if (Character.isDigit(c) || ((c == '-' || c == '.') && i + 1 < source.length()
+                    && (Character.isDigit(source.charAt(i + 1)) || source.charAt(i + 1) == '.'))) {
+                i++;
+                while (i < source.length() && (Character.isDigit(source.charAt(i)) || source.charAt(i) == '.')) {
+                    i++;
+                }
+                String number = source.substring(start, i);
+                try {
+                    Double.parseDouble(number);
+                } catch (NumberFormatException e) {
+                    throw new RuleSyntaxException(String.format("Invalid number '%s' at position %d", number,
+                                                                start + 1));
+                }
+                tokens.add(new Token(Kind.NUMBER, number, start, i));
+            } else if (c == '\'') {
+                StringBuilder text = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= source.length()) {
+                        throw new RuleSyntaxException(String.format("Unterminated string at position %d", start + 1));
+                    }
+                    if (source.charAt(i) == '\'') {
+                        if (i + 1 < source.length() && source.charAt(i + 1) == '\'') {
+                            text.append('\'');
+                            i += 2;
+                            continue;
+                        }
+                        i++;
+                        break;
+                    }
+                    text.append(source.charAt(i++));
+                }
+                tokens.add(new Token(Kind.STRING, text.toString(), start, i));
+            } else if (c == '<' || c == '>' || c == '=' || c == '!') {
+                i++;
+                if (i < source.length() && (source.charAt(i) == '=' || (c == '<' && source.charAt(i) == '>'))) {
+                    i++;
+                }
+                String operator = source.substring(start, i);
+                if (operator.equals("!") || operator.equals("==")) {
+                    throw new RuleSyntaxException(String.format("Unexpected '%s' at position %d", operator,
+                                                                start + 1));
+                }
+                tokens.add(new Token(Kind.OPERATOR, operator, start, i));
+            } else if (c == '(' || c == ')' || c == ',') {
+                i++;
+                tokens.add(new Token(Kind.SYMBOL, String.valueOf(c), start, i));
+            } else {
+                throw new RuleSyntaxException(String.format("Unexpected '%c' at position %d", c, start + 1));
+            }
+        }
+        tokens.add(new Token(Kind.END, "", source.length(), source.length()));
+        return tokens;
+    }
+
+    private enum Kind {
+        IDENTIFIER, NUMBER, STRING, OPERATOR, SYMBOL, END
+    }
+
+    private record Token(Kind kind, String text, int start, int end) {
+    }
+}
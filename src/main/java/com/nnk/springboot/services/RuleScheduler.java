@@ -0,0 +1,413 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.RuleHit;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.repositories.RuleHitRepository;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Service materializing the records matched by every rule name in the {@code rulehit} table.
+ *
+ * <p>
+ * A scheduled batch job runs every rule over every table it applies to, one rule per worker, each run pushed down
+ * to the database by {@link RuleEngine#run(RuleName, RuleTarget)} and its hits written with batched inserts.
+ * Between two batches, the services report the records they change: only the rules referring to a changed field
+ * are evaluated again against the record, in memory, and only its hits by these rules are replaced. Text is then
+ * compared case-insensitively, like the collation of the database the batch compares it with.
+ * </p>
+ *
+ * <p>
+ * The changes of a record are handled in order by the same worker, chosen by its ID. The hits of each rule over
+ * each table are guarded by their own lock: running a rule over a table, in the batch job or after a change of
+ * its rule name, holds its write lock, while the changes of records hold the read locks of the rules they
+ * evaluate. A change waits only for the runs of these rules, which shows as incremental lag, and a changed rule
+ * name only for the run of the same rule by the batch job.
+ * </p>
+ */
+@Service
+public class RuleScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(RuleScheduler.class);
+    private final ConcurrentMap<String, ReadWriteLock> hitsLocks = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong lastBatchStart = new AtomicLong();
+    @Autowired
+    private RuleNameRepository ruleNameRepository;
+    @Autowired
+    private RuleHitRepository ruleHitRepository;
+    @Autowired
+    private RuleEngine ruleEngine;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Value("${app.rules.workers:4}")
+    private int workers;
+    @Value("${app.rules.insert-batch-size:500}")
+    private int insertBatchSize;
+    private ExecutorService batchWorkers;
+    private ExecutorService[] recordWorkers;
+    private final AtomicReference<RuleNames> ruleNames = new AtomicReference<>(new RuleNames(null));
+    private volatile double lastBatchRate;
+    private Counter batchEvaluations;
+    private Counter incrementalEvaluations;
+    private Timer incrementalLag;
+
+    /**
+     * Starts the workers and registers the metrics.
+     */
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        batchWorkers = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "rule-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        recordWorkers = new ExecutorService[workers];
+        for (int i = 0; i < workers; i++) {
+            String name = "rule-records-" + (i + 1);
+            recordWorkers[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        batchEvaluations = Counter.builder("rules.evaluations")
+                                  .description("Rules run over a table by the batch job")
+                                  .tag("mode", "batch")
+                                  .register(meterRegistry);
+        incrementalEvaluations = Counter.builder("rules.evaluations")
+                                        .description("Rules evaluated against a changed record")
+                                        .tag("mode", "incremental")
+                                        .register(meterRegistry);
+        incrementalLag = Timer.builder("rules.incremental.lag")
+                              .description("Time from the change of a record to the update of its hits")
+                              .register(meterRegistry);
+        Gauge.builder("rules.incremental.pending", pending, AtomicInteger::get)
+             .description("Changed records waiting for their rules to be evaluated")
+             .register(meterRegistry);
+        Gauge.builder("rules.batch.rate", this, scheduler -> scheduler.lastBatchRate)
+             .description("Rules run per second by the last batch job")
+             .baseUnit("rules/s")
+             .register(meterRegistry);
+        Gauge.builder("rules.batch.lag", lastBatchStart,
+                      start -> start.get() == 0 ? Double.NaN : (System.currentTimeMillis() - start.get()) / 1000.0)
+             .description("Age of the hits written by the last batch job")
+             .baseUnit("seconds")
+             .register(meterRegistry);
+        logger.info("Rule scheduler started with {} workers", workers);
+    }
+
+    /**
+     * Stops the workers, dropping the pending evaluations: the next batch job catches up.
+     */
+    @PreDestroy
+    public void stop() {
+        batchWorkers.shutdownNow();
+        for (ExecutorService recordWorker : recordWorkers) {
+            recordWorker.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs every rule over every table it applies to, replacing all the hits.
+     * Rule names whose condition is not supported are skipped.
+     *
+     * @return the number of rules run over a table.
+     */
+    @Scheduled(cron = "${app.rules.schedule:0 0 * * * *}")
+    public int runAll() {
+        try {
+            long startMillis = System.currentTimeMillis();
+            long start = System.nanoTime();
+            List<RuleName> all = loadRuleNames(ruleNames.get());
+
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (RuleName ruleName : all) {
+                CompiledRule rule = compile(ruleName);
+                if (rule == null) {
+                    continue;
+                }
+                for (RuleTarget<?> target : RuleTarget.values()) {
+                    if (rule.appliesTo(target)) {
+                        tasks.add(() -> {
+                            runRule(ruleName, target);
+                            return null;
+                        });
+                    }
+                }
+            }
+
+            int runs = 0;
+            for (Future<Void> future : batchWorkers.invokeAll(tasks)) {
+                try {
+                    future.get();
+                    runs++;
+                } catch (ExecutionException e) {
+                    logger.error("A rule failed in the batch job: {}", e.getCause().getMessage());
+                }
+            }
+
+            double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+            lastBatchRate = runs / seconds;
+            lastBatchStart.set(startMillis);
+            logger.info("Batch job ran {} rules in {} ms ({} rules/s).", runs, Math.round(seconds * 1000),
+                        Math.round(lastBatchRate));
+            return runs;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Batch job interrupted.");
+            return 0;
+        }
+    }
+
+    /**
+     * Evaluates the rules again against a changed record, asynchronously.
+     *
+     * @param target     the table of the record.
+     * @param id         the ID of the record.
+     * @param attributes the changed fields, or null when the record was added.
+     */
+    public void recordChanged(RuleTarget<?> target, Integer id, Collection<String> attributes) {
+        submit(target, id, () -> evaluateRecord(target, id, attributes));
+    }
+
+    /**
+     * Evaluates the rules against added records, asynchronously.
+     *
+     * @param target the table of the records.
+     * @param ids    the IDs of the records.
+     */
+    public void recordsAdded(RuleTarget<?> target, Collection<Integer> ids) {
+        ids.forEach(id -> recordChanged(target, id, null));
+    }
+
+    /**
+     * Deletes the hits of deleted records, asynchronously.
+     *
+     * @param target the table of the records.
+     * @param ids    the IDs of the records.
+     */
+    public void recordsDeleted(RuleTarget<?> target, Collection<Integer> ids) {
+        ids.forEach(id -> submit(target, id, () -> deleteRecordHits(target, id)));
+    }
+
+    /**
+     * Runs an added or updated rule name again over every table, asynchronously.
+     *
+     * @param id the ID of the rule name.
+     */
+    public void ruleChanged(Integer id) {
+        ruleNames.set(new RuleNames(null));
+        recordWorkers[Math.floorMod(id, workers)].execute(() -> replaceRuleHits(id));
+    }
+
+    /**
+     * Deletes the hits of a deleted rule name, asynchronously.
+     *
+     * @param id the ID of the rule name.
+     */
+    public void ruleDeleted(Integer id) {
+        ruleChanged(id);
+    }
+
+    /**
+     * Queues the work on a record on the worker of its ID, so that the changes of a record are handled in order.
+     */
+    private void submit(RuleTarget<?> target, Integer id, Runnable work) {
+        long submitted = System.nanoTime();
+        pending.incrementAndGet();
+        recordWorkers[Math.floorMod(id, workers)].execute(() -> {
+            try {
+                work.run();
+                incrementalLag.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+            } catch (RuntimeException e) {
+                logger.error("Rules could not be evaluated against {} {}: {}", target, id, e.getMessage());
+            } finally {
+                pending.decrementAndGet();
+            }
+        });
+    }
+
+    private void replaceRuleHits(Integer id) {
+        try {
+            RuleName ruleName = ruleNameRepository.findById(id).orElse(null);
+            CompiledRule rule = ruleName == null ? null : compile(ruleName);
+            for (RuleTarget<?> target : RuleTarget.values()) {
+                if (rule != null && rule.appliesTo(target)) {
+                    runRule(ruleName, target);
+                } else {
+                    withWriteLock(id, target, () -> transactionTemplate.executeWithoutResult(
+                            status -> ruleHitRepository.deleteByRuleAndTarget(id, target.name())));
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Hits of rule {} could not be replaced: {}", id, e.getMessage());
+        }
+    }
+
+    private void runRule(RuleName ruleName, RuleTarget<?> target) {
+        withWriteLock(ruleName.getId(), target, () -> {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            transactionTemplate.executeWithoutResult(status -> {
+                ruleHitRepository.deleteByRuleAndTarget(ruleName.getId(), target.name());
+                int[] matchedIds = ruleEngine.run(ruleName, target).getMatchedIds();
+                for (int i = 0; i < matchedIds.length; i++) {
+                    entityManager.persist(new RuleHit(ruleName.getId(), target.name(), matchedIds[i], now));
+                    if ((i + 1) % insertBatchSize == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                }
+            });
+        });
+        batchEvaluations.increment();
+    }
+
+    private <T> void evaluateRecord(RuleTarget<T> target, Integer id, Collection<String> attributes) {
+        List<CompiledRule> affected = new ArrayList<>();
+        for (RuleName ruleName : getRuleNames()) {
+            CompiledRule rule = compile(ruleName);
+            if (rule != null && rule.appliesTo(target) && (attributes == null || rule.refersToAny(attributes))) {
+                affected.add(rule);
+            }
+        }
+        if (affected.isEmpty()) {
+            return;
+        }
+        List<Integer> ruleIds = affected.stream().map(CompiledRule::getId).toList();
+
+        Integer evaluated = withReadLocks(target, ruleIds, () -> transactionTemplate.execute(status -> {
+            T record = entityManager.find(target.type(), id);
+            if (record == null) {
+                return null;
+            }
+
+            ruleHitRepository.deleteByRecordAndRules(target.name(), id, ruleIds);
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            for (CompiledRule rule : affected) {
+                if (rule.predicateFor(target).test(record)) {
+                    entityManager.persist(new RuleHit(rule.getId(), target.name(), id, now));
+                }
+            }
+            return affected.size();
+        }));
+        if (evaluated == null) {
+            deleteRecordHits(target, id);
+            return;
+        }
+        incrementalEvaluations.increment(evaluated);
+    }
+
+    private void deleteRecordHits(RuleTarget<?> target, Integer id) {
+        List<Integer> ruleIds = getRuleNames().stream().map(RuleName::getId).toList();
+        withReadLocks(target, ruleIds, () -> transactionTemplate.execute(
+                status -> ruleHitRepository.deleteByRecords(target.name(), List.of(id))));
+    }
+
+    private List<RuleName> getRuleNames() {
+        RuleNames current = ruleNames.get();
+        return current.all() != null ? current.all() : loadRuleNames(current);
+    }
+
+    /**
+     * Loads the rule names, caching them only if no rule name changed since {@code current} was read.
+     */
+    private List<RuleName> loadRuleNames(RuleNames current) {
+        List<RuleName> all = ruleNameRepository.findAll();
+        ruleNames.compareAndSet(current, new RuleNames(all));
+        return all;
+    }
+
+    /**
+     * Returns the lock guarding the hits of a rule over a table.
+     */
+    private ReadWriteLock hitsLock(Integer ruleId, RuleTarget<?> target) {
+        return hitsLocks.computeIfAbsent(ruleId + ":" + target.name(), key -> new ReentrantReadWriteLock(true));
+    }
+
+    private void withWriteLock(Integer ruleId, RuleTarget<?> target, Runnable work) {
+        Lock lock = hitsLock(ruleId, target).writeLock();
+        lock.lock();
+        try {
+            work.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the work holding the read locks of the hits of several rules over a table, taken in the order of the
+     * rule IDs so that two records evaluated at once never wait for each other.
+     */
+    private <R> R withReadLocks(RuleTarget<?> target, List<Integer> ruleIds, Supplier<R> work) {
+        List<Lock> locks = ruleIds.stream()
+                                  .distinct()
+                                  .sorted()
+                                  .map(ruleId -> hitsLock(ruleId, target).readLock())
+                                  .toList();
+        locks.forEach(Lock::lock);
+        try {
+            return work.get();
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
+    }
+
+    private CompiledRule compile(RuleName ruleName) {
+        if (ruleName.getSqlPart() == null) {
+            return null;
+        }
+        try {
+            return ruleEngine.compile(ruleName);
+        } catch (RuleSyntaxException e) {
+            logger.debug("Rule {} is skipped: {}", ruleName.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The cached rule names, or {@code null} ones once a rule name changed. A new instance is set on each
+     * change, so a load started before it cannot cache its stale list.
+     */
+    private record RuleNames(List<RuleName> all) {
+    }
+}
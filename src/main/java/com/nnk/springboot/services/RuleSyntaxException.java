@@ -0,0 +1,16 @@
+package com.nnk.springboot.services;
+
+/**
+ * Thrown when the condition of a rule cannot be parsed, or refers to a field or a value its target does not
+ * support.
+ */
+public class RuleSyntaxException extends IllegalArgumentException {
+    /**
+     * Creates the exception.
+     *
+     * @param message the description of the error, shown to the user.
+     */
+    public RuleSyntaxException(String message) {
+        super(message);
+    }
+}
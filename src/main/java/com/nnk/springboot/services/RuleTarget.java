@@ -0,0 +1,182 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Record type a rule can be evaluated against, with the whitelist of the fields its rules may refer to.
+ *
+ * <p>
+ * Fields are looked up case-insensitively, by attribute name ({@code buyQuantity}) or by column name
+ * ({@code buy_quantity}).
+ * </p>
+ *
+ * @param <T> the type of the records.
+ */
+public final class RuleTarget<T> {
+    /**
+     * Rules evaluated against trades.
+     */
+    public static final RuleTarget<Trade> TRADE = new RuleTarget<>("TRADE", Trade.class, fields(
+            string("account", Trade::getAccount),
+            string("type", Trade::getType),
+            number("buyQuantity", Trade::getBuyQuantity),
+            number("sellQuantity", Trade::getSellQuantity),
+            number("buyPrice", Trade::getBuyPrice),
+            number("sellPrice", Trade::getSellPrice),
+            string("benchmark", Trade::getBenchmark),
+            date("tradeDate", Trade::getTradeDate),
+            string("security", Trade::getSecurity),
+            string("status", Trade::getStatus),
+            string("trader", Trade::getTrader),
+            string("book", Trade::getBook),
+            string("dealName", Trade::getDealName),
+            string("dealType", Trade::getDealType),
+            string("side", Trade::getSide)));
+
+    /**
+     * Rules evaluated against bid lists.
+     */
+    public static final RuleTarget<BidList> BID_LIST = new RuleTarget<>("BID_LIST", BidList.class, fields(
+            string("account", BidList::getAccount),
+            string("type", BidList::getType),
+            number("bidQuantity", BidList::getBidQuantity),
+            number("askQuantity", BidList::getAskQuantity),
+            number("bid", BidList::getBid),
+            number("ask", BidList::getAsk),
+            string("benchmark", BidList::getBenchmark),
+            date("bidListDate", BidList::getBidListDate),
+            string("security", BidList::getSecurity),
+            string("status", BidList::getStatus),
+            string("trader", BidList::getTrader),
+            string("book", BidList::getBook),
+            string("dealName", BidList::getDealName),
+            string("dealType", BidList::getDealType),
+            string("side", BidList::getSide)));
+
+    private final String name;
+    private final Class<T> type;
+    private final Map<String, Field<T>> fields;
+
+    private RuleTarget(String name, Class<T> type, Map<String, Field<T>> fields) {
+        this.name = name;
+        this.type = type;
+        this.fields = fields;
+    }
+
+    /**
+     * Returns every target.
+     *
+     * @return {@link #TRADE} and {@link #BID_LIST}.
+     */
+    public static List<RuleTarget<?>> values() {
+        return List.of(TRADE, BID_LIST);
+    }
+
+    /**
+     * Returns the target of a name, used to bind request parameters.
+     *
+     * @param name the name, {@code TRADE} or {@code BID_LIST}, case-insensitive.
+     * @return the {@link RuleTarget}.
+     * @throws IllegalArgumentException if no target has this name.
+     */
+    public static RuleTarget<?> valueOf(String name) {
+        return switch (name.toUpperCase(Locale.ROOT)) {
+            case "TRADE" -> TRADE;
+            case "BID_LIST", "BIDLIST" -> BID_LIST;
+            default -> throw new IllegalArgumentException("Unknown rule target: " + name);
+        };
+    }
+
+    /**
+     * Returns the name of this target.
+     *
+     * @return {@code TRADE} or {@code BID_LIST}.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the entity class of the records.
+     *
+     * @return the entity class.
+     */
+    public Class<T> type() {
+        return type;
+    }
+
+    /**
+     * Looks up a whitelisted field.
+     *
+     * @param name the attribute or column name, case-insensitive.
+     * @return the {@link Field}, or null if rules may not refer to it.
+     */
+    public Field<T> field(String name) {
+        return fields.get(name.replace("_", "").toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    @SafeVarargs
+    private static <T> Map<String, Field<T>> fields(Field<T>... fields) {
+        Map<String, Field<T>> byName = new LinkedHashMap<>();
+        for (Field<T> field : fields) {
+            byName.put(field.attribute().toLowerCase(Locale.ROOT), field);
+        }
+        return Collections.unmodifiableMap(byName);
+    }
+
+    private static <T> Field<T> string(String attribute, Function<T, String> getter) {
+        return new Field<>(attribute, Kind.STRING, getter);
+    }
+
+    private static <T> Field<T> number(String attribute, Function<T, Double> getter) {
+        return new Field<>(attribute, Kind.NUMBER, getter);
+    }
+
+    private static <T> Field<T> date(String attribute, Function<T, ? extends Date> getter) {
+        return new Field<>(attribute, Kind.DATE, getter);
+    }
+
+    /**
+     * Types of the values of fields.
+     */
+    public enum Kind {
+        /**
+         * {@link String} values, compared to string literals.
+         */
+        STRING,
+        /**
+         * {@link Double} values, compared to number literals.
+         */
+        NUMBER,
+        /**
+         * {@link java.sql.Timestamp} values, compared to string literals in {@code yyyy-MM-dd} or
+         * {@code yyyy-MM-dd HH:mm:ss} format.
+         */
+        DATE
+    }
+
+    /**
+     * A field rules may refer to.
+     *
+     * @param attribute the name of the entity attribute.
+     * @param kind      the type of its values.
+     * @param getter    reads the value of a record, possibly null.
+     * @param <T>       the type of the records.
+     */
+    public record Field<T>(String attribute, Kind kind, Function<T, ?> getter) {
+    }
+}
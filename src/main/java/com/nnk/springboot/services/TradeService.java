@@ -7,7 +7,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -18,8 +20,20 @@ import java.util.List;
 @Service
 public class TradeService {
     private static final Logger logger = LoggerFactory.getLogger(TradeService.class);
+    /**
+     * Fields changed by {@link #updateTrade(Integer, TradeDTO)}, whose rules are evaluated again.
+     */
+    private static final List<String> UPDATED_FIELDS = List.of("account", "type", "buyQuantity");
     @Autowired
     private TradeRepository tradeRepository;
+    @Autowired
+    private PositionService positionService;
+    @Autowired
+    private PnlService pnlService;
+    @Autowired
+    private RuleScheduler ruleScheduler;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
     /**
      * Retrieves all trade entries.
@@ -29,17 +43,7 @@ public class TradeService {
     public List<TradeDTO> getTrades() {
         logger.info("Fetching all trades.");
 
-        return tradeRepository.findAll()
-                              .stream()
-                              .map(trade -> {
-                                  TradeDTO tradeDTO = new TradeDTO();
-                                  tradeDTO.setId(trade.getId());
-                                  tradeDTO.setAccount(trade.getAccount());
-                                  tradeDTO.setType(trade.getType());
-                                  tradeDTO.setBuyQuantity(trade.getBuyQuantity());
-                                  return tradeDTO;
-                              })
-                              .toList();
+        return tradeRepository.findAllAsDTO();
     }
 
     /**
@@ -53,11 +57,7 @@ public class TradeService {
         logger.info("Fetching trade with ID: {}", id);
 
         return tradeRepository.findById(id)
-                              .orElseThrow(() -> {
-                                  logger.warn("Trade with ID {} not found.", id);
-                                  return new ResponseStatusException(HttpStatus.NOT_FOUND, String.format(
-                                          "Le trade avec l'id %d n'existe pas", id));
-                              });
+                              .orElseThrow(() -> notFound(id));
     }
 
     /**
@@ -73,6 +73,7 @@ public class TradeService {
         Trade trade = getTrade(id);
         TradeDTO tradeDTO = new TradeDTO();
         tradeDTO.setId(trade.getId());
+        tradeDTO.setVersion(trade.getVersion());
         tradeDTO.setAccount(trade.getAccount());
         tradeDTO.setType(trade.getType());
         tradeDTO.setBuyQuantity(trade.getBuyQuantity());
@@ -80,7 +81,7 @@ public class TradeService {
     }
 
     /**
-     * Adds a new trade entry.
+     * Adds a new trade entry, then adds it to its position and its P&L.
      *
      * @param tradeDTO the {@link TradeDTO} containing details of the trade to add.
      * @throws ResponseStatusException if an error occurs during the creation of the trade.
@@ -101,6 +102,38 @@ public class TradeService {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                                               "Une erreur est survenue lors de la creation du trade");
         }
+
+        positionService.add(trade);
+        pnlService.add(trade);
+        ruleScheduler.recordChanged(RuleTarget.TRADE, trade.getId(), null);
+    }
+
+    /**
+     * Saves several trades in a single transaction, with batched inserts, then adds them to their positions and P&L.
+     *
+     * @param trades the trades to save.
+     */
+    public void addTrades(List<Trade> trades) {
+        addTrades(trades, () -> {});
+    }
+
+    /**
+     * Saves several trades in a single transaction together with other writes, then adds them to their positions
+     * and P&L once the transaction is committed.
+     *
+     * @param trades the trades to save.
+     * @param writes the other writes, run in the transaction before the trades are saved.
+     */
+    public void addTrades(List<Trade> trades, Runnable writes) {
+        logger.info("Adding {} trades.", trades.size());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            writes.run();
+            tradeRepository.saveAll(trades);
+        });
+        positionService.addAll(trades);
+        pnlService.addAll(trades);
+        ruleScheduler.recordsAdded(RuleTarget.TRADE, trades.stream().map(Trade::getId).toList());
     }
 
     /**
@@ -108,44 +141,108 @@ public class TradeService {
      *
      * @param id the ID of the trade to update.
      * @param tradeDTO the {@link TradeDTO} containing updated details of the trade.
-     * @throws ResponseStatusException if an error occurs during the update of the trade.
+     * @throws ResponseStatusException if the version is missing, or the trade is not found or cannot be updated.
+     * @throws ObjectOptimisticLockingFailureException if the trade was modified since it was read.
      */
     public void updateTrade(Integer id, TradeDTO tradeDTO) {
         logger.info("Updating trade with ID: {}", id);
 
-        Trade trade = getTrade(id);
-        trade.setAccount(tradeDTO.getAccount());
-        trade.setType(tradeDTO.getType());
-        trade.setBuyQuantity(tradeDTO.getBuyQuantity());
+        if (tradeDTO.getVersion() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                              "La version du trade à modifier est obligatoire");
+        }
 
+        int updated;
         try {
-            tradeRepository.save(trade);
-            logger.info("Trade updated successfully with ID: {}", id);
+            updated = tradeRepository.updateFields(id, tradeDTO.getVersion(), tradeDTO.getAccount(), tradeDTO.getType(),
+                                                   tradeDTO.getBuyQuantity());
         } catch (Exception e) {
             logger.error("An error occurred while updating trade with ID {}: {}", id, e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                                               "Une erreur est survenue lors de la modification du trade");
         }
+
+        if (updated == 0) {
+            if (!tradeRepository.existsById(id)) {
+                throw notFound(id);
+            }
+            logger.warn("Trade with ID {} was modified since version {}.", id, tradeDTO.getVersion());
+            throw new ObjectOptimisticLockingFailureException(Trade.class, id);
+        }
+        logger.info("Trade updated successfully with ID: {}", id);
+
+        positionService.update(id, tradeDTO.getAccount(), tradeDTO.getBuyQuantity());
+        pnlService.updateBuyQuantity(id, tradeDTO.getBuyQuantity());
+        ruleScheduler.recordChanged(RuleTarget.TRADE, id, UPDATED_FIELDS);
     }
 
     /**
      * Deletes a trade entry.
      *
      * @param id the ID of the trade to delete.
-     * @throws ResponseStatusException if an error occurs during the deletion of the trade.
+     * @throws ResponseStatusException if the trade is not found or cannot be deleted.
      */
     public void deleteTrade(Integer id) {
         logger.info("Deleting trade with ID: {}", id);
 
-        Trade trade = getTrade(id);
-
+        int deleted;
         try {
-            tradeRepository.delete(trade);
-            logger.info("Trade deleted successfully with ID: {}", id);
+            deleted = tradeRepository.deleteOneById(id);
         } catch (Exception e) {
             logger.error("An error occurred while deleting trade with ID {}: {}", id, e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                                               "Une erreur est survenue lors de la suppression du trade");
         }
+
+        if (deleted == 0) {
+            throw notFound(id);
+        }
+        logger.info("Trade deleted successfully with ID: {}", id);
+
+        positionService.remove(id);
+        pnlService.remove(id);
+        ruleScheduler.recordsDeleted(RuleTarget.TRADE, List.of(id));
+    }
+
+    /**
+     * Deletes several trade entries in a single statement.
+     * IDs that no longer exist are ignored.
+     *
+     * @param ids the IDs of the trades to delete.
+     * @return the number of deleted trades.
+     * @throws ResponseStatusException if an error occurs during the deletion of the trades.
+     */
+    public int deleteTrades(List<Integer> ids) {
+        logger.info("Deleting trades with IDs: {}", ids);
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        int deleted;
+        try {
+            deleted = tradeRepository.deleteAllByIds(ids);
+            logger.info("{} trades deleted successfully.", deleted);
+        } catch (Exception e) {
+            logger.error("An error occurred while deleting trades with IDs {}: {}", ids, e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                                              "Une erreur est survenue lors de la suppression des trades");
+        }
+
+        positionService.removeAll(ids);
+        pnlService.removeAll(ids);
+        ruleScheduler.recordsDeleted(RuleTarget.TRADE, ids);
+        return deleted;
+    }
+
+    /**
+     * Builds the exception returned when no trade has the given ID.
+     *
+     * @param id the ID of the missing trade.
+     * @return a {@link ResponseStatusException} with a 404 status.
+     */
+    private ResponseStatusException notFound(Integer id) {
+        logger.warn("Trade with ID {} not found.", id);
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, String.format("Le trade avec l'id %d n'existe pas", id));
     }
 }
@@ -1,17 +1,19 @@
 package com.nnk.springboot.services;
 
+import com.nnk.springboot.config.CacheConfig;
 import com.nnk.springboot.domain.User;
 import com.nnk.springboot.dto.*;
 import com.nnk.springboot.repositories.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.server.ResponseStatusException;
@@ -27,7 +29,7 @@ public class UserService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
     @Autowired
     private Validators validators;
 
@@ -40,17 +42,7 @@ public class UserService implements UserDetailsService {
     public List<UserDTO> getUsers() {
         logger.info("Fetching all users.");
 
-        return userRepository.findAll()
-                             .stream()
-                             .map(user -> {
-                                 UserDTO userDTO = new UserDTO();
-                                 userDTO.setId(user.getId());
-                                 userDTO.setFullname(user.getFullname());
-                                 userDTO.setUsername(user.getUsername());
-                                 userDTO.setRole(user.getRole());
-                                 return userDTO;
-                             })
-                             .toList();
+        return userRepository.findAllAsDTO();
     }
 
     /**
@@ -64,11 +56,7 @@ public class UserService implements UserDetailsService {
         logger.info("Fetching user with ID: {}", id);
 
         return userRepository.findById(id)
-                             .orElseThrow(() -> {
-                                 logger.warn("User with ID {} not found.", id);
-                                 return new ResponseStatusException(HttpStatus.NOT_FOUND, String.format(
-                                         "Le user avec l'id %d n'existe pas", id));
-                             });
+                             .orElseThrow(() -> notFound(id));
     }
 
     /**
@@ -110,6 +98,7 @@ public class UserService implements UserDetailsService {
      * @param result the binding result to capture validation errors.
      * @throws ResponseStatusException if an error occurs during the creation of the user.
      */
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#userDTO.username")
     public void addUser(UserDTO userDTO, BindingResult result) {
         logger.info("Adding new user: {}", userDTO.getUsername());
 
@@ -122,8 +111,9 @@ public class UserService implements UserDetailsService {
             result.rejectValue("password", "error.password", "Password is mandatory");
         }
 
-        if (validators.isPasswordInvalid(userDTO.getPassword())) {
-            result.rejectValue("password", "error.password", "MDP : 8 char minimum : 1 MAJ, 1 min, 1 chiffre, 1 symbole");
+        int passwordFailures = validators.checkPassword(userDTO.getPassword());
+        if (passwordFailures != 0) {
+            result.rejectValue("password", "error.password", validators.passwordErrorMessage(passwordFailures));
         }
 
         if (result.hasErrors()) {
@@ -133,12 +123,20 @@ public class UserService implements UserDetailsService {
         User user = new User();
         user.setFullname(userDTO.getFullname());
         user.setUsername(userDTO.getUsername());
-        user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+        user.setPassword(passwordHasher.encode(userDTO.getPassword()));
         user.setRole(userDTO.getRole());
 
         try {
-            userRepository.save(user);
+            userRepository.saveAndFlush(user);
             logger.info("New user '{}' created successfully.", user.getUsername());
+        } catch (DataIntegrityViolationException e) {
+            if (!validators.isDuplicateUsername(e)) {
+                logger.error("Error creating user '{}': {}", user.getUsername(), e.getMessage());
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                                                  "Une erreur est survenue lors de la creation du user");
+            }
+            logger.warn("Username '{}' was taken concurrently.", user.getUsername());
+            result.rejectValue("username", "error.username", "This username is already used");
         } catch (Exception e) {
             logger.error("Error creating user '{}': {}", user.getUsername(), e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
@@ -154,6 +152,7 @@ public class UserService implements UserDetailsService {
      * @param result the binding result to capture validation errors.
      * @throws ResponseStatusException if an error occurs during the update of the user.
      */
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, allEntries = true)
     public void updateUser(Integer id, UserDTO userDTO, BindingResult result) {
         logger.info("Updating user with ID: {}", id);
 
@@ -166,25 +165,35 @@ public class UserService implements UserDetailsService {
         }
 
         if (!userDTO.getPassword().isBlank()) {
-            if (validators.isPasswordInvalid(userDTO.getPassword())) {
-                result.rejectValue("password", "error.password", "MDP : 8 char minimum : 1 MAJ, 1 min, 1 chiffre, 1 symbole");
+            int passwordFailures = validators.checkPassword(userDTO.getPassword());
+            if (passwordFailures != 0) {
+                result.rejectValue("password", "error.password", validators.passwordErrorMessage(passwordFailures));
             }
-            user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
-        } else {
-            user.setPassword(user.getPassword());
         }
 
         if (result.hasErrors()) {
             return;
         }
 
+        if (!userDTO.getPassword().isBlank()) {
+            user.setPassword(passwordHasher.encode(userDTO.getPassword()));
+        }
+
         user.setFullname(userDTO.getFullname());
         user.setUsername(userDTO.getUsername());
         user.setRole(userDTO.getRole());
 
         try {
-            userRepository.save(user);
+            userRepository.saveAndFlush(user);
             logger.info("User '{}' updated successfully.", user.getUsername());
+        } catch (DataIntegrityViolationException e) {
+            if (!validators.isDuplicateUsername(e)) {
+                logger.error("Error updating user '{}': {}", user.getUsername(), e.getMessage());
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                                                  "Une erreur est survenue lors de la modification du user");
+            }
+            logger.warn("Username '{}' was taken concurrently.", user.getUsername());
+            result.rejectValue("username", "error.username", "This username is already used");
         } catch (Exception e) {
             logger.error("Error updating user '{}': {}", user.getUsername(), e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
@@ -196,8 +205,9 @@ public class UserService implements UserDetailsService {
      * Deletes a user account.
      *
      * @param id the ID of the user to delete.
-     * @throws ResponseStatusException if an error occurs during the deletion of the user.
+     * @throws ResponseStatusException if the user is not found or cannot be deleted.
      */
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, allEntries = true)
     public void deleteUser(Integer id) {
         logger.info("Deleting user with ID: {}", id);
 
@@ -208,16 +218,19 @@ public class UserService implements UserDetailsService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Vous ne pouvez pas supprimer votre propre user.");
         }
 
-        User user = getUser(id);
-
+        int deleted;
         try {
-            userRepository.delete(user);
-            logger.info("User deleted successfully with ID: {}", id);
+            deleted = userRepository.deleteOneById(id);
         } catch (Exception e) {
             logger.error("An error occurred while deleting user with ID {}: {}", id, e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                                               "Une erreur est survenue lors de la suppression du user");
         }
+
+        if (deleted == 0) {
+            throw notFound(id);
+        }
+        logger.info("User deleted successfully with ID: {}", id);
     }
 
     /**
@@ -237,4 +250,15 @@ public class UserService implements UserDetailsService {
                                  return new UsernameNotFoundException("User not found");
                              });
     }
+
+    /**
+     * Builds the exception returned when no user has the given ID.
+     *
+     * @param id the ID of the missing user.
+     * @return a {@link ResponseStatusException} with a 404 status.
+     */
+    private ResponseStatusException notFound(Integer id) {
+        logger.warn("User with ID {} not found.", id);
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, String.format("Le user avec l'id %d n'existe pas", id));
+    }
 }
@@ -1,18 +1,33 @@
 package com.nnk.springboot.services;
 
+import com.nnk.springboot.domain.User;
 import com.nnk.springboot.repositories.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Locale;
+import java.util.StringJoiner;
+
 /**
  * Service class for validating user input, specifically usernames and passwords.
  */
 @Service
 public class Validators {
     private static final Logger logger = LoggerFactory.getLogger(Validators.class);
+    private static final int MIN_PASSWORD_LENGTH = 8;
+    private static final boolean[] SPECIAL_CHARACTERS = new boolean[128];
+
+    static {
+        for (char c : "!@#$%^&*()_+-=[]{};':\"\\|,.<>/?".toCharArray()) {
+            SPECIAL_CHARACTERS[c] = true;
+        }
+    }
+
     @Autowired
     private UserRepository userRepository;
     @Autowired
@@ -21,18 +36,35 @@ public class Validators {
     /**
      * Checks if a username already exists in the repository.
      *
+     * <p>
+     * This is only a fast path to report the error early: the unique constraint on {@code users.username}
+     * remains the authority, see {@link #isDuplicateUsername(DataIntegrityViolationException)}.
+     * </p>
+     *
      * @param username the username to check.
      * @return true if the username exists, false otherwise.
      */
     public boolean usernameExists(String username) {
         logger.info("Checking if username {} exists in database ", username);
 
-        return userRepository.findByUsername(username)
-                             .isPresent();
+        return userRepository.existsByUsername(username);
     }
 
     /**
-     * Validates the complexity of a password based on specific criteria.
+     * Checks if a data integrity error was caused by the unique constraint on the username,
+     * e.g. when two users register the same username concurrently.
+     *
+     * @param exception the exception thrown while saving a user.
+     * @return true if the username is already used, false otherwise.
+     */
+    public boolean isDuplicateUsername(DataIntegrityViolationException exception) {
+        return exception.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(User.USERNAME_CONSTRAINT);
+    }
+
+    /**
+     * Checks a password against every {@link PasswordRule} in a single pass over its characters.
      *
      * <p>
      * The password must meet the following requirements:
@@ -46,14 +78,47 @@ public class Validators {
      * </p>
      *
      * @param password the password to validate.
-     * @return true if the password is invalid, false if it meets the criteria.
+     * @return the bits of the failed rules, 0 if the password meets every criteria.
      */
-    public boolean isPasswordInvalid(String password) {
+    public int checkPassword(String password) {
         logger.info("Checking if password is valid");
 
-        return password.length() < 8 || !password.matches(".*[A-Z].*") || !password.matches(
-                ".*[a-z].*") || !password.matches(".*\\d.*") || !password.matches(
-                ".*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>/?].*");
+        if (password == null) {
+            return PasswordRule.ALL;
+        }
+
+        int missing = PasswordRule.UPPERCASE.bit() | PasswordRule.LOWERCASE.bit()
+                | PasswordRule.DIGIT.bit() | PasswordRule.SPECIAL.bit();
+        for (int i = 0; i < password.length() && missing != 0; i++) {
+            char c = password.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                missing &= ~PasswordRule.UPPERCASE.bit();
+            } else if (c >= 'a' && c <= 'z') {
+                missing &= ~PasswordRule.LOWERCASE.bit();
+            } else if (c >= '0' && c <= '9') {
+                missing &= ~PasswordRule.DIGIT.bit();
+            } else if (c < SPECIAL_CHARACTERS.length && SPECIAL_CHARACTERS[c]) {
+                missing &= ~PasswordRule.SPECIAL.bit();
+            }
+        }
+
+        return password.length() < MIN_PASSWORD_LENGTH ? missing | PasswordRule.MIN_LENGTH.bit() : missing;
+    }
+
+    /**
+     * Builds the message displayed for the failed password rules.
+     *
+     * @param failures the failure mask returned by {@link #checkPassword(String)}.
+     * @return the message listing each failed rule.
+     */
+    public String passwordErrorMessage(int failures) {
+        StringJoiner message = new StringJoiner(", ", "MDP : ", "");
+        for (PasswordRule rule : PasswordRule.values()) {
+            if (rule.isIn(failures)) {
+                message.add(rule.getMessage());
+            }
+        }
+        return message.toString();
     }
 
     /**
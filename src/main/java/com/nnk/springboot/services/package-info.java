@@ -4,9 +4,41 @@
  * <p>This package contains the following classes:</p>
  *
  * <ul>
+ *     <li>{@link com.nnk.springboot.services.CompiledRule} - Rule condition compiled for each record type.</li>
+ *     <li>{@link com.nnk.springboot.services.CsvReader} - Streaming reader for CSV files.</li>
+ *     <li>{@link com.nnk.springboot.services.Curve} - Sorted points of one curve and their interpolation.</li>
  *     <li>{@link com.nnk.springboot.services.CurvePointService} - Service for managing curve points.</li>
+ *     <li>{@link com.nnk.springboot.services.CurveService} - Service interpolating the curves in memory.</li>
+ *     <li>{@link com.nnk.springboot.services.CurveSnapshotStore} - Versioned curve snapshots by as-of date.</li>
+ *     <li>{@link com.nnk.springboot.services.ExportFormat} - Formats supported by table exports.</li>
+ *     <li>{@link com.nnk.springboot.services.ExportService} - Service for streaming table exports.</li>
+ *     <li>{@link com.nnk.springboot.services.ImportService} - Service for bulk importing CSV files.</li>
+ *     <li>{@link com.nnk.springboot.services.InterpolationMethod} - Methods curves are interpolated with.</li>
+ *     <li>{@link com.nnk.springboot.services.Matcher} - Price-time priority matching of one security.</li>
+ *     <li>{@link com.nnk.springboot.services.MatchingEngine} - Service matching bid lists into trades.</li>
+ *     <li>{@link com.nnk.springboot.services.OrderBook} - Price levels of one security.</li>
+ *     <li>{@link com.nnk.springboot.services.OrderBookService} - Service maintaining the in-memory order books.</li>
+ *     <li>{@link com.nnk.springboot.services.PasswordHasher} - Service for hashing passwords on a bounded pool.</li>
+ *     <li>{@link com.nnk.springboot.services.PasswordRule} - Complexity rules checked on passwords.</li>
+ *     <li>{@link com.nnk.springboot.services.PnlCalculator} - Average cost P&L aggregated in parallel.</li>
+ *     <li>{@link com.nnk.springboot.services.PnlService} - Service maintaining the P&L per trader and book.</li>
+ *     <li>{@link com.nnk.springboot.services.PositionService} - Service maintaining the positions in memory.</li>
+ *     <li>{@link com.nnk.springboot.services.RatingNotation} - Constraint on the notations of an agency.</li>
+ *     <li>{@link com.nnk.springboot.services.RatingNotationValidator} - Validator of the rating notations.</li>
+ *     <li>{@link com.nnk.springboot.services.RatingScale} - Ordinal scale of the agency notations.</li>
  *     <li>{@link com.nnk.springboot.services.RatingService} - Service for managing ratings.</li>
+ *     <li>{@link com.nnk.springboot.services.RatingSnapshot} - In-memory copy of the rating table.</li>
+ *     <li>{@link com.nnk.springboot.services.RuleCompiler} - Compiles rule conditions into predicates.</li>
+ *     <li>{@link com.nnk.springboot.services.RuleCondition} - Constraint on supported rule conditions.</li>
+ *     <li>{@link com.nnk.springboot.services.RuleConditionValidator} - Validator of the rule conditions.</li>
+ *     <li>{@link com.nnk.springboot.services.RuleCriteriaTranslator} - Translates rule conditions into queries.</li>
+ *     <li>{@link com.nnk.springboot.services.RuleEngine} - Service evaluating rules against trades and bid lists.</li>
+ *     <li>{@link com.nnk.springboot.services.RuleExpression} - Expression tree of a rule condition.</li>
  *     <li>{@link com.nnk.springboot.services.RuleNameService} - Service for managing rule names.</li>
+ *     <li>{@link com.nnk.springboot.services.RuleParser} - Parser of the SQL-like rule conditions.</li>
+ *     <li>{@link com.nnk.springboot.services.RuleScheduler} - Service materializing the rule hits.</li>
+ *     <li>{@link com.nnk.springboot.services.RuleSyntaxException} - Error in a rule condition.</li>
+ *     <li>{@link com.nnk.springboot.services.RuleTarget} - Record types rules apply to and their fields.</li>
  *     <li>{@link com.nnk.springboot.services.TradeService} - Service for managing trades.</li>
  *     <li>{@link com.nnk.springboot.services.UserService} - Service for managing users and authentication.</li>
  *     <li>{@link com.nnk.springboot.services.Validators} - Service for validating user input.</li>
@@ -0,0 +1,86 @@
+package com.nnk.springboot.benchmarks;
+
+import com.nnk.springboot.services.Curve;
+import com.nnk.springboot.services.InterpolationMethod;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lookups of a {@link Curve} of 50 points with each interpolation method: one term at a time with
+ * a binary search, and a batch of 1,000 ascending terms walked with a cursor, against the same batch looked up
+ * one term at a time.
+ *
+ * <p>
+ * Run it from the IDE with {@link #main(String[])} after {@code mvn test-compile}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CurveBenchmark {
+    private static final int POINTS = 50;
+    private static final int BATCH = 1_000;
+
+    @Param({"LINEAR", "LOG_LINEAR", "CUBIC_SPLINE"})
+    private InterpolationMethod method;
+
+    private Curve curve;
+    private double[] terms;
+    private double[] out;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        double[] pointTerms = new double[POINTS];
+        double[] pointValues = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            pointTerms[i] = 0.25 * (i + 1) * (i + 1);
+            pointValues[i] = 0.01 + random.nextDouble() * 0.05;
+        }
+        curve = new Curve(1, pointTerms, pointValues);
+
+        terms = new double[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            terms[i] = random.nextDouble() * pointTerms[POINTS - 1];
+        }
+        Arrays.sort(terms);
+        out = new double[BATCH];
+    }
+
+    @Benchmark
+    public double single() {
+        double term = terms[next];
+        next = (next + 1) % BATCH;
+        return curve.interpolate(term, method);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public double[] batch() {
+        curve.interpolate(terms, method, out);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public double[] loop() {
+        for (int i = 0; i < BATCH; i++) {
+            out[i] = curve.interpolate(terms[i], method);
+        }
+        return out;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CurveBenchmark.class.getSimpleName()).build()).run();
+    }
+}
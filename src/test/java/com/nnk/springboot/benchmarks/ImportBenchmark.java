@@ -0,0 +1,64 @@
+package com.nnk.springboot.benchmarks;
+
+import com.nnk.springboot.dto.ImportReportDTO;
+import com.nnk.springboot.services.ImportService;
+import com.nnk.springboot.services.TradeService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost per row of parsing and validating a CSV file of 100,000 trades with {@link ImportService},
+ * the batches being handed to a {@link TradeService} that writes nothing.
+ *
+ * <p>
+ * Run it from the IDE with {@link #main(String[])} after {@code mvn test-compile}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ImportBenchmark {
+    private static final int ROWS = 100_000;
+
+    private byte[] content;
+    private ImportService importService;
+
+    @Setup
+    public void setUp() {
+        StringBuilder csv = new StringBuilder("account,type,buyQuantity\n");
+        for (int i = 1; i <= ROWS; i++) {
+            csv.append("Account").append(i).append(",Type,").append(i).append('\n');
+        }
+        content = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        importService = new ImportService();
+        ReflectionTestUtils.setField(importService, "tradeService", Mockito.mock(TradeService.class));
+        ReflectionTestUtils.setField(importService, "entityManager", Mockito.mock(EntityManager.class));
+        ReflectionTestUtils.setField(importService, "validator",
+                                     Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(importService, "batchSize", 500);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ImportReportDTO importTrades() {
+        return importService.importTrades(new ByteArrayInputStream(content));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ImportBenchmark.class.getSimpleName()).build()).run();
+    }
+}
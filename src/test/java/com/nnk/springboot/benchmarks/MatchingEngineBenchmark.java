@@ -0,0 +1,59 @@
+package com.nnk.springboot.benchmarks;
+
+import com.nnk.springboot.services.Matcher;
+import com.nnk.springboot.services.MatchingEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the order throughput of the {@link Matcher} of one security, which bounds the throughput of
+ * {@link MatchingEngine} on that security.
+ *
+ * <p>
+ * Orders are random buys and sells around a price of 100, so that most of them cross.
+ * Run it from the IDE with {@link #main(String[])} after {@code mvn test-compile}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchingEngineBenchmark {
+    private static final int ORDERS = 1 << 16;
+
+    private Matcher.Order[] orders;
+    private Matcher matcher;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        orders = new Matcher.Order[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            boolean buy = random.nextBoolean();
+            double price = 100 + random.nextInt(-20, 21) * 0.05;
+            double quantity = 1 + random.nextInt(100);
+            Matcher.Side side = buy ? Matcher.Side.BUY : Matcher.Side.SELL;
+            orders[i] = new Matcher.Order(i, "Account", "Trader", "Book", "BENCH", side, price, quantity);
+        }
+
+        matcher = new Matcher();
+    }
+
+    @Benchmark
+    public void match(Blackhole blackhole) {
+        matcher.match(orders[next++ & (ORDERS - 1)], blackhole::consume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MatchingEngineBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,78 @@
+package com.nnk.springboot.benchmarks;
+
+import com.nnk.springboot.dto.OrderBookDTO;
+import com.nnk.springboot.dto.TopOfBookDTO;
+import com.nnk.springboot.services.OrderBook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the update and query latency of {@link OrderBook} on a book already holding {@link #levels} price
+ * levels per side.
+ *
+ * <p>
+ * Run it from the IDE with {@link #main(String[])} after {@code mvn test-compile}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderBookBenchmark {
+    @Param({"10", "1000"})
+    private int levels;
+
+    private OrderBook book;
+    private double[] prices;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        book = new OrderBook("BENCH");
+        prices = new double[levels];
+        for (int i = 0; i < levels; i++) {
+            prices[i] = 100 + i * 0.01;
+            book.apply(prices[i] - 50, 10, prices[i], 10);
+        }
+    }
+
+    /**
+     * Adds then removes quantity on an existing level, leaving the book unchanged.
+     */
+    @Benchmark
+    public void updateExistingLevel() {
+        double price = prices[next++ % levels];
+        book.apply(price - 50, 5, price, 5);
+        book.apply(price - 50, -5, price, -5);
+    }
+
+    /**
+     * Inserts then removes a new level in the middle of the book, which shifts the arrays.
+     */
+    @Benchmark
+    public void insertAndRemoveLevel() {
+        double price = prices[next++ % levels] + 0.005;
+        book.apply(price - 50, 5, price, 5);
+        book.apply(price - 50, -5, price, -5);
+    }
+
+    @Benchmark
+    public TopOfBookDTO topOfBook() {
+        return book.topOfBook();
+    }
+
+    @Benchmark
+    public OrderBookDTO depth10() {
+        return book.depth(10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OrderBookBenchmark.class.getSimpleName()).build()).run();
+    }
+}
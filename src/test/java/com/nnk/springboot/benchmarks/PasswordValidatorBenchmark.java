@@ -0,0 +1,54 @@
+package com.nnk.springboot.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import com.nnk.springboot.services.Validators;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single-pass password scanner of {@link Validators#checkPassword(String)} with the previous
+ * implementation based on four {@link String#matches(String)} calls.
+ *
+ * <p>
+ * Run it from the IDE with {@link #main(String[])} after {@code mvn test-compile}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordValidatorBenchmark {
+    @Param({"Valid08!", "password1!", "aVeryLongPasswordWithoutAnySymbolOrDigitInsideItAtAll"})
+    private String password;
+
+    private Validators validators;
+
+    @Setup
+    public void setUp() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Validators.class)).setLevel(Level.WARN);
+        validators = new Validators();
+    }
+
+    @Benchmark
+    public int singlePass() {
+        return validators.checkPassword(password);
+    }
+
+    @Benchmark
+    public boolean regex() {
+        return password.length() < 8 || !password.matches(".*[A-Z].*") || !password.matches(
+                ".*[a-z].*") || !password.matches(".*\\d.*") || !password.matches(
+                ".*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>/?].*");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PasswordValidatorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
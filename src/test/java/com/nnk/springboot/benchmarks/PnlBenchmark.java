@@ -0,0 +1,81 @@
+package com.nnk.springboot.benchmarks;
+
+import com.nnk.springboot.services.PnlCalculator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full recompute of {@link PnlCalculator} on 5M trades spread over 10,000 accounts, with an
+ * increasing number of fork-join threads. The speedup is the ratio between the 1 thread score and the others,
+ * and is bounded by the number of cores of the machine.
+ *
+ * <p>
+ * Run it from the IDE with {@link #main(String[])} after {@code mvn test-compile}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class PnlBenchmark {
+    private static final int TRADES = 5_000_000;
+    private static final int ACCOUNTS = 10_000;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private List<List<PnlCalculator.Execution>> executionsByAccount;
+    private ForkJoinPool pool;
+    private PnlCalculator calculator;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        PnlCalculator.LotKey[] keys = new PnlCalculator.LotKey[50 * 10 * 200];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new PnlCalculator.LotKey("Trader" + i % 50, "Book" + i / 50 % 10, "SEC" + i / 500);
+        }
+
+        executionsByAccount = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            executionsByAccount.add(new ArrayList<>(TRADES / ACCOUNTS));
+        }
+        for (int i = 0; i < TRADES; i++) {
+            PnlCalculator.LotKey key = keys[random.nextInt(keys.length)];
+            double quantity = 1 + random.nextInt(100);
+            double price = 90 + random.nextDouble() * 20;
+            executionsByAccount.get(random.nextInt(ACCOUNTS))
+                               .add(random.nextBoolean()
+                                    ? new PnlCalculator.Execution(key, quantity, price, 0, Double.NaN)
+                                    : new PnlCalculator.Execution(key, 0, Double.NaN, quantity, price));
+        }
+
+        pool = new ForkJoinPool(parallelism);
+        calculator = new PnlCalculator(pool, 10_000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Map<PnlCalculator.LotKey, PnlCalculator.Lot> recompute() {
+        return calculator.aggregate(executionsByAccount);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PnlBenchmark.class.getSimpleName()).build()).run();
+    }
+}
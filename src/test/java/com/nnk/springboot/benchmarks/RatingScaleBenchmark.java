@@ -0,0 +1,115 @@
+package com.nnk.springboot.benchmarks;
+
+import com.nnk.springboot.services.RatingScale;
+import com.nnk.springboot.services.RatingScale.Agency;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost per rating of the "at least investment grade" filter over 100,000 ratings of three agencies:
+ * a naive comparison searching every notation in the list of the notations of its agency, the lookup of the
+ * notations on the {@link RatingScale}, and the comparison of notation codes interned beforehand.
+ *
+ * <p>
+ * Run it from the IDE with {@link #main(String[])} after {@code mvn test-compile}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RatingScaleBenchmark {
+    private static final int RATINGS = 100_000;
+    private static final List<String> MOODYS = List.of(
+            "Aaa", "Aa1", "Aa2", "Aa3", "A1", "A2", "A3", "Baa1", "Baa2", "Baa3",
+            "Ba1", "Ba2", "Ba3", "B1", "B2", "B3", "Caa1", "Caa2", "Caa3", "Ca", "C");
+    private static final List<String> LETTERS = List.of(
+            "AAA", "AA+", "AA", "AA-", "A+", "A", "A-", "BBB+", "BBB", "BBB-",
+            "BB+", "BB", "BB-", "B+", "B", "B-", "CCC+", "CCC", "CCC-", "CC", "C");
+
+    private String[] moodysRatings;
+    private String[] sandPRatings;
+    private String[] fitchRatings;
+    private int[] moodysCodes;
+    private int[] sandPCodes;
+    private int[] fitchCodes;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        moodysRatings = new String[RATINGS];
+        sandPRatings = new String[RATINGS];
+        fitchRatings = new String[RATINGS];
+        moodysCodes = new int[RATINGS];
+        sandPCodes = new int[RATINGS];
+        fitchCodes = new int[RATINGS];
+        for (int i = 0; i < RATINGS; i++) {
+            int ordinal = random.nextInt(MOODYS.size() - 2);
+            // Copies, as read from the database, so that equals compares the characters
+            moodysRatings[i] = new String(MOODYS.get(ordinal + random.nextInt(3)));
+            sandPRatings[i] = new String(LETTERS.get(ordinal + random.nextInt(3)));
+            fitchRatings[i] = new String(LETTERS.get(ordinal + random.nextInt(3)));
+            moodysCodes[i] = RatingScale.code(moodysRatings[i]);
+            sandPCodes[i] = RatingScale.code(sandPRatings[i]);
+            fitchCodes[i] = RatingScale.code(fitchRatings[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RATINGS)
+    public int naive() {
+        int matched = 0;
+        for (int i = 0; i < RATINGS; i++) {
+            int moodys = MOODYS.indexOf(moodysRatings[i]);
+            int sandP = LETTERS.indexOf(sandPRatings[i]);
+            int fitch = LETTERS.indexOf(fitchRatings[i]);
+            if (moodys >= 0 && sandP >= 0 && fitch >= 0
+                    && moodys <= MOODYS.indexOf("Baa3") && sandP <= LETTERS.indexOf("BBB-")
+                    && fitch <= LETTERS.indexOf("BBB-")) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RATINGS)
+    public int lookup() {
+        int matched = 0;
+        for (int i = 0; i < RATINGS; i++) {
+            if (RatingScale.isInvestmentGrade(
+                    RatingScale.worstOrdinal(moodysRatings[i], sandPRatings[i], fitchRatings[i]))) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RATINGS)
+    public int interned() {
+        int matched = 0;
+        for (int i = 0; i < RATINGS; i++) {
+            int moodys = RatingScale.ordinal(Agency.MOODYS, moodysCodes[i]);
+            int sandP = RatingScale.ordinal(Agency.SANDP, sandPCodes[i]);
+            int fitch = RatingScale.ordinal(Agency.FITCH, fitchCodes[i]);
+            if (moodys != RatingScale.UNRATED && sandP != RatingScale.UNRATED && fitch != RatingScale.UNRATED
+                    && RatingScale.isInvestmentGrade(Math.max(moodys, Math.max(sandP, fitch)))) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RatingScaleBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,82 @@
+package com.nnk.springboot.benchmarks;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.services.CompiledRule;
+import com.nnk.springboot.services.RuleScheduler;
+import com.nnk.springboot.services.RuleTarget;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Measures the cost per record of a compiled rule over 100,000 trades, for a single comparison and for a
+ * condition mixing comparisons, IN, BETWEEN, LIKE and dates, the predicate being tested in a plain loop as
+ * {@link RuleScheduler} tests it against each changed record.
+ *
+ * <p>
+ * Run it from the IDE with {@link #main(String[])} after {@code mvn test-compile}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RuleEngineBenchmark {
+    private static final int RECORDS = 100_000;
+    private static final LocalDateTime FIRST_TRADE_DATE = LocalDateTime.of(2023, 7, 1, 0, 0);
+
+    @Param({"buyQuantity > 500",
+            "account IN ('Account1', 'Account3') AND (buyPrice BETWEEN 10 AND 20 OR benchmark LIKE 'EUR%') "
+                    + "AND tradeDate >= '2024-01-01' AND NOT status = 'CLOSED'"})
+    private String condition;
+
+    private Predicate<Trade> predicate;
+    private List<Trade> trades;
+
+    @Setup
+    public void setUp() {
+        predicate = CompiledRule.compile(1, condition).predicateFor(RuleTarget.TRADE);
+
+        SplittableRandom random = new SplittableRandom(42);
+        String[] benchmarks = {"EURIBOR", "SOFR", "ESTR", "EUR-CMS"};
+        trades = new ArrayList<>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            Trade trade = new Trade();
+            trade.setId(i + 1);
+            trade.setAccount("Account" + random.nextInt(5));
+            trade.setBuyQuantity(random.nextDouble() * 1_000);
+            trade.setBuyPrice(random.nextDouble() * 30);
+            trade.setBenchmark(benchmarks[random.nextInt(benchmarks.length)]);
+            trade.setStatus(random.nextInt(4) == 0 ? "CLOSED" : "OPEN");
+            trade.setTradeDate(Timestamp.valueOf(FIRST_TRADE_DATE.plusDays(random.nextInt(365))));
+            trades.add(trade);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public int loop() {
+        int matched = 0;
+        for (Trade trade : trades) {
+            if (predicate.test(trade)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RuleEngineBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -50,7 +50,20 @@ public class BidListControllerTests {
     void testGetHomePage() throws Exception {
         mockMvc.perform(get("/bidList/list").with(user("testuser").roles("USER")))
                .andExpect(status().isOk())
-               .andExpect(view().name("bidList/list"));
+               .andExpect(view().name("bidList/list"))
+               .andExpect(model().attribute("bidLists", Matchers.hasSize(1)))
+               .andExpect(model().attribute("nextCursor", Matchers.nullValue()));
+    }
+
+    @Test
+    void testGetHomePage_AfterCursor() throws Exception {
+        Integer id = bidListRepository.findAll().get(0).getId();
+
+        mockMvc.perform(get("/bidList/list").param("after", String.valueOf(id))
+                                            .with(user("testuser").roles("USER")))
+               .andExpect(status().isOk())
+               .andExpect(view().name("bidList/list"))
+               .andExpect(model().attribute("bidLists", Matchers.hasSize(0)));
     }
 
     @Test
@@ -105,6 +118,7 @@ public class BidListControllerTests {
 
         mockMvc.perform(post("/bidList/update/" + id).with(csrf())
                                                  .with(user("testuser").roles("USER"))
+                                                 .param("version", "0")
                                                  .param("account", "Account2")
                                                  .param("type", "Type2")
                                                  .param("bidQuantity", "20"))
@@ -121,6 +135,7 @@ public class BidListControllerTests {
 
         mockMvc.perform(post("/bidList/update/" + id).with(csrf())
                                                      .with(user("testuser").roles("USER"))
+                                                     .param("version", "0")
                                                      .param("account", "Account2")
                                                      .param("type", "Type2")
                                                      .param("bidQuantity", "0"))
@@ -133,6 +148,18 @@ public class BidListControllerTests {
         assertThat(bidLists.get(0).getBidQuantity()).isEqualTo(10d);
     }
 
+    @Test
+    void testPostUpdateBidList_NotFound() throws Exception {
+        mockMvc.perform(post("/bidList/update/" + Integer.MAX_VALUE).with(csrf())
+                                                                    .with(user("testuser").roles("USER"))
+                                                                    .param("version", "0")
+                                                                    .param("account", "Account2")
+                                                                    .param("type", "Type2")
+                                                                    .param("bidQuantity", "20"))
+               .andExpect(status().isNotFound())
+               .andExpect(view().name("access/error"));
+    }
+
     @Test
     void testGetDeleteBidList() throws Exception {
         Integer id = bidListRepository.findAll().get(0).getId();
@@ -145,4 +172,54 @@ public class BidListControllerTests {
         List<BidList> bidLists = bidListRepository.findAll();
         assertThat(bidLists).hasSize(0);
     }
+
+    @Test
+    void testGetOrderBook() throws Exception {
+        mockMvc.perform(post("/bidList/validate").with(csrf())
+                                                 .with(user("testuser").roles("USER"))
+                                                 .param("account", "Account2")
+                                                 .param("type", "Type2")
+                                                 .param("bidQuantity", "20")
+                                                 .param("security", "BOOK-PAGE")
+                                                 .param("bid", "99.5")
+                                                 .param("ask", "100.5")
+                                                 .param("askQuantity", "5"))
+               .andExpect(status().is3xxRedirection());
+
+        mockMvc.perform(get("/bidList/book").param("security", "BOOK-PAGE")
+                                            .param("depth", "5")
+                                            .with(user("testuser").roles("USER")))
+               .andExpect(status().isOk())
+               .andExpect(view().name("bidList/book"))
+               .andExpect(model().attribute("securities", Matchers.hasItem("BOOK-PAGE")))
+               .andExpect(model().attribute("book", Matchers.hasProperty("bids", Matchers.hasSize(1))))
+               .andExpect(model().attribute("book", Matchers.hasProperty("asks", Matchers.hasSize(1))));
+    }
+
+    @Test
+    void testGetOrderBook_InvalidDepth() throws Exception {
+        mockMvc.perform(get("/bidList/book").param("depth", "0")
+                                            .with(user("testuser").roles("USER")))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetTopOfBook() throws Exception {
+        mockMvc.perform(post("/bidList/validate").with(csrf())
+                                                 .with(user("testuser").roles("USER"))
+                                                 .param("account", "Account2")
+                                                 .param("type", "Type2")
+                                                 .param("bidQuantity", "20")
+                                                 .param("security", "BOOK-TOP")
+                                                 .param("bid", "99.5"))
+               .andExpect(status().is3xxRedirection());
+
+        mockMvc.perform(get("/bidList/book/top").param("security", "BOOK-TOP")
+                                                .with(user("testuser").roles("USER")))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.security").value("BOOK-TOP"))
+               .andExpect(jsonPath("$.bidPrice").value(99.5))
+               .andExpect(jsonPath("$.bidQuantity").value(20.0))
+               .andExpect(jsonPath("$.askPrice").doesNotExist());
+    }
 }
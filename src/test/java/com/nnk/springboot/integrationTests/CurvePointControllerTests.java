@@ -1,7 +1,9 @@
 package com.nnk.springboot.integrationTests;
 
 import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.dto.CurvePointDTO;
 import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.services.CurveService;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +15,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,10 +29,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @Transactional
 @ActiveProfiles("test")
 public class CurvePointControllerTests {
+    private static final int CURVE_ID = 9001;
     @Autowired
     private MockMvc mockMvc;
     @Autowired
     private CurvePointRepository curvePointRepository;
+    @Autowired
+    private CurveService curveService;
 
     @BeforeEach
     void setUp() {
@@ -43,6 +49,7 @@ public class CurvePointControllerTests {
     @AfterEach
     void cleanUp() {
         curvePointRepository.deleteAll();
+        curveService.invalidate(CURVE_ID);
     }
 
     @Test
@@ -52,6 +59,26 @@ public class CurvePointControllerTests {
                .andExpect(view().name("curvePoint/list"));
     }
 
+    @Test
+    void testGetHomePage_FilterByCurveAndTerm() throws Exception {
+        for (double term : new double[]{1, 5, 9}) {
+            CurvePoint curvePoint = new CurvePoint();
+            curvePoint.setCurveId(CURVE_ID);
+            curvePoint.setTerm(term);
+            curvePoint.setValue(term);
+            curvePointRepository.save(curvePoint);
+        }
+
+        mockMvc.perform(get("/curvePoint/list").param("curveId", String.valueOf(CURVE_ID))
+                                               .param("minTerm", "2")
+                                               .with(user("testuser").roles("USER")))
+               .andExpect(status().isOk())
+               .andExpect(model().attribute("curvePoints", Matchers.hasSize(2)))
+               .andExpect(model().attribute("curveIds", Matchers.hasItem(CURVE_ID)));
+        assertThat(curvePointRepository.findAllByCurveIdAsDTO(CURVE_ID)).extracting(CurvePointDTO::getTerm)
+                                                                        .containsExactly(1d, 5d, 9d);
+    }
+
     @Test
     void testGetAddCurvePoint() throws Exception {
         mockMvc.perform(get("/curvePoint/add").with(user("testuser").roles("USER")))
@@ -102,6 +129,7 @@ public class CurvePointControllerTests {
 
         mockMvc.perform(post("/curvePoint/update/" + id).with(csrf())
                                                      .with(user("testuser").roles("USER"))
+                                                     .param("version", "0")
                                                      .param("term", "20")
                                                      .param("value", "20"))
                .andExpect(status().is3xxRedirection())
@@ -117,6 +145,7 @@ public class CurvePointControllerTests {
 
         mockMvc.perform(post("/curvePoint/update/" + id).with(csrf())
                                                      .with(user("testuser").roles("USER"))
+                                                     .param("version", "0")
                                                      .param("term", "20")
                                                      .param("value", "0"))
                .andExpect(status().isOk())
@@ -139,4 +168,80 @@ public class CurvePointControllerTests {
         List<CurvePoint> curvePoints = curvePointRepository.findAll();
         assertThat(curvePoints).hasSize(0);
     }
+
+    @Test
+    void testGetInterpolate() throws Exception {
+        for (double term : new double[]{1, 3}) {
+            CurvePoint curvePoint = new CurvePoint();
+            curvePoint.setCurveId(CURVE_ID);
+            curvePoint.setTerm(term);
+            curvePoint.setValue(term * 10);
+            curvePointRepository.save(curvePoint);
+        }
+
+        mockMvc.perform(get("/curvePoint/curve/" + CURVE_ID + "/interpolate").param("term", "2", "5")
+                                                                             .param("method", "CUBIC_SPLINE")
+                                                                             .with(user("testuser").roles("USER")))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.method").value("CUBIC_SPLINE"))
+               .andExpect(jsonPath("$.values[0]").value(20.0))
+               .andExpect(jsonPath("$.values[1]").value(30.0));
+    }
+
+    @Test
+    void testPostUpdateCurvePoint_ReloadsItsCurve() throws Exception {
+        CurvePoint curvePoint = new CurvePoint();
+        curvePoint.setCurveId(CURVE_ID);
+        curvePoint.setTerm(1d);
+        curvePoint.setValue(10d);
+        Integer id = curvePointRepository.save(curvePoint).getId();
+        mockMvc.perform(get("/curvePoint/curve/" + CURVE_ID + "/interpolate").param("term", "1")
+                                                                             .with(user("testuser").roles("USER")))
+               .andExpect(jsonPath("$.values[0]").value(10.0));
+
+        mockMvc.perform(post("/curvePoint/update/" + id).with(csrf())
+                                                     .with(user("testuser").roles("USER"))
+                                                     .param("version", "0")
+                                                     .param("term", "1")
+                                                     .param("value", "20"))
+               .andExpect(status().is3xxRedirection());
+
+        mockMvc.perform(get("/curvePoint/curve/" + CURVE_ID + "/interpolate").param("term", "1")
+                                                                             .with(user("testuser").roles("USER")))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.values[0]").value(20.0));
+    }
+
+    @Test
+    void testGetCurveAsOf() throws Exception {
+        for (String asOfDate : new String[]{"2024-01-31", "2024-02-29"}) {
+            CurvePoint curvePoint = new CurvePoint();
+            curvePoint.setCurveId(CURVE_ID);
+            curvePoint.setAsOfDate(Timestamp.valueOf(asOfDate + " 00:00:00"));
+            curvePoint.setTerm(1d);
+            curvePoint.setValue(asOfDate.endsWith("31") ? 1d : 2d);
+            curvePointRepository.save(curvePoint);
+        }
+
+        mockMvc.perform(get("/curvePoint/curve/" + CURVE_ID).param("asOf", "2024-02-15")
+                                                            .with(user("testuser").roles("USER")))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.asOfDate").value("2024-01-31T00:00:00"))
+               .andExpect(jsonPath("$.values[0]").value(1.0));
+        mockMvc.perform(get("/curvePoint/curve/" + CURVE_ID + "/interpolate").param("asOf", "2024-03-01")
+                                                                             .param("term", "1")
+                                                                             .with(user("testuser").roles("USER")))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.values[0]").value(2.0));
+        mockMvc.perform(get("/curvePoint/curve/" + CURVE_ID).param("asOf", "2024-01-30")
+                                                            .with(user("testuser").roles("USER")))
+               .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetInterpolate_UnknownCurve() throws Exception {
+        mockMvc.perform(get("/curvePoint/curve/" + CURVE_ID + "/interpolate").param("term", "2")
+                                                                             .with(user("testuser").roles("USER")))
+               .andExpect(status().isNotFound());
+    }
 }
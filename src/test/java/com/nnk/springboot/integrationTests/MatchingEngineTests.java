@@ -0,0 +1,104 @@
+package com.nnk.springboot.integrationTests;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.BidListDTO;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.BidListService;
+import com.nnk.springboot.services.MatchingEngine;
+import com.nnk.springboot.services.OrderBookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class MatchingEngineTests {
+    @Autowired
+    private MatchingEngine matchingEngine;
+    @Autowired
+    private BidListService bidListService;
+    @Autowired
+    private OrderBookService orderBookService;
+    @Autowired
+    private BidListRepository bidListRepository;
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @AfterEach
+    void cleanUp() {
+        List<Integer> ids = bidListRepository.findAll().stream().map(BidList::getId).toList();
+        bidListService.deleteBidLists(ids);
+        tradeRepository.deleteAll();
+    }
+
+    private static BidListDTO order(String account, String side, double price, double quantity) {
+        BidListDTO bidListDTO = new BidListDTO();
+        bidListDTO.setAccount(account);
+        bidListDTO.setType("Limit");
+        bidListDTO.setSecurity("MATCH");
+        bidListDTO.setSide(side);
+        if ("Buy".equals(side)) {
+            bidListDTO.setBid(price);
+            bidListDTO.setBidQuantity(quantity);
+        } else {
+            bidListDTO.setAsk(price);
+            bidListDTO.setAskQuantity(quantity);
+            bidListDTO.setBidQuantity(0d);
+        }
+        return bidListDTO;
+    }
+
+    private void awaitFills(int trades) throws InterruptedException {
+        for (int i = 0; i < 100 && (tradeRepository.count() < trades || matchingEngine.getPendingFills() > 0); i++) {
+            Thread.sleep(50);
+        }
+        Thread.sleep(50);
+    }
+
+    private BidList bidList(String account) {
+        return bidListRepository.findAll().stream()
+                                .filter(bidList -> account.equals(bidList.getAccount()))
+                                .findFirst()
+                                .orElseThrow();
+    }
+
+    @Test
+    void testFills_ShouldReduceRemainingQuantities() throws InterruptedException {
+        bidListService.addBidList(order("Seller", "Sell", 10.0, 5.0));
+        bidListService.addBidList(order("Buyer", "Buy", 12.0, 3.0));
+
+        awaitFills(2);
+
+        List<Trade> trades = tradeRepository.findAll();
+        assertThat(trades).hasSize(2);
+        assertThat(bidList("Buyer").getBidQuantity()).isEqualTo(0d);
+        assertThat(bidList("Seller").getAskQuantity()).isEqualTo(2d);
+        assertThat(orderBookService.getTopOfBook("MATCH").getAskQuantity()).isEqualTo(2d);
+    }
+
+    @Test
+    void testDeletedOrder_ShouldNotBeFilled() throws InterruptedException {
+        bidListService.addBidList(order("Deleted", "Sell", 10.0, 5.0));
+        Integer deleted = bidList("Deleted").getId();
+        bidListService.deleteBidList(deleted);
+        bidListService.addBidList(order("Seller", "Sell", 11.0, 5.0));
+        bidListService.addBidList(order("Buyer", "Buy", 12.0, 3.0));
+
+        awaitFills(2);
+
+        List<Trade> trades = tradeRepository.findAll();
+        assertThat(trades).hasSize(2);
+        assertThat(trades).extracting(Trade::getSourceListId)
+                          .doesNotContain(String.valueOf(deleted));
+        assertThat(trades).extracting(Trade::getSellPrice)
+                          .contains(11.0);
+    }
+}
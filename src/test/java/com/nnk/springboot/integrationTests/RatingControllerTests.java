@@ -2,6 +2,7 @@ package com.nnk.springboot.integrationTests;
 
 import com.nnk.springboot.domain.Rating;
 import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.services.RatingService;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,21 +31,25 @@ public class RatingControllerTests {
     private MockMvc mockMvc;
     @Autowired
     private RatingRepository ratingRepository;
+    @Autowired
+    private RatingService ratingService;
 
     @BeforeEach
     void setUp() {
         Rating rating = new Rating();
-        rating.setFitchRating("1");
-        rating.setSandPRating("1");
-        rating.setMoodysRating("1");
+        rating.setFitchRating("AA");
+        rating.setSandPRating("AA");
+        rating.setMoodysRating("Aa2");
         rating.setOrderNumber(1);
 
         ratingRepository.save(rating);
+        ratingService.reload();
     }
 
     @AfterEach
     void cleanUp() {
         ratingRepository.deleteAll();
+        ratingService.reload();
     }
 
     @Test
@@ -54,6 +59,50 @@ public class RatingControllerTests {
                .andExpect(view().name("rating/list"));
     }
 
+    @Test
+    void testGetHomePage_AtLeast() throws Exception {
+        Rating split = new Rating();
+        split.setFitchRating("BB+");
+        split.setSandPRating("BBB-");
+        split.setMoodysRating("Baa3");
+        split.setOrderNumber(2);
+        ratingRepository.save(split);
+        ratingService.reload();
+
+        mockMvc.perform(get("/rating/list").with(user("testuser").roles("USER"))
+                                           .param("atLeast", "BBB-"))
+               .andExpect(status().isOk())
+               .andExpect(model().attribute("ratings", Matchers.contains(
+                       Matchers.hasProperty("moodysRating", Matchers.equalTo("Aa2")))));
+    }
+
+    @Test
+    void testGetHomePage_AtLeastUnknownNotation() throws Exception {
+        mockMvc.perform(get("/rating/list").with(user("testuser").roles("USER"))
+                                           .param("atLeast", "2"))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetHomePage_ReadsSnapshot() throws Exception {
+        Rating unseen = new Rating();
+        unseen.setFitchRating("A");
+        unseen.setSandPRating("A");
+        unseen.setMoodysRating("A2");
+        unseen.setOrderNumber(2);
+        ratingRepository.save(unseen);
+
+        mockMvc.perform(get("/rating/list").with(user("testuser").roles("USER")))
+               .andExpect(status().isOk())
+               .andExpect(model().attribute("ratings", Matchers.hasSize(1)));
+
+        ratingService.reload();
+
+        mockMvc.perform(get("/rating/list").with(user("testuser").roles("USER")))
+               .andExpect(status().isOk())
+               .andExpect(model().attribute("ratings", Matchers.hasSize(2)));
+    }
+
     @Test
     void testGetAddRating() throws Exception {
         mockMvc.perform(get("/rating/add").with(user("testuser").roles("USER")))
@@ -77,24 +126,25 @@ public class RatingControllerTests {
     void testPostAddRating_Success() throws Exception {
         mockMvc.perform(post("/rating/validate").with(csrf())
                                                 .with(user("testuser").roles("USER"))
-                                                .param("fitchRating", "2")
-                                                .param("sandPRating", "2")
-                                                .param("moodysRating", "2")
+                                                .param("fitchRating", "BBB+")
+                                                .param("sandPRating", "BBB+")
+                                                .param("moodysRating", "Baa1")
                                                 .param("order", "2"))
                .andExpect(status().is3xxRedirection())
                .andExpect(view().name("redirect:/rating/list"));
 
         List<Rating> ratings = ratingRepository.findAll();
         assertThat(ratings).hasSize(2);
+        assertThat(ratingService.getRatingsByOrderNumber(2)).hasSize(1);
     }
 
     @Test
     void testPostAddRating_Failure() throws Exception {
         mockMvc.perform(post("/rating/validate").with(csrf())
                                                 .with(user("testuser").roles("USER"))
-                                                .param("fitchRating", "2")
-                                                .param("sandPRating", "2")
-                                                .param("moodysRating", "2")
+                                                .param("fitchRating", "BBB+")
+                                                .param("sandPRating", "BBB+")
+                                                .param("moodysRating", "Baa1")
                                                 .param("order", "0"))
                .andExpect(status().isOk())
                .andExpect(view().name("rating/add"))
@@ -104,6 +154,23 @@ public class RatingControllerTests {
         assertThat(ratings).hasSize(1);
     }
 
+    @Test
+    void testPostAddRating_NotationOfAnotherAgency() throws Exception {
+        mockMvc.perform(post("/rating/validate").with(csrf())
+                                                .with(user("testuser").roles("USER"))
+                                                .param("fitchRating", "BBB+")
+                                                .param("sandPRating", "Baa1")
+                                                .param("moodysRating", "BBB+")
+                                                .param("order", "2"))
+               .andExpect(status().isOk())
+               .andExpect(view().name("rating/add"))
+               .andExpect(model().attributeHasFieldErrors("rating", "sandPRating", "moodysRating"))
+               .andExpect(model().errorCount(2));
+
+        List<Rating> ratings = ratingRepository.findAll();
+        assertThat(ratings).hasSize(1);
+    }
+
     @Test
     void testPostUpdateRating_Success() throws Exception {
         Integer id = ratingRepository.findAll()
@@ -112,9 +179,9 @@ public class RatingControllerTests {
 
         mockMvc.perform(post("/rating/update/" + id).with(csrf())
                                                     .with(user("testuser").roles("USER"))
-                                                    .param("fitchRating", "2")
-                                                    .param("sandPRating", "2")
-                                                    .param("moodysRating", "2")
+                                                    .param("fitchRating", "BBB+")
+                                                    .param("sandPRating", "BBB+")
+                                                    .param("moodysRating", "Baa1")
                                                     .param("order", "2"))
                .andExpect(status().is3xxRedirection())
                .andExpect(view().name("redirect:/rating/list"));
@@ -132,9 +199,9 @@ public class RatingControllerTests {
 
         mockMvc.perform(post("/rating/update/" + id).with(csrf())
                                                     .with(user("testuser").roles("USER"))
-                                                    .param("fitchRating", "2")
-                                                    .param("sandPRating", "2")
-                                                    .param("moodysRating", "2")
+                                                    .param("fitchRating", "BBB+")
+                                                    .param("sandPRating", "BBB+")
+                                                    .param("moodysRating", "Baa1")
                                                     .param("order", "0"))
                .andExpect(status().isOk())
                .andExpect(view().name("rating/update"))
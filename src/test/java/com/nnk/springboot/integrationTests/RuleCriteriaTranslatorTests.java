@@ -0,0 +1,105 @@
+package com.nnk.springboot.integrationTests;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.CompiledRule;
+import com.nnk.springboot.services.RuleEngine;
+import com.nnk.springboot.services.RuleTarget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class RuleCriteriaTranslatorTests {
+    @Autowired
+    private RuleEngine ruleEngine;
+    @Autowired
+    private TradeRepository tradeRepository;
+    @Autowired
+    private BidListRepository bidListRepository;
+
+    private List<Trade> trades;
+
+    @BeforeEach
+    void setUp() {
+        String[] accounts = {"Account1", "Account2", "Acc_3", null};
+        String[] books = {"Book1", "Book2", null};
+        trades = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            Trade trade = new Trade();
+            trade.setAccount(accounts[i % accounts.length]);
+            trade.setBook(books[i % books.length]);
+            trade.setBuyQuantity(i % 5 == 0 ? null : (double) i);
+            trade.setTradeDate(i % 6 == 0 ? null : Timestamp.valueOf(LocalDateTime.of(2024, 1, 10, 12, 0).plusDays(i)));
+            trades.add(trade);
+        }
+        trades = tradeRepository.saveAll(trades);
+
+        BidList bidList = new BidList();
+        bidList.setAccount("Account1");
+        bidListRepository.save(bidList);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        tradeRepository.deleteAll();
+        bidListRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "account = 'Account1'",
+            "account = 'Account1' AND book = 'Book2'",
+            "account <> 'Account1'",
+            "NOT (account = 'Account1' OR buyQuantity > 10)",
+            "buyQuantity BETWEEN 3 AND 12 AND NOT buyQuantity IN (4, 7)",
+            "buyQuantity NOT BETWEEN 3 AND 12",
+            "account IN ('Account2', 'Acc_3') OR book IS NULL",
+            "account LIKE 'Acc\\_%' AND account NOT LIKE '%1'",
+            "account LIKE 'Acc_3'",
+            "tradeDate >= '2024-01-20' AND tradeDate < '2024-01-25 00:00:00'",
+            "NOT tradeDate IS NOT NULL",
+            "book > 'Book1' OR buyQuantity <= 2"
+    })
+    void testRun_MatchesInMemoryEvaluation(String condition) {
+        RuleName ruleName = new RuleName();
+        ruleName.setSqlPart(condition);
+        Predicate<Trade> predicate = CompiledRule.compile(null, condition).predicateFor(RuleTarget.TRADE);
+        int[] expected = trades.stream()
+                               .filter(predicate)
+                               .mapToInt(Trade::getId)
+                               .sorted()
+                               .toArray();
+
+        int[] matchedIds = ruleEngine.run(ruleName, RuleTarget.TRADE).getMatchedIds();
+
+        assertThat(matchedIds).containsExactly(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"account = 'Account1'", "bid IS NULL AND bidListDate IS NULL"})
+    void testRun_BidLists(String condition) {
+        RuleName ruleName = new RuleName();
+        ruleName.setSqlPart(condition);
+
+        int[] matchedIds = ruleEngine.run(ruleName, RuleTarget.BID_LIST).getMatchedIds();
+
+        assertThat(matchedIds).hasSize(1);
+    }
+}
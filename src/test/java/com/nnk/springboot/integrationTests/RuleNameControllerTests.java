@@ -1,7 +1,11 @@
 package com.nnk.springboot.integrationTests;
 
+import com.nnk.springboot.domain.RuleHit;
 import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.RuleHitRepository;
 import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.TradeRepository;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +17,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -30,6 +35,10 @@ public class RuleNameControllerTests {
     private MockMvc mockMvc;
     @Autowired
     private RuleNameRepository ruleNameRepository;
+    @Autowired
+    private TradeRepository tradeRepository;
+    @Autowired
+    private RuleHitRepository ruleHitRepository;
 
     @BeforeEach
     void setUp() {
@@ -47,6 +56,8 @@ public class RuleNameControllerTests {
     @AfterEach
     void cleanUp() {
         ruleNameRepository.deleteAll();
+        tradeRepository.deleteAll();
+        ruleHitRepository.deleteAll();
     }
 
     @Test
@@ -84,7 +95,7 @@ public class RuleNameControllerTests {
                                                   .param("template", "Template2")
                                                   .param("json", "Json2")
                                                   .param("sql", "SQL2")
-                                                  .param("sqlPart", "Part2"))
+                                                  .param("sqlPart", "account = 'Account2'"))
                .andExpect(status().is3xxRedirection())
                .andExpect(view().name("redirect:/ruleName/list"));
 
@@ -101,7 +112,7 @@ public class RuleNameControllerTests {
                                                   .param("template", "Template2")
                                                   .param("json", "Json2")
                                                   .param("sql", "SQL2")
-                                                  .param("sqlPart", "Part2"))
+                                                  .param("sqlPart", "account = 'Account2'"))
                .andExpect(status().isOk())
                .andExpect(view().name("ruleName/add"))
                .andExpect(model().attributeHasFieldErrors("ruleName", "name"));
@@ -123,7 +134,7 @@ public class RuleNameControllerTests {
                                                       .param("template", "Template2")
                                                       .param("json", "Json2")
                                                       .param("sql", "SQL2")
-                                                      .param("sqlPart", "Part2"))
+                                                      .param("sqlPart", "account = 'Account2'"))
                .andExpect(status().is3xxRedirection())
                .andExpect(view().name("redirect:/ruleName/list"));
 
@@ -145,7 +156,7 @@ public class RuleNameControllerTests {
                                                       .param("template", "Template2")
                                                       .param("json", "Json2")
                                                       .param("sql", "SQL2")
-                                                      .param("sqlPart", "Part2"))
+                                                      .param("sqlPart", "account = 'Account2'"))
                .andExpect(status().isOk())
                .andExpect(view().name("ruleName/update"))
                .andExpect(model().attributeHasFieldErrors("ruleName", "name"));
@@ -168,4 +179,119 @@ public class RuleNameControllerTests {
         List<RuleName> ruleNames = ruleNameRepository.findAll();
         assertThat(ruleNames).hasSize(0);
     }
+
+    @Test
+    void testGetRunRuleName_Success() throws Exception {
+        Trade small = new Trade();
+        small.setAccount("Account1");
+        small.setBuyQuantity(1d);
+        Trade large = new Trade();
+        large.setAccount("Account1");
+        large.setBuyQuantity(10d);
+        tradeRepository.saveAll(List.of(small, large));
+
+        RuleName ruleName = new RuleName();
+        ruleName.setName("Large");
+        ruleName.setSqlPart("account = 'Account1' AND buyQuantity > 5");
+        Integer id = ruleNameRepository.save(ruleName)
+                                       .getId();
+
+        mockMvc.perform(get("/ruleName/run/" + id).with(user("testuser").roles("USER"))
+                                                  .param("target", "TRADE"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.ruleId").value(id))
+               .andExpect(jsonPath("$.matchedIds.length()").value(1))
+               .andExpect(jsonPath("$.matchedIds[0]").value(large.getId()));
+    }
+
+    @Test
+    void testGetRuleHits() throws Exception {
+        Integer id = ruleNameRepository.findAll()
+                                       .get(0)
+                                       .getId();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        ruleHitRepository.saveAll(List.of(new RuleHit(id, "TRADE", 12, now),
+                                          new RuleHit(id, "TRADE", 3, now),
+                                          new RuleHit(id, "BID_LIST", 5, now)));
+
+        mockMvc.perform(get("/ruleName/hits/" + id).with(user("testuser").roles("USER"))
+                                                   .param("target", "TRADE"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.target").value("TRADE"))
+               .andExpect(jsonPath("$.matchedIds.length()").value(2))
+               .andExpect(jsonPath("$.matchedIds[0]").value(3))
+               .andExpect(jsonPath("$.matchedIds[1]").value(12));
+    }
+
+    @Test
+    void testGetRuleHits_NotFound() throws Exception {
+        mockMvc.perform(get("/ruleName/hits/0").with(user("testuser").roles("USER"))
+                                               .param("target", "TRADE"))
+               .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetRunRuleName_UnsupportedCondition() throws Exception {
+        Integer id = ruleNameRepository.findAll()
+                                       .get(0)
+                                       .getId();
+
+        mockMvc.perform(get("/ruleName/run/" + id).with(user("testuser").roles("USER"))
+                                                  .param("target", "TRADE"))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetRunRuleName_UnknownTarget() throws Exception {
+        Integer id = ruleNameRepository.findAll()
+                                       .get(0)
+                                       .getId();
+
+        mockMvc.perform(get("/ruleName/run/" + id).with(user("testuser").roles("USER"))
+                                                  .param("target", "RATING"))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testPostAddRuleName_UnsupportedCondition() throws Exception {
+        mockMvc.perform(post("/ruleName/validate").with(csrf())
+                                                  .with(user("testuser").roles("USER"))
+                                                  .param("name", "Name2")
+                                                  .param("description", "Description2")
+                                                  .param("template", "Template2")
+                                                  .param("json", "Json2")
+                                                  .param("sql", "SQL2")
+                                                  .param("sqlPart", "'${x}' = account"))
+               .andExpect(status().isOk())
+               .andExpect(view().name("ruleName/add"))
+               .andExpect(model().attributeHasFieldErrorCode("ruleName", "sqlPart", "RuleCondition"))
+               .andExpect(content().string(Matchers.containsString(
+                       "SQLPart is not a supported condition: Unexpected &#39;&#39;${x}&#39;&#39; at position 1")));
+
+        List<RuleName> ruleNames = ruleNameRepository.findAll();
+        assertThat(ruleNames).hasSize(1);
+    }
+
+    @Test
+    void testPostUpdateRuleName_UnsupportedCondition() throws Exception {
+        Integer id = ruleNameRepository.findAll()
+                                       .get(0)
+                                       .getId();
+
+        mockMvc.perform(post("/ruleName/update/" + id).with(csrf())
+                                                      .with(user("testuser").roles("USER"))
+                                                      .param("name", "Name2")
+                                                      .param("description", "Description2")
+                                                      .param("template", "Template2")
+                                                      .param("json", "Json2")
+                                                      .param("sql", "SQL2")
+                                                      .param("sqlPart", "commentary = 'x'"))
+               .andExpect(status().isOk())
+               .andExpect(view().name("ruleName/update"))
+               .andExpect(model().attributeHasFieldErrors("ruleName", "sqlPart"));
+
+        List<RuleName> ruleNames = ruleNameRepository.findAll();
+        assertThat(ruleNames.get(0)
+                            .getName()).isEqualTo("Name1");
+    }
 }
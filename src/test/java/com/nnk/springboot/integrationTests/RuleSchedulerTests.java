@@ -0,0 +1,124 @@
+package com.nnk.springboot.integrationTests;
+
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.repositories.RuleHitRepository;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.RuleScheduler;
+import com.nnk.springboot.services.RuleTarget;
+import com.nnk.springboot.services.TradeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class RuleSchedulerTests {
+    @Autowired
+    private RuleScheduler ruleScheduler;
+    @Autowired
+    private TradeService tradeService;
+    @Autowired
+    private TradeRepository tradeRepository;
+    @Autowired
+    private RuleNameRepository ruleNameRepository;
+    @Autowired
+    private RuleHitRepository ruleHitRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private List<Trade> trades;
+    private Integer accountRule;
+    private Integer quantityRule;
+
+    @BeforeEach
+    void setUp() {
+        trades = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Trade trade = new Trade();
+            trade.setAccount("Account" + i % 2);
+            trade.setType("Type1");
+            trade.setBuyQuantity((double) i);
+            trades.add(trade);
+        }
+        trades = tradeRepository.saveAll(trades);
+
+        RuleName account = new RuleName();
+        account.setName("Account1");
+        account.setSqlPart("account = 'Account1'");
+        RuleName quantity = new RuleName();
+        quantity.setName("Large");
+        quantity.setSqlPart("buyQuantity >= 3");
+        accountRule = ruleNameRepository.save(account).getId();
+        quantityRule = ruleNameRepository.save(quantity).getId();
+    }
+
+    @AfterEach
+    void cleanUp() throws InterruptedException {
+        awaitIncrementalEvaluations();
+        ruleNameRepository.deleteAll();
+        tradeRepository.deleteAll();
+        ruleHitRepository.deleteAll();
+    }
+
+    private void awaitIncrementalEvaluations() throws InterruptedException {
+        for (int i = 0; i < 100 && meterRegistry.get("rules.incremental.pending").gauge().value() > 0; i++) {
+            Thread.sleep(50);
+        }
+        Thread.sleep(50);
+    }
+
+    private List<Integer> ids(int... indexes) {
+        List<Integer> ids = new ArrayList<>();
+        for (int index : indexes) {
+            ids.add(trades.get(index).getId());
+        }
+        return ids;
+    }
+
+    @Test
+    void testRunAll_MaterializesHits() {
+        assertThat(ruleScheduler.runAll()).isEqualTo(3);
+
+        assertThat(ruleHitRepository.findRecordIds(accountRule, RuleTarget.TRADE.name())).isEqualTo(ids(1, 3, 5));
+        assertThat(ruleHitRepository.findRecordIds(quantityRule, RuleTarget.TRADE.name())).isEqualTo(ids(3, 4, 5));
+        assertThat(ruleHitRepository.findRecordIds(accountRule, RuleTarget.BID_LIST.name())).isEmpty();
+    }
+
+    @Test
+    void testUpdateTrade_ReplacesHitsOfRecord() throws InterruptedException {
+        ruleScheduler.runAll();
+        Integer id = trades.get(0).getId();
+        TradeDTO tradeDTO = tradeService.findTradeToUpdate(id);
+        tradeDTO.setAccount("Account1");
+        tradeDTO.setBuyQuantity(10d);
+
+        tradeService.updateTrade(id, tradeDTO);
+        awaitIncrementalEvaluations();
+
+        assertThat(ruleHitRepository.findRecordIds(accountRule, RuleTarget.TRADE.name())).isEqualTo(ids(0, 1, 3, 5));
+        assertThat(ruleHitRepository.findRecordIds(quantityRule, RuleTarget.TRADE.name())).isEqualTo(ids(0, 3, 4, 5));
+    }
+
+    @Test
+    void testDeleteTrade_DeletesHitsOfRecord() throws InterruptedException {
+        ruleScheduler.runAll();
+
+        tradeService.deleteTrade(trades.get(5).getId());
+        awaitIncrementalEvaluations();
+
+        assertThat(ruleHitRepository.findRecordIds(accountRule, RuleTarget.TRADE.name())).isEqualTo(ids(1, 3));
+        assertThat(ruleHitRepository.findRecordIds(quantityRule, RuleTarget.TRADE.name())).isEqualTo(ids(3, 4));
+    }
+}
@@ -9,8 +9,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -109,6 +112,7 @@ public class TradeControllerTests {
 
         mockMvc.perform(post("/trade/update/" + id).with(csrf())
                                                       .with(user("testuser").roles("USER"))
+                                                   .param("version", "0")
                                                    .param("account", "Account2")
                                                    .param("type", "Type2")
                                                    .param("buyQuantity", "20"))
@@ -128,6 +132,7 @@ public class TradeControllerTests {
 
         mockMvc.perform(post("/trade/update/" + id).with(csrf())
                                                       .with(user("testuser").roles("USER"))
+                                                   .param("version", "0")
                                                    .param("account", "Account2")
                                                    .param("type", "Type2")
                                                    .param("buyQuantity", "0"))
@@ -140,6 +145,54 @@ public class TradeControllerTests {
                             .getBuyQuantity()).isEqualTo(10d);
     }
 
+    @Test
+    void testPostUpdateTrade_MissingVersion() throws Exception {
+        Integer id = tradeRepository.findAll()
+                                    .get(0)
+                                    .getId();
+
+        mockMvc.perform(post("/trade/update/" + id).with(csrf())
+                                                   .with(user("testuser").roles("USER"))
+                                                   .param("account", "Account2")
+                                                   .param("type", "Type2")
+                                                   .param("buyQuantity", "20"))
+               .andExpect(status().isBadRequest())
+               .andExpect(view().name("access/error"));
+
+        List<Trade> trades = tradeRepository.findAll();
+        assertThat(trades.get(0)
+                         .getBuyQuantity()).isEqualTo(10d);
+    }
+
+    @Test
+    void testPostUpdateTrade_Conflict() throws Exception {
+        Integer id = tradeRepository.findAll()
+                                    .get(0)
+                                    .getId();
+
+        mockMvc.perform(post("/trade/update/" + id).with(csrf())
+                                                   .with(user("testuser").roles("USER"))
+                                                   .param("version", "0")
+                                                   .param("account", "Account2")
+                                                   .param("type", "Type2")
+                                                   .param("buyQuantity", "20"))
+               .andExpect(status().is3xxRedirection());
+
+        mockMvc.perform(post("/trade/update/" + id).with(csrf())
+                                                   .with(user("testuser").roles("USER"))
+                                                   .param("version", "0")
+                                                   .param("account", "Account3")
+                                                   .param("type", "Type3")
+                                                   .param("buyQuantity", "30"))
+               .andExpect(status().isConflict())
+               .andExpect(view().name("access/conflict"))
+               .andExpect(model().attribute("reloadUrl", "/trade/update/" + id));
+
+        Trade trade = tradeRepository.findById(id).orElseThrow();
+        assertThat(trade.getBuyQuantity()).isEqualTo(20d);
+        assertThat(trade.getVersion()).isEqualTo(1);
+    }
+
     @Test
     void testGetDeleteTrade() throws Exception {
         Integer id = tradeRepository.findAll()
@@ -153,4 +206,161 @@ public class TradeControllerTests {
         List<Trade> trades = tradeRepository.findAll();
         assertThat(trades).hasSize(0);
     }
+
+    @Test
+    void testGetDeleteTrade_NotFound() throws Exception {
+        mockMvc.perform(get("/trade/delete/" + Integer.MAX_VALUE).with(user("testuser").roles("USER")))
+               .andExpect(status().isNotFound())
+               .andExpect(view().name("access/error"));
+
+        assertThat(tradeRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void testPostDeleteTrades() throws Exception {
+        Trade other = new Trade();
+        other.setType("Type2");
+        other.setAccount("Account2");
+        other.setBuyQuantity(20d);
+        tradeRepository.save(other);
+        List<Trade> trades = tradeRepository.findAll();
+
+        mockMvc.perform(post("/trade/delete").with(csrf())
+                                             .with(user("testuser").roles("USER"))
+                                             .param("ids", String.valueOf(trades.get(0).getId()),
+                                                    String.valueOf(trades.get(1).getId())))
+               .andExpect(status().is3xxRedirection())
+               .andExpect(view().name("redirect:/trade/list"));
+
+        assertThat(tradeRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void testPostDeleteTrades_NoSelection() throws Exception {
+        mockMvc.perform(post("/trade/delete").with(csrf()).with(user("testuser").roles("USER")))
+               .andExpect(status().is3xxRedirection())
+               .andExpect(view().name("redirect:/trade/list"));
+
+        assertThat(tradeRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void testGetExportTrades() throws Exception {
+        MvcResult result = mockMvc.perform(get("/trade/export").param("format", "ndjson")
+                                                               .with(user("testuser").roles("USER")))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+               .andExpect(status().isOk())
+               .andExpect(header().string("Content-Disposition", Matchers.containsString("trades.ndjson")))
+               .andExpect(content().contentType("application/x-ndjson"));
+    }
+
+    @Test
+    void testGetExportTrades_UnsupportedFormat() throws Exception {
+        mockMvc.perform(get("/trade/export").param("format", "xml")
+                                            .with(user("testuser").roles("USER")))
+               .andExpect(status().isBadRequest())
+               .andExpect(view().name("access/error"));
+    }
+
+    @Test
+    void testPostImportTrades() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "trades.csv", "text/csv",
+                                                       "account,type,buyQuantity\nAccount2,Type2,20\n,Type3,30\n".getBytes());
+
+        mockMvc.perform(multipart("/trade/import").file(file)
+                                                  .with(csrf())
+                                                  .with(user("testuser").roles("USER")))
+               .andExpect(status().isOk())
+               .andExpect(view().name("import/import"))
+               .andExpect(model().attribute("report", Matchers.hasProperty("rowsImported", Matchers.equalTo(1L))))
+               .andExpect(model().attribute("report", Matchers.hasProperty("rowsRejected", Matchers.equalTo(1L))));
+
+        List<Trade> trades = tradeRepository.findAll();
+        assertThat(trades).hasSize(2);
+    }
+
+    @Test
+    void testRebuildPositions_ThenGetPositions() throws Exception {
+        mockMvc.perform(post("/admin/trade/positions/rebuild").with(csrf())
+                                                              .with(user("admin").roles("ADMIN")))
+               .andExpect(status().is3xxRedirection())
+               .andExpect(redirectedUrl("/trade/positions"));
+
+        mockMvc.perform(get("/trade/positions").param("account", "Account1")
+                                               .with(user("testuser").roles("USER")))
+               .andExpect(status().isOk())
+               .andExpect(view().name("trade/positions"))
+               .andExpect(model().attribute("positions", Matchers.hasSize(1)));
+    }
+
+    @Test
+    void testRebuildPositions_Forbidden() throws Exception {
+        mockMvc.perform(post("/admin/trade/positions/rebuild").with(csrf())
+                                                              .with(user("testuser").roles("USER")))
+               .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testGetPositions_Json() throws Exception {
+        mockMvc.perform(post("/trade/validate").with(csrf())
+                                               .with(user("testuser").roles("USER"))
+                                               .param("account", "PositionAccount")
+                                               .param("type", "Type2")
+                                               .param("buyQuantity", "20"))
+               .andExpect(status().is3xxRedirection());
+
+        mockMvc.perform(get("/trade/positions").param("account", "PositionAccount")
+                                               .accept(MediaType.APPLICATION_JSON)
+                                               .with(user("testuser").roles("USER")))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].account").value("PositionAccount"))
+               .andExpect(jsonPath("$[0].boughtQuantity").value(20.0))
+               .andExpect(jsonPath("$[0].netQuantity").value(20.0))
+               .andExpect(jsonPath("$[0].tradeCount").value(1));
+    }
+
+    @Test
+    void testGetPnl() throws Exception {
+        mockMvc.perform(get("/trade/pnl").with(user("testuser").roles("USER")))
+               .andExpect(status().isOk())
+               .andExpect(view().name("trade/pnl"))
+               .andExpect(model().attributeExists("pnl"));
+    }
+
+    @Test
+    void testRecomputePnl_ThenGetPnlJson() throws Exception {
+        Trade buy = new Trade();
+        buy.setAccount("PnlAccount");
+        buy.setType("Match");
+        buy.setTrader("PnlTrader");
+        buy.setBook("PnlBook");
+        buy.setSecurity("PNL");
+        buy.setBuyQuantity(10d);
+        buy.setBuyPrice(100d);
+        Trade sell = new Trade();
+        sell.setAccount("PnlAccount");
+        sell.setType("Match");
+        sell.setTrader("PnlTrader");
+        sell.setBook("PnlBook");
+        sell.setSecurity("PNL");
+        sell.setSellQuantity(10d);
+        sell.setSellPrice(105d);
+        tradeRepository.saveAll(List.of(buy, sell));
+
+        mockMvc.perform(post("/admin/trade/pnl/recompute").with(csrf())
+                                                          .with(user("admin").roles("ADMIN")))
+               .andExpect(status().is3xxRedirection())
+               .andExpect(redirectedUrl("/trade/pnl"));
+
+        mockMvc.perform(get("/trade/pnl").param("trader", "PnlTrader")
+                                         .accept(MediaType.APPLICATION_JSON)
+                                         .with(user("testuser").roles("USER")))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].book").value("PnlBook"))
+               .andExpect(jsonPath("$[0].realized").value(50.0))
+               .andExpect(jsonPath("$[0].unrealized").value(0.0));
+    }
 }
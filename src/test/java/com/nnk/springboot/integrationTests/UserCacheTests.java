@@ -0,0 +1,81 @@
+package com.nnk.springboot.integrationTests;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.nnk.springboot.config.CacheConfig;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.services.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.cache.type=caffeine")
+@ActiveProfiles("test")
+public class UserCacheTests {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache<Object, Object> cache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setFullname("Fullname1");
+        user.setUsername("Username1");
+        user.setPassword("HashedPassword1");
+        user.setRole("ROLE_USER");
+        user = userRepository.save(user);
+
+        cache = ((CaffeineCache) cacheManager.getCache(CacheConfig.USERS_CACHE)).getNativeCache();
+        cache.invalidateAll();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAll();
+        cache.invalidateAll();
+    }
+
+    @Test
+    void testLoadUserByUsername_IsCached() {
+        long hits = cache.stats().hitCount();
+
+        userService.loadUserByUsername("Username1");
+        userService.loadUserByUsername("Username1");
+
+        assertThat(cache.stats().hitCount()).isEqualTo(hits + 1);
+        assertThat(cache.getIfPresent("Username1")).isNotNull();
+    }
+
+    @Test
+    void testUnknownUsername_IsNotCached() {
+        assertThat(userRepository.findByUsername("Unknown")).isEmpty();
+
+        assertThat(cache.getIfPresent("Unknown")).isNull();
+    }
+
+    @Test
+    void testUpdateUser_EvictsCache() {
+        userService.loadUserByUsername("Username1");
+
+        UserDTO userDTO = new UserDTO(user.getId(), "Fullname2", "Username2", "ROLE_USER");
+        userDTO.setPassword("");
+        userService.updateUser(user.getId(), userDTO, new BeanPropertyBindingResult(userDTO, "user"));
+
+        assertThat(cache.getIfPresent("Username1")).isNull();
+    }
+}
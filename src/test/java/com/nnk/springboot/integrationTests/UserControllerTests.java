@@ -2,6 +2,7 @@ package com.nnk.springboot.integrationTests;
 
 import com.nnk.springboot.domain.User;
 import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.services.Validators;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -30,6 +33,8 @@ public class UserControllerTests {
     private MockMvc mockMvc;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private Validators validators;
 
     @BeforeEach
     void setUp() {
@@ -158,4 +163,18 @@ public class UserControllerTests {
         List<User> users = userRepository.findAll();
         assertThat(users).hasSize(0);
     }
+
+    @Test
+    void testDuplicateUsername_IsRejectedByConstraint() {
+        User duplicate = new User();
+        duplicate.setFullname("Fullname2");
+        duplicate.setUsername("Username1");
+        duplicate.setPassword("HashedPassword2");
+        duplicate.setRole("ROLE_USER");
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                                                                 () -> userRepository.saveAndFlush(duplicate));
+
+        assertThat(validators.isDuplicateUsername(exception)).isTrue();
+    }
 }
@@ -4,6 +4,8 @@ import com.nnk.springboot.domain.User;
 import com.nnk.springboot.dto.RegisterDTO;
 import com.nnk.springboot.repositories.UserRepository;
 import com.nnk.springboot.services.AccessService;
+import com.nnk.springboot.services.PasswordHasher;
+import com.nnk.springboot.services.PasswordRule;
 import com.nnk.springboot.services.Validators;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +13,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -28,6 +32,8 @@ public class AccessServiceTests {
     @Mock
     private Validators validators;
     @Mock
+    private PasswordHasher passwordHasher;
+    @Mock
     private BindingResult result;
     @InjectMocks
     private AccessService accessService;
@@ -45,13 +51,13 @@ public class AccessServiceTests {
     @Test
     void testRegister_Success() {
         when(validators.usernameExists(registerDTO.getUsername())).thenReturn(false);
-        when(validators.isPasswordInvalid(registerDTO.getPassword())).thenReturn(true);
+        when(validators.checkPassword(registerDTO.getPassword())).thenReturn(0);
         when(validators.passwordMatches(registerDTO.getPassword(), registerDTO.getConfirmPassword())).thenReturn(true);
         when(result.hasErrors()).thenReturn(false);
 
         accessService.register(registerDTO, result);
 
-        verify(userRepository, times(1)).save(argThat(user -> "testUser".equals(user.getUsername())));
+        verify(userRepository, times(1)).saveAndFlush(argThat(user -> "testUser".equals(user.getUsername())));
     }
 
     @Test
@@ -62,7 +68,7 @@ public class AccessServiceTests {
         accessService.register(registerDTO, result);
 
         verify(result, times(1)).rejectValue("username", "error.username", "This username is already used");
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -70,15 +76,16 @@ public class AccessServiceTests {
         registerDTO.setPassword("invalid");
 
         when(validators.usernameExists(anyString())).thenReturn(false);
-        when(validators.isPasswordInvalid(anyString())).thenReturn(true);
+        when(validators.checkPassword(anyString())).thenReturn(PasswordRule.ALL);
+        when(validators.passwordErrorMessage(PasswordRule.ALL)).thenReturn("MDP : 8 char minimum, 1 MAJ, 1 min, 1 chiffre, 1 symbole");
         when(result.hasErrors()).thenReturn(true);
 
         accessService.register(registerDTO, result);
 
 
         verify(result).rejectValue("password", "error.password",
-                                   "MDP : 8 char minimum : 1 MAJ, 1 min, 1 chiffre, 1 symbole");
-        verify(userRepository, never()).save(any(User.class));
+                                   "MDP : 8 char minimum, 1 MAJ, 1 min, 1 chiffre, 1 symbole");
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -86,7 +93,7 @@ public class AccessServiceTests {
         registerDTO.setPassword("Password2**");
 
         when(validators.usernameExists(anyString())).thenReturn(false);
-        when(validators.isPasswordInvalid(anyString())).thenReturn(false);
+        when(validators.checkPassword(anyString())).thenReturn(0);
         when(validators.passwordMatches(anyString(), anyString())).thenReturn(false);
         when(result.hasErrors()).thenReturn(true);
 
@@ -95,7 +102,7 @@ public class AccessServiceTests {
 
         verify(result).rejectValue("password", "error.password", "Passwords do not match");
         verify(result).rejectValue("confirmPassword", "error.confirmPassword", "Passwords do not match");
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -104,7 +111,7 @@ public class AccessServiceTests {
 
         accessService.register(registerDTO, result);
 
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
 
@@ -112,10 +119,10 @@ public class AccessServiceTests {
     void testRegister_Failure_ExceptionDuringSave() {
         when(result.hasErrors()).thenReturn(false);
         when(validators.usernameExists(anyString())).thenReturn(false);
-        when(validators.isPasswordInvalid(anyString())).thenReturn(false);
+        when(validators.checkPassword(anyString())).thenReturn(0);
         when(validators.passwordMatches(anyString(), anyString())).thenReturn(true);
 
-        doThrow(new RuntimeException("Database error")).when(userRepository).save(any(User.class));
+        doThrow(new RuntimeException("Database error")).when(userRepository).saveAndFlush(any(User.class));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
             accessService.register(registerDTO, result);
@@ -123,4 +130,36 @@ public class AccessServiceTests {
 
         assertEquals("500 INTERNAL_SERVER_ERROR \"Une erreur est survenue lors de la création de l'utilisateur\"", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testRegister_Failure_UsernameTakenConcurrently() {
+        when(result.hasErrors()).thenReturn(false);
+        when(validators.usernameExists(anyString())).thenReturn(false);
+        when(validators.checkPassword(anyString())).thenReturn(0);
+        when(validators.passwordMatches(anyString(), anyString())).thenReturn(true);
+        DataIntegrityViolationException duplicate = new DataIntegrityViolationException("Duplicate entry");
+        when(validators.isDuplicateUsername(duplicate)).thenReturn(true);
+
+        doThrow(duplicate).when(userRepository).saveAndFlush(any(User.class));
+
+        accessService.register(registerDTO, result);
+
+        verify(result, times(1)).rejectValue("username", "error.username", "This username is already used");
+    }
+
+    @Test
+    void testRegister_Failure_HashingQueueFull() {
+        when(result.hasErrors()).thenReturn(false);
+        when(validators.usernameExists(anyString())).thenReturn(false);
+        when(validators.checkPassword(anyString())).thenReturn(0);
+        when(validators.passwordMatches(anyString(), anyString())).thenReturn(true);
+        when(passwordHasher.encode(anyString())).thenThrow(
+                new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Le serveur est surchargé, veuillez réessayer plus tard"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                                                         () -> accessService.register(registerDTO, result));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+}
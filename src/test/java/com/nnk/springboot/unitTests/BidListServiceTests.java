@@ -2,26 +2,41 @@ package com.nnk.springboot.unitTests;
 
 import com.nnk.springboot.domain.BidList;
 import com.nnk.springboot.dto.BidListDTO;
+import com.nnk.springboot.dto.KeysetPageDTO;
 import com.nnk.springboot.repositories.BidListRepository;
 import com.nnk.springboot.services.BidListService;
+import com.nnk.springboot.services.MatchingEngine;
+import com.nnk.springboot.services.OrderBookService;
+import com.nnk.springboot.services.RuleScheduler;
+import com.nnk.springboot.services.RuleTarget;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class BidListServiceTests {
     @Mock
     private BidListRepository bidListRepository;
+    @Mock
+    private OrderBookService orderBookService;
+    @Mock
+    private MatchingEngine matchingEngine;
+    @Mock
+    private RuleScheduler ruleScheduler;
     @InjectMocks
     private BidListService bidListService;
 
@@ -47,18 +62,66 @@ public class BidListServiceTests {
         bidListDTO.setAccount("NewAccount");
         bidListDTO.setType("NewType");
         bidListDTO.setBidQuantity(15.0);
+        bidListDTO.setVersion(0);
+    }
+
+    @Test
+    void testGetBidLists_FirstPage() {
+        ReflectionTestUtils.setField(bidListService, "pageSize", 1);
+        when(bidListRepository.findPageAfter(eq(0), any(Pageable.class))).thenReturn(
+                List.of(new BidListDTO(1, "TestAccount", "TestType", 10.0),
+                        new BidListDTO(2, "TestAccount2", "TestType2", 20.0)));
+
+        KeysetPageDTO<BidListDTO> result = bidListService.getBidLists(null, null);
+
+        assertEquals(1, result.getContent().size());
+        assertEquals("TestAccount", result.getContent().get(0).getAccount());
+        assertEquals(1, result.getNextCursor());
+        assertNull(result.getPrevCursor());
+        verify(bidListRepository, times(1)).findPageAfter(eq(0), any(Pageable.class));
+    }
+
+    @Test
+    void testGetBidLists_LastPage() {
+        ReflectionTestUtils.setField(bidListService, "pageSize", 1);
+        when(bidListRepository.findPageAfter(eq(1), any(Pageable.class))).thenReturn(
+                List.of(new BidListDTO(2, "TestAccount2", "TestType2", 20.0)));
+        when(bidListRepository.existsByIdLessThan(2)).thenReturn(true);
+
+        KeysetPageDTO<BidListDTO> result = bidListService.getBidLists(1, null);
+
+        assertEquals(1, result.getContent().size());
+        assertNull(result.getNextCursor());
+        assertEquals(2, result.getPrevCursor());
     }
 
     @Test
-    void testGetBidLists() {
-        when(bidListRepository.findAll()).thenReturn(List.of(bidList1, bidList2));
+    void testGetBidLists_AfterDeletedFirstRows_ShouldHaveNoPrevCursor() {
+        ReflectionTestUtils.setField(bidListService, "pageSize", 1);
+        when(bidListRepository.findPageAfter(eq(1), any(Pageable.class))).thenReturn(
+                List.of(new BidListDTO(2, "TestAccount2", "TestType2", 20.0)));
+        when(bidListRepository.existsByIdLessThan(2)).thenReturn(false);
 
-        List<BidListDTO> result = bidListService.getBidLists();
+        KeysetPageDTO<BidListDTO> result = bidListService.getBidLists(1, null);
 
-        assertEquals(2, result.size());
-        assertEquals("TestAccount", result.get(0)
-                                          .getAccount());
-        verify(bidListRepository, times(1)).findAll();
+        assertEquals(1, result.getContent().size());
+        assertNull(result.getPrevCursor());
+    }
+
+    @Test
+    void testGetBidLists_PreviousPage() {
+        ReflectionTestUtils.setField(bidListService, "pageSize", 2);
+        when(bidListRepository.findPageBefore(eq(4), any(Pageable.class))).thenReturn(
+                List.of(new BidListDTO(3, "TestAccount3", "TestType3", 30.0),
+                        new BidListDTO(2, "TestAccount2", "TestType2", 20.0),
+                        new BidListDTO(1, "TestAccount", "TestType", 10.0)));
+
+        KeysetPageDTO<BidListDTO> result = bidListService.getBidLists(null, 4);
+
+        assertEquals(2, result.getContent().size());
+        assertEquals(2, result.getContent().get(0).getId());
+        assertEquals(3, result.getNextCursor());
+        assertEquals(2, result.getPrevCursor());
     }
 
     @Test
@@ -96,6 +159,9 @@ public class BidListServiceTests {
     void testAddBidList_Success() {
         bidListService.addBidList(bidListDTO);
         verify(bidListRepository, times(1)).save(any(BidList.class));
+        verify(orderBookService, times(1)).add(any(BidList.class));
+        verify(matchingEngine, times(1)).submit(any(BidList.class));
+        verify(ruleScheduler, times(1)).recordChanged(eq(RuleTarget.BID_LIST), any(), isNull());
     }
 
     @Test
@@ -111,17 +177,91 @@ public class BidListServiceTests {
                      exception.getMessage());
     }
 
+    @Test
+    void testAddBidLists_Success() {
+        BidList first = new BidList();
+        first.setId(1);
+        BidList second = new BidList();
+        second.setId(2);
+        List<BidList> bidLists = List.of(first, second);
+
+        bidListService.addBidLists(bidLists);
+
+        verify(bidListRepository, times(1)).saveAll(bidLists);
+        verify(orderBookService, times(2)).add(any(BidList.class));
+        verify(matchingEngine, times(2)).submit(any(BidList.class));
+        verify(ruleScheduler, times(1)).recordsAdded(RuleTarget.BID_LIST, List.of(1, 2));
+    }
+
     @Test
     void testUpdateBidList_Success() {
-        when(bidListRepository.findById(1)).thenReturn(Optional.of(bidList1));
+        when(bidListRepository.updateFields(1, bidListDTO.getVersion(), bidListDTO.getAccount(), bidListDTO.getType(),
+                bidListDTO.getBidQuantity())).thenReturn(1);
+        when(orderBookService.updateBidQuantity(1, bidListDTO.getBidQuantity(), 1)).thenReturn(10.0);
+
         bidListService.updateBidList(1, bidListDTO);
-        verify(bidListRepository, times(1)).save(any(BidList.class));
+
+        verify(bidListRepository, times(1)).updateFields(1, bidListDTO.getVersion(), bidListDTO.getAccount(),
+                bidListDTO.getType(),
+                bidListDTO.getBidQuantity());
+        verify(bidListRepository, never()).findById(any());
+        verify(bidListRepository, never()).save(any(BidList.class));
+        verify(orderBookService, times(1)).updateBidQuantity(1, bidListDTO.getBidQuantity(), 1);
+        verify(matchingEngine, times(1)).amend(1, "NewAccount", 5.0);
+        verify(ruleScheduler, times(1)).recordChanged(RuleTarget.BID_LIST, 1, List.of("account", "type", "bidQuantity"));
+    }
+
+    @Test
+    void testUpdateBidList_NotInOrderBook_ShouldNotAmend() {
+        when(bidListRepository.updateFields(1, bidListDTO.getVersion(), bidListDTO.getAccount(), bidListDTO.getType(),
+                bidListDTO.getBidQuantity())).thenReturn(1);
+        when(orderBookService.updateBidQuantity(1, bidListDTO.getBidQuantity(), 1)).thenReturn(null);
+
+        bidListService.updateBidList(1, bidListDTO);
+
+        verify(matchingEngine, never()).amend(any(), any(), anyDouble());
+    }
+
+    @Test
+    void testUpdateBidList_NotFound() {
+        when(bidListRepository.updateFields(1, bidListDTO.getVersion(), bidListDTO.getAccount(), bidListDTO.getType(),
+                bidListDTO.getBidQuantity())).thenReturn(0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                bidListService.updateBidList(1, bidListDTO)
+        );
+
+        assertEquals("404 NOT_FOUND \"La bidList avec l'id 1 n'existe pas\"", exception.getMessage());
+    }
+
+    @Test
+    void testUpdateBidList_Conflict() {
+        bidListDTO.setVersion(3);
+        when(bidListRepository.updateFields(1, bidListDTO.getVersion(), bidListDTO.getAccount(), bidListDTO.getType(),
+                bidListDTO.getBidQuantity())).thenReturn(0);
+        when(bidListRepository.existsById(1)).thenReturn(true);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () ->
+                bidListService.updateBidList(1, bidListDTO)
+        );
+    }
+
+    @Test
+    void testUpdateBidList_MissingVersion() {
+        bidListDTO.setVersion(null);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                bidListService.updateBidList(1, bidListDTO)
+        );
+
+        assertEquals("400 BAD_REQUEST \"La version de la bidList à modifier est obligatoire\"", exception.getMessage());
+        verifyNoInteractions(bidListRepository);
     }
 
     @Test
     void testUpdateBidList_Failure() {
-        when(bidListRepository.findById(1)).thenReturn(Optional.of(bidList1));
-        doThrow(new RuntimeException("Database error")).when(bidListRepository).save(any(BidList.class));
+        when(bidListRepository.updateFields(1, bidListDTO.getVersion(), bidListDTO.getAccount(), bidListDTO.getType(),
+                bidListDTO.getBidQuantity())).thenThrow(new RuntimeException("Database error"));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
                 bidListService.updateBidList(1, bidListDTO)
@@ -132,15 +272,31 @@ public class BidListServiceTests {
 
     @Test
     void testDeleteBidList_Success() {
-        when(bidListRepository.findById(1)).thenReturn(Optional.of(bidList1));
+        when(bidListRepository.deleteOneById(1)).thenReturn(1);
+
         bidListService.deleteBidList(1);
-        verify(bidListRepository, times(1)).delete(any(BidList.class));
+
+        verify(bidListRepository, times(1)).deleteOneById(1);
+        verify(bidListRepository, never()).findById(any());
+        verify(orderBookService, times(1)).remove(1);
+        verify(matchingEngine, times(1)).cancel(1);
+        verify(ruleScheduler, times(1)).recordsDeleted(RuleTarget.BID_LIST, List.of(1));
+    }
+
+    @Test
+    void testDeleteBidList_NotFound() {
+        when(bidListRepository.deleteOneById(1)).thenReturn(0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                bidListService.deleteBidList(1)
+        );
+
+        assertEquals("404 NOT_FOUND \"La bidList avec l'id 1 n'existe pas\"", exception.getMessage());
     }
 
     @Test
     void testDeleteBidList_Failure() {
-        when(bidListRepository.findById(1)).thenReturn(Optional.of(bidList1));
-        doThrow(new RuntimeException("Database error")).when(bidListRepository).delete(any(BidList.class));
+        when(bidListRepository.deleteOneById(1)).thenThrow(new RuntimeException("Database error"));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
                 bidListService.deleteBidList(1)
@@ -148,4 +304,36 @@ public class BidListServiceTests {
 
         assertEquals("500 INTERNAL_SERVER_ERROR \"Une erreur est survenue lors de la suppression de la bidList\"", exception.getMessage());
     }
+
+    @Test
+    void testDeleteBidLists_Success() {
+        when(bidListRepository.deleteAllByIds(List.of(1, 2))).thenReturn(2);
+
+        int deleted = bidListService.deleteBidLists(List.of(1, 2));
+
+        assertEquals(2, deleted);
+        verify(bidListRepository, times(1)).deleteAllByIds(List.of(1, 2));
+        verify(orderBookService, times(1)).removeAll(List.of(1, 2));
+        verify(matchingEngine, times(1)).cancel(1);
+        verify(matchingEngine, times(1)).cancel(2);
+        verify(ruleScheduler, times(1)).recordsDeleted(RuleTarget.BID_LIST, List.of(1, 2));
+    }
+
+    @Test
+    void testDeleteBidLists_WhenNoIds_ShouldNotQuery() {
+        assertEquals(0, bidListService.deleteBidLists(List.of()));
+
+        verify(bidListRepository, never()).deleteAllByIds(any());
+    }
+
+    @Test
+    void testDeleteBidLists_Failure() {
+        when(bidListRepository.deleteAllByIds(List.of(1, 2))).thenThrow(new RuntimeException("Database error"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                bidListService.deleteBidLists(List.of(1, 2))
+        );
+
+        assertEquals("500 INTERNAL_SERVER_ERROR \"Une erreur est survenue lors de la suppression des bidLists\"", exception.getMessage());
+    }
 }
@@ -4,14 +4,18 @@ import com.nnk.springboot.domain.CurvePoint;
 import com.nnk.springboot.dto.CurvePointDTO;
 import com.nnk.springboot.repositories.CurvePointRepository;
 import com.nnk.springboot.services.CurvePointService;
+import com.nnk.springboot.services.CurveService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +26,8 @@ import static org.mockito.Mockito.*;
 public class CurvePointServiceTests {
     @Mock
     private CurvePointRepository curvePointRepository;
+    @Mock
+    private CurveService curveService;
     @InjectMocks
     private CurvePointService curvePointService;
 
@@ -42,20 +48,47 @@ public class CurvePointServiceTests {
         curvePoint2.setTerm(20.0);
 
         curvePointDTO = new CurvePointDTO();
+        curvePointDTO.setCurveId(5);
+        curvePointDTO.setAsOfDate(LocalDate.of(2024, 1, 31));
         curvePointDTO.setValue(30.0);
         curvePointDTO.setTerm(30.0);
+        curvePointDTO.setVersion(0);
     }
 
     @Test
     void testGetCurvePoints() {
-        when(curvePointRepository.findAll()).thenReturn(List.of(curvePoint1, curvePoint2));
+        when(curvePointRepository.findAllAsDTO()).thenReturn(List.of(new CurvePointDTO(1, 1, 10.0, 10.0),
+                                                                        new CurvePointDTO(2, 1, 20.0, 20.0)));
 
         List<CurvePointDTO> result = curvePointService.getCurvePoints();
 
         assertEquals(2, result.size());
         assertEquals(10.0, result.get(0)
                                           .getValue());
-        verify(curvePointRepository, times(1)).findAll();
+        verify(curvePointRepository, times(1)).findAllAsDTO();
+    }
+
+    @Test
+    void testGetCurvePoints_ByCurve() {
+        when(curvePointRepository.findAllByCurveIdAsDTO(1)).thenReturn(List.of(new CurvePointDTO(1, 1, 10.0, 10.0)));
+
+        assertEquals(1, curvePointService.getCurvePoints(1, null, null).size());
+        verify(curvePointRepository, never()).findAllAsDTO();
+    }
+
+    @Test
+    void testGetCurvePoints_ByCurveAndTermRange() {
+        curvePointService.getCurvePoints(1, 5.0, null);
+
+        verify(curvePointRepository, times(1)).findByCurveIdAndTermBetweenAsDTO(1, 5.0, Double.MAX_VALUE);
+    }
+
+    @Test
+    void testGetCurvePoints_TermRangeWithoutCurve_ShouldThrow() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                curvePointService.getCurvePoints(null, 1.0, 2.0));
+
+        assertEquals("400 BAD_REQUEST \"Une plage de termes nécessite une courbe\"", exception.getMessage());
     }
 
     @Test
@@ -92,7 +125,9 @@ public class CurvePointServiceTests {
     @Test
     void testAddCurvePoint_Success() {
         curvePointService.addCurvePoint(curvePointDTO);
-        verify(curvePointRepository, times(1)).save(any(CurvePoint.class));
+        verify(curvePointRepository, times(1)).save(argThat(curvePoint -> curvePoint.getCurveId() == 5
+                && curvePoint.getAsOfDate().equals(Timestamp.valueOf("2024-01-31 00:00:00"))));
+        verify(curveService, times(1)).invalidate(5);
     }
 
     @Test
@@ -110,15 +145,60 @@ public class CurvePointServiceTests {
 
     @Test
     void testUpdateCurvePoint_Success() {
-        when(curvePointRepository.findById(1)).thenReturn(Optional.of(curvePoint1));
+        when(curvePointRepository.findCurveIdById(1)).thenReturn(Optional.of(5));
+        when(curvePointRepository.updateFields(1, curvePointDTO.getVersion(), curvePointDTO.getTerm(),
+                curvePointDTO.getValue())).thenReturn(1);
+
         curvePointService.updateCurvePoint(1, curvePointDTO);
-        verify(curvePointRepository, times(1)).save(any(CurvePoint.class));
+
+        verify(curvePointRepository, times(1)).updateFields(1, curvePointDTO.getVersion(), curvePointDTO.getTerm(),
+                curvePointDTO.getValue());
+        verify(curvePointRepository, never()).findById(any());
+        verify(curvePointRepository, never()).save(any(CurvePoint.class));
+        verify(curveService, times(1)).invalidate(5);
+    }
+
+    @Test
+    void testUpdateCurvePoint_NotFound() {
+        when(curvePointRepository.updateFields(1, curvePointDTO.getVersion(), curvePointDTO.getTerm(),
+                curvePointDTO.getValue())).thenReturn(0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                curvePointService.updateCurvePoint(1, curvePointDTO)
+        );
+
+        assertEquals("404 NOT_FOUND \"Le curvePoint avec l'id 1 n'existe pas\"", exception.getMessage());
+        verify(curveService, never()).invalidate(any());
+    }
+
+    @Test
+    void testUpdateCurvePoint_Conflict() {
+        curvePointDTO.setVersion(3);
+        when(curvePointRepository.updateFields(1, curvePointDTO.getVersion(), curvePointDTO.getTerm(),
+                curvePointDTO.getValue())).thenReturn(0);
+        when(curvePointRepository.existsById(1)).thenReturn(true);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () ->
+                curvePointService.updateCurvePoint(1, curvePointDTO)
+        );
+    }
+
+    @Test
+    void testUpdateCurvePoint_MissingVersion() {
+        curvePointDTO.setVersion(null);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                curvePointService.updateCurvePoint(1, curvePointDTO)
+        );
+
+        assertEquals("400 BAD_REQUEST \"La version du curvePoint à modifier est obligatoire\"", exception.getMessage());
+        verifyNoInteractions(curvePointRepository);
     }
 
     @Test
     void testUpdateCurvePoint_Failure() {
-        when(curvePointRepository.findById(1)).thenReturn(Optional.of(curvePoint1));
-        doThrow(new RuntimeException("Database error")).when(curvePointRepository).save(any(CurvePoint.class));
+        when(curvePointRepository.updateFields(1, curvePointDTO.getVersion(), curvePointDTO.getTerm(),
+                curvePointDTO.getValue())).thenThrow(new RuntimeException("Database error"));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
                 curvePointService.updateCurvePoint(1, curvePointDTO)
@@ -129,15 +209,30 @@ public class CurvePointServiceTests {
 
     @Test
     void testDeleteCurvePoint_Success() {
-        when(curvePointRepository.findById(1)).thenReturn(Optional.of(curvePoint1));
+        when(curvePointRepository.findCurveIdById(1)).thenReturn(Optional.of(5));
+        when(curvePointRepository.deleteOneById(1)).thenReturn(1);
+
         curvePointService.deleteCurvePoint(1);
-        verify(curvePointRepository, times(1)).delete(any(CurvePoint.class));
+
+        verify(curvePointRepository, times(1)).deleteOneById(1);
+        verify(curvePointRepository, never()).findById(any());
+        verify(curveService, times(1)).invalidate(5);
+    }
+
+    @Test
+    void testDeleteCurvePoint_NotFound() {
+        when(curvePointRepository.deleteOneById(1)).thenReturn(0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                curvePointService.deleteCurvePoint(1)
+        );
+
+        assertEquals("404 NOT_FOUND \"Le curvePoint avec l'id 1 n'existe pas\"", exception.getMessage());
     }
 
     @Test
     void testDeleteCurvePoint_Failure() {
-        when(curvePointRepository.findById(1)).thenReturn(Optional.of(curvePoint1));
-        doThrow(new RuntimeException("Database error")).when(curvePointRepository).delete(any(CurvePoint.class));
+        when(curvePointRepository.deleteOneById(1)).thenThrow(new RuntimeException("Database error"));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
                 curvePointService.deleteCurvePoint(1)
@@ -0,0 +1,154 @@
+package com.nnk.springboot.unitTests;
+
+import com.nnk.springboot.dto.CurvePointDTO;
+import com.nnk.springboot.dto.InterpolationDTO;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.services.CurveService;
+import com.nnk.springboot.services.InterpolationMethod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CurveServiceTests {
+    @Mock
+    private CurvePointRepository curvePointRepository;
+    @InjectMocks
+    private CurveService curveService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(curveService, "maxSnapshotsPerCurve", 10);
+        ReflectionTestUtils.setField(curveService, "retentionDays", 0);
+        curveService.init();
+    }
+
+    @Test
+    void testInterpolate_LoadsCurveOnce() {
+        when(curvePointRepository.findUndatedByCurveIdAsDTO(1)).thenReturn(List.of(new CurvePointDTO(1, 1, 1.0, 10.0),
+                                                                            new CurvePointDTO(2, 1, 3.0, 30.0)));
+
+        InterpolationDTO result = curveService.interpolate(1, null, new double[]{2, 4}, InterpolationMethod.LINEAR);
+        curveService.interpolate(1, null, new double[]{2}, InterpolationMethod.LINEAR);
+
+        assertArrayEquals(new double[]{20, 30}, result.getValues(), 1e-12);
+        verify(curvePointRepository, times(1)).findUndatedByCurveIdAsDTO(1);
+    }
+
+    @Test
+    void testInterpolate_DuplicateTerm_LastPointWins() {
+        when(curvePointRepository.findUndatedByCurveIdAsDTO(1)).thenReturn(List.of(new CurvePointDTO(1, 1, 1.0, 10.0),
+                                                                            new CurvePointDTO(2, 1, 1.0, 12.0),
+                                                                            new CurvePointDTO(3, 1, 2.0, 20.0)));
+
+        assertEquals(2, curveService.getCurve(1).size());
+        assertEquals(12.0, curveService.getCurve(1).interpolate(1, InterpolationMethod.LINEAR));
+    }
+
+    @Test
+    void testInterpolate_NoPoint_ShouldThrowNotFound() {
+        when(curvePointRepository.findUndatedByCurveIdAsDTO(1)).thenReturn(List.of());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                curveService.interpolate(1, null, new double[]{1}, InterpolationMethod.LINEAR));
+
+        assertEquals("404 NOT_FOUND \"La courbe avec l'id 1 n'a aucun point\"", exception.getMessage());
+    }
+
+    @Test
+    void testInterpolate_LogLinearOnNegativeValues_ShouldThrowBadRequest() {
+        when(curvePointRepository.findUndatedByCurveIdAsDTO(1)).thenReturn(List.of(new CurvePointDTO(1, 1, 1.0, -10.0)));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                curveService.interpolate(1, null, new double[]{1}, InterpolationMethod.LOG_LINEAR));
+
+        assertEquals(400, exception.getStatusCode().value());
+    }
+
+    @Test
+    void testInvalidate_ReloadsOnlyItsCurve() {
+        when(curvePointRepository.findUndatedByCurveIdAsDTO(1)).thenReturn(List.of(new CurvePointDTO(1, 1, 1.0, 10.0)));
+        when(curvePointRepository.findUndatedByCurveIdAsDTO(2)).thenReturn(List.of(new CurvePointDTO(2, 2, 1.0, 20.0)));
+        curveService.getCurve(1);
+        curveService.getCurve(2);
+
+        curveService.invalidate(1);
+        curveService.invalidate(null);
+        curveService.getCurve(1);
+        curveService.getCurve(2);
+
+        verify(curvePointRepository, times(2)).findUndatedByCurveIdAsDTO(1);
+        verify(curvePointRepository, times(1)).findUndatedByCurveIdAsDTO(2);
+    }
+
+    @Test
+    void testInterpolate_AsOf_UsesLatestSnapshotOfTheDay() {
+        Timestamp january = Timestamp.valueOf("2024-01-31 00:00:00");
+        Timestamp february = Timestamp.valueOf("2024-02-29 00:00:00");
+        when(curvePointRepository.findAsOfDates(1)).thenReturn(List.of(february, january));
+        when(curvePointRepository.findByCurveIdAndAsOfDateAsDTO(1, january))
+                .thenReturn(List.of(new CurvePointDTO(1, 1, 1.0, 10.0)));
+
+        InterpolationDTO result = curveService.interpolate(1, LocalDate.of(2024, 2, 28), new double[]{1},
+                                                           InterpolationMethod.LINEAR);
+        curveService.getCurveAsOf(1, LocalDate.of(2024, 1, 31));
+
+        assertEquals(january.toLocalDateTime(), result.getAsOfDate());
+        assertEquals(10.0, result.getValues()[0]);
+        verify(curvePointRepository, times(1)).findAsOfDates(1);
+        verify(curvePointRepository, times(1)).findByCurveIdAndAsOfDateAsDTO(1, january);
+        verify(curvePointRepository, never()).findUndatedByCurveIdAsDTO(any());
+    }
+
+    @Test
+    void testGetCurve_UsesLatestSnapshotUpToToday() {
+        Timestamp yesterday = Timestamp.valueOf(LocalDate.now().minusDays(1).atStartOfDay());
+        Timestamp tomorrow = Timestamp.valueOf(LocalDate.now().plusDays(1).atStartOfDay());
+        when(curvePointRepository.findAsOfDates(1)).thenReturn(List.of(yesterday, tomorrow));
+        when(curvePointRepository.findByCurveIdAndAsOfDateAsDTO(1, yesterday))
+                .thenReturn(List.of(new CurvePointDTO(1, 1, 1.0, 10.0)));
+
+        InterpolationDTO result = curveService.interpolate(1, null, new double[]{1}, InterpolationMethod.LINEAR);
+        curveService.getCurveAsOf(1, LocalDate.now());
+
+        assertEquals(10.0, result.getValues()[0]);
+        verify(curvePointRepository, times(1)).findByCurveIdAndAsOfDateAsDTO(1, yesterday);
+        verify(curvePointRepository, never()).findUndatedByCurveIdAsDTO(any());
+    }
+
+    @Test
+    void testGetCurveAsOf_BeforeFirstSnapshot_ShouldThrowNotFound() {
+        when(curvePointRepository.findAsOfDates(1)).thenReturn(List.of(Timestamp.valueOf("2024-01-31 00:00:00")));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                curveService.getCurveAsOf(1, LocalDate.of(2024, 1, 30)));
+
+        assertEquals("404 NOT_FOUND \"La courbe avec l'id 1 n'a aucun point au 2024-01-30\"", exception.getMessage());
+    }
+
+    @Test
+    void testInvalidate_DropsSnapshots() {
+        Timestamp january = Timestamp.valueOf("2024-01-31 00:00:00");
+        when(curvePointRepository.findAsOfDates(1)).thenReturn(List.of(january));
+        when(curvePointRepository.findByCurveIdAndAsOfDateAsDTO(1, january))
+                .thenReturn(List.of(new CurvePointDTO(1, 1, 1.0, 10.0)));
+        long version = curveService.getCurveAsOf(1, LocalDate.of(2024, 1, 31)).getVersion();
+
+        curveService.invalidate(1);
+
+        assertTrue(curveService.getCurveAsOf(1, LocalDate.of(2024, 1, 31)).getVersion() > version);
+        verify(curvePointRepository, times(2)).findAsOfDates(1);
+    }
+}
@@ -0,0 +1,131 @@
+package com.nnk.springboot.unitTests;
+
+import com.nnk.springboot.services.Curve;
+import com.nnk.springboot.services.CurveSnapshotStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CurveSnapshotStoreTests {
+    private static final LocalDateTime TODAY = LocalDateTime.now().withNano(0);
+
+    private final AtomicInteger curveLoads = new AtomicInteger();
+    private final Function<Integer, NavigableSet<LocalDateTime>> datesLoader = curveId -> new TreeSet<>(
+            List.of(TODAY.minusDays(30), TODAY.minusDays(20), TODAY.minusDays(10)));
+    private final BiFunction<Integer, LocalDateTime, Curve> curveLoader = (curveId, asOfDate) -> {
+        curveLoads.incrementAndGet();
+        return new Curve(curveId, new double[]{1}, new double[]{asOfDate.getDayOfYear()});
+    };
+
+    @Test
+    void testGet_LatestDateBefore() {
+        CurveSnapshotStore store = new CurveSnapshotStore(10, 0);
+
+        assertEquals(TODAY.minusDays(20), store.get(1, TODAY.minusDays(15), datesLoader, curveLoader).asOfDate());
+        assertEquals(TODAY.minusDays(30), store.get(1, TODAY.minusDays(20), datesLoader, curveLoader).asOfDate());
+        assertNull(store.get(1, TODAY.minusDays(30), datesLoader, curveLoader));
+    }
+
+    @Test
+    void testGet_KeepsLoadedSnapshot() {
+        CurveSnapshotStore store = new CurveSnapshotStore(10, 0);
+
+        CurveSnapshotStore.Snapshot first = store.get(1, TODAY, datesLoader, curveLoader);
+        CurveSnapshotStore.Snapshot second = store.get(1, TODAY, datesLoader, curveLoader);
+
+        assertSame(first, second);
+        assertEquals(1, curveLoads.get());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testInvalidate_ReloadsWithNewVersion() {
+        CurveSnapshotStore store = new CurveSnapshotStore(10, 0);
+        long version = store.get(1, TODAY, datesLoader, curveLoader).version();
+
+        store.invalidate(1);
+
+        assertTrue(store.get(1, TODAY, datesLoader, curveLoader).version() > version);
+        assertEquals(2, curveLoads.get());
+    }
+
+    @Test
+    void testGet_InvalidatedWhileLoading_ShouldNotPublish() {
+        CurveSnapshotStore store = new CurveSnapshotStore(10, 0);
+
+        store.get(1, TODAY, datesLoader, (curveId, asOfDate) -> {
+            store.invalidate(curveId);
+            return curveLoader.apply(curveId, asOfDate);
+        });
+
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testInvalidate_WhileLoadingDates_ShouldDropThem() throws InterruptedException {
+        CurveSnapshotStore store = new CurveSnapshotStore(10, 0);
+        AtomicInteger dateLoads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Integer, NavigableSet<LocalDateTime>> slowLoader = curveId -> {
+            dateLoads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return datesLoader.apply(curveId);
+        };
+        Thread reader = new Thread(() -> store.get(1, TODAY, slowLoader, curveLoader));
+        reader.start();
+        loading.await();
+        Thread invalidator = new Thread(() -> store.invalidate(1));
+        invalidator.start();
+        while (invalidator.getState() != Thread.State.BLOCKED && invalidator.isAlive()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        reader.join();
+        invalidator.join();
+
+        store.get(1, TODAY, slowLoader, curveLoader);
+
+        assertEquals(2, dateLoads.get());
+    }
+
+    @Test
+    void testGet_EvictsOldestBeyondMaximum() {
+        CurveSnapshotStore store = new CurveSnapshotStore(2, 0);
+
+        store.get(1, TODAY, datesLoader, curveLoader);
+        store.get(1, TODAY.minusDays(15), datesLoader, curveLoader);
+        store.get(1, TODAY.minusDays(25), datesLoader, curveLoader);
+        assertEquals(2, store.size());
+
+        store.get(1, TODAY, datesLoader, curveLoader);
+        store.get(1, TODAY.minusDays(15), datesLoader, curveLoader);
+        assertEquals(3, curveLoads.get());
+    }
+
+    @Test
+    void testGet_BeyondRetention_ShouldNotKeep() {
+        CurveSnapshotStore store = new CurveSnapshotStore(10, 15);
+
+        store.get(1, TODAY.minusDays(15), datesLoader, curveLoader);
+        store.get(1, TODAY.minusDays(15), datesLoader, curveLoader);
+        store.get(1, TODAY, datesLoader, curveLoader);
+
+        assertEquals(1, store.size());
+        assertEquals(3, curveLoads.get());
+    }
+}
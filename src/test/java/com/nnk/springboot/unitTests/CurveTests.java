@@ -0,0 +1,82 @@
+package com.nnk.springboot.unitTests;
+
+import com.nnk.springboot.services.Curve;
+import com.nnk.springboot.services.InterpolationMethod;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CurveTests {
+    private final Curve curve = new Curve(1, new double[]{1, 2, 4, 8}, new double[]{1, 2, 4, 3});
+
+    @Test
+    void testLinear() {
+        assertEquals(1.5, curve.interpolate(1.5, InterpolationMethod.LINEAR), 1e-12);
+        assertEquals(3.0, curve.interpolate(3, InterpolationMethod.LINEAR), 1e-12);
+        assertEquals(3.5, curve.interpolate(6, InterpolationMethod.LINEAR), 1e-12);
+    }
+
+    @Test
+    void testExactTermsAndFlatExtrapolation() {
+        for (InterpolationMethod method : InterpolationMethod.values()) {
+            assertEquals(1.0, curve.interpolate(0, method), 1e-12);
+            assertEquals(2.0, curve.interpolate(2, method), 1e-12);
+            assertEquals(4.0, curve.interpolate(4, method), 1e-12);
+            assertEquals(3.0, curve.interpolate(8, method), 1e-12);
+            assertEquals(3.0, curve.interpolate(100, method), 1e-12);
+        }
+    }
+
+    @Test
+    void testLogLinear() {
+        assertEquals(Math.sqrt(2), curve.interpolate(1.5, InterpolationMethod.LOG_LINEAR), 1e-12);
+    }
+
+    @Test
+    void testLogLinear_NonPositiveValue_ShouldThrow() {
+        Curve negative = new Curve(1, new double[]{1, 2}, new double[]{1, -1});
+
+        assertFalse(negative.supports(InterpolationMethod.LOG_LINEAR));
+        assertThrows(IllegalArgumentException.class, () -> negative.interpolate(1.5, InterpolationMethod.LOG_LINEAR));
+    }
+
+    @Test
+    void testCubicSpline_ReproducesLine() {
+        Curve line = new Curve(1, new double[]{0, 1, 3, 7}, new double[]{1, 3, 7, 15});
+
+        assertEquals(6.0, line.interpolate(2.5, InterpolationMethod.CUBIC_SPLINE), 1e-12);
+    }
+
+    @Test
+    void testCubicSpline_NaturalSplineValue() {
+        Curve parabola = new Curve(1, new double[]{0, 1, 2}, new double[]{0, 1, 0});
+
+        assertEquals(0.6875, parabola.interpolate(0.5, InterpolationMethod.CUBIC_SPLINE), 1e-12);
+    }
+
+    @Test
+    void testCubicSpline_TwoPoints_ShouldBeLinear() {
+        Curve twoPoints = new Curve(1, new double[]{1, 3}, new double[]{2, 6});
+
+        assertEquals(4.0, twoPoints.interpolate(2, InterpolationMethod.CUBIC_SPLINE), 1e-12);
+    }
+
+    @Test
+    void testBatch_MatchesSingleLookups() {
+        double[] terms = {0.5, 1, 1.2, 3.9, 4, 7, 9, 2.5, 1.1};
+        double[] out = new double[terms.length];
+
+        for (InterpolationMethod method : InterpolationMethod.values()) {
+            curve.interpolate(terms, method, out);
+            for (int i = 0; i < terms.length; i++) {
+                assertEquals(curve.interpolate(terms[i], method), out[i], 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void testConstructor_UnsortedTerms_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new Curve(1, new double[]{2, 1}, new double[]{1, 1}));
+        assertThrows(IllegalArgumentException.class, () -> new Curve(1, new double[0], new double[0]));
+    }
+}
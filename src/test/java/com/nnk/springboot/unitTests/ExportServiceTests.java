@@ -0,0 +1,110 @@
+package com.nnk.springboot.unitTests;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.ExportFormat;
+import com.nnk.springboot.services.ExportService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ExportServiceTests {
+    @Mock
+    private TradeRepository tradeRepository;
+    @Mock
+    private BidListRepository bidListRepository;
+    @Mock
+    private EntityManager entityManager;
+    @InjectMocks
+    private ExportService exportService;
+
+    private Trade trade1;
+    private Trade trade2;
+
+    @BeforeEach
+    void setUp() {
+        trade1 = new Trade();
+        trade1.setId(1);
+        trade1.setAccount("Account, \"one\"");
+        trade1.setType("Type1");
+        trade1.setBuyQuantity(10.0);
+
+        trade2 = new Trade();
+        trade2.setId(2);
+        trade2.setAccount("Account2");
+        trade2.setType("Type2");
+    }
+
+    @Test
+    void testExportTrades_Csv() throws Exception {
+        when(tradeRepository.streamAll()).thenReturn(Stream.of(trade1, trade2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportTrades(ExportFormat.CSV, false, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("id,account,type,buyQuantity,"));
+        assertTrue(lines[1].startsWith("1,\"Account, \"\"one\"\"\",Type1,10.0,"));
+        assertTrue(lines[2].startsWith("2,Account2,Type2,,"));
+        verify(entityManager, times(2)).detach(any(Trade.class));
+    }
+
+    @Test
+    void testExportTrades_NdjsonGzip() throws Exception {
+        when(tradeRepository.streamAll()).thenReturn(Stream.of(trade1, trade2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportTrades(ExportFormat.NDJSON, true, out);
+
+        String content;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = content.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"account\":\"Account, \\\"one\\\"\",\"type\":\"Type1\",\"buyQuantity\":10.0,"));
+        assertTrue(lines[1].contains("\"buyQuantity\":null"));
+    }
+
+    @Test
+    void testExportBidLists_Csv() throws Exception {
+        BidList bidList = new BidList();
+        bidList.setId(1);
+        bidList.setAccount("Account");
+        when(bidListRepository.streamAll()).thenReturn(Stream.of(bidList));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportBidLists(ExportFormat.CSV, false, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("id,account,type,bidQuantity,askQuantity,bid,ask,"));
+        assertTrue(lines[1].startsWith("1,Account,,"));
+    }
+
+    @Test
+    void testExportFormat_Unsupported() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                                                         () -> ExportFormat.from("xml"));
+
+        assertEquals("400 BAD_REQUEST \"Le format d'export xml n'est pas supporté\"", exception.getMessage());
+    }
+}
@@ -0,0 +1,126 @@
+package com.nnk.springboot.unitTests;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.ImportReportDTO;
+import com.nnk.springboot.services.BidListService;
+import com.nnk.springboot.services.ImportService;
+import com.nnk.springboot.services.TradeService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ImportServiceTests {
+    @Mock
+    private TradeService tradeService;
+    @Mock
+    private BidListService bidListService;
+    @Mock
+    private EntityManager entityManager;
+    @InjectMocks
+    private ImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(importService, "validator",
+                                     Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(importService, "batchSize", 2);
+    }
+
+    private static ByteArrayInputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testImportTrades_ValidRows() {
+        ImportReportDTO report = importService.importTrades(csv("""
+                account,type,buyQuantity
+                Account1,Type1,10
+                "Account, 2",Type2,20
+                Account3,Type3,30
+                """));
+
+        assertEquals(3, report.getRowsRead());
+        assertEquals(3, report.getRowsImported());
+        assertEquals(0, report.getRowsRejected());
+        verify(tradeService, times(2)).addTrades(anyList());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void testImportTrades_InvalidRowsAreReported() {
+        ImportReportDTO report = importService.importTrades(csv("""
+                account,type,buyQuantity
+                Account1,Type1,10
+                ,Type2,20
+                Account3,Type3,abc
+                Account4,Type4
+                Account5,Type5,0
+                """));
+
+        assertEquals(5, report.getRowsRead());
+        assertEquals(1, report.getRowsImported());
+        assertEquals(4, report.getRowsRejected());
+        assertEquals(3, report.getErrors().get(0).getLine());
+        assertEquals("account: Account is mandatory", report.getErrors().get(0).getMessage());
+        assertEquals("buyQuantity: 'abc' is not a number", report.getErrors().get(1).getMessage());
+        assertEquals("Expected 3 columns but found 2", report.getErrors().get(2).getMessage());
+        assertEquals("buyQuantity: Quantity must not be null", report.getErrors().get(3).getMessage());
+    }
+
+    @Test
+    void testImportTrades_RefusedBatchIsRetriedRowByRow() {
+        doAnswer(invocation -> {
+            List<Trade> trades = invocation.getArgument(0);
+            if (trades.size() > 1 || "Bad".equals(trades.get(0).getAccount())) {
+                throw new RuntimeException("Database error");
+            }
+            return null;
+        }).when(tradeService).addTrades(anyList());
+
+        ImportReportDTO report = importService.importTrades(csv("""
+                account,type,buyQuantity
+                Account1,Type1,10
+                Bad,Type2,20
+                """));
+
+        assertEquals(1, report.getRowsImported());
+        assertEquals(1, report.getRowsRejected());
+        assertEquals(3, report.getErrors().get(0).getLine());
+        verify(tradeService, times(3)).addTrades(anyList());
+    }
+
+    @Test
+    void testImportTrades_EmptyFile() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                                                         () -> importService.importTrades(csv("")));
+
+        assertEquals("400 BAD_REQUEST \"Le fichier importé est vide\"", exception.getMessage());
+    }
+
+    @Test
+    void testImportBidLists_ValidRows() {
+        ImportReportDTO report = importService.importBidLists(csv("""
+                account,type,bidQuantity
+                Account1,Type1,10
+                """));
+
+        assertEquals(1, report.getRowsImported());
+        verify(bidListService, times(1)).addBidLists(anyList());
+    }
+}
@@ -0,0 +1,144 @@
+package com.nnk.springboot.unitTests;
+
+import com.nnk.springboot.services.Matcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatcherTests {
+    private Matcher matcher;
+    private List<Matcher.Fill> fills;
+
+    private static Matcher.Order order(int id, Matcher.Side side, double price, double quantity) {
+        return new Matcher.Order(id, "Account" + id, "Trader", "Book", "AAA", side, price, quantity);
+    }
+
+    @BeforeEach
+    void setUp() {
+        matcher = new Matcher();
+        fills = new ArrayList<>();
+    }
+
+    @Test
+    void testMatch_NoCross_ShouldRest() {
+        matcher.match(order(1, Matcher.Side.BUY, 10, 5), fills::add);
+        matcher.match(order(2, Matcher.Side.SELL, 11, 5), fills::add);
+
+        assertTrue(fills.isEmpty());
+        assertEquals(10.0, matcher.bestBid());
+        assertEquals(11.0, matcher.bestAsk());
+    }
+
+    @Test
+    void testMatch_FullFill_AtRestingPrice() {
+        matcher.match(order(1, Matcher.Side.SELL, 10, 5), fills::add);
+        matcher.match(order(2, Matcher.Side.BUY, 12, 5), fills::add);
+
+        assertEquals(1, fills.size());
+        Matcher.Fill fill = fills.get(0);
+        assertEquals(2, fill.buy().id());
+        assertEquals(1, fill.sell().id());
+        assertEquals(10.0, fill.price());
+        assertEquals(5.0, fill.quantity());
+        assertNull(matcher.bestBid());
+        assertNull(matcher.bestAsk());
+    }
+
+    @Test
+    void testMatch_PartialFill_ShouldRestRemainder() {
+        matcher.match(order(1, Matcher.Side.BUY, 10, 3), fills::add);
+        matcher.match(order(2, Matcher.Side.SELL, 9, 5), fills::add);
+
+        assertEquals(1, fills.size());
+        assertEquals(3.0, fills.get(0).quantity());
+        assertNull(matcher.bestBid());
+        assertEquals(9.0, matcher.bestAsk());
+    }
+
+    @Test
+    void testMatch_PriceTimePriority() {
+        matcher.match(order(1, Matcher.Side.SELL, 11, 2), fills::add);
+        matcher.match(order(2, Matcher.Side.SELL, 10, 2), fills::add);
+        matcher.match(order(3, Matcher.Side.SELL, 10, 2), fills::add);
+
+        matcher.match(order(4, Matcher.Side.BUY, 11, 5), fills::add);
+
+        assertEquals(List.of(2, 3, 1), fills.stream().map(fill -> fill.sell().id()).toList());
+        assertEquals(List.of(10.0, 10.0, 11.0), fills.stream().map(Matcher.Fill::price).toList());
+        assertEquals(List.of(2.0, 2.0, 1.0), fills.stream().map(Matcher.Fill::quantity).toList());
+        assertEquals(11.0, matcher.bestAsk());
+    }
+
+    @Test
+    void testCancel_ShouldRemoveRestingOrder() {
+        matcher.match(order(1, Matcher.Side.SELL, 10, 2), fills::add);
+        matcher.match(order(2, Matcher.Side.SELL, 10, 2), fills::add);
+
+        assertTrue(matcher.cancel(1));
+        assertFalse(matcher.cancel(1));
+        matcher.match(order(3, Matcher.Side.BUY, 10, 5), fills::add);
+
+        assertEquals(List.of(2), fills.stream().map(fill -> fill.sell().id()).toList());
+        assertNull(matcher.bestAsk());
+        assertEquals(10.0, matcher.bestBid());
+        assertEquals(3.0, matcher.getRemaining(3));
+    }
+
+    @Test
+    void testFilledOrder_ShouldNotBeResting() {
+        matcher.match(order(1, Matcher.Side.SELL, 10, 2), fills::add);
+        matcher.match(order(2, Matcher.Side.BUY, 10, 2), fills::add);
+
+        assertNull(matcher.getOrder(1));
+        assertNull(matcher.getOrder(2));
+        assertFalse(matcher.cancel(1));
+    }
+
+    @Test
+    void testAmend_LowerQuantity_ShouldKeepPriority() {
+        matcher.match(order(1, Matcher.Side.SELL, 10, 5), fills::add);
+        matcher.match(order(2, Matcher.Side.SELL, 10, 5), fills::add);
+
+        assertTrue(matcher.amend(1, "Amended", 3));
+        matcher.match(order(3, Matcher.Side.BUY, 10, 3), fills::add);
+
+        assertEquals(1, fills.size());
+        assertEquals("Amended", fills.get(0).sell().account());
+        assertEquals(3.0, fills.get(0).quantity());
+    }
+
+    @Test
+    void testAmend_HigherQuantity_ShouldLosePriority() {
+        matcher.match(order(1, Matcher.Side.SELL, 10, 5), fills::add);
+        matcher.match(order(2, Matcher.Side.SELL, 10, 5), fills::add);
+
+        matcher.amend(1, "Account1", 8);
+        matcher.match(order(3, Matcher.Side.BUY, 10, 13), fills::add);
+
+        assertEquals(List.of(2, 1), fills.stream().map(fill -> fill.sell().id()).toList());
+        assertEquals(List.of(5.0, 8.0), fills.stream().map(Matcher.Fill::quantity).toList());
+    }
+
+    @Test
+    void testAmend_ZeroQuantity_ShouldCancel() {
+        matcher.match(order(1, Matcher.Side.BUY, 10, 5), fills::add);
+
+        assertTrue(matcher.amend(1, "Account1", 0));
+
+        assertNull(matcher.bestBid());
+        assertNull(matcher.getOrder(1));
+        assertFalse(matcher.amend(1, "Account1", 5));
+    }
+
+    @Test
+    void testSideOf() {
+        assertEquals(Matcher.Side.BUY, Matcher.Side.of("Buy"));
+        assertEquals(Matcher.Side.SELL, Matcher.Side.of(" sell "));
+        assertNull(Matcher.Side.of("Hold"));
+        assertNull(Matcher.Side.of(null));
+    }
+}
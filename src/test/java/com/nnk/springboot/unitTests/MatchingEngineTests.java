@@ -0,0 +1,310 @@
+package com.nnk.springboot.unitTests;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.services.MatchingEngine;
+import com.nnk.springboot.services.OrderBookService;
+import com.nnk.springboot.services.RuleScheduler;
+import com.nnk.springboot.services.RuleTarget;
+import com.nnk.springboot.services.TradeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MatchingEngineTests {
+    @Mock
+    private TradeService tradeService;
+    @Mock
+    private OrderBookService orderBookService;
+    @Mock
+    private BidListRepository bidListRepository;
+    @Mock
+    private RuleScheduler ruleScheduler;
+    @Mock
+    private EntityManager entityManager;
+    @InjectMocks
+    private MatchingEngine matchingEngine;
+
+    private MeterRegistry meterRegistry;
+
+    private static BidList bidList(int id, String side, Double bid, Double bidQuantity, Double ask,
+                                   Double askQuantity) {
+        BidList bidList = new BidList();
+        bidList.setId(id);
+        bidList.setAccount("Account" + id);
+        bidList.setTrader("Trader" + id);
+        bidList.setBook("Book");
+        bidList.setSecurity("AAA");
+        bidList.setSide(side);
+        bidList.setBid(bid);
+        bidList.setBidQuantity(bidQuantity);
+        bidList.setAsk(ask);
+        bidList.setAskQuantity(askQuantity);
+        return bidList;
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(matchingEngine, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(matchingEngine, "poolSize", 1);
+        ReflectionTestUtils.setField(matchingEngine, "batchSize", 10);
+        ReflectionTestUtils.setField(matchingEngine, "retryAttempts", 3);
+        ReflectionTestUtils.setField(matchingEngine, "retryBackoff", 1L);
+        ReflectionTestUtils.setField(matchingEngine, "redeliveryInterval", 60_000L);
+        matchingEngine.start();
+    }
+
+    private void runWrites() {
+        doAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return null;
+        }).when(tradeService).addTrades(anyList(), any(Runnable.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Trade> savedTrades() {
+        ArgumentCaptor<List<Trade>> captor = ArgumentCaptor.forClass(List.class);
+        verify(tradeService, atLeastOnce()).addTrades(captor.capture(), any(Runnable.class));
+        List<Trade> trades = new ArrayList<>();
+        captor.getAllValues().forEach(trades::addAll);
+        return trades;
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        matchingEngine.stop();
+    }
+
+    @Test
+    void testSubmit_NotAnOrder() {
+        assertFalse(matchingEngine.submit(bidList(1, null, 10.0, 5.0, null, null)));
+        assertFalse(matchingEngine.submit(bidList(2, "Buy", null, 5.0, 11.0, 5.0)));
+        assertFalse(matchingEngine.submit(bidList(3, "Sell", 10.0, 5.0, 11.0, null)));
+    }
+
+    @Test
+    void testSubmit_AlreadySubmitted() {
+        assertTrue(matchingEngine.submit(bidList(1, "Sell", null, null, 10.0, 5.0)));
+        assertFalse(matchingEngine.submit(bidList(1, "Sell", null, null, 10.0, 5.0)));
+    }
+
+    @Test
+    void testSubmit_Crossing_ShouldSaveOneTradePerSide() throws InterruptedException {
+        runWrites();
+        assertTrue(matchingEngine.submit(bidList(1, "Sell", null, null, 10.0, 5.0)));
+        assertTrue(matchingEngine.submit(bidList(2, "Buy", 12.0, 3.0, null, null)));
+
+        matchingEngine.stop();
+
+        List<Trade> trades = savedTrades();
+        assertEquals(2, trades.size());
+
+        Trade buy = trades.get(0);
+        assertEquals("Account2", buy.getAccount());
+        assertEquals("Trader2", buy.getTrader());
+        assertEquals("Buy", buy.getSide());
+        assertEquals(10.0, buy.getBuyPrice());
+        assertEquals(3.0, buy.getBuyQuantity());
+        assertEquals("2", buy.getSourceListId());
+        assertNotNull(buy.getTradeDate());
+
+        Trade sell = trades.get(1);
+        assertEquals("Account1", sell.getAccount());
+        assertEquals("Sell", sell.getSide());
+        assertEquals(10.0, sell.getSellPrice());
+        assertEquals(3.0, sell.getSellQuantity());
+        assertEquals(0, matchingEngine.getPendingFills());
+
+        verify(bidListRepository).reduceBidQuantity(2, 3.0);
+        verify(bidListRepository).reduceAskQuantity(1, 3.0);
+        verify(orderBookService).reduceBidQuantity(2, 3.0, null);
+        verify(orderBookService).reduceAskQuantity(1, 3.0, null);
+    }
+
+    @Test
+    void testSubmit_Crossing_ShouldEvaluateRulesOnRemainingQuantities() throws InterruptedException {
+        runWrites();
+        matchingEngine.submit(bidList(1, "Sell", null, null, 10.0, 5.0));
+        matchingEngine.submit(bidList(2, "Buy", 12.0, 3.0, null, null));
+
+        matchingEngine.stop();
+
+        verify(ruleScheduler).recordChanged(RuleTarget.BID_LIST, 2, List.of("bidQuantity"));
+        verify(ruleScheduler).recordChanged(RuleTarget.BID_LIST, 1, List.of("askQuantity"));
+    }
+
+    @Test
+    void testSubmit_FilledOrderNotSavedYet_ShouldNotBeSubmittedAgain() throws InterruptedException {
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            saving.countDown();
+            release.await();
+            return null;
+        }).when(tradeService).addTrades(anyList(), any(Runnable.class));
+        matchingEngine.submit(bidList(1, "Sell", null, null, 10.0, 5.0));
+        matchingEngine.submit(bidList(2, "Buy", 12.0, 3.0, null, null));
+        saving.await();
+
+        assertFalse(matchingEngine.submit(bidList(2, "Buy", 12.0, 3.0, null, null)));
+
+        release.countDown();
+        matchingEngine.stop();
+        verify(tradeService, times(1)).addTrades(anyList(), any(Runnable.class));
+    }
+
+    @Test
+    void testSubmit_NoCross_ShouldNotSave() throws InterruptedException {
+        matchingEngine.submit(bidList(1, "Sell", null, null, 12.0, 5.0));
+        matchingEngine.submit(bidList(2, "Buy", 10.0, 3.0, null, null));
+
+        matchingEngine.stop();
+
+        verify(tradeService, never()).addTrades(anyList(), any(Runnable.class));
+    }
+
+    @Test
+    void testCancel_ShouldRemoveRestingOrder() throws InterruptedException {
+        matchingEngine.submit(bidList(1, "Sell", null, null, 10.0, 5.0));
+        assertTrue(matchingEngine.cancel(1));
+        matchingEngine.submit(bidList(2, "Buy", 12.0, 3.0, null, null));
+
+        matchingEngine.stop();
+
+        verify(tradeService, never()).addTrades(anyList(), any(Runnable.class));
+    }
+
+    @Test
+    void testCancel_NotAnOrder() {
+        assertFalse(matchingEngine.cancel(1));
+    }
+
+    @Test
+    void testAmend_ShouldChangeRemainingBidQuantityAndAccount() throws InterruptedException {
+        matchingEngine.submit(bidList(1, "Buy", 12.0, 5.0, null, null));
+        assertTrue(matchingEngine.amend(1, "Amended", -3.0));
+        matchingEngine.submit(bidList(2, "Sell", null, null, 10.0, 5.0));
+
+        matchingEngine.stop();
+
+        List<Trade> trades = savedTrades();
+        assertEquals(2, trades.size());
+        assertEquals("Amended", trades.get(0).getAccount());
+        assertEquals(2.0, trades.get(0).getBuyQuantity());
+    }
+
+    @Test
+    void testAmend_SellOrder_ShouldKeepQuantity() throws InterruptedException {
+        matchingEngine.submit(bidList(1, "Sell", null, null, 10.0, 5.0));
+        matchingEngine.amend(1, "Amended", -3.0);
+        matchingEngine.submit(bidList(2, "Buy", 12.0, 5.0, null, null));
+
+        matchingEngine.stop();
+
+        List<Trade> trades = savedTrades();
+        assertEquals("Amended", trades.get(1).getAccount());
+        assertEquals(5.0, trades.get(1).getSellQuantity());
+    }
+
+    @Test
+    void testLoad_ShouldRestoreRestingOrders() throws InterruptedException {
+        BidList sell = bidList(1, "Sell", null, null, 10.0, 5.0);
+        BidList buy = bidList(2, "Buy", 12.0, 3.0, null, null);
+        when(bidListRepository.streamAll()).thenReturn(Stream.of(sell, buy));
+
+        matchingEngine.load();
+        matchingEngine.stop();
+
+        assertEquals(2, savedTrades().size());
+        verify(entityManager, times(2)).detach(any(BidList.class));
+    }
+
+    @Test
+    void testLoad_OrderCancelledWhileLoading_ShouldBeSkipped() throws InterruptedException {
+        BidList sell = bidList(1, "Sell", null, null, 10.0, 5.0);
+        BidList buy = bidList(2, "Buy", 12.0, 3.0, null, null);
+        when(bidListRepository.streamAll()).thenReturn(Stream.of(sell, buy).peek(bidList -> {
+            if (bidList == buy) {
+                matchingEngine.cancel(2);
+            }
+        }));
+
+        matchingEngine.load();
+        matchingEngine.stop();
+
+        verify(tradeService, never()).addTrades(anyList(), any(Runnable.class));
+    }
+
+    @Test
+    void testWriteFills_RefusedBatchIsRetried() throws InterruptedException {
+        doThrow(new RuntimeException("Database error")).doNothing()
+                                                       .when(tradeService).addTrades(anyList(), any(Runnable.class));
+        matchingEngine.submit(bidList(1, "Sell", null, null, 10.0, 5.0));
+        matchingEngine.submit(bidList(2, "Buy", 12.0, 3.0, null, null));
+
+        matchingEngine.stop();
+
+        verify(tradeService, times(2)).addTrades(anyList(), any(Runnable.class));
+        assertEquals(0, matchingEngine.getDeadLetterFills());
+        assertEquals(0, meterRegistry.get("matching.fills.failures").counter().count());
+    }
+
+    @Test
+    void testWriteFills_RefusedBatchIsDeadLettered() throws InterruptedException {
+        doThrow(new RuntimeException("Database error")).when(tradeService).addTrades(anyList(), any(Runnable.class));
+        matchingEngine.submit(bidList(1, "Sell", null, null, 10.0, 5.0));
+        matchingEngine.submit(bidList(2, "Buy", 12.0, 3.0, null, null));
+
+        matchingEngine.stop();
+
+        verify(tradeService, times(3)).addTrades(anyList(), any(Runnable.class));
+        verify(orderBookService, never()).reduceBidQuantity(any(), anyDouble(), any());
+        verifyNoInteractions(ruleScheduler);
+        assertEquals(1, matchingEngine.getDeadLetterFills());
+        assertEquals(1, meterRegistry.get("matching.fills.failures").counter().count());
+        assertEquals(1, meterRegistry.get("matching.fills.dead-letters").gauge().value());
+    }
+
+    @Test
+    void testWriteFills_DeadLettersAreRedelivered() throws InterruptedException {
+        ReflectionTestUtils.setField(matchingEngine, "redeliveryInterval", 0L);
+        doThrow(new RuntimeException("Database error")).doThrow(new RuntimeException("Database error"))
+                                                       .doThrow(new RuntimeException("Database error"))
+                                                       .doNothing()
+                                                       .when(tradeService).addTrades(anyList(), any(Runnable.class));
+        matchingEngine.submit(bidList(1, "Sell", null, null, 10.0, 5.0));
+        matchingEngine.submit(bidList(2, "Buy", 12.0, 3.0, null, null));
+
+        for (int i = 0; i < 50 && (matchingEngine.getDeadLetterFills() > 0
+                || mockingDetails(tradeService).getInvocations().size() < 4); i++) {
+            Thread.sleep(50);
+        }
+        matchingEngine.stop();
+
+        verify(tradeService, times(4)).addTrades(anyList(), any(Runnable.class));
+        assertEquals(0, matchingEngine.getDeadLetterFills());
+        assertEquals(1, meterRegistry.get("matching.fills.failures").counter().count());
+    }
+}
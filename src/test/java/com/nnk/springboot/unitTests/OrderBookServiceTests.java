@@ -0,0 +1,185 @@
+package com.nnk.springboot.unitTests;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.OrderBookDTO;
+import com.nnk.springboot.dto.PriceLevelDTO;
+import com.nnk.springboot.dto.TopOfBookDTO;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.services.OrderBookService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderBookServiceTests {
+    @Mock
+    private BidListRepository bidListRepository;
+    @Mock
+    private EntityManager entityManager;
+    @InjectMocks
+    private OrderBookService orderBookService;
+
+    private static BidList bidList(Integer id, String security, Double bid, Double bidQuantity, Double ask,
+                                   Double askQuantity) {
+        return bidList(id, security, bid, bidQuantity, ask, askQuantity, 0);
+    }
+
+    private static BidList bidList(Integer id, String security, Double bid, Double bidQuantity, Double ask,
+                                   Double askQuantity, Integer version) {
+        BidList bidList = new BidList();
+        bidList.setVersion(version);
+        bidList.setId(id);
+        bidList.setAccount("Account");
+        bidList.setType("Type");
+        bidList.setSecurity(security);
+        bidList.setBid(bid);
+        bidList.setBidQuantity(bidQuantity);
+        bidList.setAsk(ask);
+        bidList.setAskQuantity(askQuantity);
+        return bidList;
+    }
+
+    @Test
+    void testLoad() {
+        BidList bidList1 = bidList(1, "AAA", 10.0, 5.0, 11.0, 3.0);
+        BidList bidList2 = bidList(2, "BBB", 20.0, 1.0, null, null);
+        when(bidListRepository.streamAll()).thenReturn(Stream.of(bidList1, bidList2));
+
+        orderBookService.load();
+
+        assertEquals(List.of("AAA", "BBB"), orderBookService.getSecurities());
+        verify(entityManager, times(1)).detach(bidList1);
+        verify(entityManager, times(1)).detach(bidList2);
+    }
+
+    @Test
+    void testLoad_ReplaysChangesAppliedDuringLoad() {
+        orderBookService.add(bidList(1, "AAA", 10.0, 5.0, null, null, 0));
+        BidList filled = bidList(2, "AAA", 10.0, 3.0, null, null, 1);
+        BidList deleted = bidList(3, "AAA", 9.0, 4.0, null, null, 0);
+        BidList updated = bidList(4, "AAA", 8.0, 4.0, null, null, 0);
+        when(bidListRepository.streamAll()).thenReturn(Stream.of(filled, deleted, updated).peek(bidList -> {
+            if (bidList == filled) {
+                orderBookService.reduceBidQuantity(2, 2.0, 1);
+                orderBookService.add(bidList(5, "BBB", 20.0, 1.0, null, null, 0));
+                orderBookService.remove(3);
+                orderBookService.updateBidQuantity(4, 1.0, 1);
+            }
+        }));
+
+        orderBookService.load();
+
+        assertEquals(List.of("AAA", "BBB"), orderBookService.getSecurities());
+        OrderBookDTO book = orderBookService.getOrderBook("AAA", 10);
+        assertEquals(List.of(10.0, 8.0), book.getBids().stream().map(PriceLevelDTO::getPrice).toList());
+        assertEquals(List.of(3.0, 1.0), book.getBids().stream().map(PriceLevelDTO::getQuantity).toList());
+        assertEquals(20.0, orderBookService.getTopOfBook("BBB").getBidPrice());
+    }
+
+    @Test
+    void testAdd_AggregatesSamePrice() {
+        orderBookService.add(bidList(1, "AAA", 10.0, 5.0, 11.0, 3.0));
+        orderBookService.add(bidList(2, "AAA", 10.0, 2.0, 11.0, 4.0));
+
+        TopOfBookDTO top = orderBookService.getTopOfBook("AAA");
+
+        assertEquals(10.0, top.getBidPrice());
+        assertEquals(7.0, top.getBidQuantity());
+        assertEquals(11.0, top.getAskPrice());
+        assertEquals(7.0, top.getAskQuantity());
+    }
+
+    @Test
+    void testAdd_WithoutSecurity_ShouldBeIgnored() {
+        orderBookService.add(bidList(1, null, 10.0, 5.0, 11.0, 3.0));
+        orderBookService.add(bidList(2, "AAA", null, 5.0, null, 3.0));
+
+        assertTrue(orderBookService.getSecurities().isEmpty());
+    }
+
+    @Test
+    void testGetOrderBook_BestPricesFirst() {
+        orderBookService.add(bidList(1, "AAA", 10.0, 1.0, 13.0, 1.0));
+        orderBookService.add(bidList(2, "AAA", 12.0, 2.0, 15.0, 2.0));
+        orderBookService.add(bidList(3, "AAA", 11.0, 3.0, 14.0, 3.0));
+
+        OrderBookDTO book = orderBookService.getOrderBook("AAA", 2);
+
+        assertEquals(List.of(12.0, 11.0), book.getBids().stream().map(PriceLevelDTO::getPrice).toList());
+        assertEquals(List.of(13.0, 14.0), book.getAsks().stream().map(PriceLevelDTO::getPrice).toList());
+    }
+
+    @Test
+    void testGetOrderBook_UnknownSecurity() {
+        OrderBookDTO book = orderBookService.getOrderBook("ZZZ", 10);
+
+        assertEquals("ZZZ", book.getSecurity());
+        assertTrue(book.getBids().isEmpty());
+        assertTrue(book.getAsks().isEmpty());
+    }
+
+    @Test
+    void testUpdateBidQuantity() {
+        orderBookService.add(bidList(1, "AAA", 10.0, 5.0, 11.0, 3.0));
+        orderBookService.add(bidList(2, "AAA", 10.0, 2.0, null, null));
+
+        assertEquals(5.0, orderBookService.updateBidQuantity(1, 1.0, null));
+
+        TopOfBookDTO top = orderBookService.getTopOfBook("AAA");
+        assertEquals(3.0, top.getBidQuantity());
+        assertEquals(3.0, top.getAskQuantity());
+    }
+
+    @Test
+    void testUpdateBidQuantity_UnknownId_ShouldDoNothing() {
+        assertNull(orderBookService.updateBidQuantity(1, 1.0, null));
+
+        assertTrue(orderBookService.getSecurities().isEmpty());
+    }
+
+    @Test
+    void testReduceQuantities_ShouldStopAtZero() {
+        orderBookService.add(bidList(1, "AAA", 10.0, 5.0, 11.0, 3.0));
+        orderBookService.add(bidList(2, "AAA", 10.0, 2.0, 11.0, 1.0));
+
+        orderBookService.reduceBidQuantity(1, 4.0, null);
+        orderBookService.reduceAskQuantity(1, 4.0, null);
+
+        TopOfBookDTO top = orderBookService.getTopOfBook("AAA");
+        assertEquals(3.0, top.getBidQuantity());
+        assertEquals(1.0, top.getAskQuantity());
+    }
+
+    @Test
+    void testRemove_DropsEmptyLevels() {
+        orderBookService.add(bidList(1, "AAA", 10.0, 5.0, 11.0, 3.0));
+        orderBookService.add(bidList(2, "AAA", 9.0, 2.0, 12.0, 4.0));
+
+        orderBookService.remove(1);
+
+        TopOfBookDTO top = orderBookService.getTopOfBook("AAA");
+        assertEquals(9.0, top.getBidPrice());
+        assertEquals(12.0, top.getAskPrice());
+    }
+
+    @Test
+    void testRemoveAll() {
+        orderBookService.add(bidList(1, "AAA", 10.0, 5.0, 11.0, 3.0));
+        orderBookService.add(bidList(2, "AAA", 9.0, 2.0, 12.0, 4.0));
+
+        orderBookService.removeAll(List.of(1, 2, 3));
+
+        TopOfBookDTO top = orderBookService.getTopOfBook("AAA");
+        assertNull(top.getBidPrice());
+        assertNull(top.getAskPrice());
+    }
+}
@@ -0,0 +1,93 @@
+package com.nnk.springboot.unitTests;
+
+import com.nnk.springboot.services.PasswordHasher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PasswordHasherTests {
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @InjectMocks
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(passwordHasher, "poolSize", 1);
+        ReflectionTestUtils.setField(passwordHasher, "queueCapacity", 1);
+        passwordHasher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.stop();
+    }
+
+    @Test
+    void testEncode_ShouldUseSharedEncoderOnHashingThread() {
+        when(passwordEncoder.encode("Password1!")).thenAnswer(
+                invocation -> Thread.currentThread().getName().startsWith("password-hashing-") ? "hash" : "wrongThread");
+
+        assertEquals("hash", passwordHasher.encode("Password1!"));
+    }
+
+    @Test
+    void testEncode_WhenQueueFull_ShouldReturnServiceUnavailable() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.encode("running"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHasher.encode("queued"));
+        waitForQueuedTask();
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                                                         () -> passwordHasher.encode("rejected"));
+        release.countDown();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testEncode_WhenEncoderFails_ShouldReturnInternalServerError() {
+        when(passwordEncoder.encode(anyString())).thenThrow(new IllegalStateException("encoder error"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                                                         () -> passwordHasher.encode("Password1!"));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+    }
+
+    private void waitForQueuedTask() throws InterruptedException {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(passwordHasher, "executor");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getQueue().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
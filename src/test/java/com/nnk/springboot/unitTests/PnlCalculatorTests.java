@@ -0,0 +1,109 @@
+package com.nnk.springboot.unitTests;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.PnlDTO;
+import com.nnk.springboot.services.PnlCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PnlCalculatorTests {
+    private static final PnlCalculator.LotKey KEY = new PnlCalculator.LotKey("Trader", "Book", "AAA");
+
+    private static PnlCalculator.Execution buy(PnlCalculator.LotKey key, double quantity, double price) {
+        return new PnlCalculator.Execution(key, quantity, price, 0, Double.NaN);
+    }
+
+    private static PnlCalculator.Execution sell(PnlCalculator.LotKey key, double quantity, double price) {
+        return new PnlCalculator.Execution(key, 0, Double.NaN, quantity, price);
+    }
+
+    @Test
+    void testLot_RealizedAndUnrealized() {
+        PnlCalculator.Lot lot = PnlCalculator.Lot.EMPTY.plus(buy(KEY, 10, 100), 1)
+                                                      .plus(buy(KEY, 10, 110), 1)
+                                                      .plus(sell(KEY, 5, 120), 1);
+
+        assertEquals(15.0, lot.netQuantity());
+        assertEquals(75.0, lot.realized());
+        assertEquals(150.0, lot.unrealized(115));
+    }
+
+    @Test
+    void testLot_ShortPosition() {
+        PnlCalculator.Lot lot = PnlCalculator.Lot.EMPTY.plus(sell(KEY, 10, 100), 1);
+
+        assertEquals(0.0, lot.realized());
+        assertEquals(50.0, lot.unrealized(95));
+    }
+
+    @Test
+    void testLot_RemoveTrade() {
+        PnlCalculator.Lot lot = PnlCalculator.Lot.EMPTY.plus(buy(KEY, 10, 100), 1)
+                                                      .plus(buy(KEY, 10, 100), -1);
+
+        assertEquals(0, lot.executions());
+        assertEquals(0.0, lot.netQuantity());
+    }
+
+    @Test
+    void testExecutionOf_IgnoresUnpricedSides() {
+        Trade trade = new Trade();
+        trade.setBuyQuantity(10d);
+
+        assertNull(PnlCalculator.Execution.of(trade));
+
+        trade.setSellQuantity(5d);
+        trade.setSellPrice(20d);
+        PnlCalculator.Execution execution = PnlCalculator.Execution.of(trade);
+        assertEquals(0.0, execution.buyQuantity());
+        assertEquals(5.0, execution.sellQuantity());
+    }
+
+    @Test
+    void testAggregate_ParallelMatchesSequential() {
+        List<List<PnlCalculator.Execution>> executionsByAccount = new ArrayList<>();
+        for (int account = 0; account < 50; account++) {
+            List<PnlCalculator.Execution> executions = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                PnlCalculator.LotKey key = new PnlCalculator.LotKey("Trader" + account % 3, "Book" + i % 2,
+                                                                    "SEC" + i % 5);
+                executions.add(i % 3 == 0 ? sell(key, 1 + i % 7, 100 + i) : buy(key, 1 + i % 4, 99 + i));
+            }
+            executionsByAccount.add(executions);
+        }
+
+        Map<PnlCalculator.LotKey, PnlCalculator.Lot> sequential =
+                new PnlCalculator(new ForkJoinPool(1), Integer.MAX_VALUE).aggregate(executionsByAccount);
+        Map<PnlCalculator.LotKey, PnlCalculator.Lot> parallel =
+                new PnlCalculator(new ForkJoinPool(4), 100).aggregate(executionsByAccount);
+
+        assertEquals(sequential.keySet(), parallel.keySet());
+        sequential.forEach((key, lot) -> {
+            assertEquals(lot.executions(), parallel.get(key).executions());
+            assertEquals(lot.buyAmount(), parallel.get(key).buyAmount(), 1e-6);
+            assertEquals(lot.sellAmount(), parallel.get(key).sellAmount(), 1e-6);
+        });
+    }
+
+    @Test
+    void testSummarize_PerTraderAndBook() {
+        PnlCalculator.LotKey other = new PnlCalculator.LotKey("Trader", "Book", "BBB");
+        Map<PnlCalculator.LotKey, PnlCalculator.Lot> lots = Map.of(
+                KEY, PnlCalculator.Lot.EMPTY.plus(buy(KEY, 10, 100), 1).plus(sell(KEY, 4, 110), 1),
+                other, PnlCalculator.Lot.EMPTY.plus(buy(other, 1, 10), 1));
+
+        List<PnlDTO> pnl = PnlCalculator.summarize(lots, security -> "AAA".equals(security) ? 105 : Double.NaN);
+
+        assertEquals(1, pnl.size());
+        assertEquals(40.0, pnl.get(0).getRealized());
+        assertEquals(30.0, pnl.get(0).getUnrealized());
+        assertEquals(70.0, pnl.get(0).getTotal());
+        assertEquals(1, pnl.get(0).getUnmarkedSecurities());
+    }
+}
@@ -0,0 +1,152 @@
+package com.nnk.springboot.unitTests;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.PnlDTO;
+import com.nnk.springboot.dto.TopOfBookDTO;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.OrderBookService;
+import com.nnk.springboot.services.PnlService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PnlServiceTests {
+    @Mock
+    private TradeRepository tradeRepository;
+    @Mock
+    private OrderBookService orderBookService;
+    @Mock
+    private EntityManager entityManager;
+    @InjectMocks
+    private PnlService pnlService;
+
+    private static Trade trade(Integer id, String account, Double buyQuantity, Double buyPrice, Double sellQuantity,
+                               Double sellPrice) {
+        Trade trade = new Trade();
+        trade.setId(id);
+        trade.setAccount(account);
+        trade.setTrader("Trader");
+        trade.setBook("Book");
+        trade.setSecurity("AAA");
+        trade.setBuyQuantity(buyQuantity);
+        trade.setBuyPrice(buyPrice);
+        trade.setSellQuantity(sellQuantity);
+        trade.setSellPrice(sellPrice);
+        return trade;
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(pnlService, "parallelism", 2);
+        ReflectionTestUtils.setField(pnlService, "leafSize", 1);
+        pnlService.start();
+    }
+
+    private void markAtMid() {
+        when(orderBookService.getTopOfBook("AAA")).thenReturn(new TopOfBookDTO("AAA", 104.0, 1.0, 106.0, 1.0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pnlService.stop();
+    }
+
+    @Test
+    void testAdd_MarksAtMid() {
+        markAtMid();
+        pnlService.add(trade(1, "Account1", 10.0, 100.0, null, null));
+        pnlService.add(trade(2, "Account1", null, null, 4.0, 110.0));
+
+        List<PnlDTO> pnl = pnlService.getPnl(null);
+
+        assertEquals(1, pnl.size());
+        assertEquals(40.0, pnl.get(0).getRealized(), 1e-9);
+        assertEquals(30.0, pnl.get(0).getUnrealized(), 1e-9);
+    }
+
+    @Test
+    void testAdd_UnpricedTrade_ShouldBeIgnored() {
+        pnlService.add(trade(1, "Account1", 10.0, null, null, null));
+
+        assertTrue(pnlService.getPnl(null).isEmpty());
+    }
+
+    @Test
+    void testUpdateBuyQuantity() {
+        markAtMid();
+        pnlService.add(trade(1, "Account1", 10.0, 100.0, null, null));
+
+        pnlService.updateBuyQuantity(1, 2.0);
+
+        assertEquals(10.0, pnlService.getPnl(null).get(0).getUnrealized(), 1e-9);
+    }
+
+    @Test
+    void testRemove() {
+        markAtMid();
+        pnlService.addAll(List.of(trade(1, "Account1", 10.0, 100.0, null, null),
+                                  trade(2, "Account2", 10.0, 100.0, null, null)));
+
+        pnlService.remove(1);
+        assertEquals(50.0, pnlService.getPnl(null).get(0).getUnrealized(), 1e-9);
+
+        pnlService.removeAll(List.of(2));
+        assertTrue(pnlService.getPnl(null).isEmpty());
+    }
+
+    @Test
+    void testGetPnl_FilterByTrader() {
+        markAtMid();
+        pnlService.add(trade(1, "Account1", 10.0, 100.0, null, null));
+
+        assertTrue(pnlService.getPnl("Other").isEmpty());
+        assertEquals(1, pnlService.getPnl("Trader").size());
+    }
+
+    @Test
+    void testRecompute() {
+        markAtMid();
+        pnlService.add(trade(9, "Account1", 100.0, 1.0, null, null));
+        when(tradeRepository.streamAll()).thenReturn(Stream.of(trade(1, "Account1", 10.0, 100.0, null, null),
+                                                               trade(2, "Account2", null, null, 4.0, 110.0),
+                                                               trade(3, "Account3", 5.0, null, null, null)));
+
+        int executions = pnlService.recompute();
+
+        assertEquals(2, executions);
+        List<PnlDTO> pnl = pnlService.getPnl(null);
+        assertEquals(40.0, pnl.get(0).getRealized(), 1e-9);
+        assertEquals(30.0, pnl.get(0).getUnrealized(), 1e-9);
+        verify(entityManager, times(3)).detach(any(Trade.class));
+    }
+
+    @Test
+    void testRecompute_ReplaysDeltasAppliedDuringRecompute() {
+        markAtMid();
+        Trade trade1 = trade(1, "Account1", 10.0, 100.0, null, null);
+        when(tradeRepository.streamAll()).thenReturn(Stream.of(trade1).peek(trade -> {
+            pnlService.add(trade(2, "Account2", null, null, 4.0, 110.0));
+            pnlService.updateBuyQuantity(1, 2.0);
+        }));
+
+        assertEquals(2, pnlService.recompute());
+
+        List<PnlDTO> pnl = pnlService.getPnl(null);
+        assertEquals(1, pnl.size());
+        assertEquals(20.0, pnl.get(0).getRealized(), 1e-9);
+        assertEquals(10.0, pnl.get(0).getUnrealized(), 1e-9);
+    }
+}
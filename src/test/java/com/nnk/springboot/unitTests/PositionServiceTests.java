@@ -0,0 +1,150 @@
+package com.nnk.springboot.unitTests;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.PositionDTO;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.PositionService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PositionServiceTests {
+    @Mock
+    private TradeRepository tradeRepository;
+    @Mock
+    private EntityManager entityManager;
+    @InjectMocks
+    private PositionService positionService;
+
+    private static Trade trade(Integer id, String account, Double buyQuantity, Double buyPrice, Double sellQuantity,
+                               Double sellPrice) {
+        Trade trade = new Trade();
+        trade.setId(id);
+        trade.setAccount(account);
+        trade.setBook("Book");
+        trade.setSecurity("AAA");
+        trade.setBuyQuantity(buyQuantity);
+        trade.setBuyPrice(buyPrice);
+        trade.setSellQuantity(sellQuantity);
+        trade.setSellPrice(sellPrice);
+        return trade;
+    }
+
+    @Test
+    void testAdd_AggregatesByKey() {
+        positionService.add(trade(1, "Account1", 10.0, 2.0, null, null));
+        positionService.add(trade(2, "Account1", null, null, 4.0, 3.0));
+        positionService.add(trade(3, "Account2", 5.0, null, null, null));
+
+        List<PositionDTO> positions = positionService.getPositions(null);
+
+        assertEquals(2, positions.size());
+        PositionDTO position = positions.get(0);
+        assertEquals("Account1", position.getAccount());
+        assertEquals(10.0, position.getBoughtQuantity());
+        assertEquals(4.0, position.getSoldQuantity());
+        assertEquals(6.0, position.getNetQuantity());
+        assertEquals(20.0, position.getBuyAmount());
+        assertEquals(12.0, position.getSellAmount());
+        assertEquals(2, position.getTradeCount());
+        assertEquals(0.0, positions.get(1).getBuyAmount());
+    }
+
+    @Test
+    void testGetPositions_FilterByAccount() {
+        positionService.addAll(List.of(trade(1, "Account1", 10.0, null, null, null),
+                                       trade(2, "Account2", 5.0, null, null, null)));
+
+        List<PositionDTO> positions = positionService.getPositions("Account2");
+
+        assertEquals(1, positions.size());
+        assertEquals(5.0, positions.get(0).getBoughtQuantity());
+    }
+
+    @Test
+    void testUpdate_MovesTradeToNewAccount() {
+        positionService.add(trade(1, "Account1", 10.0, 2.0, null, null));
+
+        positionService.update(1, "Account2", 3.0);
+
+        List<PositionDTO> positions = positionService.getPositions(null);
+        assertEquals(1, positions.size());
+        assertEquals("Account2", positions.get(0).getAccount());
+        assertEquals(3.0, positions.get(0).getBoughtQuantity());
+        assertEquals(6.0, positions.get(0).getBuyAmount());
+    }
+
+    @Test
+    void testUpdate_UnknownId_ShouldDoNothing() {
+        positionService.update(1, "Account1", 3.0);
+
+        assertTrue(positionService.getPositions(null).isEmpty());
+    }
+
+    @Test
+    void testRemove_DropsEmptyPosition() {
+        positionService.add(trade(1, "Account1", 10.0, null, null, null));
+        positionService.add(trade(2, "Account1", 5.0, null, null, null));
+
+        positionService.remove(1);
+        assertEquals(5.0, positionService.getPositions(null).get(0).getBoughtQuantity());
+
+        positionService.removeAll(List.of(2, 3));
+        assertTrue(positionService.getPositions(null).isEmpty());
+    }
+
+    @Test
+    void testRebuild_CorrectsDrift() {
+        positionService.add(trade(1, "Account1", 10.0, null, null, null));
+        positionService.add(trade(2, "Account2", 5.0, null, null, null));
+        Trade trade1 = trade(1, "Account1", 12.0, null, null, null);
+        Trade trade3 = trade(3, "Account3", 1.0, null, null, null);
+        when(tradeRepository.streamAll()).thenReturn(Stream.of(trade1, trade3));
+
+        int drifted = positionService.rebuild();
+
+        assertEquals(3, drifted);
+        List<PositionDTO> positions = positionService.getPositions(null);
+        assertEquals(List.of("Account1", "Account3"), positions.stream().map(PositionDTO::getAccount).toList());
+        assertEquals(12.0, positions.get(0).getBoughtQuantity());
+        verify(entityManager, times(1)).detach(trade1);
+        verify(entityManager, times(1)).detach(trade3);
+    }
+
+    @Test
+    void testRebuild_NoDrift() {
+        positionService.add(trade(1, "Account1", 10.0, null, null, null));
+        when(tradeRepository.streamAll()).thenReturn(Stream.of(trade(1, "Account1", 10.0, null, null, null)));
+
+        assertEquals(0, positionService.rebuild());
+    }
+
+    @Test
+    void testRebuild_ReplaysDeltasAppliedDuringRebuild() {
+        Trade trade1 = trade(1, "Account1", 10.0, null, null, null);
+        Trade trade2 = trade(2, "Account2", 5.0, null, null, null);
+        positionService.add(trade1);
+        positionService.add(trade2);
+        when(tradeRepository.streamAll()).thenReturn(Stream.of(trade1, trade2).peek(trade -> {
+            if (trade.getId() == 2) {
+                positionService.add(trade(3, "Account3", 1.0, null, null, null));
+                positionService.remove(1);
+            }
+        }));
+
+        assertEquals(0, positionService.rebuild());
+
+        List<PositionDTO> positions = positionService.getPositions(null);
+        assertEquals(List.of("Account2", "Account3"), positions.stream().map(PositionDTO::getAccount).toList());
+    }
+}
@@ -0,0 +1,87 @@
+package com.nnk.springboot.unitTests;
+
+import com.nnk.springboot.dto.RatingDTO;
+import com.nnk.springboot.services.RatingScale;
+import com.nnk.springboot.services.RatingScale.Agency;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RatingScaleTests {
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @ParameterizedTest
+    @CsvSource({"Aaa, AAA, AAA, 1",
+                "Aa2, AA, AA, 3",
+                "Baa3, BBB-, BBB-, 10",
+                "Ba1, BB+, BB+, 11",
+                "Ca, CC, CC, 20",
+                "C, C, C, 21"})
+    void testOrdinal_SharedAcrossAgencies(String moodys, String sandP, String fitch, int ordinal) {
+        assertEquals(ordinal, RatingScale.ordinal(Agency.MOODYS, moodys));
+        assertEquals(ordinal, RatingScale.ordinal(Agency.SANDP, sandP));
+        assertEquals(ordinal, RatingScale.ordinal(Agency.FITCH, fitch));
+        assertEquals(ordinal, RatingScale.ordinal(moodys));
+    }
+
+    @Test
+    void testOrdinal_DefaultNotations() {
+        assertEquals(RatingScale.DEFAULT, RatingScale.ordinal(Agency.SANDP, "SD"));
+        assertEquals(RatingScale.DEFAULT, RatingScale.ordinal(Agency.SANDP, "D"));
+        assertEquals(RatingScale.DEFAULT, RatingScale.ordinal(Agency.FITCH, "RD"));
+        assertEquals(RatingScale.UNRATED, RatingScale.ordinal(Agency.FITCH, "SD"));
+        assertEquals(RatingScale.UNRATED, RatingScale.ordinal(Agency.MOODYS, "D"));
+    }
+
+    @Test
+    void testOrdinal_NotationOfAnotherAgencyOrUnknown() {
+        assertEquals(RatingScale.UNRATED, RatingScale.ordinal(Agency.MOODYS, "BBB"));
+        assertEquals(RatingScale.UNRATED, RatingScale.ordinal(Agency.SANDP, "Baa2"));
+        assertEquals(RatingScale.UNRATED, RatingScale.ordinal(Agency.SANDP, "bbb"));
+        assertEquals(RatingScale.UNRATED, RatingScale.ordinal(Agency.SANDP, (String) null));
+        assertEquals(-1, RatingScale.code("AAA+"));
+        assertEquals(RatingScale.UNRATED, RatingScale.ordinal("AAA+"));
+    }
+
+    @Test
+    void testCode_InternedOnce() {
+        int code = RatingScale.code("C");
+
+        assertEquals(code, RatingScale.code(new String("C")));
+        assertEquals(21, RatingScale.ordinal(Agency.MOODYS, code));
+        assertEquals(21, RatingScale.ordinal(Agency.FITCH, code));
+    }
+
+    @Test
+    void testWorstOrdinal_AndFilters() {
+        int split = RatingScale.worstOrdinal("Baa3", "BBB-", "BB+");
+
+        assertEquals(11, split);
+        assertFalse(RatingScale.isInvestmentGrade(split));
+        assertTrue(RatingScale.isInvestmentGrade(RatingScale.worstOrdinal("Baa3", "BBB-", "BBB-")));
+        assertTrue(RatingScale.isAtLeast(split, RatingScale.ordinal("B-")));
+        assertEquals(RatingScale.UNRATED, RatingScale.worstOrdinal("Baa3", "BBB-", null));
+        assertFalse(RatingScale.isAtLeast(RatingScale.UNRATED, RatingScale.DEFAULT));
+    }
+
+    @Test
+    void testValidate_RatingDTO() {
+        RatingDTO ratingDTO = new RatingDTO(null, "Baa2", "BBB", "RD", 1);
+        assertTrue(validator.validate(ratingDTO).isEmpty());
+
+        ratingDTO.setMoodysRating("BBB");
+        Set<ConstraintViolation<RatingDTO>> violations = validator.validate(ratingDTO);
+
+        assertEquals(1, violations.size());
+        ConstraintViolation<RatingDTO> violation = violations.iterator().next();
+        assertEquals("moodysRating", violation.getPropertyPath().toString());
+        assertEquals("Moodys rating must be a Moodys notation, such as Baa2", violation.getMessage());
+    }
+}
@@ -4,16 +4,17 @@ import com.nnk.springboot.domain.Rating;
 import com.nnk.springboot.dto.RatingDTO;
 import com.nnk.springboot.repositories.RatingRepository;
 import com.nnk.springboot.services.RatingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,76 +25,131 @@ public class RatingServiceTests {
     private RatingRepository ratingRepository;
     @InjectMocks
     private RatingService ratingService;
-    private Rating rating1;
-    private Rating rating2;
+    private SimpleMeterRegistry meterRegistry;
     private RatingDTO ratingDTO;
 
+    private static Rating rating(Integer id, String moodysRating, String sandPRating, String fitchRating,
+                                 Integer orderNumber) {
+        Rating rating = new Rating();
+        rating.setId(id);
+        rating.setMoodysRating(moodysRating);
+        rating.setSandPRating(sandPRating);
+        rating.setFitchRating(fitchRating);
+        rating.setOrderNumber(orderNumber);
+        return rating;
+    }
+
     @BeforeEach
     void setUp() {
-        rating1 = new Rating();
-        rating1.setId(1);
-        rating1.setFitchRating("1");
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(ratingService, "meterRegistry", meterRegistry);
+        when(ratingRepository.findAll()).thenReturn(List.of(rating(2, "Baa3", "BBB-", "BBB", 2),
+                                                            rating(1, "Aaa", "AA+", "AAA", 1),
+                                                            rating(3, "Baa3", "BB+", "BBB-", 2),
+                                                            rating(4, "Aaa", "AAA", "1", 4)));
+        ratingService.start();
+        clearInvocations(ratingRepository);
+
+        ratingDTO = new RatingDTO(null, "A1", "A+", "A", 5);
+    }
 
-        rating2 = new Rating();
-        rating2.setId(2);
-        rating2.setFitchRating("2");
+    @Test
+    void testGetRatings() {
+        List<RatingDTO> result = ratingService.getRatings();
 
-        ratingDTO = new RatingDTO();
-        ratingDTO.setFitchRating("3");
+        assertEquals(List.of(1, 2, 3, 4), result.stream().map(RatingDTO::getId).toList());
+        assertEquals("AAA", result.get(0)
+                                  .getFitchRating());
+        verifyNoInteractions(ratingRepository);
     }
 
     @Test
-    void testGetRatings() {
-        when(ratingRepository.findAll()).thenReturn(List.of(rating1, rating2));
+    void testGetRatings_AtLeast() {
+        List<RatingDTO> result = ratingService.getRatings("Baa3");
 
-        List<RatingDTO> result = ratingService.getRatings();
+        assertEquals(List.of(1, 2), result.stream().map(RatingDTO::getId).toList());
+        verifyNoInteractions(ratingRepository);
+    }
 
-        assertEquals(2, result.size());
-        assertEquals("1", result.get(0)
-                                 .getFitchRating());
-        verify(ratingRepository, times(1)).findAll();
+    @Test
+    void testGetRatings_AtLeastUnknownNotation() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                                                         () -> ratingService.getRatings("bbb"));
+
+        assertEquals("400 BAD_REQUEST \"La note bbb n'existe chez aucune agence\"", exception.getMessage());
+        verifyNoInteractions(ratingRepository);
+    }
+
+    @Test
+    void testGetRatingsByOrderNumber() {
+        assertEquals(List.of(2, 3), ratingService.getRatingsByOrderNumber(2).stream().map(RatingDTO::getId).toList());
+        assertTrue(ratingService.getRatingsByOrderNumber(3).isEmpty());
+        verifyNoInteractions(ratingRepository);
     }
 
     @Test
     void testGetRating_Success() {
-        when(ratingRepository.findById(1)).thenReturn(Optional.of(rating1));
         Rating result = ratingService.getRating(1);
 
         assertNotNull(result);
-        assertEquals("1", result.getFitchRating());
-        verify(ratingRepository, times(1)).findById(1);
+        assertEquals("AAA", result.getFitchRating());
+        verifyNoInteractions(ratingRepository);
     }
 
     @Test
-    void testGetRating_Failure() {
-        when(ratingRepository.findById(1)).thenReturn(Optional.empty());
+    void testGetRating_ReturnsCopy() {
+        ratingService.getRating(1).setFitchRating("D");
+
+        assertEquals("AAA", ratingService.getRating(1).getFitchRating());
+    }
 
+    @Test
+    void testGetRating_Failure() {
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                                                         () -> ratingService.findRatingToUpdate(1));
+                                                         () -> ratingService.findRatingToUpdate(5));
 
-        assertEquals("404 NOT_FOUND \"Le rating avec l'id 1 n'existe pas\"", exception.getMessage());
+        assertEquals("404 NOT_FOUND \"Le rating avec l'id 5 n'existe pas\"", exception.getMessage());
     }
 
     @Test
     void testFindRatingToUpdate_Success() {
-        when(ratingRepository.findById(1)).thenReturn(Optional.of(rating1));
-
         RatingDTO result = ratingService.findRatingToUpdate(1);
 
         assertNotNull(result);
-        assertEquals("1", result.getFitchRating());
-        verify(ratingRepository, times(1)).findById(1);
+        assertEquals("AAA", result.getFitchRating());
+        assertEquals(1, result.getOrder());
+        verifyNoInteractions(ratingRepository);
+    }
+
+    @Test
+    void testReload() {
+        when(ratingRepository.findAll()).thenReturn(List.of(rating(7, "Aa1", "AA+", "AA+", 1)));
+
+        ratingService.reload();
+
+        assertEquals(List.of(7), ratingService.getRatings().stream().map(RatingDTO::getId).toList());
+        assertEquals(1.0, meterRegistry.get("ratings.snapshot.size").gauge().value());
+        assertTrue(meterRegistry.get("ratings.snapshot.age").gauge().value() >= 0);
     }
 
     @Test
     void testAddRating_Success() {
+        when(ratingRepository.save(any(Rating.class))).thenAnswer(invocation -> {
+            Rating saved = invocation.getArgument(0);
+            saved.setId(5);
+            return saved;
+        });
+
         ratingService.addRating(ratingDTO);
+
         verify(ratingRepository, times(1)).save(any(Rating.class));
+        assertEquals("A+", ratingService.getRating(5).getSandPRating());
+        assertEquals(List.of(5), ratingService.getRatingsByOrderNumber(5).stream().map(RatingDTO::getId).toList());
+        assertEquals(5.0, meterRegistry.get("ratings.snapshot.size").gauge().value());
     }
 
     @Test
     void testAddRating_Failure() {
-        ratingService.addRating(ratingDTO);
         doThrow(new RuntimeException("Database error")).when(ratingRepository)
                                                        .save(any(Rating.class));
 
@@ -102,43 +158,82 @@ public class RatingServiceTests {
 
         assertEquals("500 INTERNAL_SERVER_ERROR \"Une erreur est survenue lors de la creation du rating\"",
                      exception.getMessage());
+        assertEquals(4, ratingService.getRatings().size());
     }
 
     @Test
     void testUpdateRating_Success() {
-        when(ratingRepository.findById(1)).thenReturn(Optional.of(rating1));
+        when(ratingRepository.updateFields(1, ratingDTO.getMoodysRating(), ratingDTO.getSandPRating(),
+                ratingDTO.getFitchRating(), ratingDTO.getOrder())).thenReturn(1);
+
         ratingService.updateRating(1, ratingDTO);
-        verify(ratingRepository, times(1)).save(any(Rating.class));
+
+        verify(ratingRepository, times(1)).updateFields(1, ratingDTO.getMoodysRating(), ratingDTO.getSandPRating(),
+                ratingDTO.getFitchRating(), ratingDTO.getOrder());
+        verify(ratingRepository, never()).findById(any());
+        verify(ratingRepository, never()).save(any(Rating.class));
+        assertEquals("A1", ratingService.getRating(1).getMoodysRating());
+        assertTrue(ratingService.getRatingsByOrderNumber(1).isEmpty());
+        assertEquals(List.of(1), ratingService.getRatings("A").stream().map(RatingDTO::getId).toList());
+    }
+
+    @Test
+    void testUpdateRating_NotFound() {
+        when(ratingRepository.updateFields(1, ratingDTO.getMoodysRating(), ratingDTO.getSandPRating(),
+                ratingDTO.getFitchRating(), ratingDTO.getOrder())).thenReturn(0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                ratingService.updateRating(1, ratingDTO)
+        );
+
+        assertEquals("404 NOT_FOUND \"Le rating avec l'id 1 n'existe pas\"", exception.getMessage());
+        assertThrows(ResponseStatusException.class, () -> ratingService.getRating(1));
     }
 
     @Test
     void testUpdateRating_Failure() {
-        when(ratingRepository.findById(1)).thenReturn(Optional.of(rating1));
-        doThrow(new RuntimeException("Database error")).when(ratingRepository).save(any(Rating.class));
+        when(ratingRepository.updateFields(1, ratingDTO.getMoodysRating(), ratingDTO.getSandPRating(),
+                ratingDTO.getFitchRating(), ratingDTO.getOrder())).thenThrow(new RuntimeException("Database error"));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
                 ratingService.updateRating(1, ratingDTO)
         );
 
         assertEquals("500 INTERNAL_SERVER_ERROR \"Une erreur est survenue lors de la modification du rating\"", exception.getMessage());
+        assertEquals("Aaa", ratingService.getRating(1).getMoodysRating());
     }
 
     @Test
     void testDeleteRating_Success() {
-        when(ratingRepository.findById(1)).thenReturn(Optional.of(rating1));
+        when(ratingRepository.deleteOneById(1)).thenReturn(1);
+
         ratingService.deleteRating(1);
-        verify(ratingRepository, times(1)).delete(any(Rating.class));
+
+        verify(ratingRepository, times(1)).deleteOneById(1);
+        verify(ratingRepository, never()).findById(any());
+        assertEquals(List.of(2, 3, 4), ratingService.getRatings().stream().map(RatingDTO::getId).toList());
+    }
+
+    @Test
+    void testDeleteRating_NotFound() {
+        when(ratingRepository.deleteOneById(1)).thenReturn(0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                ratingService.deleteRating(1)
+        );
+
+        assertEquals("404 NOT_FOUND \"Le rating avec l'id 1 n'existe pas\"", exception.getMessage());
     }
 
     @Test
     void testDeleteRating_Failure() {
-        when(ratingRepository.findById(1)).thenReturn(Optional.of(rating1));
-        doThrow(new RuntimeException("Database error")).when(ratingRepository).delete(any(Rating.class));
+        when(ratingRepository.deleteOneById(1)).thenThrow(new RuntimeException("Database error"));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
                 ratingService.deleteRating(1)
         );
 
         assertEquals("500 INTERNAL_SERVER_ERROR \"Une erreur est survenue lors de la suppression du rating\"", exception.getMessage());
+        assertEquals(4, ratingService.getRatings().size());
     }
 }
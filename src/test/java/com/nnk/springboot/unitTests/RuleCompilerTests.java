@@ -0,0 +1,96 @@
+package com.nnk.springboot.unitTests;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.services.CompiledRule;
+import com.nnk.springboot.services.RuleCompiler;
+import com.nnk.springboot.services.RuleParser;
+import com.nnk.springboot.services.RuleSyntaxException;
+import com.nnk.springboot.services.RuleTarget;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RuleCompilerTests {
+    private static Trade trade(String account, Double buyQuantity) {
+        Trade trade = new Trade();
+        trade.setAccount(account);
+        trade.setBuyQuantity(buyQuantity);
+        trade.setTradeDate(Timestamp.valueOf("2024-01-31 10:00:00"));
+        return trade;
+    }
+
+    private static Predicate<Trade> compile(String source) {
+        return RuleCompiler.compile(RuleParser.parse(source), RuleTarget.TRADE);
+    }
+
+    @Test
+    void testComparisons() {
+        Trade trade = trade("Account1", 100.0);
+
+        assertTrue(compile("buyQuantity >= 100 AND buy_quantity < 101").test(trade));
+        assertTrue(compile("account = 'Account1' OR account = 'Other'").test(trade));
+        assertFalse(compile("account <> 'Account1'").test(trade));
+        assertTrue(compile("ACCOUNT in ('Account2', 'Account1')").test(trade));
+        assertTrue(compile("buyQuantity BETWEEN 50 AND 100").test(trade));
+        assertTrue(compile("account LIKE 'Acc%1' AND account NOT LIKE 'Acc_'").test(trade));
+        assertTrue(compile("tradeDate > '2024-01-31' AND tradeDate < '2024-01-31 12:00:00'").test(trade));
+    }
+
+    @Test
+    void testTextComparisons_IgnoreCase() {
+        Trade trade = trade("Account1", 100.0);
+
+        assertTrue(compile("account = 'ACCOUNT1'").test(trade));
+        assertFalse(compile("account <> 'account1'").test(trade));
+        assertTrue(compile("account > 'ACCOUNT0' AND account < 'account2'").test(trade));
+        assertTrue(compile("account IN ('ACCOUNT1', 'Other')").test(trade));
+        assertFalse(compile("account NOT IN ('account1')").test(trade));
+        assertTrue(compile("account BETWEEN 'ACCOUNT0' AND 'account1'").test(trade));
+        assertTrue(compile("account LIKE 'acc%1'").test(trade));
+    }
+
+    @Test
+    void testNullFields_FollowSqlSemantics() {
+        Trade trade = trade(null, null);
+
+        assertFalse(compile("buyQuantity > 10").test(trade));
+        assertFalse(compile("NOT buyQuantity > 10").test(trade));
+        assertFalse(compile("buyQuantity NOT IN (1, 2)").test(trade));
+        assertFalse(compile("NOT (account = 'A' OR buyQuantity = 1)").test(trade));
+        assertTrue(compile("NOT (account IS NOT NULL)").test(trade));
+        assertTrue(compile("account IS NULL OR buyQuantity > 10").test(trade));
+    }
+
+    @Test
+    void testCompile_UnknownFieldOrWrongLiteral_ShouldThrow() {
+        assertEquals("Unknown field 'creationName' for TRADE",
+                     assertThrows(RuleSyntaxException.class, () -> compile("creationName = 'x'")).getMessage());
+        assertEquals("Field 'buyQuantity' must be compared to a number",
+                     assertThrows(RuleSyntaxException.class, () -> compile("buyQuantity = '1'")).getMessage());
+        assertThrows(RuleSyntaxException.class, () -> compile("tradeDate > 'yesterday'"));
+        assertThrows(RuleSyntaxException.class, () -> compile("buyQuantity LIKE '1%'"));
+    }
+
+    @Test
+    void testCompiledRule_AppliesToTargetsHavingItsFields() {
+        CompiledRule common = CompiledRule.compile(1, "account = 'A'");
+        CompiledRule tradeOnly = CompiledRule.compile(2, "buyQuantity > 1");
+
+        assertTrue(common.appliesTo(RuleTarget.TRADE));
+        assertTrue(common.appliesTo(RuleTarget.BID_LIST));
+        assertTrue(tradeOnly.appliesTo(RuleTarget.TRADE));
+        assertFalse(tradeOnly.appliesTo(RuleTarget.BID_LIST));
+        assertThrows(RuleSyntaxException.class, () -> tradeOnly.predicateFor(RuleTarget.BID_LIST));
+        assertThrows(RuleSyntaxException.class, () -> CompiledRule.compile(3, "unknown = 1"));
+
+        BidList bidList = new BidList();
+        bidList.setAccount("A");
+        assertTrue(common.predicateFor(RuleTarget.BID_LIST).test(bidList));
+        assertTrue(common.isCompiledFrom("account = 'A'"));
+        assertFalse(common.isCompiledFrom("account = 'B'"));
+    }
+}
@@ -0,0 +1,50 @@
+package com.nnk.springboot.unitTests;
+
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.services.CompiledRule;
+import com.nnk.springboot.services.RuleEngine;
+import com.nnk.springboot.services.RuleSyntaxException;
+import com.nnk.springboot.services.RuleTarget;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RuleEngineTests {
+    @Mock
+    private EntityManager entityManager;
+    @InjectMocks
+    private RuleEngine ruleEngine;
+
+    private static RuleName ruleName(Integer id, String sqlPart) {
+        RuleName ruleName = new RuleName();
+        ruleName.setId(id);
+        ruleName.setSqlPart(sqlPart);
+        return ruleName;
+    }
+
+    @Test
+    void testCompile_CachedUntilChangedOrInvalidated() {
+        CompiledRule first = ruleEngine.compile(ruleName(1, "buyQuantity > 1"));
+
+        assertSame(first, ruleEngine.compile(ruleName(1, "buyQuantity > 1")));
+        assertNotSame(first, ruleEngine.compile(ruleName(1, "buyQuantity > 2")));
+
+        CompiledRule second = ruleEngine.compile(ruleName(1, "buyQuantity > 2"));
+        ruleEngine.invalidate(1);
+        assertNotSame(second, ruleEngine.compile(ruleName(1, "buyQuantity > 2")));
+    }
+
+    @Test
+    void testRun_RuleNotApplyingToTarget_ShouldThrow() {
+        assertThrows(RuleSyntaxException.class, () ->
+                ruleEngine.run(ruleName(1, "buyQuantity > 15"), RuleTarget.BID_LIST));
+        verifyNoInteractions(entityManager);
+    }
+}
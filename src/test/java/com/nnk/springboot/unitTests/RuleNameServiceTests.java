@@ -2,8 +2,14 @@ package com.nnk.springboot.unitTests;
 
 import com.nnk.springboot.domain.RuleName;
 import com.nnk.springboot.dto.RuleNameDTO;
+import com.nnk.springboot.dto.RuleRunDTO;
+import com.nnk.springboot.repositories.RuleHitRepository;
 import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.services.RuleEngine;
 import com.nnk.springboot.services.RuleNameService;
+import com.nnk.springboot.services.RuleScheduler;
+import com.nnk.springboot.services.RuleSyntaxException;
+import com.nnk.springboot.services.RuleTarget;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,6 +28,12 @@ import static org.mockito.Mockito.*;
 public class RuleNameServiceTests {
     @Mock
     private RuleNameRepository ruleNameRepository;
+    @Mock
+    private RuleEngine ruleEngine;
+    @Mock
+    private RuleScheduler ruleScheduler;
+    @Mock
+    private RuleHitRepository ruleHitRepository;
     @InjectMocks
     private RuleNameService ruleNameService;
     private RuleName ruleName1;
@@ -44,14 +56,15 @@ public class RuleNameServiceTests {
 
     @Test
     void testGetRuleNames() {
-        when(ruleNameRepository.findAll()).thenReturn(List.of(ruleName1, ruleName2));
+        when(ruleNameRepository.findAllAsDTO()).thenReturn(List.of(new RuleNameDTO(1, "Test1", null, null, null, null, null),
+                                                                      new RuleNameDTO(2, "Test2", null, null, null, null, null)));
 
         List<RuleNameDTO> result = ruleNameService.getRuleNames();
 
         assertEquals(2, result.size());
         assertEquals("Test1", result.get(0)
                                 .getName());
-        verify(ruleNameRepository, times(1)).findAll();
+        verify(ruleNameRepository, times(1)).findAllAsDTO();
     }
 
     @Test
@@ -89,6 +102,7 @@ public class RuleNameServiceTests {
     void testAddRuleName_Success() {
         ruleNameService.addRuleName(ruleNameDTO);
         verify(ruleNameRepository, times(1)).save(any(RuleName.class));
+        verify(ruleScheduler, times(1)).ruleChanged(any());
     }
 
     @Test
@@ -106,15 +120,40 @@ public class RuleNameServiceTests {
 
     @Test
     void testUpdateRuleName_Success() {
-        when(ruleNameRepository.findById(1)).thenReturn(Optional.of(ruleName1));
+        when(ruleNameRepository.updateFields(1, ruleNameDTO.getName(), ruleNameDTO.getDescription(),
+                ruleNameDTO.getJson(), ruleNameDTO.getTemplate(), ruleNameDTO.getSql(),
+                ruleNameDTO.getSqlPart())).thenReturn(1);
+
         ruleNameService.updateRuleName(1, ruleNameDTO);
-        verify(ruleNameRepository, times(1)).save(any(RuleName.class));
+
+        verify(ruleNameRepository, times(1)).updateFields(1, ruleNameDTO.getName(), ruleNameDTO.getDescription(),
+                ruleNameDTO.getJson(), ruleNameDTO.getTemplate(), ruleNameDTO.getSql(), ruleNameDTO.getSqlPart());
+        verify(ruleNameRepository, never()).findById(any());
+        verify(ruleNameRepository, never()).save(any(RuleName.class));
+        verify(ruleEngine, times(1)).invalidate(1);
+        verify(ruleScheduler, times(1)).ruleChanged(1);
+    }
+
+    @Test
+    void testUpdateRuleName_NotFound() {
+        when(ruleNameRepository.updateFields(1, ruleNameDTO.getName(), ruleNameDTO.getDescription(),
+                ruleNameDTO.getJson(), ruleNameDTO.getTemplate(), ruleNameDTO.getSql(),
+                ruleNameDTO.getSqlPart())).thenReturn(0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                ruleNameService.updateRuleName(1, ruleNameDTO)
+        );
+
+        assertEquals("404 NOT_FOUND \"Le ruleName avec l'id 1 n'existe pas\"", exception.getMessage());
+        verify(ruleEngine, never()).invalidate(any());
+        verifyNoInteractions(ruleScheduler);
     }
 
     @Test
     void testUpdateRuleName_Failure() {
-        when(ruleNameRepository.findById(1)).thenReturn(Optional.of(ruleName1));
-        doThrow(new RuntimeException("Database error")).when(ruleNameRepository).save(any(RuleName.class));
+        when(ruleNameRepository.updateFields(1, ruleNameDTO.getName(), ruleNameDTO.getDescription(),
+                ruleNameDTO.getJson(), ruleNameDTO.getTemplate(), ruleNameDTO.getSql(),
+                ruleNameDTO.getSqlPart())).thenThrow(new RuntimeException("Database error"));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
                 ruleNameService.updateRuleName(1, ruleNameDTO)
@@ -125,15 +164,30 @@ public class RuleNameServiceTests {
 
     @Test
     void testDeleteRuleName_Success() {
-        when(ruleNameRepository.findById(1)).thenReturn(Optional.of(ruleName1));
+        when(ruleNameRepository.deleteOneById(1)).thenReturn(1);
+
         ruleNameService.deleteRuleName(1);
-        verify(ruleNameRepository, times(1)).delete(any(RuleName.class));
+
+        verify(ruleNameRepository, times(1)).deleteOneById(1);
+        verify(ruleNameRepository, never()).findById(any());
+        verify(ruleEngine, times(1)).invalidate(1);
+        verify(ruleScheduler, times(1)).ruleDeleted(1);
+    }
+
+    @Test
+    void testDeleteRuleName_NotFound() {
+        when(ruleNameRepository.deleteOneById(1)).thenReturn(0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                ruleNameService.deleteRuleName(1)
+        );
+
+        assertEquals("404 NOT_FOUND \"Le ruleName avec l'id 1 n'existe pas\"", exception.getMessage());
     }
 
     @Test
     void testDeleteRuleName_Failure() {
-        when(ruleNameRepository.findById(1)).thenReturn(Optional.of(ruleName1));
-        doThrow(new RuntimeException("Database error")).when(ruleNameRepository).delete(any(RuleName.class));
+        when(ruleNameRepository.deleteOneById(1)).thenThrow(new RuntimeException("Database error"));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
                 ruleNameService.deleteRuleName(1)
@@ -141,4 +195,47 @@ public class RuleNameServiceTests {
 
         assertEquals("500 INTERNAL_SERVER_ERROR \"Une erreur est survenue lors de la suppression de la ruleName\"", exception.getMessage());
     }
+
+    @Test
+    void testRunRuleName_Success() {
+        RuleRunDTO run = new RuleRunDTO(1, "TRADE", new int[]{2});
+        when(ruleNameRepository.findById(1)).thenReturn(Optional.of(ruleName1));
+        when(ruleEngine.run(ruleName1, RuleTarget.TRADE)).thenReturn(run);
+
+        RuleRunDTO result = ruleNameService.runRuleName(1, RuleTarget.TRADE);
+
+        assertSame(run, result);
+    }
+
+    @Test
+    void testRunRuleName_UnsupportedCondition() {
+        when(ruleNameRepository.findById(1)).thenReturn(Optional.of(ruleName1));
+        when(ruleEngine.run(ruleName1, RuleTarget.TRADE)).thenThrow(new RuleSyntaxException("Unexpected end of condition"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                ruleNameService.runRuleName(1, RuleTarget.TRADE)
+        );
+
+        assertEquals("400 BAD_REQUEST \"La ruleName avec l'id 1 ne peut pas être évaluée : Unexpected end of condition\"",
+                     exception.getMessage());
+    }
+
+    @Test
+    void testGetRuleHits() {
+        when(ruleNameRepository.findById(1)).thenReturn(Optional.of(ruleName1));
+        when(ruleHitRepository.findRecordIds(1, "TRADE")).thenReturn(List.of(3, 5));
+
+        RuleRunDTO result = ruleNameService.getRuleHits(1, RuleTarget.TRADE);
+
+        assertEquals("TRADE", result.getTarget());
+        assertArrayEquals(new int[]{3, 5}, result.getMatchedIds());
+    }
+
+    @Test
+    void testGetRuleHits_NotFound() {
+        when(ruleNameRepository.findById(1)).thenReturn(Optional.empty());
+
+        assertThrows(ResponseStatusException.class, () -> ruleNameService.getRuleHits(1, RuleTarget.TRADE));
+        verifyNoInteractions(ruleHitRepository);
+    }
 }
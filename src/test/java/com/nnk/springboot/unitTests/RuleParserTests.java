@@ -0,0 +1,60 @@
+package com.nnk.springboot.unitTests;
+
+import com.nnk.springboot.services.RuleExpression;
+import com.nnk.springboot.services.RuleParser;
+import com.nnk.springboot.services.RuleSyntaxException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RuleParserTests {
+    @Test
+    void testParse_AndBindsTighterThanOr() {
+        RuleExpression expression = RuleParser.parse("account = 'A' or buyQuantity > 10 AND status IS NOT NULL");
+
+        RuleExpression.Or or = assertInstanceOf(RuleExpression.Or.class, expression);
+        assertEquals(new RuleExpression.Comparison("account", RuleExpression.Operator.EQ, "A"), or.operands().get(0));
+        RuleExpression.And and = assertInstanceOf(RuleExpression.And.class, or.operands().get(1));
+        assertEquals(new RuleExpression.Comparison("buyQuantity", RuleExpression.Operator.GT, 10.0),
+                     and.operands().get(0));
+        assertEquals(new RuleExpression.IsNull("status", true), and.operands().get(1));
+    }
+
+    @Test
+    void testParse_Predicates() {
+        assertEquals(new RuleExpression.In("book", List.of("B1", "B2"), true),
+                     RuleParser.parse("book NOT IN ('B1', 'B2')"));
+        assertEquals(new RuleExpression.Between("buyPrice", -1.5, 20.0, false),
+                     RuleParser.parse("buyPrice BETWEEN -1.5 AND 20"));
+        assertEquals(new RuleExpression.Like("account", "it's%", false),
+                     RuleParser.parse("account LIKE 'it''s%'"));
+        assertEquals(new RuleExpression.Not(new RuleExpression.Comparison("bid", RuleExpression.Operator.NE, 1.0)),
+                     RuleParser.parse("NOT (bid <> 1)"));
+    }
+
+    @Test
+    void testParse_UnsupportedSyntax_ShouldThrow() {
+        assertEquals("Unexpected ';' at position 14",
+                     assertThrows(RuleSyntaxException.class, () -> RuleParser.parse("account = 'A'; DROP TABLE trade"))
+                             .getMessage());
+        assertEquals("Unexpected 'SELECT' at position 13",
+                     assertThrows(RuleSyntaxException.class, () -> RuleParser.parse("account IN (SELECT account)"))
+                             .getMessage());
+        assertEquals("Unexpected end of condition",
+                     assertThrows(RuleSyntaxException.class, () -> RuleParser.parse("account =")).getMessage());
+        assertThrows(RuleSyntaxException.class, () -> RuleParser.parse("account = 'A"));
+        assertThrows(RuleSyntaxException.class, () -> RuleParser.parse("account == 'A'"));
+        assertThrows(RuleSyntaxException.class, () -> RuleParser.parse("bid = ask"));
+        assertThrows(RuleSyntaxException.class, () -> RuleParser.parse(" "));
+    }
+
+    @Test
+    void testParse_TooDeep_ShouldThrow() {
+        String source = "(".repeat(40) + "bid = 1" + ")".repeat(40);
+
+        assertEquals("The condition is nested too deeply",
+                     assertThrows(RuleSyntaxException.class, () -> RuleParser.parse(source)).getMessage());
+    }
+}
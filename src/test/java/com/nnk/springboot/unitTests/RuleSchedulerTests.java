@@ -0,0 +1,268 @@
+package com.nnk.springboot.unitTests;
+
+import com.nnk.springboot.domain.RuleHit;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.RuleRunDTO;
+import com.nnk.springboot.repositories.RuleHitRepository;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.services.CompiledRule;
+import com.nnk.springboot.services.RuleEngine;
+import com.nnk.springboot.services.RuleScheduler;
+import com.nnk.springboot.services.RuleTarget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RuleSchedulerTests {
+    @Mock
+    private RuleNameRepository ruleNameRepository;
+    @Mock
+    private RuleHitRepository ruleHitRepository;
+    @Mock
+    private RuleEngine ruleEngine;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private EntityManager entityManager;
+    @InjectMocks
+    private RuleScheduler ruleScheduler;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private static RuleName ruleName(Integer id, String sqlPart) {
+        RuleName ruleName = new RuleName();
+        ruleName.setId(id);
+        ruleName.setSqlPart(sqlPart);
+        return ruleName;
+    }
+
+    private static Trade trade(Integer id, String account, Double buyQuantity) {
+        Trade trade = new Trade();
+        trade.setId(id);
+        trade.setAccount(account);
+        trade.setBuyQuantity(buyQuantity);
+        return trade;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactions() {
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+    }
+
+    private void compileRules() {
+        when(ruleEngine.compile(any())).thenAnswer(invocation -> {
+            RuleName ruleName = invocation.getArgument(0);
+            return CompiledRule.compile(ruleName.getId(), ruleName.getSqlPart());
+        });
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(ruleScheduler, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(ruleScheduler, "workers", 2);
+        ReflectionTestUtils.setField(ruleScheduler, "insertBatchSize", 2);
+        ruleScheduler.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ruleScheduler.stop();
+    }
+
+    @Test
+    void testRunAll() {
+        compileRules();
+        runTransactions();
+        RuleName both = ruleName(1, "account = 'Account1'");
+        RuleName trades = ruleName(2, "buyQuantity > 10");
+        when(ruleNameRepository.findAll()).thenReturn(List.of(both, trades, ruleName(3, "rating > 1"),
+                                                              ruleName(4, null)));
+        when(ruleEngine.run(both, RuleTarget.TRADE)).thenReturn(new RuleRunDTO(1, "TRADE", new int[]{1, 2, 3}));
+        when(ruleEngine.run(both, RuleTarget.BID_LIST)).thenReturn(new RuleRunDTO(1, "BID_LIST", new int[]{4}));
+        when(ruleEngine.run(trades, RuleTarget.TRADE)).thenReturn(new RuleRunDTO(2, "TRADE", new int[0]));
+
+        int runs = ruleScheduler.runAll();
+
+        assertEquals(3, runs);
+        verify(ruleHitRepository).deleteByRuleAndTarget(1, "TRADE");
+        verify(ruleHitRepository).deleteByRuleAndTarget(1, "BID_LIST");
+        verify(ruleHitRepository).deleteByRuleAndTarget(2, "TRADE");
+        verify(ruleHitRepository, never()).deleteByRuleAndTarget(eq(3), any());
+        verify(ruleEngine, never()).run(trades, RuleTarget.BID_LIST);
+        verify(entityManager, times(4)).persist(any(RuleHit.class));
+        verify(entityManager).flush();
+        assertEquals(3.0, meterRegistry.get("rules.evaluations").tag("mode", "batch").counter().count());
+        assertTrue(meterRegistry.get("rules.batch.lag").gauge().value() >= 0);
+    }
+
+    @Test
+    void testRunAll_RuleFailing_ShouldRunOthers() {
+        compileRules();
+        runTransactions();
+        RuleName failing = ruleName(1, "account = 'Account1'");
+        RuleName working = ruleName(2, "buyQuantity > 10");
+        when(ruleNameRepository.findAll()).thenReturn(List.of(failing, working));
+        when(ruleEngine.run(eq(failing), any())).thenThrow(new IllegalStateException("timeout"));
+        when(ruleEngine.run(working, RuleTarget.TRADE)).thenReturn(new RuleRunDTO(2, "TRADE", new int[]{5}));
+
+        int runs = ruleScheduler.runAll();
+
+        assertEquals(1, runs);
+        verify(entityManager).persist(any(RuleHit.class));
+    }
+
+    @Test
+    void testRecordChanged_EvaluatesOnlyRulesReferringToChangedFields() {
+        compileRules();
+        runTransactionCallbacks();
+        when(ruleNameRepository.findAll()).thenReturn(List.of(ruleName(1, "account = 'Account1'"),
+                                                              ruleName(2, "buyQuantity > 10"),
+                                                              ruleName(3, "bidQuantity > 10")));
+        when(entityManager.find(Trade.class, 7)).thenReturn(trade(7, "Account1", 20.0));
+
+        ruleScheduler.recordChanged(RuleTarget.TRADE, 7, List.of("buyQuantity"));
+
+        verify(ruleHitRepository, timeout(1000)).deleteByRecordAndRules("TRADE", 7, List.of(2));
+        ArgumentCaptor<RuleHit> hit = ArgumentCaptor.forClass(RuleHit.class);
+        verify(entityManager, timeout(1000)).persist(hit.capture());
+        assertEquals(2, hit.getValue().getRuleId());
+        assertEquals(7, hit.getValue().getRecordId());
+    }
+
+    @Test
+    void testRecordChanged_Added_EvaluatesAllRules() {
+        compileRules();
+        runTransactionCallbacks();
+        when(ruleNameRepository.findAll()).thenReturn(List.of(ruleName(1, "account = 'Account1'"),
+                                                              ruleName(2, "buyQuantity > 10")));
+        when(entityManager.find(Trade.class, 7)).thenReturn(trade(7, "Account2", 20.0));
+
+        ruleScheduler.recordsAdded(RuleTarget.TRADE, List.of(7));
+
+        verify(ruleHitRepository, timeout(1000)).deleteByRecordAndRules("TRADE", 7, List.of(1, 2));
+        verify(entityManager, timeout(1000)).persist(argThat(
+                (RuleHit hit) -> hit.getRuleId() == 2 && hit.getRecordId() == 7));
+        verify(entityManager, after(100).times(1)).persist(any());
+    }
+
+    @Test
+    void testRecordChanged_RecordGone_ShouldDeleteHits() {
+        compileRules();
+        runTransactionCallbacks();
+        when(ruleNameRepository.findAll()).thenReturn(List.of(ruleName(1, "account = 'Account1'")));
+
+        ruleScheduler.recordChanged(RuleTarget.TRADE, 7, List.of("account"));
+
+        verify(ruleHitRepository, timeout(1000)).deleteByRecords("TRADE", List.of(7));
+        verify(entityManager, after(100).never()).persist(any());
+    }
+
+    @Test
+    void testRuleChanged_WhileRunAllLoads_ShouldNotCacheStaleRuleNames() {
+        compileRules();
+        runTransactionCallbacks();
+        when(ruleNameRepository.findAll()).thenAnswer(invocation -> {
+            ruleScheduler.ruleChanged(2);
+            return List.of();
+        }).thenReturn(List.of(ruleName(2, "account = 'Account1'")));
+        when(entityManager.find(Trade.class, 7)).thenReturn(trade(7, "Account1", 20.0));
+        ruleScheduler.runAll();
+
+        ruleScheduler.recordChanged(RuleTarget.TRADE, 7, List.of("account"));
+
+        verify(ruleHitRepository, timeout(1000)).deleteByRecordAndRules("TRADE", 7, List.of(2));
+        verify(ruleNameRepository, times(2)).findAll();
+    }
+
+    @Test
+    void testRecordsDeleted() {
+        runTransactionCallbacks();
+
+        ruleScheduler.recordsDeleted(RuleTarget.BID_LIST, List.of(3, 4));
+
+        verify(ruleHitRepository, timeout(1000)).deleteByRecords("BID_LIST", List.of(3));
+        verify(ruleHitRepository, timeout(1000)).deleteByRecords("BID_LIST", List.of(4));
+    }
+
+    @Test
+    void testRuleChanged_ShouldReplaceHits() {
+        compileRules();
+        runTransactions();
+        RuleName ruleName = ruleName(1, "buyQuantity > 10");
+        when(ruleNameRepository.findById(1)).thenReturn(Optional.of(ruleName));
+        when(ruleEngine.run(ruleName, RuleTarget.TRADE)).thenReturn(new RuleRunDTO(1, "TRADE", new int[]{5, 6}));
+
+        ruleScheduler.ruleChanged(1);
+
+        verify(ruleHitRepository, timeout(1000)).deleteByRuleAndTarget(1, "TRADE");
+        verify(ruleHitRepository, timeout(1000)).deleteByRuleAndTarget(1, "BID_LIST");
+        verify(entityManager, timeout(1000).times(2)).persist(any(RuleHit.class));
+    }
+
+    @Test
+    void testRuleDeleted_ShouldDeleteHits() {
+        runTransactions();
+        when(ruleNameRepository.findById(1)).thenReturn(Optional.empty());
+
+        ruleScheduler.ruleDeleted(1);
+
+        verify(ruleHitRepository, timeout(1000)).deleteByRuleAndTarget(1, "TRADE");
+        verify(ruleHitRepository, timeout(1000)).deleteByRuleAndTarget(1, "BID_LIST");
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void testRuleChanged_ShouldNotWaitForOtherRulesOfBatch() throws InterruptedException {
+        compileRules();
+        runTransactions();
+        RuleName slow = ruleName(1, "buyQuantity > 10");
+        RuleName changed = ruleName(2, "buyQuantity > 20");
+        CountDownLatch release = new CountDownLatch(1);
+        when(ruleNameRepository.findAll()).thenReturn(List.of(slow));
+        when(ruleEngine.run(slow, RuleTarget.TRADE)).thenAnswer(invocation -> {
+            release.await();
+            return new RuleRunDTO(1, "TRADE", new int[0]);
+        });
+        when(ruleNameRepository.findById(2)).thenReturn(Optional.of(changed));
+        when(ruleEngine.run(changed, RuleTarget.TRADE)).thenReturn(new RuleRunDTO(2, "TRADE", new int[]{5}));
+        Thread batch = new Thread(ruleScheduler::runAll);
+        batch.start();
+        verify(ruleEngine, timeout(1000)).run(slow, RuleTarget.TRADE);
+
+        ruleScheduler.ruleChanged(2);
+
+        verify(entityManager, timeout(1000)).persist(argThat((RuleHit hit) -> hit.getRuleId() == 2));
+        release.countDown();
+        batch.join();
+    }
+}
@@ -3,6 +3,10 @@ package com.nnk.springboot.unitTests;
 import com.nnk.springboot.domain.Trade;
 import com.nnk.springboot.dto.TradeDTO;
 import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.PnlService;
+import com.nnk.springboot.services.PositionService;
+import com.nnk.springboot.services.RuleScheduler;
+import com.nnk.springboot.services.RuleTarget;
 import com.nnk.springboot.services.TradeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,10 +14,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -22,6 +29,14 @@ import static org.mockito.Mockito.*;
 public class TradeServiceTests {
     @Mock
     private TradeRepository tradeRepository;
+    @Mock
+    private PositionService positionService;
+    @Mock
+    private PnlService pnlService;
+    @Mock
+    private RuleScheduler ruleScheduler;
+    @Mock
+    private TransactionTemplate transactionTemplate;
     @InjectMocks
     private TradeService tradeService;
     private Trade trade1;
@@ -40,18 +55,19 @@ public class TradeServiceTests {
 
         tradeDTO = new TradeDTO();
         tradeDTO.setAccount("3");
+        tradeDTO.setVersion(0);
     }
 
     @Test
     void testGetTrades() {
-        when(tradeRepository.findAll()).thenReturn(List.of(trade1, trade2));
+        when(tradeRepository.findAllAsDTO()).thenReturn(List.of(new TradeDTO(1, "1", null, null), new TradeDTO(2, "2", null, null)));
 
         List<TradeDTO> result = tradeService.getTrades();
 
         assertEquals(2, result.size());
         assertEquals("1", result.get(0)
                                 .getAccount());
-        verify(tradeRepository, times(1)).findAll();
+        verify(tradeRepository, times(1)).findAllAsDTO();
     }
 
     @Test
@@ -89,6 +105,9 @@ public class TradeServiceTests {
     void testAddTrade_Success() {
         tradeService.addTrade(tradeDTO);
         verify(tradeRepository, times(1)).save(any(Trade.class));
+        verify(positionService, times(1)).add(any(Trade.class));
+        verify(pnlService, times(1)).add(any(Trade.class));
+        verify(ruleScheduler, times(1)).recordChanged(eq(RuleTarget.TRADE), any(), isNull());
     }
 
     @Test
@@ -104,17 +123,108 @@ public class TradeServiceTests {
                      exception.getMessage());
     }
 
+    @SuppressWarnings("unchecked")
+    private void runTransactions() {
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void testAddTrades() {
+        runTransactions();
+        List<Trade> trades = List.of(new Trade(), new Trade());
+
+        tradeService.addTrades(trades);
+
+        verify(tradeRepository, times(1)).saveAll(trades);
+        verify(positionService, times(1)).addAll(trades);
+        verify(pnlService, times(1)).addAll(trades);
+        verify(ruleScheduler, times(1)).recordsAdded(eq(RuleTarget.TRADE), anyList());
+    }
+
+    @Test
+    void testAddTrades_WithWrites() {
+        runTransactions();
+        List<Trade> trades = List.of(new Trade());
+        Runnable writes = mock(Runnable.class);
+
+        tradeService.addTrades(trades, writes);
+
+        verify(writes, times(1)).run();
+        verify(tradeRepository, times(1)).saveAll(trades);
+        verify(positionService, times(1)).addAll(trades);
+    }
+
+    @Test
+    void testAddTrades_Refused_ShouldNotChangePositions() {
+        runTransactions();
+        List<Trade> trades = List.of(new Trade());
+        when(tradeRepository.saveAll(trades)).thenThrow(new RuntimeException("Database error"));
+
+        assertThrows(RuntimeException.class, () -> tradeService.addTrades(trades));
+
+        verifyNoInteractions(positionService, pnlService, ruleScheduler);
+    }
+
     @Test
     void testUpdateTrade_Success() {
-        when(tradeRepository.findById(1)).thenReturn(Optional.of(trade1));
+        when(tradeRepository.updateFields(1, tradeDTO.getVersion(), tradeDTO.getAccount(), tradeDTO.getType(),
+                tradeDTO.getBuyQuantity())).thenReturn(1);
+
         tradeService.updateTrade(1, tradeDTO);
-        verify(tradeRepository, times(1)).save(any(Trade.class));
+
+        verify(tradeRepository, times(1)).updateFields(1, tradeDTO.getVersion(), tradeDTO.getAccount(),
+                tradeDTO.getType(),
+                tradeDTO.getBuyQuantity());
+        verify(tradeRepository, never()).findById(any());
+        verify(tradeRepository, never()).save(any(Trade.class));
+        verify(positionService, times(1)).update(1, tradeDTO.getAccount(), tradeDTO.getBuyQuantity());
+        verify(pnlService, times(1)).updateBuyQuantity(1, tradeDTO.getBuyQuantity());
+        verify(ruleScheduler, times(1)).recordChanged(RuleTarget.TRADE, 1, List.of("account", "type", "buyQuantity"));
+    }
+
+    @Test
+    void testUpdateTrade_NotFound() {
+        when(tradeRepository.updateFields(1, tradeDTO.getVersion(), tradeDTO.getAccount(), tradeDTO.getType(),
+                tradeDTO.getBuyQuantity())).thenReturn(0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                tradeService.updateTrade(1, tradeDTO)
+        );
+
+        assertEquals("404 NOT_FOUND \"Le trade avec l'id 1 n'existe pas\"", exception.getMessage());
+    }
+
+    @Test
+    void testUpdateTrade_Conflict() {
+        tradeDTO.setVersion(3);
+        when(tradeRepository.updateFields(1, tradeDTO.getVersion(), tradeDTO.getAccount(), tradeDTO.getType(),
+                tradeDTO.getBuyQuantity())).thenReturn(0);
+        when(tradeRepository.existsById(1)).thenReturn(true);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () ->
+                tradeService.updateTrade(1, tradeDTO)
+        );
+    }
+
+    @Test
+    void testUpdateTrade_MissingVersion() {
+        tradeDTO.setVersion(null);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                tradeService.updateTrade(1, tradeDTO)
+        );
+
+        assertEquals("400 BAD_REQUEST \"La version du trade à modifier est obligatoire\"", exception.getMessage());
+        verifyNoInteractions(tradeRepository);
     }
 
     @Test
     void testUpdateTrade_Failure() {
-        when(tradeRepository.findById(1)).thenReturn(Optional.of(trade1));
-        doThrow(new RuntimeException("Database error")).when(tradeRepository).save(any(Trade.class));
+        when(tradeRepository.updateFields(1, tradeDTO.getVersion(), tradeDTO.getAccount(), tradeDTO.getType(),
+                tradeDTO.getBuyQuantity())).thenThrow(new RuntimeException("Database error"));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
                 tradeService.updateTrade(1, tradeDTO)
@@ -125,15 +235,31 @@ public class TradeServiceTests {
 
     @Test
     void testDeleteTrade_Success() {
-        when(tradeRepository.findById(1)).thenReturn(Optional.of(trade1));
+        when(tradeRepository.deleteOneById(1)).thenReturn(1);
+
         tradeService.deleteTrade(1);
-        verify(tradeRepository, times(1)).delete(any(Trade.class));
+
+        verify(tradeRepository, times(1)).deleteOneById(1);
+        verify(tradeRepository, never()).findById(any());
+        verify(positionService, times(1)).remove(1);
+        verify(pnlService, times(1)).remove(1);
+        verify(ruleScheduler, times(1)).recordsDeleted(RuleTarget.TRADE, List.of(1));
+    }
+
+    @Test
+    void testDeleteTrade_NotFound() {
+        when(tradeRepository.deleteOneById(1)).thenReturn(0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                tradeService.deleteTrade(1)
+        );
+
+        assertEquals("404 NOT_FOUND \"Le trade avec l'id 1 n'existe pas\"", exception.getMessage());
     }
 
     @Test
     void testDeleteTrade_Failure() {
-        when(tradeRepository.findById(1)).thenReturn(Optional.of(trade1));
-        doThrow(new RuntimeException("Database error")).when(tradeRepository).delete(any(Trade.class));
+        when(tradeRepository.deleteOneById(1)).thenThrow(new RuntimeException("Database error"));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
                 tradeService.deleteTrade(1)
@@ -141,4 +267,35 @@ public class TradeServiceTests {
 
         assertEquals("500 INTERNAL_SERVER_ERROR \"Une erreur est survenue lors de la suppression du trade\"", exception.getMessage());
     }
+
+    @Test
+    void testDeleteTrades_Success() {
+        when(tradeRepository.deleteAllByIds(List.of(1, 2))).thenReturn(2);
+
+        int deleted = tradeService.deleteTrades(List.of(1, 2));
+
+        assertEquals(2, deleted);
+        verify(tradeRepository, times(1)).deleteAllByIds(List.of(1, 2));
+        verify(positionService, times(1)).removeAll(List.of(1, 2));
+        verify(pnlService, times(1)).removeAll(List.of(1, 2));
+        verify(ruleScheduler, times(1)).recordsDeleted(RuleTarget.TRADE, List.of(1, 2));
+    }
+
+    @Test
+    void testDeleteTrades_WhenNoIds_ShouldNotQuery() {
+        assertEquals(0, tradeService.deleteTrades(List.of()));
+
+        verify(tradeRepository, never()).deleteAllByIds(any());
+    }
+
+    @Test
+    void testDeleteTrades_Failure() {
+        when(tradeRepository.deleteAllByIds(List.of(1, 2))).thenThrow(new RuntimeException("Database error"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                tradeService.deleteTrades(List.of(1, 2))
+        );
+
+        assertEquals("500 INTERNAL_SERVER_ERROR \"Une erreur est survenue lors de la suppression des trades\"", exception.getMessage());
+    }
 }
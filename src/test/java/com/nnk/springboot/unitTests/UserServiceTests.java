@@ -4,6 +4,8 @@ import com.nnk.springboot.domain.User;
 import com.nnk.springboot.dto.UserDTO;
 import com.nnk.springboot.repositories.UserRepository;
 import com.nnk.springboot.services.UserService;
+import com.nnk.springboot.services.PasswordHasher;
+import com.nnk.springboot.services.PasswordRule;
 import com.nnk.springboot.services.Validators;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,7 +21,6 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -39,7 +40,7 @@ public class UserServiceTests {
     @Mock
     private BindingResult result;
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
     @InjectMocks
     private UserService userService;
     private User user1;
@@ -65,14 +66,15 @@ public class UserServiceTests {
 
     @Test
     void testGetUsers() {
-        when(userRepository.findAll()).thenReturn(List.of(user1, user2));
+        when(userRepository.findAllAsDTO()).thenReturn(List.of(new UserDTO(1, "Test1", "test1", "ROLE_USER"),
+                                                                  new UserDTO(2, "Test2", "test2", "ROLE_USER")));
 
         List<UserDTO> result = userService.getUsers();
 
         assertEquals(2, result.size());
         assertEquals("test1", result.get(0)
                                     .getUsername());
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findAllAsDTO();
     }
 
     @Test
@@ -123,12 +125,12 @@ public class UserServiceTests {
     @Test
     void testAddUser_Success() {
         when(validators.usernameExists(userDTO.getUsername())).thenReturn(false);
-        when(validators.isPasswordInvalid(userDTO.getPassword())).thenReturn(false);
+        when(validators.checkPassword(userDTO.getPassword())).thenReturn(0);
         when(result.hasErrors()).thenReturn(false);
 
         userService.addUser(userDTO, result);
 
-        verify(userRepository, times(1)).save(argThat(user -> "test3".equals(user.getUsername())));
+        verify(userRepository, times(1)).saveAndFlush(argThat(user -> "test3".equals(user.getUsername())));
     }
 
     @Test
@@ -139,7 +141,7 @@ public class UserServiceTests {
         userService.addUser(userDTO, result);
 
         verify(result).rejectValue("username", "error.username", "This username is already used");
-        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -151,31 +153,32 @@ public class UserServiceTests {
         userService.addUser(userDTO, result);
 
         verify(result).rejectValue("password", "error.password", "Password is mandatory");
-        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void testAddUser_Failure_InvalidPassword() {
         userDTO.setPassword("invalid");
         when(validators.usernameExists(userDTO.getUsername())).thenReturn(false);
-        when(validators.isPasswordInvalid(userDTO.getPassword())).thenReturn(true);
+        when(validators.checkPassword(userDTO.getPassword())).thenReturn(PasswordRule.ALL);
+        when(validators.passwordErrorMessage(PasswordRule.ALL)).thenReturn("MDP : 8 char minimum, 1 MAJ, 1 min, 1 chiffre, 1 symbole");
         when(result.hasErrors()).thenReturn(true);
 
         userService.addUser(userDTO, result);
 
         verify(result).rejectValue("password", "error.password",
-                                   "MDP : 8 char minimum : 1 MAJ, 1 min, 1 chiffre, 1 symbole");
-        verify(userRepository, never()).save(any());
+                                   "MDP : 8 char minimum, 1 MAJ, 1 min, 1 chiffre, 1 symbole");
+        verify(userRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void testAddUser_Failure_ExceptionDuringSave() {
         when(result.hasErrors()).thenReturn(false);
         when(validators.usernameExists(anyString())).thenReturn(false);
-        when(validators.isPasswordInvalid(anyString())).thenReturn(false);
+        when(validators.checkPassword(anyString())).thenReturn(0);
 
         doThrow(new RuntimeException("Database error")).when(userRepository)
-                                                       .save(any(User.class));
+                                                       .saveAndFlush(any(User.class));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
             userService.addUser(userDTO, result);
@@ -194,7 +197,7 @@ public class UserServiceTests {
 
         userService.updateUser(1, userDTO, result);
 
-        verify(userRepository, times(1)).save(argThat(user -> "test3".equals(user.getUsername())));
+        verify(userRepository, times(1)).saveAndFlush(argThat(user -> "test3".equals(user.getUsername())));
     }
 
     @Test
@@ -207,20 +210,20 @@ public class UserServiceTests {
         userService.updateUser(1, userDTO, result);
 
         verify(result).rejectValue("username", "error.username", "This username is already used");
-        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void testUpdateUser_Success_UpdatePassword() {
         userDTO.setUsername("test1");
         when(userRepository.findById(1)).thenReturn(Optional.of(user1));
-        when(validators.isPasswordInvalid(anyString())).thenReturn(false);
-        when(passwordEncoder.encode(userDTO.getPassword())).thenReturn("encodedNewPassword");
+        when(validators.checkPassword(anyString())).thenReturn(0);
+        when(passwordHasher.encode(userDTO.getPassword())).thenReturn("encodedNewPassword");
         when(result.hasErrors()).thenReturn(false);
 
         userService.updateUser(1, userDTO, result);
 
-        verify(userRepository, times(1)).save(argThat(user -> "encodedNewPassword".equals(user.getPassword())));
+        verify(userRepository, times(1)).saveAndFlush(argThat(user -> "encodedNewPassword".equals(user.getPassword())));
     }
 
     @Test
@@ -228,14 +231,15 @@ public class UserServiceTests {
         userDTO.setUsername("test1");
         userDTO.setPassword("invalid");
         when(userRepository.findById(1)).thenReturn(Optional.of(user1));
-        when(validators.isPasswordInvalid(anyString())).thenReturn(true);
+        when(validators.checkPassword(anyString())).thenReturn(PasswordRule.ALL);
+        when(validators.passwordErrorMessage(PasswordRule.ALL)).thenReturn("MDP : 8 char minimum, 1 MAJ, 1 min, 1 chiffre, 1 symbole");
         when(result.hasErrors()).thenReturn(true);
 
         userService.updateUser(1, userDTO, result);
 
         verify(result).rejectValue("password", "error.password",
-                                   "MDP : 8 char minimum : 1 MAJ, 1 min, 1 chiffre, 1 symbole");
-        verify(userRepository, never()).save(any());
+                                   "MDP : 8 char minimum, 1 MAJ, 1 min, 1 chiffre, 1 symbole");
+        verify(userRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -243,10 +247,10 @@ public class UserServiceTests {
         when(result.hasErrors()).thenReturn(false);
         when(userRepository.findById(1)).thenReturn(Optional.of(user1));
         when(validators.usernameExists(anyString())).thenReturn(false);
-        when(validators.isPasswordInvalid(anyString())).thenReturn(false);
+        when(validators.checkPassword(anyString())).thenReturn(0);
 
         doThrow(new RuntimeException("Database error")).when(userRepository)
-                                                       .save(any(User.class));
+                                                       .saveAndFlush(any(User.class));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
             userService.updateUser(1, userDTO, result);
@@ -269,11 +273,11 @@ public class UserServiceTests {
             when(authentication.getPrincipal()).thenReturn(user1);
             when(userService.getConnectedUserId()).thenReturn(user1.getId());
 
-            when(userRepository.findById(user2.getId())).thenReturn(Optional.of(user2));
+            when(userRepository.deleteOneById(user2.getId())).thenReturn(1);
 
             userService.deleteUser(user2.getId());
 
-            verify(userRepository, times(1)).delete(user2);
+            verify(userRepository, times(1)).deleteOneById(user2.getId());
         }
     }
 
@@ -293,7 +297,7 @@ public class UserServiceTests {
         assertEquals(HttpStatus.FORBIDDEN, exception.getStatusCode());
         assertEquals("Vous ne pouvez pas supprimer votre propre user.", exception.getReason());
 
-        verify(userRepository, never()).delete(any(User.class));
+        verify(userRepository, never()).deleteOneById(any());
     }
 
     @Test
@@ -309,9 +313,7 @@ public class UserServiceTests {
             when(authentication.getPrincipal()).thenReturn(user1);
             when(userService.getConnectedUserId()).thenReturn(user1.getId());
 
-            when(userRepository.findById(user2.getId())).thenReturn(Optional.of(user2));
-            doThrow(new RuntimeException("DB error")).when(userRepository)
-                                                     .delete(user2);
+            when(userRepository.deleteOneById(user2.getId())).thenThrow(new RuntimeException("DB error"));
 
             ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
                 userService.deleteUser(user2.getId());
@@ -1,16 +1,17 @@
 package com.nnk.springboot.unitTests;
 
-import com.nnk.springboot.domain.User;
 import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.services.PasswordRule;
 import com.nnk.springboot.services.Validators;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
-import java.util.Optional;
-
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
@@ -26,61 +27,94 @@ public class ValidatorsTests {
     @Test
     void testUsernameExists_True() {
         String username = "existingUser";
-        User user = new User();
-        user.setUsername("existingUser");
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+        when(userRepository.existsByUsername(username)).thenReturn(true);
 
         boolean result = validators.usernameExists(username);
 
         assertTrue(result);
-        verify(userRepository, times(1)).findByUsername(username);
+        verify(userRepository, times(1)).existsByUsername(username);
     }
 
     @Test
     void testUsernameExists_WhenUserDoesNotExist_ShouldReturnFalse() {
         String username = "nonExistingUser";
-        when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
+        when(userRepository.existsByUsername(username)).thenReturn(false);
 
         boolean result = validators.usernameExists(username);
 
         assertFalse(result);
-        verify(userRepository, times(1)).findByUsername(username);
+        verify(userRepository, times(1)).existsByUsername(username);
+    }
+
+    @Test
+    void testIsDuplicateUsername_WhenUsernameConstraint_ShouldReturnTrue() {
+        DataIntegrityViolationException exception = new DataIntegrityViolationException("Duplicate entry",
+                new ConstraintViolationException("Duplicate entry", null, "users.UK_USERS_USERNAME"));
+
+        assertTrue(validators.isDuplicateUsername(exception));
+    }
+
+    @Test
+    void testIsDuplicateUsername_WhenOtherError_ShouldReturnFalse() {
+        DataIntegrityViolationException exception = new DataIntegrityViolationException("Data too long");
+
+        assertFalse(validators.isDuplicateUsername(exception));
+    }
+
+    @Test
+    void testCheckPassword_WhenTooShort_ShouldFailMinLength() {
+        assertEquals(PasswordRule.MIN_LENGTH.bit(), validators.checkPassword("Ab1!"));
     }
 
     @Test
-    void testIsPasswordInvalid_WhenTooShort_ShouldReturnTrue() {
-        String password = "Ab1!";
-        assertTrue(validators.isPasswordInvalid(password));
+    void testCheckPassword_WhenNoUpperCase_ShouldFailUppercase() {
+        assertEquals(PasswordRule.UPPERCASE.bit(), validators.checkPassword("password1!"));
     }
 
     @Test
-    void testIsPasswordInvalid_WhenNoUpperCase_ShouldReturnTrue() {
-        String password = "password1!";
-        assertTrue(validators.isPasswordInvalid(password));
+    void testCheckPassword_WhenNoLowerCase_ShouldFailLowercase() {
+        assertEquals(PasswordRule.LOWERCASE.bit(), validators.checkPassword("PASSWORD1!"));
     }
 
     @Test
-    void testIsPasswordInvalid_WhenNoLowerCase_ShouldReturnTrue() {
-        String password = "PASSWORD1!";
-        assertTrue(validators.isPasswordInvalid(password));
+    void testCheckPassword_WhenNoDigit_ShouldFailDigit() {
+        assertEquals(PasswordRule.DIGIT.bit(), validators.checkPassword("Password!"));
     }
 
     @Test
-    void testIsPasswordInvalid_WhenNoDigit_ShouldReturnTrue() {
-        String password = "Password!";
-        assertTrue(validators.isPasswordInvalid(password));
+    void testCheckPassword_WhenNoSpecialCharacter_ShouldFailSpecial() {
+        assertEquals(PasswordRule.SPECIAL.bit(), validators.checkPassword("Password1"));
     }
 
     @Test
-    void testIsPasswordInvalid_WhenNoSpecialCharacter_ShouldReturnTrue() {
-        String password = "Password1";
-        assertTrue(validators.isPasswordInvalid(password));
+    void testCheckPassword_WhenValidPassword_ShouldReturnNoFailure() {
+        assertEquals(0, validators.checkPassword("Valid08!"));
     }
 
     @Test
-    void testIsPasswordInvalid_WhenValidPassword_ShouldReturnFalse() {
-        String password = "Valid08!";
-        assertFalse(validators.isPasswordInvalid(password));
+    void testCheckPassword_ShouldReportEachFailedRule() {
+        int failures = validators.checkPassword("abc");
+
+        assertEquals(PasswordRule.MIN_LENGTH.bit() | PasswordRule.UPPERCASE.bit()
+                             | PasswordRule.DIGIT.bit() | PasswordRule.SPECIAL.bit(), failures);
+        assertFalse(PasswordRule.LOWERCASE.isIn(failures));
+    }
+
+    @Test
+    void testCheckPassword_WhenNull_ShouldFailEveryRule() {
+        assertEquals(PasswordRule.ALL, validators.checkPassword(null));
+    }
+
+    @Test
+    void testCheckPassword_WhenNonAsciiCharacters_ShouldNotCountAsLettersOrSymbols() {
+        assertEquals(PasswordRule.UPPERCASE.bit() | PasswordRule.SPECIAL.bit(), validators.checkPassword("éèàù1abc"));
+    }
+
+    @Test
+    void testPasswordErrorMessage_ShouldListOnlyFailedRules() {
+        String message = validators.passwordErrorMessage(PasswordRule.UPPERCASE.bit() | PasswordRule.SPECIAL.bit());
+
+        assertEquals("MDP : 1 MAJ, 1 symbole", message);
     }
 
     @Test